@@ -0,0 +1,30 @@
+#!/usr/bin/env sh
+# Gera o modo de subida rápida em target/fast-start: jar com AOT do Spring, extraído, e o arquivo CDS
+# (AppCDS) criado por uma execução de treino que para logo após o refresh do contexto, sem conectar no
+# Telegram nem abrir o Chrome. Também guarda o jar padrão em target/baseline para o FastStartupTest.
+set -e
+cd "$(dirname "$0")/.."
+
+JAR=furia-bot-0.0.1-SNAPSHOT.jar
+OUT=target/fast-start
+
+sh ./mvnw -q package -DskipTests
+mkdir -p target/baseline
+cp "target/$JAR" target/baseline/furia-bot.jar
+
+sh ./mvnw -q -Pfast-start package -DskipTests
+rm -rf "$OUT"
+java -Djarmode=tools -jar "target/$JAR" extract --destination "$OUT"
+
+# Treino: as propriedades obrigatórias só precisam existir, nada é acessado antes do fim do refresh
+java -XX:ArchiveClassesAtExit="$OUT/furia-bot.jsa" \
+  -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh \
+  -jar "$OUT/$JAR" \
+  --telegram_bot_username=@training --telegram_bot_token=0:training \
+  --crawler_team_code=0 --crawler_team_name=training \
+  --crawlInterval=3600000 --crawler_chromedriver_path=/nonexistent \
+  --server.port=0
+
+echo "Pronto. Para rodar:"
+echo "  java -XX:SharedArchiveFile=$OUT/furia-bot.jsa -Dspring.aot.enabled=true -jar $OUT/$JAR"
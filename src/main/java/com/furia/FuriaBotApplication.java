@@ -2,10 +2,14 @@ package com.furia;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@ImportRuntimeHints(FuriaBotRuntimeHints.class)
+@PropertySource("classpath:furia-bot-defaults.properties")
 public class FuriaBotApplication {
 
 	public static void main(String[] args) {
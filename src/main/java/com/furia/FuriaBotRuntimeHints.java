@@ -0,0 +1,90 @@
+package com.furia;
+
+import com.furia.crawler.HltvCrawlerService;
+import com.furia.logging.BoundedAsyncAppender;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.telegram.telegrambots.meta.api.methods.pinnedmessages.PinChatMessage;
+import org.telegram.telegrambots.meta.api.methods.pinnedmessages.UnpinChatMessage;
+import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updates.DeleteWebhook;
+import org.telegram.telegrambots.meta.api.methods.updates.GetUpdates;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import org.telegram.telegrambots.meta.api.objects.media.InputMediaPhoto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Dicas de reflexão e recursos para o processamento AOT do perfil {@code fast-start}. O Spring já
+ * cobre os próprios beans; aqui entra o que as bibliotecas fazem por reflexão ou {@code ServiceLoader}:
+ * o Jackson do TelegramBots (métodos enviados e respostas lidas), os provedores do Selenium listados em
+ * {@code META-INF/services}, os scripts que ele injeta no navegador, o appender do logback e os
+ * modelos gravados no snapshot compartilhado.
+ */
+public class FuriaBotRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> SELENIUM_SERVICES = List.of(
+            "org.openqa.selenium.WebDriverInfo",
+            "org.openqa.selenium.remote.service.DriverService$Builder",
+            "org.openqa.selenium.remote.http.HttpClient$Factory",
+            "org.openqa.selenium.remote.AdditionalHttpCommands",
+            "org.openqa.selenium.remote.AugmenterProvider",
+            "org.openqa.selenium.devtools.CdpInfo");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Update.class, ApiResponse.class, SendMessage.class, SendMediaGroup.class, InputMediaPhoto.class,
+                EditMessageText.class, PinChatMessage.class, UnpinChatMessage.class, GetUpdates.class, DeleteWebhook.class,
+                HltvCrawlerService.Player.class, HltvCrawlerService.Match.class,
+                HltvCrawlerService.MatchResult.class, HltvCrawlerService.LiveMatch.class);
+
+        for (String service : SELENIUM_SERVICES) {
+            String resource = "META-INF/services/" + service;
+            hints.resources().registerPattern(resource);
+            for (String provider : providers(classLoader, resource)) {
+                hints.reflection().registerType(TypeReference.of(provider), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+        }
+        hints.resources().registerPattern("org/openqa/selenium/remote/*.js");
+        hints.resources().registerPattern("org/openqa/selenium/devtools/*.js");
+
+        hints.reflection().registerType(BoundedAsyncAppender.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources().registerPattern("logback-spring.xml");
+        hints.resources().registerPattern("furia-bot-defaults.properties");
+    }
+
+    private static List<String> providers(ClassLoader classLoader, String resource) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(resource);
+            List<String> providers = new ArrayList<>();
+            while (urls.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines()
+                            .map(line -> line.replaceFirst("#.*", "").trim())
+                            .filter(line -> !line.isEmpty())
+                            .forEach(providers::add);
+                }
+            }
+            return providers;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -12,6 +12,9 @@ public class BotConfig {
     @Value("${telegram_bot_token}")
     private String botToken;
 
+    @Value("${telegram_bot_api_url:https://api.telegram.org/bot}")
+    private String botApiUrl;
+
     public String getBotUsername() {
         return botUsername;
     }
@@ -19,4 +22,8 @@ public class BotConfig {
     public String getBotToken() {
         return botToken;
     }
+
+    public String getBotApiUrl() {
+        return botApiUrl;
+    }
 }
@@ -0,0 +1,214 @@
+package com.furia.bot;
+
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+import com.furia.crawler.HltvCrawlerService.MatchResult;
+import com.furia.crawler.LiveMatchFormatter;
+import com.furia.crawler.SnapshotChange;
+import com.furia.crawler.TrackedTeam;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.PartialBotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.pinnedmessages.PinChatMessage;
+import org.telegram.telegrambots.meta.api.methods.pinnedmessages.UnpinChatMessage;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+
+import java.io.Serializable;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Modo canal: com {@code telegram_channel_id} preenchido, o início das partidas, o placar ao vivo e os
+ * resultados vão para um canal do Telegram em vez de cada chat. O placar fica num único post fixado,
+ * editado a cada mudança. O custo por atualização é fixo, qualquer que seja o número de inscritos:
+ * início = aviso + post do placar + fixar (3 chamadas), placar = 1 edição, fim = edição + desafixar,
+ * resultado = 1 mensagem. Os eventos vêm do {@code SnapshotChangeDetector}, que só roda no líder.
+ * Com um link público ({@code telegram_channel_link}, ou derivado de um {@code @canal}) o {@code /live}
+ * responde aos chats só com esse link.
+ */
+@Component
+public class ChannelMirror {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelMirror.class);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+
+    // O FuriaBot depende dos comandos, que dependem deste: resolvido sob demanda
+    private final ObjectProvider<FuriaBot> bot;
+    private final String channelId;
+    private final String channelLink;
+    private final MeterRegistry meterRegistry;
+    private final Map<TrackedTeam, Scoreboard> scoreboards = new HashMap<>();
+
+    // Post fixado de uma partida. O id vem só do envio do post; fixar, editar e desafixar ficam
+    // encadeados em updates, na ordem dos eventos, e uma edição recusada não interrompe as seguintes
+    private static final class Scoreboard {
+        final String matchLink;
+        CompletableFuture<Integer> messageId;
+        CompletableFuture<?> updates;
+        String text;
+
+        Scoreboard(String matchLink) {
+            this.matchLink = matchLink;
+        }
+    }
+
+    public ChannelMirror(
+            ObjectProvider<FuriaBot> bot,
+            @Value("${telegram_channel_id:}") String channelId,
+            @Value("${telegram_channel_link:}") String channelLink,
+            MeterRegistry meterRegistry) {
+        this.bot = bot;
+        this.channelId = channelId.trim();
+        this.channelLink = !channelLink.isBlank() ? channelLink.trim()
+                : this.channelId.startsWith("@") ? "https://t.me/" + this.channelId.substring(1) : "";
+        this.meterRegistry = meterRegistry;
+        if (isEnabled()) {
+            logger.info("Modo canal ativo: atualizações ao vivo em {}", this.channelId);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !channelId.isEmpty();
+    }
+
+    /** Se os chats podem ser mandados para o canal (modo ativo e link conhecido). */
+    public boolean hasPublicLink() {
+        return isEnabled() && !channelLink.isEmpty();
+    }
+
+    public String channelLink() {
+        return channelLink;
+    }
+
+    @EventListener
+    public synchronized void on(SnapshotChange.LiveStarted change) {
+        if (!isEnabled()) {
+            return;
+        }
+        LiveMatch match = change.match();
+        TrackedTeam team = change.team();
+        String format = match.getFormat().toUpperCase().replace("BO", "MD");
+        send("kickoff", "🔥 Começou: " + team.displayName() + " x " + match.getOpponent()
+                + " (" + match.getTournament() + ", " + format + ")! Placar fixado no canal.");
+        post(team, match);
+    }
+
+    @EventListener
+    public synchronized void on(SnapshotChange.ScoreChanged change) {
+        if (!isEnabled()) {
+            return;
+        }
+        Scoreboard scoreboard = scoreboards.get(change.team());
+        if (scoreboard == null || !scoreboard.matchLink.equals(change.current().getMatchLink())
+                || scoreboard.messageId.isCompletedExceptionally()) {
+            // Partida já em andamento quando o bot subiu, outra partida ou envio do post falhou: um novo post fixado
+            post(change.team(), change.current());
+            return;
+        }
+        edit(scoreboard, "score", scoreboardText(change.team(), change.current(), false));
+    }
+
+    @EventListener
+    public synchronized void on(SnapshotChange.LiveEnded change) {
+        if (!isEnabled()) {
+            return;
+        }
+        Scoreboard scoreboard = scoreboards.remove(change.team());
+        if (scoreboard == null || !scoreboard.matchLink.equals(change.last().getMatchLink())) {
+            return;
+        }
+        edit(scoreboard, "end", scoreboardText(change.team(), change.last(), true));
+        unpin(scoreboard);
+    }
+
+    @EventListener
+    public synchronized void on(SnapshotChange.NewResult change) {
+        if (!isEnabled()) {
+            return;
+        }
+        MatchResult result = change.result();
+        String outcome = result.isVictory() ? "✅ Vitória da " : "❌ Derrota da ";
+        send("result", outcome + change.team().displayName() + " contra " + result.getOpponent() + " por "
+                + result.getScore() + "\n🏆 " + result.getTournament());
+    }
+
+    // Com o monitor: envia o placar e o fixa sem notificar (o aviso de início já notificou). Um post anterior
+    // do time (fim da partida não visto, reinício da partida) é desafixado antes, se chegou a ser enviado
+    private void post(TrackedTeam team, LiveMatch match) {
+        Scoreboard previous = scoreboards.get(team);
+        if (previous != null) {
+            unpin(previous);
+        }
+        Scoreboard scoreboard = new Scoreboard(match.getMatchLink());
+        scoreboard.text = scoreboardText(team, match, false);
+        SendMessage message = message(scoreboard.text);
+        message.setDisableNotification(true);
+        scoreboard.messageId = submit("scoreboard", message).thenApply(sent -> sent.getMessageId());
+        scoreboard.updates = scoreboard.messageId.thenCompose(id -> submit("pin", PinChatMessage.builder()
+                .chatId(channelId).messageId(id).disableNotification(true).build()))
+                .handle((pinned, error) -> null);
+        scoreboards.put(team, scoreboard);
+    }
+
+    // Com o monitor
+    private void edit(Scoreboard scoreboard, String type, String text) {
+        if (Objects.equals(scoreboard.text, text)) {
+            return;                       // A Bot API recusa edição sem mudança
+        }
+        scoreboard.text = text;
+        EditMessageText edit = new EditMessageText();
+        edit.setChatId(channelId);
+        edit.setText(text);
+        edit.setDisableWebPagePreview(true);
+        scoreboard.updates = scoreboard.updates
+                .thenCompose(previous -> scoreboard.messageId)
+                .thenCompose(id -> {
+                    edit.setMessageId(id);
+                    return submit(type, edit);
+                })
+                .handle((edited, error) -> null);     // Falha já registrada em submit
+    }
+
+    // Com o monitor: depois das edições pendentes; sem post enviado, não há o que desafixar
+    private void unpin(Scoreboard scoreboard) {
+        scoreboard.updates = scoreboard.updates
+                .thenCompose(previous -> scoreboard.messageId)
+                .thenCompose(id -> submit("unpin", UnpinChatMessage.builder().chatId(channelId).messageId(id).build()))
+                .handle((unpinned, error) -> null);
+    }
+
+    private void send(String type, String text) {
+        submit(type, message(text));
+    }
+
+    private SendMessage message(String text) {
+        SendMessage message = new SendMessage(channelId, text);
+        message.setDisableWebPagePreview(true);
+        return message;
+    }
+
+    private <T extends Serializable> CompletableFuture<T> submit(String type, PartialBotApiMethod<T> method) {
+        meterRegistry.counter("telegram.channel.posts", "type", type).increment();
+        return bot.getObject().submit(method).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.error("Falha ao publicar no canal {} ({}): {}", channelId, type, error.getMessage());
+            }
+        });
+    }
+
+    private static String scoreboardText(TrackedTeam team, LiveMatch match, boolean ended) {
+        String headline = ended ? "🏁 Partida da " + team.displayName() + " encerrada"
+                : "🔥 Partida da " + team.displayName() + " ao vivo! 🔥";
+        return LiveMatchFormatter.describe(team, match, headline) + "\n📊 " + match.getMatchLink()
+                + "\n🕒 Atualizado às " + LocalTime.now().format(TIME);
+    }
+}
@@ -0,0 +1,69 @@
+package com.furia.bot;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amostragem por chat dos logs de rotina (mensagem recebida, resposta enviada): em cada janela de
+ * {@code bot_log_sample_window_seconds} só os primeiros {@code bot_log_sample_per_chat} eventos de
+ * um chat são logados. Um chat insistente não enche o log, e um chat novo sempre aparece. Erros e
+ * avisos não passam por aqui. Com {@code bot_log_sample_per_chat=0} tudo é logado.
+ */
+@Component
+public class ChatLogSampler {
+
+    private final int perWindow;
+    private final long windowNanos;
+    private final Map<Long, Window> chats = new ConcurrentHashMap<>();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    private static class Window {
+        long start;
+        int count;
+    }
+
+    public ChatLogSampler(
+            @Value("${bot_log_sample_per_chat:3}") int perWindow,
+            @Value("${bot_log_sample_window_seconds:60}") long windowSeconds,
+            MeterRegistry meterRegistry) {
+        this.perWindow = perWindow;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+        FunctionCounter.builder("bot.log.sampled_out", suppressed, AtomicLong::get)
+                .description("Logs de rotina omitidos pela amostragem por chat")
+                .register(meterRegistry);
+    }
+
+    /** {@code true} se o evento de rotina deste chat deve ser logado. */
+    public boolean sample(Long chatId) {
+        if (perWindow <= 0 || chatId == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        Window window = chats.computeIfAbsent(chatId, id -> new Window());
+        synchronized (window) {
+            if (window.count == 0 || now - window.start >= windowNanos) {
+                window.start = now;
+                window.count = 0;
+            }
+            if (++window.count <= perWindow) {
+                return true;
+            }
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    @Scheduled(fixedRate = 300000) // A cada 5 minutos
+    public void evictIdle() {
+        long now = System.nanoTime();
+        chats.values().removeIf(window -> now - window.start >= windowNanos);
+    }
+}
@@ -0,0 +1,366 @@
+package com.furia.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntPredicate;
+
+/**
+ * Estado por chat (ou por usuário) numa tabela de endereçamento aberto com chaves {@code long} primitivas,
+ * fora do heap. Os campos ficam em colunas ({@code long}s, ou {@code double}s pelos bits): uma coluna das
+ * chaves e uma por campo, cada uma com {@code capacity} posições. Nada é alocado por chat, então o heap
+ * e o trabalho do GC não crescem com o número de chats; só a tabela fora do heap cresce, dobrando quando
+ * passa de 2/3 de ocupação.
+ *
+ * <p>Com um arquivo, a tabela é um mapeamento do arquivo ({@link MappedByteBuffer}) e o estado sobrevive a
+ * reinícios: as escritas vão para o cache de páginas do sistema e chegam ao disco sozinhas ou com
+ * {@link #force()}. O cabeçalho marca o redimensionamento em andamento; um arquivo com essa marca, de outra
+ * versão ou com outra quantidade de campos é descartado e a tabela recomeça vazia.
+ *
+ * <p>A chave 0 marca posição livre (nenhum chat ou usuário do Telegram tem id 0). As posições devolvidas
+ * por {@link #slot} e {@link #find} só valem até a próxima inclusão ou remoção. Não é thread-safe: quem usa
+ * sincroniza.
+ */
+public final class ChatStateStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatStateStore.class);
+
+    // Cabeçalho: magic, versão, campos, capacidade, ocupação e marca de redimensionamento
+    private static final long MAGIC = 0x4655524941535453L; // "FURIASTS"
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    private static final int OFFSET_VERSION = 8;
+    private static final int OFFSET_FIELDS = 12;
+    private static final int OFFSET_CAPACITY = 16;
+    private static final int OFFSET_SIZE = 20;
+    private static final int OFFSET_RESIZING = 24;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final long EMPTY = 0;
+
+    private final Path file;
+    private final int fields;
+    private final int maxCapacity;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private int capacity;
+    private int mask;
+    private int shift;
+    private int size;
+
+    private ChatStateStore(Path file, int fields) {
+        if (fields < 1) {
+            throw new IllegalArgumentException("A tabela precisa de pelo menos um campo");
+        }
+        this.file = file;
+        this.fields = fields;
+        // Cada buffer é limitado a 2 GB: maior potência de 2 que cabe com todas as colunas
+        this.maxCapacity = Integer.highestOneBit((int) ((Integer.MAX_VALUE - HEADER_SIZE) / (8L * (1 + fields))));
+    }
+
+    /** Tabela só na memória (direta, fora do heap), perdida ao reiniciar. */
+    public static ChatStateStore inMemory(int fields, int initialCapacity) {
+        ChatStateStore store = new ChatStateStore(null, fields);
+        store.buffer = store.allocate(store.tableCapacity(initialCapacity));
+        store.initialize(store.capacityOf(store.buffer), 0);
+        return store;
+    }
+
+    /** Abre (ou cria) a tabela em {@code file}, mantendo o conteúdo de um arquivo válido. */
+    public static ChatStateStore open(Path file, int fields, int initialCapacity) throws IOException {
+        ChatStateStore store = new ChatStateStore(file, fields);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        store.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int existing = store.validCapacity();
+            if (existing > 0) {
+                store.buffer = store.map(existing);
+                store.initialize(existing, store.countKeys(existing));
+            } else {
+                if (store.channel.size() > 0) {
+                    logger.warn("Estado em {} inválido ou incompleto; recomeçando vazio.", file);
+                    store.channel.truncate(0);
+                }
+                store.buffer = store.map(store.tableCapacity(initialCapacity));
+                store.initialize(store.capacityOf(store.buffer), 0);
+            }
+        } catch (IOException | RuntimeException e) {
+            store.channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    private int tableCapacity(int expected) {
+        int wanted = Math.max(MIN_CAPACITY, Math.min(maxCapacity, expected + expected / 2));
+        return Math.min(maxCapacity, Integer.highestOneBit(wanted - 1) << 1);
+    }
+
+    private static long bytesFor(int capacity, int fields) {
+        return HEADER_SIZE + 8L * capacity * (1 + fields);
+    }
+
+    private int capacityOf(ByteBuffer table) {
+        return (int) ((table.capacity() - HEADER_SIZE) / (8L * (1 + fields)));
+    }
+
+    // Capacidade do arquivo existente, ou 0 se ele não serve
+    private int validCapacity() throws IOException {
+        long length = channel.size();
+        if (length < HEADER_SIZE) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        int stored = header.getInt(OFFSET_CAPACITY);
+        boolean valid = header.getLong(0) == MAGIC
+                && header.getInt(OFFSET_VERSION) == VERSION
+                && header.getInt(OFFSET_FIELDS) == fields
+                && header.getInt(OFFSET_RESIZING) == 0
+                && stored >= MIN_CAPACITY && stored <= maxCapacity && Integer.bitCount(stored) == 1
+                && length >= bytesFor(stored, fields);
+        return valid ? stored : 0;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect((int) bytesFor(capacity, fields)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private ByteBuffer map(int capacity) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytesFor(capacity, fields)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void initialize(int capacity, int size) {
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        this.size = size;
+        buffer.putLong(0, MAGIC);
+        buffer.putInt(OFFSET_VERSION, VERSION);
+        buffer.putInt(OFFSET_FIELDS, fields);
+        buffer.putInt(OFFSET_CAPACITY, capacity);
+        buffer.putInt(OFFSET_SIZE, size);
+    }
+
+    // O contador do cabeçalho pode ter ficado para trás numa queda: recontado ao abrir
+    private int countKeys(int capacity) {
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (buffer.getLong(HEADER_SIZE + 8 * slot) != EMPTY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Hash de Fibonacci: ids de chat próximos caem longe uns dos outros
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private int keyOffset(int slot) {
+        return HEADER_SIZE + 8 * slot;
+    }
+
+    private int fieldOffset(int slot, int field) {
+        return HEADER_SIZE + 8 * (capacity * (1 + field) + slot);
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("A chave 0 é reservada");
+        }
+    }
+
+    /** Posição de {@code key}, ou -1 se não está na tabela. */
+    public int find(long key) {
+        checkKey(key);
+        for (int slot = home(key); ; slot = (slot + 1) & mask) {
+            long current = buffer.getLong(keyOffset(slot));
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /** Posição de {@code key}, incluindo-a com todos os campos zerados se ainda não está na tabela. */
+    public int slot(long key) {
+        checkKey(key);
+        int slot = home(key);
+        for (long current; (current = buffer.getLong(keyOffset(slot))) != EMPTY; slot = (slot + 1) & mask) {
+            if (current == key) {
+                return slot;
+            }
+        }
+        if ((size + 1) * 3L > capacity * 2L) {
+            grow();
+            return slot(key);
+        }
+        buffer.putLong(keyOffset(slot), key);
+        for (int field = 0; field < fields; field++) {
+            buffer.putLong(fieldOffset(slot, field), 0);
+        }
+        buffer.putInt(OFFSET_SIZE, ++size);
+        return slot;
+    }
+
+    public long key(int slot) {
+        return buffer.getLong(keyOffset(slot));
+    }
+
+    public long getLong(int slot, int field) {
+        return buffer.getLong(fieldOffset(slot, field));
+    }
+
+    public void setLong(int slot, int field, long value) {
+        buffer.putLong(fieldOffset(slot, field), value);
+    }
+
+    public double getDouble(int slot, int field) {
+        return Double.longBitsToDouble(buffer.getLong(fieldOffset(slot, field)));
+    }
+
+    public void setDouble(int slot, int field, double value) {
+        buffer.putLong(fieldOffset(slot, field), Double.doubleToRawLongBits(value));
+    }
+
+    public boolean remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Remove as entradas cujas posições satisfazem {@code filter} (que lê os campos pela posição) e devolve
+     * quantas saíram.
+     */
+    public int removeIf(IntPredicate filter) {
+        int removed = 0;
+        for (int slot = 0; slot < capacity; ) {
+            if (buffer.getLong(keyOffset(slot)) != EMPTY && filter.test(slot)) {
+                // A remoção puxa para cá uma entrada posterior, que ainda precisa ser avaliada
+                removeAt(slot);
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        return removed;
+    }
+
+    // Remoção com deslocamento para trás: sem lápides, as sondagens continuam curtas
+    private void removeAt(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+            long key = buffer.getLong(keyOffset(next));
+            if (key == EMPTY) {
+                break;
+            }
+            // A entrada pode ocupar o buraco se ele fica entre a posição de origem dela e a atual
+            if (((next - home(key)) & mask) >= ((next - hole) & mask)) {
+                buffer.putLong(keyOffset(hole), key);
+                for (int field = 0; field < fields; field++) {
+                    buffer.putLong(fieldOffset(hole, field), buffer.getLong(fieldOffset(next, field)));
+                }
+                hole = next;
+            }
+        }
+        buffer.putLong(keyOffset(hole), EMPTY);
+        buffer.putInt(OFFSET_SIZE, --size);
+    }
+
+    private void grow() {
+        if (capacity >= maxCapacity) {
+            throw new IllegalStateException("Tabela de estado cheia (" + size + " entradas)");
+        }
+        int entries = size;
+        int width = 1 + fields;
+        // Cópia das entradas vivas fora do heap; com arquivo, as colunas mudam de lugar no mesmo mapeamento
+        ByteBuffer live = ByteBuffer.allocateDirect(8 * width * entries).order(ByteOrder.LITTLE_ENDIAN);
+        for (int slot = 0; slot < capacity; slot++) {
+            long key = buffer.getLong(keyOffset(slot));
+            if (key != EMPTY) {
+                live.putLong(key);
+                for (int field = 0; field < fields; field++) {
+                    live.putLong(buffer.getLong(fieldOffset(slot, field)));
+                }
+            }
+        }
+
+        int newCapacity = capacity * 2;
+        if (file == null) {
+            buffer = allocate(newCapacity);
+        } else {
+            buffer.putInt(OFFSET_RESIZING, 1);
+            try {
+                buffer = map(newCapacity);
+            } catch (IOException e) {
+                buffer.putInt(OFFSET_RESIZING, 0);
+                throw new IllegalStateException("Não foi possível aumentar " + file + ": " + e.getMessage(), e);
+            }
+            for (int slot = 0; slot < newCapacity; slot++) {
+                buffer.putLong(HEADER_SIZE + 8 * slot, EMPTY);
+            }
+        }
+        initialize(newCapacity, 0);
+
+        for (int entry = 0; entry < entries; entry++) {
+            int base = 8 * width * entry;
+            int slot = slot(live.getLong(base));
+            for (int field = 0; field < fields; field++) {
+                buffer.putLong(fieldOffset(slot, field), live.getLong(base + 8 * (1 + field)));
+            }
+        }
+        buffer.putInt(OFFSET_RESIZING, 0);
+        logger.debug("Tabela de estado {} aumentada para {} posições ({} entradas)",
+                file == null ? "em memória" : file, newCapacity, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Bytes ocupados pela tabela fora do heap (ou no arquivo). */
+    public long bytes() {
+        return buffer == null ? 0 : buffer.capacity();
+    }
+
+    public boolean isPersistent() {
+        return file != null;
+    }
+
+    /** Grava no disco as páginas alteradas do arquivo. */
+    public void force() {
+        if (buffer instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
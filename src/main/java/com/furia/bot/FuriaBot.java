@@ -1,60 +1,115 @@
 package com.furia.bot;
 
-import com.furia.commands.Command;
-import com.furia.commands.JogoCommand;
-import com.furia.commands.LiveCommand;
-import com.furia.commands.LojaCommand;
-import com.furia.commands.ResultadoCommand;
-import com.furia.commands.TimeCommand;
-import com.furia.commands.ContatoCommand;
-import com.furia.commands.ComandoCommands;
+import com.furia.commands.CommandInvocation;
+import com.furia.commands.CommandRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.PartialBotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.pinnedmessages.PinChatMessage;
+import org.telegram.telegrambots.meta.api.methods.pinnedmessages.UnpinChatMessage;
+import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.Message;
 import org.telegram.telegrambots.meta.api.objects.Update;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+import org.telegram.telegrambots.meta.generics.BotSession;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O long polling só começa no {@link #start()} do ciclo de vida, depois do contexto pronto: criar o
+ * bean não acessa a rede, e uma execução de treino (AOT/CDS) que encerra após o refresh não se
+ * registra no Telegram. Os envios passam pelo {@link TelegramTransport} quando há um (padrão), sem
+ * prender a thread do long polling à espera da Bot API.
+ */
 @Component
-public class FuriaBot extends TelegramLongPollingBot {
+public class FuriaBot extends TelegramLongPollingBot implements SmartLifecycle {
 
     private static final Logger logger = LoggerFactory.getLogger(FuriaBot.class);
 
     private final BotConfig botConfig;
-    private final TimeCommand timeCommand;
-    private final JogoCommand jogoCommand;
-    private final ResultadoCommand resultadoCommand;
-    private final LojaCommand lojaCommand;
-    private final LiveCommand liveCommand;
-    private final ContatoCommand contatoCommand;
-    private final ComandoCommands comandoCommands;
-
-    public FuriaBot(BotConfig botConfig, TimeCommand timeCommand, JogoCommand jogoCommand,
-                    ResultadoCommand resultadoCommand, LojaCommand lojaCommand, LiveCommand liveCommand,
-                    ContatoCommand contatoCommand, ComandoCommands comandoCommands) {
-        super(botConfig.getBotToken());
+    private final CommandRouter commandRouter;
+    private final InboundRateLimiter rateLimiter;
+    private final StartupBacklogCoalescer backlogCoalescer;
+    private final ChatLogSampler logSampler;
+    private final MeterRegistry meterRegistry;
+    private final TelegramTransport transport;
+    private final Duration apiTimeout;
+    private final Map<String, CompletableFuture<?>> chatQueues = new ConcurrentHashMap<>();
+    private BotSession botSession;
+
+    public FuriaBot(BotConfig botConfig, CommandRouter commandRouter,
+                    InboundRateLimiter rateLimiter, StartupBacklogCoalescer backlogCoalescer,
+                    ChatLogSampler logSampler, MeterRegistry meterRegistry,
+                    ObjectProvider<TelegramTransport> transport,
+                    @Value("${telegram_api_timeout_seconds:15}") long apiTimeoutSeconds) {
+        super(botOptions(botConfig), botConfig.getBotToken());
+        this.transport = transport.getIfAvailable();
+        this.apiTimeout = Duration.ofSeconds(apiTimeoutSeconds);
+        Gauge.builder("telegram.api.pending_chats", chatQueues, Map::size)
+                .description("Chats com envio em andamento pelo transporte")
+                .register(meterRegistry);
         this.botConfig = botConfig;
-        this.timeCommand = timeCommand;
-        this.jogoCommand = jogoCommand;
-        this.resultadoCommand = resultadoCommand;
-        this.lojaCommand = lojaCommand;
-        this.liveCommand = liveCommand;
-        this.contatoCommand = contatoCommand;
-        this.comandoCommands = comandoCommands;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+        this.backlogCoalescer = backlogCoalescer;
+        this.logSampler = logSampler;
+        this.commandRouter = commandRouter;
         logger.info("FuriaBot inicializado com username: {}", botConfig.getBotUsername());
+    }
+
+    private static DefaultBotOptions botOptions(BotConfig botConfig) {
+        DefaultBotOptions options = new DefaultBotOptions();
+        options.setBaseUrl(botConfig.getBotApiUrl());
+        return options;
+    }
 
+    @Override
+    public void start() {
         try {
             TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
-            botsApi.registerBot(this);
+            botSession = botsApi.registerBot(this);
             logger.info("Bot registrado com sucesso na TelegramBotsApi");
         } catch (TelegramApiException e) {
             logger.error("Erro ao registrar o bot: {}", e.getMessage(), e);
         }
     }
 
+    @Override
+    public void stop() {
+        if (botSession != null && botSession.isRunning()) {
+            botSession.stop();
+            logger.info("Sessão de long polling encerrada");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return botSession != null && botSession.isRunning();
+    }
+
     @Override
     public String getBotUsername() {
         return botConfig.getBotUsername();
@@ -65,78 +120,226 @@ public class FuriaBot extends TelegramLongPollingBot {
         return botConfig.getBotToken();
     }
 
+    @Override
+    public void onUpdatesReceived(List<Update> updates) {
+        List<Update> toProcess = backlogCoalescer.isDraining() ? backlogCoalescer.coalesce(updates) : updates;
+        for (Update update : toProcess) {
+            onUpdateReceived(update);
+        }
+    }
+
     @Override
     public void onUpdateReceived(Update update) {
         if (update.hasMessage() && update.getMessage().hasText()) {
-            String messageText = update.getMessage().getText().trim().toLowerCase();
+            String messageText = update.getMessage().getText();
             Long chatId = update.getMessage().getChatId();
-            logger.info("Mensagem recebida: {} de chatId: {}", messageText, chatId);
-
-            Command command = null;
-            if (messageText.startsWith("/time")) {
-                command = timeCommand;
-            } else if (messageText.startsWith("/jogo") || messageText.startsWith("/partida")) {
-                command = jogoCommand;
-            } else if (messageText.startsWith("/resultado")) {
-                command = resultadoCommand;
-            } else if (messageText.startsWith("/loja")) {
-                command = lojaCommand;
-            } else if (messageText.startsWith("/live")) {
-                command = liveCommand;
-            } else if (messageText.startsWith("/contato")) {
-                command = contatoCommand;
-            } else if (messageText.startsWith("/start")) {
-                try {
-                    comandoCommands.executeStart(chatId, this);
-                    return;
-                } catch (Exception e) {
-                    logger.error("Erro ao executar /start para chatId {}: {}", chatId, e.getMessage(), e);
-                    sendMessage(chatId, "Erro ao processar o comando. Tente novamente mais tarde.");
-                    return;
-                }
-            } else if (messageText.startsWith("/help")) {
-                try {
-                    comandoCommands.executeHelp(chatId, this);
-                    return;
-                } catch (Exception e) {
-                    logger.error("Erro ao executar /help para chatId {}: {}", chatId, e.getMessage(), e);
-                    sendMessage(chatId, "Erro ao processar o comando. Tente novamente mais tarde.");
-                    return;
-                }
+
+            CommandInvocation invocation = commandRouter.parse(messageText);
+            if (invocation.addressedToOtherBot()) {
+                logger.atDebug().setMessage("Comando endereçado a outro bot ignorado")
+                        .addKeyValue("chatId", chatId).addKeyValue("command", invocation::name).log();
+                return;
+            }
+            // Só o comando normalizado, nunca o texto livre; o payload é montado apenas se o nível estiver ativo
+            if (logSampler.sample(chatId)) {
+                logger.atInfo().setMessage("Mensagem recebida")
+                        .addKeyValue("chatId", chatId).addKeyValue("command", invocation::key).log();
             }
 
-            if (command != null) {
-                logger.info("Executando comando: {} para chatId: {}", messageText, chatId);
-                try {
-                    command.execute(chatId, this);
-                } catch (Exception e) {
-                    logger.error("Erro ao executar comando {} para chatId {}: {}", messageText, chatId, e.getMessage(), e);
-                    sendMessage(chatId, "Erro ao processar o comando. Tente novamente mais tarde.");
-                }
-            } else {
-                logger.warn("Comando não reconhecido: {} para chatId: {}", messageText, chatId);
-                sendMessage(chatId, "Comando não reconhecido. Tente: /start, /help, /time, /jogo, /partida, /resultado, /loja, /live ou /contato.");
+            Long userId = update.getMessage().getFrom() != null ? update.getMessage().getFrom().getId() : null;
+            if (!admit(chatId, userId, invocation.key())) {
+                return;
             }
+
+            commandRouter.dispatch(chatId, invocation, this);
         } else {
-            logger.warn("Atualização sem mensagem de texto: {}", update);
+            logger.atDebug().setMessage("Atualização sem mensagem de texto ignorada")
+                    .addKeyValue("updateId", update::getUpdateId).log();
+        }
+    }
+
+    @Override
+    public <T extends Serializable, Method extends BotApiMethod<T>> T execute(Method method) throws TelegramApiException {
+        if (transport != null && transport.supports(method)) {
+            return await(submit(method));
+        }
+        long start = System.nanoTime();
+        try {
+            return super.execute(method);
+        } catch (TelegramApiException e) {
+            recordApiError(method.getMethod(), e);
+            throw e;
+        } finally {
+            apiTimer(method.getMethod()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Message> execute(SendMediaGroup sendMediaGroup) throws TelegramApiException {
+        if (transport != null && transport.supports(sendMediaGroup)) {
+            return await(submit(sendMediaGroup));
+        }
+        long start = System.nanoTime();
+        try {
+            return super.execute(sendMediaGroup);
+        } catch (TelegramApiException e) {
+            recordApiError(SendMediaGroup.PATH, e);
+            throw e;
+        } finally {
+            apiTimer(SendMediaGroup.PATH).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Envia pelo {@link TelegramTransport} sem bloquear. Chamadas para o mesmo chat saem na ordem em
+     * que foram submetidas (cada uma espera a anterior terminar); chats diferentes seguem em paralelo.
+     * Sem transporte, ou com um método que ele não suporta, envia pela biblioteca antes de retornar.
+     */
+    public <T extends Serializable> CompletableFuture<T> submit(PartialBotApiMethod<T> method) {
+        if (transport == null || !transport.supports(method)) {
+            try {
+                return CompletableFuture.completedFuture(executeWithLibrary(method));
+            } catch (TelegramApiException e) {
+                return CompletableFuture.failedFuture(e);
+            }
         }
+        String chatId = chatOf(method);
+        if (chatId == null) {
+            return call(method);
+        }
+        CompletableFuture<T> next;
+        synchronized (chatQueues) {
+            CompletableFuture<?> previous = chatQueues.getOrDefault(chatId, CompletableFuture.completedFuture(null));
+            next = previous.handle((result, error) -> null).thenCompose(ignored -> call(method));
+            chatQueues.put(chatId, next);
+        }
+        CompletableFuture<T> queued = next;
+        queued.whenComplete((result, error) -> chatQueues.remove(chatId, queued));
+        return queued;
+    }
+
+    private <T extends Serializable> CompletableFuture<T> call(PartialBotApiMethod<T> method) {
+        String name = method.getMethod();
+        long start = System.nanoTime();
+        return transport.submit(method, apiTimeout).whenComplete((result, error) -> {
+            apiTimer(name).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error != null) {
+                recordApiError(name, unwrap(error));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Serializable> T executeWithLibrary(PartialBotApiMethod<T> method) throws TelegramApiException {
+        if (method instanceof SendMediaGroup mediaGroup) {
+            return (T) execute(mediaGroup);
+        }
+        if (method instanceof BotApiMethod<?> apiMethod) {
+            return (T) execute(apiMethod);
+        }
+        throw new TelegramApiException("Método sem envio configurado: " + method.getMethod());
+    }
+
+    private static String chatOf(PartialBotApiMethod<?> method) {
+        if (method instanceof SendMessage message) {
+            return message.getChatId();
+        }
+        if (method instanceof SendMediaGroup mediaGroup) {
+            return mediaGroup.getChatId();
+        }
+        if (method instanceof EditMessageText edit) {
+            return edit.getChatId();
+        }
+        if (method instanceof PinChatMessage pin) {
+            return pin.getChatId();
+        }
+        if (method instanceof UnpinChatMessage unpin) {
+            return unpin.getChatId();
+        }
+        return null;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws TelegramApiException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TelegramApiException("Interrompido aguardando a Bot API", e);
+        }
+    }
+
+    private static TelegramApiException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TelegramApiException telegram ? telegram : new TelegramApiException(cause);
+    }
+
+    private Timer apiTimer(String method) {
+        return Timer.builder("telegram.api.latency")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
+    private void recordApiError(String method, TelegramApiException e) {
+        String code = "unknown";
+        if (e instanceof TelegramApiRequestException requestException && requestException.getErrorCode() != null) {
+            code = requestException.getErrorCode().toString();
+            if (requestException.getErrorCode() == 429) {
+                meterRegistry.counter("telegram.api.rate_limited", "method", method).increment();
+            }
+        }
+        meterRegistry.counter("telegram.api.errors", "method", method, "code", code).increment();
+    }
+
+    private boolean admit(Long chatId, Long userId, String commandKey) {
+        switch (rateLimiter.check(chatId, userId, commandKey)) {
+            case ACCEPT:
+                return true;
+            case COALESCED:
+                logger.atDebug().setMessage("Comando repetido agrupado")
+                        .addKeyValue("chatId", chatId).addKeyValue("command", commandKey).log();
+                return false;
+            case MUTED:
+                sendMessage(chatId, "Muitas mensagens em pouco tempo! O bot vai ignorar este chat por "
+                        + rateLimiter.getMuteMinutes() + " minutos.");
+                return false;
+            default:
+                logger.atDebug().setMessage("Mensagem descartada pelo limitador")
+                        .addKeyValue("chatId", chatId).addKeyValue("command", commandKey).log();
+                return false;
+        }
+    }
+
+    /** Com o {@link TelegramTransport} não espera a resposta; erros são logados quando ela chega. */
     public void sendMessage(Long chatId, String text, boolean disableWebPagePreview) {
         SendMessage message = new SendMessage();
         message.setChatId(chatId.toString());
         message.setText(text);
         message.setDisableWebPagePreview(disableWebPagePreview);
-    
+
+        if (transport != null) {
+            submit(message).whenComplete((sent, error) -> logSent(chatId, text, error == null ? null : unwrap(error)));
+            return;
+        }
         try {
-            logger.debug("Enviando mensagem para chatId {}: {}", chatId, text);
             execute(message);
-            logger.info("Mensagem enviada para chatId: {}: {}", chatId, text);
+            logSent(chatId, text, null);
         } catch (TelegramApiException e) {
-            logger.error("Erro ao enviar mensagem para chatId {}: {}", chatId, e.getMessage(), e);
+            logSent(chatId, text, e);
         }
     }
-    
+
+    private void logSent(Long chatId, String text, TelegramApiException error) {
+        if (error == null) {
+            logger.atDebug().setMessage("Mensagem enviada")
+                    .addKeyValue("chatId", chatId).addKeyValue("chars", text::length).log();
+        } else {
+            logger.error("Erro ao enviar mensagem para chatId {}: {}", chatId, error.getMessage(), error);
+        }
+    }
+
     public void sendMessage(Long chatId, String text) {
         sendMessage(chatId, text, false);
     }
@@ -0,0 +1,142 @@
+package com.furia.bot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.PartialBotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
+import org.telegram.telegrambots.meta.api.objects.media.InputMedia;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiValidationException;
+
+import javax.annotation.PreDestroy;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Transporte padrão ({@code telegram_transport=http2}): um único {@link HttpClient} do JDK para todas
+ * as chamadas, com HTTP/2 (várias requisições multiplexadas numa conexão TLS com a Bot API) e volta
+ * para HTTP/1.1 com pool de conexões sem limite quando o servidor não negocia HTTP/2. As conexões
+ * ociosas ficam abertas por {@code telegram_http_keepalive_seconds} (padrão 120), então rajadas não
+ * pagam de novo conexão e handshake. Cada requisição tem o seu prazo e as respostas são tratadas em
+ * threads virtuais.
+ *
+ * <p>O keep-alive do cliente do JDK é configurado por propriedades de sistema lidas na primeira
+ * criação de um {@code HttpClient} no processo; se já vierem na linha de comando, prevalecem.
+ */
+@Component
+@ConditionalOnProperty(name = "telegram_transport", havingValue = "http2", matchIfMissing = true)
+public class HttpClientTelegramTransport implements TelegramTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientTelegramTransport.class);
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("telegram-http-", 0).factory());
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public HttpClientTelegramTransport(
+            BotConfig botConfig,
+            @Value("${telegram_http_connect_timeout_seconds:5}") long connectTimeoutSeconds,
+            @Value("${telegram_http_keepalive_seconds:120}") long keepAliveSeconds) {
+        this.baseUrl = botConfig.getBotApiUrl() + botConfig.getBotToken() + "/";
+        setIfAbsent("jdk.httpclient.keepalive.timeout", keepAliveSeconds);
+        setIfAbsent("jdk.httpclient.keepalive.timeout.h2", keepAliveSeconds);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .executor(executor)
+                .build();
+        logger.info("Transporte da Bot API: HttpClient do JDK (HTTP/2, keep-alive de {}s)",
+                System.getProperty("jdk.httpclient.keepalive.timeout"));
+    }
+
+    private static void setIfAbsent(String property, long value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, Long.toString(value));
+        }
+    }
+
+    @Override
+    public boolean supports(PartialBotApiMethod<?> method) {
+        // Uploads vão em multipart pela biblioteca; URLs e file_ids cabem no corpo JSON
+        return !(method instanceof SendMediaGroup mediaGroup)
+                || mediaGroup.getMedias().stream().noneMatch(InputMedia::isNewMedia);
+    }
+
+    @Override
+    public <T extends Serializable> CompletableFuture<T> submit(PartialBotApiMethod<T> method, Duration timeout) {
+        HttpRequest request;
+        try {
+            method.validate();
+            request = HttpRequest.newBuilder(URI.create(baseUrl + method.getMethod()))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(body(method), StandardCharsets.UTF_8))
+                    .build();
+        } catch (TelegramApiValidationException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new TelegramApiException("Falha ao montar " + method.getMethod(), e));
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        String reason = cause instanceof HttpTimeoutException
+                                ? "Tempo esgotado (" + timeout.toMillis() + " ms) em " : "Falha de rede em ";
+                        throw new CompletionException(new TelegramApiException(reason + method.getMethod(), cause));
+                    }
+                    try {
+                        return method.deserializeResponse(response.body());
+                    } catch (TelegramApiException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    // SendMediaGroup não tem anotações do Jackson; os demais métodos serializam como na biblioteca
+    private String body(PartialBotApiMethod<?> method) throws JsonProcessingException {
+        if (method instanceof SendMediaGroup mediaGroup) {
+            ObjectNode node = mapper.createObjectNode();
+            node.put("chat_id", mediaGroup.getChatId());
+            node.set("media", mapper.valueToTree(mediaGroup.getMedias()));
+            if (mediaGroup.getMessageThreadId() != null) {
+                node.put("message_thread_id", mediaGroup.getMessageThreadId());
+            }
+            if (mediaGroup.getReplyToMessageId() != null) {
+                node.put("reply_to_message_id", mediaGroup.getReplyToMessageId());
+            }
+            if (mediaGroup.getDisableNotification() != null) {
+                node.put("disable_notification", mediaGroup.getDisableNotification());
+            }
+            if (mediaGroup.getProtectContent() != null) {
+                node.put("protect_content", mediaGroup.getProtectContent());
+            }
+            return mapper.writeValueAsString(node);
+        }
+        return mapper.writeValueAsString(method);
+    }
+
+    @PreDestroy
+    public void close() {
+        client.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,296 @@
+package com.furia.bot;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class InboundRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundRateLimiter.class);
+
+    public enum Decision {
+        ACCEPT,     // Processar normalmente
+        COALESCED,  // Comando idêntico recente, a resposta anterior já atende
+        DROPPED,    // Sem tokens no balde, ou chat ou usuário ainda silenciado
+        MUTED       // Chat acabou de ser silenciado por abuso (avisar uma única vez)
+    }
+
+    // Campos do estado de cada chat e de cada usuário nas tabelas
+    private static final int TOKENS = 0;
+    private static final int LAST_REFILL = 1;
+    private static final int LAST_SEEN = 2;
+    private static final int COMMAND_HASH = 3;
+    private static final int COMMAND_AT = 4;
+    private static final int STRIKES = 5;
+    private static final int MUTED_UNTIL = 6;
+    private static final int CHAT_FIELDS = 7;
+    private static final int USER_STRIKES = 3;
+    private static final int USER_MUTED_UNTIL = 4;
+    private static final int USER_FIELDS = 5;
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final double chatCapacity;
+    private final double chatRefillPerMilli;
+    private final double userCapacity;
+    private final double userRefillPerMilli;
+    private final long coalesceWindowMillis;
+    private final int muteStrikes;
+    private final long muteDurationMillis;
+    private final long idleTtlMillis;
+    private final Clock clock;
+
+    // Fora do heap e, com bot_ratelimit_state_dir, em arquivo: o heap não cresce com o número de chats
+    private final ChatStateStore chats;
+    private final ChatStateStore users;
+    // Último comando aceito de cada chat, para confirmar a repetição quando o hash gravado bate
+    private final Map<Long, String> recentCommands = new HashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong mutedDrops = new AtomicLong();
+    private final AtomicLong mutes = new AtomicLong();
+    private final AtomicLong userMutes = new AtomicLong();
+
+    @Autowired
+    public InboundRateLimiter(
+            ObjectProvider<Clock> clock,
+            @Value("${bot_ratelimit_chat_capacity:10}") int chatCapacity,
+            @Value("${bot_ratelimit_chat_per_minute:20}") int chatPerMinute,
+            @Value("${bot_ratelimit_user_capacity:5}") int userCapacity,
+            @Value("${bot_ratelimit_user_per_minute:10}") int userPerMinute,
+            @Value("${bot_ratelimit_coalesce_seconds:5}") long coalesceSeconds,
+            @Value("${bot_ratelimit_mute_strikes:10}") int muteStrikes,
+            @Value("${bot_ratelimit_mute_minutes:5}") long muteMinutes,
+            @Value("${bot_ratelimit_state_dir:}") String stateDir,
+            MeterRegistry meterRegistry) {
+        this(clock.getIfAvailable(Clock::systemDefaultZone), chatCapacity, chatPerMinute, userCapacity, userPerMinute,
+                coalesceSeconds, muteStrikes, muteMinutes, stateDir, meterRegistry);
+    }
+
+    public InboundRateLimiter(Clock clock, int chatCapacity, int chatPerMinute, int userCapacity, int userPerMinute,
+                              long coalesceSeconds, int muteStrikes, long muteMinutes, String stateDir,
+                              MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.chatCapacity = chatCapacity;
+        this.chatRefillPerMilli = chatPerMinute / (double) TimeUnit.MINUTES.toMillis(1);
+        this.userCapacity = userCapacity;
+        this.userRefillPerMilli = userPerMinute / (double) TimeUnit.MINUTES.toMillis(1);
+        this.coalesceWindowMillis = TimeUnit.SECONDS.toMillis(coalesceSeconds);
+        this.muteStrikes = muteStrikes;
+        this.muteDurationMillis = TimeUnit.MINUTES.toMillis(muteMinutes);
+        // Um balde ocioso por mais tempo que o necessário para encher de novo pode ser descartado
+        this.idleTtlMillis = Math.max(TimeUnit.MINUTES.toMillis(10), muteDurationMillis);
+        Path dir = stateDir.isBlank() ? null : Path.of(stateDir);
+        this.chats = openStore(dir, "chats.dat", CHAT_FIELDS);
+        this.users = openStore(dir, "users.dat", USER_FIELDS);
+        if (dir != null && chats.isPersistent()) {
+            logger.info("Estado do limitador de mensagens em {}: {} chats e {} usuários.", dir, chats.size(), users.size());
+        }
+
+        FunctionCounter.builder("bot.inbound.updates", accepted, AtomicLong::get)
+                .tag("decision", "accepted").register(meterRegistry);
+        FunctionCounter.builder("bot.inbound.updates", coalesced, AtomicLong::get)
+                .tag("decision", "coalesced").register(meterRegistry);
+        FunctionCounter.builder("bot.inbound.updates", dropped, AtomicLong::get)
+                .tag("decision", "dropped").register(meterRegistry);
+        FunctionCounter.builder("bot.inbound.updates", mutedDrops, AtomicLong::get)
+                .tag("decision", "muted").register(meterRegistry);
+        FunctionCounter.builder("bot.inbound.mutes", mutes, AtomicLong::get).tag("scope", "chat").register(meterRegistry);
+        FunctionCounter.builder("bot.inbound.mutes", userMutes, AtomicLong::get).tag("scope", "user").register(meterRegistry);
+        Gauge.builder("bot.inbound.tracked", this, limiter -> limiter.tracked(limiter.chats))
+                .tag("scope", "chat").register(meterRegistry);
+        Gauge.builder("bot.inbound.tracked", this, limiter -> limiter.tracked(limiter.users))
+                .tag("scope", "user").register(meterRegistry);
+        Gauge.builder("bot.inbound.state_bytes", this, limiter -> limiter.stateBytes(limiter.chats))
+                .description("Tamanho das tabelas de estado do limitador, fora do heap")
+                .tag("scope", "chat").register(meterRegistry);
+        Gauge.builder("bot.inbound.state_bytes", this, limiter -> limiter.stateBytes(limiter.users))
+                .description("Tamanho das tabelas de estado do limitador, fora do heap")
+                .tag("scope", "user").register(meterRegistry);
+    }
+
+    private static ChatStateStore openStore(Path dir, String name, int fields) {
+        if (dir != null) {
+            try {
+                return ChatStateStore.open(dir.resolve(name), fields, INITIAL_CAPACITY);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Não foi possível abrir {} em {}: {}. O estado fica só na memória.", name, dir, e.getMessage());
+            }
+        }
+        return ChatStateStore.inMemory(fields, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Decide se a mensagem deve ser processada. {@code commandKey} é o comando normalizado
+     * com seus argumentos (ex.: "/jogo" ou "/jogo academy"), usado para agrupar pedidos repetidos do mesmo chat.
+     */
+    public synchronized Decision check(Long chatId, Long userId, String commandKey) {
+        // Relógio de parede: os instantes gravados no arquivo continuam valendo depois de um reinício
+        long now = clock.millis();
+        int chat = slot(chats, chatId, chatCapacity, now);
+        chats.setLong(chat, LAST_SEEN, now);
+
+        long mutedUntil = chats.getLong(chat, MUTED_UNTIL);
+        if (mutedUntil != 0) {
+            if (now < mutedUntil) {
+                mutedDrops.incrementAndGet();
+                return Decision.DROPPED;
+            }
+            chats.setLong(chat, MUTED_UNTIL, 0);
+            chats.setLong(chat, STRIKES, 0);
+        }
+
+        // A inclusão do usuário não mexe na tabela dos chats: a posição do chat continua válida
+        int user = userId == null ? -1 : slot(users, userId, userCapacity, now);
+        if (user >= 0 && users.getLong(user, USER_MUTED_UNTIL) != 0) {
+            if (now < users.getLong(user, USER_MUTED_UNTIL)) {
+                mutedDrops.incrementAndGet();
+                return Decision.DROPPED;
+            }
+            users.setLong(user, USER_MUTED_UNTIL, 0);
+            users.setLong(user, USER_STRIKES, 0);
+        }
+
+        int commandHash = commandKey.hashCode();
+        long lastCommandAt = chats.getLong(chat, COMMAND_AT);
+        if (lastCommandAt != 0 && chats.getLong(chat, COMMAND_HASH) == commandHash
+                && now - lastCommandAt < coalesceWindowMillis && commandKey.equals(recentCommands.get(chatId))) {
+            coalesced.incrementAndGet();
+            return Decision.COALESCED;
+        }
+
+        // Os dois baldes são conferidos antes de debitar: um usuário barrado não gasta os tokens do grupo
+        double chatTokens = refill(chats, chat, chatCapacity, chatRefillPerMilli, now);
+        double userTokens = user < 0 ? 1.0 : refill(users, user, userCapacity, userRefillPerMilli, now);
+
+        if (chatTokens < 1.0) {
+            // O chat inteiro passou do limite: conta para silenciar o chat
+            dropped.incrementAndGet();
+            long strikes = chats.getLong(chat, STRIKES) + 1;
+            chats.setLong(chat, STRIKES, strikes);
+            if (strikes >= muteStrikes) {
+                chats.setLong(chat, MUTED_UNTIL, now + muteDurationMillis);
+                mutes.incrementAndGet();
+                logger.warn("Chat {} silenciado por {} minutos por excesso de mensagens",
+                        chatId, TimeUnit.MILLISECONDS.toMinutes(muteDurationMillis));
+                return Decision.MUTED;
+            }
+            return Decision.DROPPED;
+        }
+        if (userTokens < 1.0) {
+            // Só o usuário passou do limite: silencia só ele, sem aviso no grupo
+            dropped.incrementAndGet();
+            long strikes = users.getLong(user, USER_STRIKES) + 1;
+            users.setLong(user, USER_STRIKES, strikes);
+            if (strikes >= muteStrikes) {
+                users.setLong(user, USER_MUTED_UNTIL, now + muteDurationMillis);
+                userMutes.incrementAndGet();
+                logger.warn("Usuário {} silenciado por {} minutos por excesso de mensagens no chat {}",
+                        userId, TimeUnit.MILLISECONDS.toMinutes(muteDurationMillis), chatId);
+            }
+            return Decision.DROPPED;
+        }
+
+        chats.setDouble(chat, TOKENS, chatTokens - 1.0);
+        if (user >= 0) {
+            users.setDouble(user, TOKENS, userTokens - 1.0);
+            users.setLong(user, USER_STRIKES, 0);
+        }
+        chats.setLong(chat, STRIKES, 0);
+        chats.setLong(chat, COMMAND_HASH, commandHash);
+        chats.setLong(chat, COMMAND_AT, now);
+        recentCommands.put(chatId, commandKey);
+        accepted.incrementAndGet();
+        return Decision.ACCEPT;
+    }
+
+    // Com o monitor: posição do chat ou usuário, com o balde cheio se é a primeira mensagem dele
+    private static int slot(ChatStateStore store, long id, double capacity, long now) {
+        int slot = store.slot(id);
+        if (store.getLong(slot, LAST_SEEN) == 0) {
+            store.setDouble(slot, TOKENS, capacity);
+            store.setLong(slot, LAST_REFILL, now);
+            store.setLong(slot, LAST_SEEN, now);
+        }
+        return slot;
+    }
+
+    // Com o monitor: reabastece o balde até agora e devolve os tokens, sem debitar nem alocar
+    private static double refill(ChatStateStore store, int slot, double capacity, double refillPerMilli, long now) {
+        // Relógio ajustado para trás: nada a reabastecer
+        long elapsed = Math.max(0, now - store.getLong(slot, LAST_REFILL));
+        double tokens = Math.min(capacity, store.getDouble(slot, TOKENS) + elapsed * refillPerMilli);
+        store.setLong(slot, LAST_REFILL, now);
+        store.setLong(slot, LAST_SEEN, now);
+        store.setDouble(slot, TOKENS, tokens);
+        return tokens;
+    }
+
+    private synchronized double tracked(ChatStateStore store) {
+        return store.size();
+    }
+
+    private synchronized double stateBytes(ChatStateStore store) {
+        return store.bytes();
+    }
+
+    public long getMuteMinutes() {
+        return TimeUnit.MILLISECONDS.toMinutes(muteDurationMillis);
+    }
+
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get() + mutedDrops.get();
+    }
+
+    @Scheduled(fixedRate = 300000) // A cada 5 minutos
+    public synchronized void evictIdle() {
+        long now = clock.millis();
+        recentCommands.keySet().removeIf(chatId -> {
+            int slot = chats.find(chatId);
+            return slot < 0 || now - chats.getLong(slot, COMMAND_AT) >= coalesceWindowMillis;
+        });
+        chats.removeIf(slot -> now - chats.getLong(slot, LAST_SEEN) > idleTtlMillis
+                && now >= chats.getLong(slot, MUTED_UNTIL));
+        users.removeIf(slot -> now - users.getLong(slot, LAST_SEEN) > idleTtlMillis
+                && now >= users.getLong(slot, USER_MUTED_UNTIL));
+        chats.force();
+        users.force();
+        logger.debug("Limitador de entrada: {} chats e {} usuários rastreados", chats.size(), users.size());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            chats.close();
+            users.close();
+        } catch (IOException e) {
+            logger.warn("Falha ao gravar o estado do limitador de mensagens: {}", e.getMessage());
+        }
+    }
+}
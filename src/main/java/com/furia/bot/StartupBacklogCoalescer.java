@@ -0,0 +1,115 @@
+package com.furia.bot;
+
+import com.furia.commands.CommandRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class StartupBacklogCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBacklogCoalescer.class);
+
+    private final int maxDrainBatches;
+    private final long maxAgeSeconds;
+    private final Clock clock;
+    private final long startedAtEpochSecond;
+    private final Counter coalescedCounter;
+    private final Counter expiredCounter;
+    private final CommandRouter commandRouter;
+    private int batchesSeen;
+    private volatile boolean draining = true;
+
+    @Autowired
+    public StartupBacklogCoalescer(
+            ObjectProvider<Clock> clock,
+            @Value("${bot_backlog_drain_batches:5}") int maxDrainBatches,
+            @Value("${bot_backlog_max_age_seconds:0}") long maxAgeSeconds,
+            CommandRouter commandRouter,
+            MeterRegistry meterRegistry) {
+        this(clock.getIfAvailable(Clock::systemDefaultZone), maxDrainBatches, maxAgeSeconds, commandRouter, meterRegistry);
+    }
+
+    public StartupBacklogCoalescer(Clock clock, int maxDrainBatches, long maxAgeSeconds, CommandRouter commandRouter,
+                                   MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.startedAtEpochSecond = clock.instant().getEpochSecond();
+        this.commandRouter = commandRouter;
+        this.maxDrainBatches = maxDrainBatches;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.coalescedCounter = Counter.builder("bot.backlog.updates").tag("outcome", "coalesced").register(meterRegistry);
+        this.expiredCounter = Counter.builder("bot.backlog.updates").tag("outcome", "expired").register(meterRegistry);
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Nos primeiros lotes após a inicialização, agrupa as mensagens pendentes por (chat, comando)
+     * e mantém só a última de cada par, respondida com os dados atuais. Mensagens mais antigas
+     * que {@code bot_backlog_max_age_seconds} são descartadas. Fora desse modo devolve o lote intacto.
+     */
+    public synchronized List<Update> coalesce(List<Update> updates) {
+        if (!draining) {
+            return updates;
+        }
+
+        long now = clock.instant().getEpochSecond();
+        Map<String, Update> latestByKey = new LinkedHashMap<>();
+        List<Update> passthrough = new ArrayList<>();
+        boolean sawBacklog = false;
+        int expired = 0;
+
+        for (Update update : updates) {
+            Message message = update.getMessage();
+            if (message == null || !message.hasText() || message.getDate() == null
+                    || message.getDate() >= startedAtEpochSecond) {
+                passthrough.add(update);
+                continue;
+            }
+            sawBacklog = true;
+            if (maxAgeSeconds > 0 && now - message.getDate() > maxAgeSeconds) {
+                expired++;
+                continue;
+            }
+            String key = message.getChatId() + " " + commandRouter.parse(message.getText()).key();
+            // Remover antes de inserir move o par para a posição da mensagem mais recente
+            latestByKey.remove(key);
+            latestByKey.put(key, update);
+        }
+
+        int coalesced = updates.size() - passthrough.size() - latestByKey.size() - expired;
+        coalescedCounter.increment(coalesced);
+        expiredCounter.increment(expired);
+
+        batchesSeen++;
+        if (!sawBacklog || batchesSeen >= maxDrainBatches) {
+            draining = false;
+            logger.info("Fim do modo de recuperação de backlog após {} lote(s)", batchesSeen);
+        }
+
+        if (!sawBacklog) {
+            return updates;
+        }
+        logger.info("Backlog: {} mensagens pendentes, {} respondidas, {} agrupadas, {} expiradas",
+                updates.size() - passthrough.size(), latestByKey.size(), coalesced, expired);
+
+        List<Update> result = new ArrayList<>(latestByKey.values());
+        result.addAll(passthrough);
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.furia.bot;
+
+import org.telegram.telegrambots.meta.api.methods.PartialBotApiMethod;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envio das chamadas à Bot API fora do cliente HTTP da biblioteca. O futuro termina com o resultado
+ * já desserializado ou com a {@code TelegramApiException} da chamada (inclusive 429 e timeout).
+ * Sem um bean desta interface ({@code telegram_transport=library}) o {@link FuriaBot} usa a
+ * biblioteca, de forma síncrona.
+ */
+public interface TelegramTransport {
+
+    /** {@code false} se o método precisa do envio da biblioteca (ex.: upload de arquivo). */
+    boolean supports(PartialBotApiMethod<?> method);
+
+    <T extends Serializable> CompletableFuture<T> submit(PartialBotApiMethod<T> method, Duration timeout);
+}
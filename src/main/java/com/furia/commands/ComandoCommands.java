@@ -1,49 +1,60 @@
 package com.furia.commands;
 
 import com.furia.bot.FuriaBot;
+import com.furia.crawler.TrackedTeams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 @Component
+@CommandMapping(name = "/start", aliases = "/help", description = "Mostrar esta mensagem", order = 100)
 public class ComandoCommands implements Command {
 
     private static final Logger logger = LoggerFactory.getLogger(ComandoCommands.class);
 
+    // O roteador depende de todos os comandos, inclusive deste; resolvido sob demanda
+    private final ObjectProvider<CommandRouter> commandRouter;
+    private final TrackedTeams teams;
+
+    public ComandoCommands(ObjectProvider<CommandRouter> commandRouter, TrackedTeams teams) {
+        this.commandRouter = commandRouter;
+        this.teams = teams;
+    }
+
     @Override
     public void execute(Long chatId, FuriaBot bot) {
-        // Este método não será chamado diretamente, mas é necessário pela interface
-        logger.warn("Método execute padrão chamado para ComandoCommands, chatId: {}", chatId);
+        executeStart(chatId, bot);
+    }
+
+    @Override
+    public void execute(Long chatId, CommandInvocation invocation, FuriaBot bot) {
+        if ("/help".equals(invocation.name())) {
+            executeHelp(chatId, bot);
+        } else {
+            executeStart(chatId, bot);
+        }
     }
 
     public void executeStart(Long chatId, FuriaBot bot) {
-        logger.info("Comando /start executado para chatId: {}", chatId);
-        String message = """
-                Bem-vindo ao bot da FURIA! 🐾
-                Aqui estão os comandos disponíveis:
-                /time - Veja a escalação atual do time da FURIA 
-                /jogo ou /partida - Confira as próximas partidas da FURIA 
-                /resultado - Veja os últimos resultados da FURIA 
-                /loja - Acesse a loja oficial da FURIA
-                /live - Acompanhe partidas ao vivo da FURIA 
-                /contato - Entre em contato com a FURIA
-                /start ou /help - Mostrar esta mensagem
-                """;
+        logger.debug("Comando /start executado para chatId: {}", chatId);
+        String message = "Bem-vindo ao bot da FURIA! 🐾\nAqui estão os comandos disponíveis:\n"
+                + commandRouter.getObject().getHelpText() + teamsHint();
         bot.sendMessage(chatId, message);
     }
 
     public void executeHelp(Long chatId, FuriaBot bot) {
-        logger.info("Comando /help executado para chatId: {}", chatId);
-        String message = """
-                Aqui estão os comandos do bot FURIA: 🐾
-                /time - Veja a escalação atual do time da FURIA 
-                /jogo ou /partida - Confira as próximas partidas da FURIA 
-                /resultado - Veja os últimos resultados da FURIA 
-                /loja - Acesse a loja oficial da FURIA
-                /live - Acompanhe partidas ao vivo da FURIA 
-                /contato - Entre em contato com a FURIA
-                /start ou /help - Mostrar esta mensagem
-                """;
+        logger.debug("Comando /help executado para chatId: {}", chatId);
+        String message = "Aqui estão os comandos do bot FURIA: 🐾\n" + commandRouter.getObject().getHelpText() + teamsHint();
         bot.sendMessage(chatId, message, true);
     }
+
+    private String teamsHint() {
+        if (!teams.isMultiTeam()) {
+            return "";
+        }
+        String example = teams.all().get(1).alias();
+        return "\nPara outro time, informe o apelido após o comando (ex.: /jogo " + example + "). Times: "
+                + String.join(", ", teams.aliases()) + ".";
+    }
 }
\ No newline at end of file
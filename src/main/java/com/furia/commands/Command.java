@@ -4,4 +4,8 @@ import com.furia.bot.FuriaBot;
 
 public interface Command {
     void execute(Long chatId, FuriaBot bot);
+
+    default void execute(Long chatId, CommandInvocation invocation, FuriaBot bot) {
+        execute(chatId, bot);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.furia.commands;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mensagem já tokenizada: {@code name} é o comando normalizado (minúsculo, sem o sufixo
+ * {@code @bot}), {@code args} são os demais tokens na forma em que foram digitados.
+ */
+public record CommandInvocation(String name, List<String> args, boolean addressedToOtherBot) {
+
+    public boolean hasArgs() {
+        return !args.isEmpty();
+    }
+
+    public String argsText() {
+        return String.join(" ", args);
+    }
+
+    /** Comando e argumentos normalizados, para agrupar pedidos equivalentes (ex.: "/jogo academy"). */
+    public String key() {
+        return args.isEmpty() ? name : name + " " + argsText().toLowerCase(Locale.ROOT);
+    }
+}
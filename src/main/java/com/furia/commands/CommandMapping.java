@@ -0,0 +1,29 @@
+package com.furia.commands;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declara o nome, os apelidos e a descrição de um {@link Command}. O {@link CommandRouter}
+ * descobre os beans anotados e monta a tabela de despacho e o texto de ajuda a partir daqui.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CommandMapping {
+
+    /** Nome principal, com a barra (ex.: "/jogo"). */
+    String name();
+
+    /** Outros nomes aceitos para o mesmo comando (ex.: "/partida"). */
+    String[] aliases() default {};
+
+    /** Texto exibido no /help. */
+    String description();
+
+    /** Posição no /help; menores aparecem primeiro. */
+    int order() default Integer.MAX_VALUE;
+}
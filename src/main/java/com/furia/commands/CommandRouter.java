@@ -0,0 +1,138 @@
+package com.furia.commands;
+
+import com.furia.bot.FuriaBot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CommandRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandRouter.class);
+
+    private final String botUsername;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Route> routes = new HashMap<>();
+    private final String helpText;
+    private final String unknownCommandText;
+
+    private record Route(String name, Command command, Timer timer) {
+    }
+
+    public CommandRouter(List<Command> commands,
+                         @Value("${telegram_bot_username}") String botUsername,
+                         MeterRegistry meterRegistry) {
+        this.botUsername = normalizeUsername(botUsername);
+        this.meterRegistry = meterRegistry;
+
+        List<CommandMapping> mappings = new ArrayList<>();
+        for (Command command : commands) {
+            CommandMapping mapping = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(command), CommandMapping.class);
+            if (mapping == null) {
+                logger.warn("Comando sem @CommandMapping ignorado: {}", command.getClass().getName());
+                continue;
+            }
+            Route route = new Route(mapping.name(), command, Timer.builder("bot.command.latency")
+                    .tag("command", mapping.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            register(mapping.name(), route);
+            for (String alias : mapping.aliases()) {
+                register(alias, route);
+            }
+            mappings.add(mapping);
+        }
+        mappings.sort(Comparator.comparingInt(CommandMapping::order));
+
+        StringBuilder help = new StringBuilder();
+        List<String> allNames = new ArrayList<>();
+        for (CommandMapping mapping : mappings) {
+            List<String> names = new ArrayList<>();
+            names.add(mapping.name());
+            names.addAll(Arrays.asList(mapping.aliases()));
+            allNames.addAll(names);
+            help.append(String.join(" ou ", names)).append(" - ").append(mapping.description()).append("\n");
+        }
+        this.helpText = help.toString();
+        this.unknownCommandText = "Comando não reconhecido. Tente: " + joinWithOu(allNames) + ".";
+        logger.info("{} comandos registrados: {}", mappings.size(), allNames);
+    }
+
+    private void register(String name, Route route) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Route previous = routes.putIfAbsent(key, route);
+        if (previous != null) {
+            throw new IllegalStateException("Comando " + key + " declarado por "
+                    + previous.command().getClass().getSimpleName() + " e " + route.command().getClass().getSimpleName());
+        }
+    }
+
+    private static String normalizeUsername(String username) {
+        String trimmed = username == null ? "" : username.trim();
+        return (trimmed.startsWith("@") ? trimmed.substring(1) : trimmed).toLowerCase(Locale.ROOT);
+    }
+
+    private static String joinWithOu(List<String> names) {
+        if (names.size() <= 1) {
+            return String.join("", names);
+        }
+        return String.join(", ", names.subList(0, names.size() - 1)) + " ou " + names.get(names.size() - 1);
+    }
+
+    /**
+     * Tokeniza a mensagem uma única vez. O primeiro token vira o nome do comando (minúsculo e sem
+     * {@code @FuriaBot}); comandos endereçados a outro bot no grupo são marcados para serem ignorados.
+     */
+    public CommandInvocation parse(String text) {
+        String[] tokens = text.trim().split("\\s+");
+        String name = tokens[0].toLowerCase(Locale.ROOT);
+        boolean otherBot = false;
+        int at = name.indexOf('@');
+        if (at > 0) {
+            otherBot = !name.substring(at + 1).equals(botUsername);
+            name = name.substring(0, at);
+        }
+        List<String> args = tokens.length > 1 ? List.of(tokens).subList(1, tokens.length) : List.of();
+        return new CommandInvocation(name, args, otherBot);
+    }
+
+    public String getHelpText() {
+        return helpText;
+    }
+
+    public void dispatch(Long chatId, CommandInvocation invocation, FuriaBot bot) {
+        Route route = routes.get(invocation.name());
+        if (route == null) {
+            logger.debug("Comando não reconhecido: {} para chatId: {}", invocation.name(), chatId); // Contado em bot.command.unknown
+            meterRegistry.counter("bot.command.unknown").increment();
+            bot.sendMessage(chatId, unknownCommandText);
+            return;
+        }
+
+        logger.debug("Executando comando: {} para chatId: {}", invocation.name(), chatId);
+        long start = System.nanoTime();
+        try {
+            route.command().execute(chatId, invocation, bot);
+        } catch (Exception e) {
+            logger.error("Erro ao executar comando {} para chatId {}: {}", invocation.name(), chatId, e.getMessage(), e);
+            meterRegistry.counter("bot.command.errors", "command", route.name()).increment();
+            bot.sendMessage(chatId, "Erro ao processar o comando. Tente novamente mais tarde.");
+        } finally {
+            route.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component
+@CommandMapping(name = "/contato", description = "Entre em contato com a FURIA", order = 6)
 public class ContatoCommand implements Command {
 
     private static final Logger logger = LoggerFactory.getLogger(ContatoCommand.class);
@@ -16,7 +17,7 @@ public class ContatoCommand implements Command {
 
     @Override
     public void execute(Long chatId, FuriaBot bot) {
-        logger.info("Comando /contato executado para chatId: {}", chatId);
+        logger.debug("Comando /contato executado para chatId: {}", chatId);
 
         String message = """
                 Redes sociais:
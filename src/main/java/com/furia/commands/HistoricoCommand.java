@@ -0,0 +1,112 @@
+package com.furia.commands;
+
+import com.furia.bot.FuriaBot;
+import com.furia.crawler.ResultsArchive;
+import com.furia.crawler.ResultsArchive.ArchivedResult;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico de resultados a partir do {@link ResultsArchive}, dez por página, mais recentes primeiro.
+ * Argumentos, todos opcionais: apelido do time (com mais de um time acompanhado), adversário ou
+ * torneio e o número da página (ex.: "/historico academy NAVI 2").
+ */
+@Component
+@CommandMapping(name = "/historico", description = "Histórico de resultados da FURIA (ex.: /historico NAVI)", order = 7)
+public class HistoricoCommand implements Command {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoricoCommand.class);
+    static final int PAGE_SIZE = 10;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yy");
+
+    private final ResultsArchive archive;
+    private final TrackedTeams teams;
+
+    public HistoricoCommand(ResultsArchive archive, TrackedTeams teams) {
+        this.archive = archive;
+        this.teams = teams;
+    }
+
+    @Override
+    public void execute(Long chatId, FuriaBot bot) {
+        execute(chatId, new CommandInvocation("/historico", List.of(), false), bot);
+    }
+
+    @Override
+    public void execute(Long chatId, CommandInvocation invocation, FuriaBot bot) {
+        List<String> args = new ArrayList<>(invocation.args());
+        int page = 1;
+        if (!args.isEmpty() && args.get(args.size() - 1).matches("\\d{1,4}")) {
+            page = Math.max(1, Integer.parseInt(args.remove(args.size() - 1)));
+        }
+        TrackedTeam team = teams.primary();
+        if (teams.isMultiTeam() && !args.isEmpty()) {
+            TrackedTeam named = teams.resolve(List.of(args.get(0)));
+            if (named != null) {
+                team = named;
+                args.remove(0);
+            }
+        }
+        String filter = String.join(" ", args).trim();
+        logger.debug("Comando /historico executado para chatId: {} (time {}, filtro '{}', página {})", chatId, team, filter, page);
+
+        if (!archive.isEnabled()) {
+            bot.sendMessage(chatId, "O histórico de resultados não está disponível no momento.");
+            return;
+        }
+        ResultsArchive.Page results;
+        String title;
+        if (filter.isEmpty()) {
+            results = archive.latest(team, page, PAGE_SIZE);
+            title = "Histórico da " + team.displayName();
+        } else {
+            results = archive.byOpponent(team, filter, page, PAGE_SIZE);
+            title = "Histórico da " + team.displayName() + " contra " + filter;
+            if (results.total() == 0) {
+                results = archive.byTournament(team, filter, page, PAGE_SIZE);
+                title = "Histórico da " + team.displayName() + " em " + filter;
+            }
+        }
+
+        if (results.total() == 0) {
+            bot.sendMessage(chatId, filter.isEmpty()
+                    ? "O histórico ainda está vazio. Tente novamente mais tarde."
+                    : "Nenhum resultado no histórico para: " + filter + ".");
+            return;
+        }
+        if (results.results().isEmpty()) {
+            bot.sendMessage(chatId, "A página " + page + " não existe; o histórico tem " + results.pages() + " página(s).");
+            return;
+        }
+
+        StringBuilder message = new StringBuilder(title)
+                .append(" (").append(results.total()).append(" partidas, página ")
+                .append(results.page()).append(" de ").append(results.pages()).append("):\n\n");
+        for (ArchivedResult result : results.results()) {
+            message.append(result.victory() ? "✅ " : "❌ ")
+                    .append(result.date().atZone(ZoneId.systemDefault()).format(DATE))
+                    .append(" vs ").append(result.opponent())
+                    .append(" - ").append(result.score())
+                    .append(" (").append(result.tournament()).append(")\n");
+        }
+        if (results.page() < results.pages()) {
+            StringBuilder next = new StringBuilder("/historico");
+            if (!team.primary()) {
+                next.append(' ').append(team.alias());
+            }
+            if (!filter.isEmpty()) {
+                next.append(' ').append(filter);
+            }
+            message.append("\nPróxima página: ").append(next).append(' ').append(results.page() + 1);
+        }
+        bot.sendMessage(chatId, message.toString().trim());
+    }
+}
@@ -2,6 +2,10 @@ package com.furia.commands;
 
 import com.furia.bot.FuriaBot;
 import com.furia.crawler.HltvCrawlerService;
+import com.furia.crawler.SnapshotFreshness;
+import com.furia.crawler.SnapshotSection;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
 import com.furia.crawler.HltvCrawlerService.Match;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,19 +21,23 @@ import java.util.List;
 import java.util.Map;
 
 @Component
-public class JogoCommand implements Command {
+@CommandMapping(name = "/jogo", aliases = "/partida", description = "Confira as próximas partidas da FURIA", order = 2)
+public class JogoCommand extends TeamScopedCommand {
 
     private static final Logger logger = LoggerFactory.getLogger(JogoCommand.class);
     private final HltvCrawlerService crawlerService;
+    private final SnapshotFreshness freshness;
 
-    public JogoCommand(HltvCrawlerService crawlerService) {
+    public JogoCommand(HltvCrawlerService crawlerService, SnapshotFreshness freshness, TrackedTeams teams) {
+        super(teams);
         this.crawlerService = crawlerService;
+        this.freshness = freshness;
     }
 
     @Override
-    public void execute(Long chatId, FuriaBot bot) {
-        logger.info("Comando /jogo executado para chatId: {}", chatId);
-        List<Match> matches = crawlerService.getUpcomingMatches();
+    protected void execute(Long chatId, TrackedTeam team, FuriaBot bot) {
+        logger.debug("Comando /jogo executado para chatId: {} (time {})", chatId, team);
+        List<Match> matches = crawlerService.getUpcomingMatches(team);
         if (matches == null || matches.isEmpty()) {
             bot.sendMessage(chatId, "Nenhuma partida futura encontrada. Tente novamente mais tarde.");
             logger.warn("Partidas futuras vazias para chatId: {}", chatId);
@@ -44,7 +52,7 @@ public class JogoCommand implements Command {
         }
 
         // Formata a mensagem
-        StringBuilder message = new StringBuilder("Próximas partidas da FURIA:\n\n");
+        StringBuilder message = new StringBuilder("Próximas partidas da " + team.displayName() + ":\n\n");
         for (Map.Entry<String, List<Match>> entry : matchesByTournament.entrySet()) {
             String tournament = entry.getKey();
             List<Match> tournamentMatches = entry.getValue();
@@ -68,8 +76,8 @@ public class JogoCommand implements Command {
             message.append("\n");
         }
 
-        bot.sendMessage(chatId, message.toString().trim());
-        logger.info("Mensagem de /jogo enviada para chatId: {}", chatId);
+        bot.sendMessage(chatId, message.toString().trim() + freshness.stalenessNotice(team, SnapshotSection.UPCOMING));
+        logger.debug("Mensagem de /jogo enviada para chatId: {}", chatId);
     }
 
     private LocalDateTime parseMatchDateTime(Match match) {
@@ -1,70 +1,61 @@
 package com.furia.commands;
 
+import com.furia.bot.ChannelMirror;
 import com.furia.bot.FuriaBot;
 import com.furia.crawler.HltvCrawlerService;
+import com.furia.crawler.LiveMatchFormatter;
+import com.furia.crawler.SnapshotFreshness;
+import com.furia.crawler.SnapshotSection;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
 import com.furia.crawler.HltvCrawlerService.LiveMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component
-public class LiveCommand implements Command {
+@CommandMapping(name = "/live", description = "Acompanhe partidas ao vivo da FURIA", order = 5)
+public class LiveCommand extends TeamScopedCommand {
 
     private static final Logger logger = LoggerFactory.getLogger(LiveCommand.class);
     private final HltvCrawlerService crawlerService;
+    private final SnapshotFreshness freshness;
+    private final ChannelMirror channelMirror;
 
-    public LiveCommand(HltvCrawlerService crawlerService) {
+    public LiveCommand(HltvCrawlerService crawlerService, SnapshotFreshness freshness, TrackedTeams teams,
+                       ChannelMirror channelMirror) {
+        super(teams);
         this.crawlerService = crawlerService;
+        this.freshness = freshness;
+        this.channelMirror = channelMirror;
     }
 
     @Override
-    public void execute(Long chatId, FuriaBot bot) {
-        logger.info("Comando /live executado para chatId: {}", chatId);
-        LiveMatch liveMatch = crawlerService.getLiveMatch();
+    protected void execute(Long chatId, TrackedTeam team, FuriaBot bot) {
+        logger.debug("Comando /live executado para chatId: {} (time {})", chatId, team);
+        LiveMatch liveMatch = crawlerService.getLiveMatch(team);
         logger.debug("Partida ao vivo retornada: {}", liveMatch != null ? liveMatch.getOpponent() : "null");
         if (liveMatch == null) {
-            bot.sendMessage(chatId, "Nenhuma partida ao vivo no momento.", false);
-            logger.info("Nenhuma partida ao vivo detectada para chatId: {}", chatId);
+            String channelHint = channelMirror.hasPublicLink()
+                    ? "\nInício das partidas e resultados no canal: " + channelMirror.channelLink() : "";
+            bot.sendMessage(chatId, "Nenhuma partida ao vivo no momento." + channelHint, false);
+            logger.debug("Nenhuma partida ao vivo detectada para chatId: {}", chatId);
             return;
         }
 
-        StringBuilder response = new StringBuilder("🔥 Partida da FURIA ao vivo! 🔥\n");
-        // Tournament and format
-        String format = liveMatch.getFormat().toUpperCase().replace("BO", "MD");
-        response.append(String.format("🏆 %s - %s\n", liveMatch.getTournament(), format));
-
-        // Current map score and maps won
-        String[] currentMapScore = liveMatch.getCurrentMapScore().split("-");
-        String[] mapsWon = liveMatch.getMapsWon().split("-");
-        String furiaScore = currentMapScore.length == 2 ? currentMapScore[0].trim() : "0";
-        String opponentScore = currentMapScore.length == 2 ? currentMapScore[1].trim() : "0";
-        String furiaMapsWon = mapsWon.length == 2 ? mapsWon[0].trim() : "0";
-        String opponentMapsWon = mapsWon.length == 2 ? mapsWon[1].trim() : "0";
-        response.append(String.format("FURIA %s (%s) - (%s) %s %s\n", 
-            furiaScore, furiaMapsWon, opponentMapsWon, opponentScore, liveMatch.getOpponent()));
-
-        // Veto details
-        if (!liveMatch.getVetoDetails().isEmpty()) {
-            response.append("\nPicks e Bans:\n");
-            for (String veto : liveMatch.getVetoDetails()) {
-                response.append("  - ").append(veto).append("\n");
-            }
+        if (channelMirror.hasPublicLink()) {
+            // Modo canal: o placar é atualizado num post fixado do canal, o chat recebe só o link
+            bot.sendMessage(chatId, "🔥 Partida da " + team.displayName() + " ao vivo! 🔥\nPlacar em tempo real no canal: "
+                    + channelMirror.channelLink(), false);
+            return;
         }
 
-        // Stream links
-        if (!liveMatch.getStreamLinks().isEmpty()) {
-            response.append("\nPrincipais Transmissões:\n");
-            for (String stream : liveMatch.getStreamLinks()) {
-                // Skip internal HLTV links like "/live?matchId=..."
-                if (!stream.contains("/live?matchId=")) {
-                    response.append("  - ").append(stream).append("\n");
-                }
-            }
-        }
+        StringBuilder response = new StringBuilder(LiveMatchFormatter.describe(team, liveMatch, "🔥 Partida da " + team.displayName() + " ao vivo! 🔥"));
 
         // Match link
         response.append("\n📊 Detalhes da partida:\n").append(liveMatch.getMatchLink());
+        response.append(freshness.stalenessNotice(team, SnapshotSection.LIVE));
 
         bot.sendMessage(chatId, response.toString(), true);
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component
+@CommandMapping(name = "/loja", description = "Acesse a loja oficial da FURIA", order = 4)
 public class LojaCommand implements Command {
 
     private static final Logger logger = LoggerFactory.getLogger(LojaCommand.class);
@@ -13,7 +14,7 @@ public class LojaCommand implements Command {
 
     @Override
     public void execute(Long chatId, FuriaBot bot) {
-        logger.info("Comando /loja executado para chatId: {}", chatId);
+        logger.debug("Comando /loja executado para chatId: {}", chatId);
         bot.sendMessage(chatId, "Loja oficial da FURIA: " + LOJA_URL, true);
     }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package com.furia.commands;
 
 import com.furia.bot.FuriaBot;
 import com.furia.crawler.HltvCrawlerService;
+import com.furia.crawler.SnapshotFreshness;
+import com.furia.crawler.SnapshotSection;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
 import com.furia.crawler.HltvCrawlerService.MatchResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,19 +17,23 @@ import java.util.List;
 import java.util.Map;
 
 @Component
-public class ResultadoCommand implements Command {
+@CommandMapping(name = "/resultado", description = "Veja os últimos resultados da FURIA", order = 3)
+public class ResultadoCommand extends TeamScopedCommand {
 
     private static final Logger logger = LoggerFactory.getLogger(ResultadoCommand.class);
     private final HltvCrawlerService crawlerService;
+    private final SnapshotFreshness freshness;
 
-    public ResultadoCommand(HltvCrawlerService crawlerService) {
+    public ResultadoCommand(HltvCrawlerService crawlerService, SnapshotFreshness freshness, TrackedTeams teams) {
+        super(teams);
         this.crawlerService = crawlerService;
+        this.freshness = freshness;
     }
 
     @Override
-    public void execute(Long chatId, FuriaBot bot) {
-        logger.info("Comando /resultado executado para chatId: {}", chatId);
-        List<MatchResult> results = crawlerService.getLastResults();
+    protected void execute(Long chatId, TrackedTeam team, FuriaBot bot) {
+        logger.debug("Comando /resultado executado para chatId: {} (time {})", chatId, team);
+        List<MatchResult> results = crawlerService.getLastResults(team);
         if (results == null || results.isEmpty()) {
             bot.sendMessage(chatId, "Nenhum resultado encontrado. Tente novamente mais tarde.");
             logger.warn("Resultados vazios para chatId: {}", chatId);
@@ -40,7 +48,7 @@ public class ResultadoCommand implements Command {
         }
 
         // Formata a mensagem
-        StringBuilder message = new StringBuilder("Últimos resultados da FURIA:\n\n");
+        StringBuilder message = new StringBuilder("Últimos resultados da " + team.displayName() + ":\n\n");
         for (Map.Entry<String, List<MatchResult>> entry : resultsByTournament.entrySet()) {
             String tournament = entry.getKey();
             List<MatchResult> tournamentResults = entry.getValue();
@@ -53,7 +61,7 @@ public class ResultadoCommand implements Command {
             message.append("\n");
         }
 
-        bot.sendMessage(chatId, message.toString().trim());
-        logger.info("Mensagem de /resultado enviada para chatId: {}", chatId);
+        bot.sendMessage(chatId, message.toString().trim() + freshness.stalenessNotice(team, SnapshotSection.RESULTS));
+        logger.debug("Mensagem de /resultado enviada para chatId: {}", chatId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.furia.commands;
+
+import com.furia.bot.FuriaBot;
+import com.furia.crawler.ResultStatistics;
+import com.furia.crawler.ResultStatistics.Summary;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estatísticas dos resultados guardados no histórico. Sem filtro mostra o geral e os últimos jogos;
+ * com um adversário mostra o confronto direto e, se o nome não for de um adversário, o torneio
+ * (ex.: "/stats NAVI", "/stats academy IEM Katowice").
+ */
+@Component
+@CommandMapping(name = "/stats", aliases = "/estatisticas", description = "Estatísticas da FURIA, gerais ou contra um adversário (ex.: /stats NAVI)", order = 8)
+public class StatsCommand implements Command {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatsCommand.class);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yy");
+
+    private final ResultStatistics statistics;
+    private final TrackedTeams teams;
+
+    public StatsCommand(ResultStatistics statistics, TrackedTeams teams) {
+        this.statistics = statistics;
+        this.teams = teams;
+    }
+
+    @Override
+    public void execute(Long chatId, FuriaBot bot) {
+        execute(chatId, new CommandInvocation("/stats", List.of(), false), bot);
+    }
+
+    @Override
+    public void execute(Long chatId, CommandInvocation invocation, FuriaBot bot) {
+        List<String> args = new ArrayList<>(invocation.args());
+        TrackedTeam team = teams.primary();
+        if (teams.isMultiTeam() && !args.isEmpty()) {
+            TrackedTeam named = teams.resolve(List.of(args.get(0)));
+            if (named != null) {
+                team = named;
+                args.remove(0);
+            }
+        }
+        String filter = String.join(" ", args).trim();
+        logger.debug("Comando /stats executado para chatId: {} (time {}, filtro '{}')", chatId, team, filter);
+
+        if (filter.isEmpty()) {
+            ResultStatistics.TeamSummary summary = statistics.team(team);
+            if (summary == null) {
+                bot.sendMessage(chatId, "Ainda não há resultados no histórico. Tente novamente mais tarde.");
+                return;
+            }
+            StringBuilder message = new StringBuilder("📊 Estatísticas da ").append(team.displayName()).append("\n\n");
+            appendSummary(message, summary.overall());
+            message.append("Melhor sequência: ").append(summary.overall().bestWinStreak()).append(" vitórias\n\n");
+            Summary window = summary.window();
+            message.append("Últimos ").append(window.matches()).append(" jogos: ")
+                    .append(window.wins()).append("V ").append(window.losses()).append("D (")
+                    .append(window.winRate()).append("%), mapas ")
+                    .append(window.mapsWon()).append("-").append(window.mapsLost());
+            bot.sendMessage(chatId, message.toString());
+            return;
+        }
+
+        Summary summary = statistics.opponent(team, filter);
+        String title = team.displayName() + " x " + (summary == null ? filter : summary.name());
+        if (summary == null) {
+            summary = statistics.tournament(team, filter);
+            title = team.displayName() + " em " + (summary == null ? filter : summary.name());
+        }
+        if (summary == null) {
+            bot.sendMessage(chatId, "Nenhum resultado no histórico contra " + filter
+                    + ". Use o nome como aparece no /historico.");
+            return;
+        }
+        StringBuilder message = new StringBuilder("📊 ").append(title).append("\n\n");
+        appendSummary(message, summary);
+        if (summary.lastPlayed() != null) {
+            message.append("Último jogo: ").append(summary.lastPlayed().atZone(ZoneId.systemDefault()).format(DATE));
+        }
+        bot.sendMessage(chatId, message.toString().trim());
+    }
+
+    private static void appendSummary(StringBuilder message, Summary summary) {
+        message.append(summary.matches()).append(" partidas: ")
+                .append(summary.wins()).append("V ").append(summary.losses()).append("D (")
+                .append(summary.winRate()).append("% de vitórias)\n")
+                .append("Mapas: ").append(summary.mapsWon()).append("-").append(summary.mapsLost()).append("\n");
+        int streak = summary.streak();
+        if (streak != 0) {
+            message.append("Sequência atual: ").append(Math.abs(streak))
+                    .append(streak > 0 ? " vitória" : " derrota").append(Math.abs(streak) > 1 ? "s" : "").append("\n");
+        }
+    }
+}
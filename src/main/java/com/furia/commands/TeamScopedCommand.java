@@ -0,0 +1,36 @@
+package com.furia.commands;
+
+import com.furia.bot.FuriaBot;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
+
+/**
+ * Comando sobre os dados de um time: o argumento opcional escolhe o time pelo apelido
+ * (ex.: "/jogo academy"); sem argumento vale o time principal.
+ */
+public abstract class TeamScopedCommand implements Command {
+
+    protected final TrackedTeams teams;
+
+    protected TeamScopedCommand(TrackedTeams teams) {
+        this.teams = teams;
+    }
+
+    protected abstract void execute(Long chatId, TrackedTeam team, FuriaBot bot);
+
+    @Override
+    public void execute(Long chatId, FuriaBot bot) {
+        execute(chatId, teams.primary(), bot);
+    }
+
+    @Override
+    public void execute(Long chatId, CommandInvocation invocation, FuriaBot bot) {
+        TrackedTeam team = teams.resolve(invocation.args());
+        if (team == null) {
+            bot.sendMessage(chatId, "Time não encontrado: " + invocation.argsText()
+                    + ". Times disponíveis: " + String.join(", ", teams.aliases()) + ".");
+            return;
+        }
+        execute(chatId, team, bot);
+    }
+}
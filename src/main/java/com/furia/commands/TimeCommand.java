@@ -2,32 +2,40 @@ package com.furia.commands;
 
 import com.furia.bot.FuriaBot;
 import com.furia.crawler.HltvCrawlerService;
+import com.furia.crawler.SnapshotFreshness;
+import com.furia.crawler.SnapshotSection;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
 import org.telegram.telegrambots.meta.api.objects.media.InputMedia;
 import org.telegram.telegrambots.meta.api.objects.media.InputMediaPhoto;
-import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 @Component
-public class TimeCommand implements Command {
+@CommandMapping(name = "/time", description = "Veja a escalação atual do time da FURIA", order = 1)
+public class TimeCommand extends TeamScopedCommand {
 
     private static final Logger logger = LoggerFactory.getLogger(TimeCommand.class);
     private final HltvCrawlerService crawlerService;
+    private final SnapshotFreshness freshness;
 
-    public TimeCommand(HltvCrawlerService crawlerService) {
+    public TimeCommand(HltvCrawlerService crawlerService, SnapshotFreshness freshness, TrackedTeams teams) {
+        super(teams);
         this.crawlerService = crawlerService;
+        this.freshness = freshness;
     }
 
     @Override
-    public void execute(Long chatId, FuriaBot bot) {
-        logger.info("Comando /time executado para chatId: {}", chatId);
+    protected void execute(Long chatId, TrackedTeam team, FuriaBot bot) {
+        logger.debug("Comando /time executado para chatId: {} (time {})", chatId, team);
 
-        List<HltvCrawlerService.Player> lineup = crawlerService.getTeamLineup();
+        List<HltvCrawlerService.Player> lineup = crawlerService.getTeamLineup(team);
         if (lineup == null || lineup.isEmpty()) {
             bot.sendMessage(chatId, "Nenhuma escalação encontrada. Tente novamente mais tarde.");
             logger.warn("Escalação vazia para chatId: {}", chatId);
@@ -35,11 +43,12 @@ public class TimeCommand implements Command {
         }
 
         // Monta a mensagem com os nomes dos jogadores
-        StringBuilder lineupText = new StringBuilder("Nossa Seleção FURIOSA:\n");
+        StringBuilder lineupText = new StringBuilder(team.primary()
+                ? "Nossa Seleção FURIOSA:\n" : "Escalação da " + team.displayName() + ":\n");
         for (HltvCrawlerService.Player player : lineup) {
             lineupText.append("• ").append(player.getName()).append("\n");
         }
-        bot.sendMessage(chatId, lineupText.toString());
+        bot.sendMessage(chatId, lineupText.toString() + freshness.stalenessNotice(team, SnapshotSection.LINEUP));
 
         // Envia as fotos em um álbum
         List<InputMedia> media = new ArrayList<>();
@@ -59,13 +68,16 @@ public class TimeCommand implements Command {
             SendMediaGroup mediaGroup = new SendMediaGroup();
             mediaGroup.setChatId(chatId.toString());
             mediaGroup.setMedias(media);
-            try {
-                bot.execute(mediaGroup);
-                logger.info("Fotos dos jogadores enviadas para chatId: {}", chatId);
-            } catch (TelegramApiException e) {
-                logger.error("Erro ao enviar fotos para chatId {}: {}", chatId, e.getMessage(), e);
-                bot.sendMessage(chatId, "Erro ao enviar as fotos dos jogadores. Verifique a escalação acima.");
-            }
+            // Sem esperar a Bot API: o álbum sai depois do texto acima, na fila do chat
+            bot.submit(mediaGroup).whenComplete((sent, error) -> {
+                if (error == null) {
+                    logger.debug("Fotos dos jogadores enviadas para chatId: {}", chatId);
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    logger.error("Erro ao enviar fotos para chatId {}: {}", chatId, cause.getMessage(), cause);
+                    bot.sendMessage(chatId, "Erro ao enviar as fotos dos jogadores. Verifique a escalação acima.");
+                }
+            });
         } else {
             logger.warn("Nenhuma imagem válida encontrada para enviar no chatId: {}", chatId);
             bot.sendMessage(chatId, "Nenhuma imagem disponível para a escalação atual.");
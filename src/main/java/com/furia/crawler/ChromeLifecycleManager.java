@@ -0,0 +1,520 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Dono dos navegadores usados pelo crawler: um pequeno pool de Chromes, emprestados por
+ * {@link #acquire()} para que fases do crawl possam navegar em paralelo. O padrão é um único navegador:
+ * cada Chrome a mais soma o próprio RSS (algumas centenas de MB), então o paralelismo é opcional. Inicia
+ * cada navegador sob demanda, conta navegações e amostra o RSS da árvore de processos; quando um limite é
+ * ultrapassado (ou às 4h) os navegadores são fechados e sobem de novo no próximo empréstimo, mas só entre
+ * crawls, nunca no meio de um. O Chrome é aberto e fechado fora da trava do pool, que só protege o
+ * estado dos empréstimos; as esperas usam {@link Condition} e não prendem threads virtuais. Processos do
+ * Chrome que sobrevivem a um {@code quit()} ou que não pertencem a nenhum navegador do pool são
+ * encerrados. Os motivos de reinício ficam em {@code crawler.webdriver.restarts}.
+ */
+@Component
+public class ChromeLifecycleManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChromeLifecycleManager.class);
+    private static final long QUIT_GRACE_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final String chromeDriverPath;
+    private final long maxRssBytes;
+    private final int maxNavigations;
+    private final Duration pageLoadTimeout;
+    private final Duration idleStop;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Supplier<WebDriver> driverFactory;
+    private final ProcessTree processes;
+    private final Counter reapedProcesses;
+    private final List<Browser> pool = new ArrayList<>();
+    // Estado dos empréstimos; nunca fica presa durante a inicialização ou o encerramento do Chrome
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition browserReleased = lock.newCondition();
+    // Serializa as inicializações: os processos novos são identificados pela diferença de filhos da JVM
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    private int activeCrawls;
+    private String pendingRecycle;                // Motivo de uma reciclagem adiada até todos os navegadores ficarem livres
+    private long lastReleaseMillis;
+
+    private static final class Browser {
+        WebDriver driver;
+        volatile Set<Long> pids = Set.of();       // Filhos diretos da JVM criados com este driver (chromedriver)
+        boolean started;
+        boolean busy;
+        volatile int navigations;
+        String discardReason;                     // Estado desconhecido (ex.: fase cancelada): reinicia no próximo uso
+    }
+
+    /** Processos filhos da JVM, de onde vêm o RSS e os órfãos; os testes sem Chrome trocam por uma árvore vazia. */
+    interface ProcessTree {
+        ProcessTree JVM = new ProcessTree() {
+            @Override
+            public long rssBytes() {
+                return ProcessTreeSampler.descendantsRssBytes();
+            }
+
+            @Override
+            public List<ProcessHandle> children() {
+                return ProcessHandle.current().children().toList();
+            }
+        };
+
+        long rssBytes();
+
+        List<ProcessHandle> children();
+    }
+
+    /** Navegador emprestado a uma fase do crawl; devolva com {@link #close()}. */
+    public final class Lease implements AutoCloseable {
+        private final Browser browser;
+
+        private Lease(Browser browser) {
+            this.browser = browser;
+        }
+
+        /** Driver do navegador emprestado; {@code null} se o Chrome não subiu. */
+        public WebDriver driver() {
+            return browser.driver;
+        }
+
+        public void navigated() {
+            browser.navigations++;
+        }
+
+        /** Reinício imediato, para quando o navegador já está quebrado (ex.: falha de navegação). */
+        public void restart(String reason) {
+            start(browser, reason);
+        }
+
+        /** O navegador fica fora de uso até ser reiniciado no próximo empréstimo. */
+        public void discard(String reason) {
+            browser.discardReason = reason;
+        }
+
+        @Override
+        public void close() {
+            release(browser);
+        }
+    }
+
+    @Autowired
+    public ChromeLifecycleManager(
+            ObjectProvider<Clock> clock,
+            @Value("${crawler_chromedriver_path}") String chromeDriverPath,
+            @Value("${crawler_chrome_pool_size:1}") int poolSize,
+            @Value("${crawler_chrome_max_rss_mb:1536}") long maxRssMb,
+            @Value("${crawler_chrome_max_navigations:300}") int maxNavigations,
+            @Value("${crawler_chrome_page_load_timeout_seconds:30}") long pageLoadTimeoutSeconds,
+            @Value("${crawler_chrome_idle_stop_minutes:0}") long idleStopMinutes,
+            MeterRegistry meterRegistry) {
+        this(clock.getIfAvailable(Clock::systemDefaultZone), chromeDriverPath, poolSize, maxRssMb, maxNavigations,
+                pageLoadTimeoutSeconds, idleStopMinutes, meterRegistry);
+    }
+
+    public ChromeLifecycleManager(Clock clock, String chromeDriverPath, int poolSize, long maxRssMb, int maxNavigations,
+                                  long pageLoadTimeoutSeconds, long idleStopMinutes, MeterRegistry meterRegistry) {
+        this(clock, chromeDriverPath, poolSize, maxRssMb, maxNavigations, pageLoadTimeoutSeconds, idleStopMinutes,
+                meterRegistry, null, null);
+    }
+
+    /**
+     * {@code driverFactory} substitui o ChromeDriver e {@code processes} a árvore de processos da JVM (testes
+     * sem Chrome); {@code null} usa os de verdade.
+     */
+    ChromeLifecycleManager(Clock clock, String chromeDriverPath, int poolSize, long maxRssMb, int maxNavigations,
+                           long pageLoadTimeoutSeconds, long idleStopMinutes, MeterRegistry meterRegistry,
+                           Supplier<WebDriver> driverFactory, ProcessTree processes) {
+        this.clock = clock;
+        this.chromeDriverPath = chromeDriverPath;
+        this.driverFactory = driverFactory != null ? driverFactory : this::newChromeDriver;
+        this.processes = processes != null ? processes : ProcessTree.JVM;
+        this.maxRssBytes = maxRssMb * 1024 * 1024;
+        this.maxNavigations = maxNavigations;
+        this.pageLoadTimeout = Duration.ofSeconds(pageLoadTimeoutSeconds);
+        this.idleStop = Duration.ofMinutes(Math.max(0, idleStopMinutes));
+        this.lastReleaseMillis = clock.millis();
+        this.meterRegistry = meterRegistry;
+        for (int i = 0; i < Math.max(1, poolSize); i++) {
+            pool.add(new Browser());
+        }
+        this.reapedProcesses = Counter.builder("crawler.chrome.reaped")
+                .description("Processos do Chrome/chromedriver que sobreviveram ao quit() ou ficaram órfãos")
+                .register(meterRegistry);
+        Gauge.builder("crawler.chrome.rss", ProcessTreeSampler::descendantsRssBytes)
+                .description("RSS somado do chromedriver e dos processos do Chrome")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("crawler.chrome.processes", ProcessTreeSampler::descendantCount).register(meterRegistry);
+        Gauge.builder("crawler.chrome.navigations", this, ChromeLifecycleManager::getNavigations)
+                .description("Navegações desde o último início de cada navegador, somadas")
+                .register(meterRegistry);
+        Gauge.builder("crawler.chrome.pool.busy", this, ChromeLifecycleManager::busyCount).register(meterRegistry);
+        Gauge.builder("crawler.chrome.running", this, ChromeLifecycleManager::runningCount)
+                .description("Navegadores com o Chrome aberto")
+                .register(meterRegistry);
+    }
+
+    /** Empresta um navegador livre, esperando se todos estiverem em uso, e o inicia se necessário. */
+    public Lease acquire() throws InterruptedException {
+        Browser browser;
+        lock.lockInterruptibly();
+        try {
+            while ((browser = idleBrowser()) == null) {
+                browserReleased.await();
+            }
+            browser.busy = true;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (browser.discardReason != null) {
+                start(browser, browser.discardReason);
+            } else if (browser.driver == null) {
+                start(browser, browser.started ? "missing" : "startup");
+            }
+        } catch (RuntimeException e) {
+            release(browser);
+            throw e;
+        }
+        return new Lease(browser);
+    }
+
+    private Browser idleBrowser() {
+        for (Browser browser : pool) {
+            if (!browser.busy) {
+                return browser;
+            }
+        }
+        return null;
+    }
+
+    private void release(Browser browser) {
+        lock.lock();
+        try {
+            browser.busy = false;
+            lastReleaseMillis = clock.millis();
+            browserReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void crawlStarted() {
+        lock.lock();
+        try {
+            activeCrawls++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Fim de um crawl: se nenhum outro estiver em andamento, é a hora de reciclar os navegadores. */
+    public void crawlFinished() {
+        long rss = processes.rssBytes();
+        List<Browser> recycled;
+        lock.lock();
+        try {
+            activeCrawls = Math.max(0, activeCrawls - 1);
+            recycled = activeCrawls == 0 ? reserveForRecycle(rss) : List.of();
+        } finally {
+            lock.unlock();
+        }
+        shutDown(recycled);
+    }
+
+    @CrawlerTask(name = "chrome_daily_recycle", priority = CrawlerTaskExecutor.Priority.MAINTENANCE,
+            cron = "0 0 4 * * ?", zone = "America/Sao_Paulo")
+    public void recycleDaily() {
+        logger.info("Reciclagem diária do Chrome às 4h (horário de Brasília).");
+        long rss = processes.rssBytes();
+        List<Browser> recycled;
+        lock.lock();
+        try {
+            pendingRecycle = "daily";
+            recycled = activeCrawls == 0 ? reserveForRecycle(rss) : List.of();
+        } finally {
+            lock.unlock();
+        }
+        shutDown(recycled);
+    }
+
+    @CrawlerTask(name = "chrome_sample", priority = CrawlerTaskExecutor.Priority.MAINTENANCE, fixedRate = 60000)
+    public void sample() {
+        long rss = processes.rssBytes();
+        List<Browser> stopped;
+        lock.lock();
+        try {
+            if (activeCrawls > 0) {
+                return;
+            }
+            stopped = reserveIfIdleTooLong();
+            if (stopped.isEmpty()) {
+                stopped = reserveForRecycle(rss);
+            }
+        } finally {
+            lock.unlock();
+        }
+        shutDown(stopped);
+        reapOrphans();
+    }
+
+    // Com a trava: sem navegação há crawler_chrome_idle_stop_minutes, fecha o Chrome até o próximo empréstimo
+    private List<Browser> reserveIfIdleTooLong() {
+        if (idleStop.isZero() || runningCount() == 0 || busyCount() > 0
+                || clock.millis() - lastReleaseMillis < idleStop.toMillis()) {
+            return List.of();
+        }
+        logger.info("Chrome ocioso há mais de {} min, encerrando até o próximo acesso.", idleStop.toMinutes());
+        List<Browser> reserved = new ArrayList<>();
+        for (Browser browser : pool) {
+            if (browser.driver != null) {
+                reserve(browser, "idle", reserved);
+            }
+        }
+        return reserved;
+    }
+
+    // Com a trava e sem crawls em andamento: navegadores ociosos que passaram de um limite. Um navegador
+    // emprestado fora de um crawl (ex.: a observação da aba ao vivo) fica para a próxima chamada, e com ele
+    // a reciclagem pendente
+    private List<Browser> reserveForRecycle(long rss) {
+        boolean overRss = maxRssBytes > 0 && rss > maxRssBytes;
+        boolean skipped = false;
+        List<Browser> reserved = new ArrayList<>();
+        for (Browser browser : pool) {
+            if (browser.driver == null) {
+                continue;
+            }
+            if (browser.busy) {
+                skipped = true;
+                continue;
+            }
+            String reason = pendingRecycle;
+            if (reason == null && overRss) {
+                reason = "rss";
+            } else if (reason == null && maxNavigations > 0 && browser.navigations >= maxNavigations) {
+                reason = "navigations";
+            }
+            if (reason != null) {
+                logger.info("Reciclando o Chrome ({}): RSS total {} MB, {} navegações.", reason, rss / (1024 * 1024), browser.navigations);
+                reserve(browser, reason, reserved);
+            }
+        }
+        if (!skipped) {
+            pendingRecycle = null;
+        }
+        return reserved;
+    }
+
+    // Com a trava: tira o navegador do pool até o Chrome fechar; o próximo empréstimo o inicia de novo
+    private static void reserve(Browser browser, String reason, List<Browser> reserved) {
+        browser.busy = true;
+        browser.discardReason = reason;
+        reserved.add(browser);
+    }
+
+    // Sem a trava: fecha os navegadores reservados e os devolve ao pool
+    private void shutDown(List<Browser> reserved) {
+        for (Browser browser : reserved) {
+            try {
+                quit(browser);
+            } finally {
+                release(browser);
+            }
+        }
+    }
+
+    private void start(Browser browser, String reason) {
+        meterRegistry.counter("crawler.webdriver.restarts", "reason", reason).increment();
+        startLock.lock();
+        try {
+            quit(browser);
+            browser.started = true;
+            browser.navigations = 0;
+            browser.discardReason = null;
+            Set<Long> before = childPids();
+            browser.driver = driverFactory.get();
+            // Uma página travada não pode segurar o navegador além do prazo da fase
+            browser.driver.manage().timeouts().pageLoadTimeout(pageLoadTimeout);
+            Set<Long> after = childPids();
+            after.removeAll(before);
+            browser.pids = after;
+            logger.info("WebDriver inicializado com sucesso (motivo: {}).", reason);
+        } catch (Exception e) {
+            logger.error("Erro ao inicializar WebDriver: {}", e.getMessage(), e);
+            browser.driver = null;
+            browser.pids = Set.of();
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    private WebDriver newChromeDriver() {
+        System.setProperty("webdriver.chrome.driver", chromeDriverPath);
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/135.0.0.0 Safari/537.36");
+        options.addArguments("--blink-settings=imagesEnabled=false");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        options.addArguments("--window-size=1280,720");
+        return new ChromeDriver(options);
+    }
+
+    private void quit(Browser browser) {
+        if (browser.driver == null) {
+            return;
+        }
+        Set<Long> oldPids = browser.pids;
+        try {
+            browser.driver.quit();
+        } catch (Exception e) {
+            logger.warn("Erro ao fechar WebDriver antigo: {}", e.getMessage());
+        } finally {
+            browser.driver = null; // Garante que a referência seja limpa
+            browser.pids = Set.of();
+        }
+        // quit() que falha deixa chromedriver e Chrome vivos; encerra o que restou da árvore antiga
+        for (ProcessHandle child : processes.children()) {
+            if (oldPids.contains(child.pid())) {
+                terminateTree(child);
+            }
+        }
+    }
+
+    /** Encerra processos do Chrome filhos da JVM que não pertencem a nenhum navegador do pool. */
+    private void reapOrphans() {
+        List<ProcessHandle> orphans = new ArrayList<>();
+        // Com a trava de inicialização: um Chrome subindo agora ainda não tem os pids registrados
+        startLock.lock();
+        try {
+            Set<Long> owned = new HashSet<>();
+            pool.forEach(browser -> owned.addAll(browser.pids));
+            for (ProcessHandle child : processes.children()) {
+                if (!owned.contains(child.pid()) && isChromeProcess(child)) {
+                    orphans.add(child);
+                }
+            }
+        } finally {
+            startLock.unlock();
+        }
+        for (ProcessHandle orphan : orphans) {
+            logger.warn("Processo órfão do Chrome encontrado (pid {}), encerrando.", orphan.pid());
+            terminateTree(orphan);
+        }
+    }
+
+    private void terminateTree(ProcessHandle root) {
+        List<ProcessHandle> tree = new ArrayList<>(root.descendants().toList());
+        tree.add(root);
+        for (ProcessHandle process : tree) {
+            if (process.isAlive()) {
+                process.destroy();
+                reapedProcesses.increment();
+            }
+        }
+        long deadline = System.currentTimeMillis() + QUIT_GRACE_MILLIS;
+        for (ProcessHandle process : tree) {
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                process.onExit().get(remaining, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean isChromeProcess(ProcessHandle process) {
+        String command = process.info().command().orElse("").toLowerCase();
+        return command.contains("chrom");
+    }
+
+    private Set<Long> childPids() {
+        Set<Long> pids = new HashSet<>();
+        processes.children().forEach(child -> pids.add(child.pid()));
+        return pids;
+    }
+
+    public int poolSize() {
+        return pool.size();
+    }
+
+    public int getNavigations() {
+        return pool.stream().mapToInt(browser -> browser.navigations).sum();
+    }
+
+    private int runningCount() {
+        lock.lock();
+        try {
+            return (int) pool.stream().filter(browser -> browser.driver != null).count();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int busyCount() {
+        lock.lock();
+        try {
+            return (int) pool.stream().filter(browser -> browser.busy).count();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Fecha os navegadores ociosos se nenhum crawl estiver em andamento (ex.: o nó deixou de ser líder). */
+    public boolean stopIfIdle() {
+        List<Browser> stopped = new ArrayList<>();
+        lock.lock();
+        try {
+            if (activeCrawls > 0) {
+                return false;
+            }
+            for (Browser browser : pool) {
+                if (browser.driver != null && !browser.busy) {
+                    reserve(browser, "missing", stopped);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        shutDown(stopped);
+        return true;
+    }
+
+    // Fora da trava, como em shutDown: um quit() lento não pode travar os empréstimos nem os gauges do pool
+    @PreDestroy
+    public void destroy() {
+        pool.forEach(this::quit);
+    }
+}
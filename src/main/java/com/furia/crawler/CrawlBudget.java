@@ -0,0 +1,218 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orçamento de navegações do crawler: baldes de tokens por host ({@code crawler_budget_host}) e por classe
+ * de página ({@code crawler_budget_pages}), cada um com limite por minuto, hora e dia no formato
+ * {@code minuto/hora/dia} (0 = sem limite naquela janela). Os baldes reabastecem continuamente, então o
+ * limite vale para qualquer janela deslizante, e cada tentativa de navegação (inclusive as repetições)
+ * consome um token de todos os baldes que se aplicam.
+ *
+ * <p>Trabalho de prioridade baixa não usa a reserva final dos baldes: o crawl completo precisa deixar
+ * {@code crawler_budget_reserve_percent} de cada balde e a manutenção (a escalação) o dobro, de modo que
+ * num pico de navegações (repetições, reinícios, tarefas sobrepostas) a escalação é adiada primeiro e a
+ * verificação ao vivo é a última a parar.
+ */
+@Component
+public class CrawlBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlBudget.class);
+
+    static final String DEFAULT_HOST = "40/600/6000";
+    static final String DEFAULT_PAGES = "team=20/120/1000,matches=10/90/1500,match=20/240/3000";
+
+    public enum Window {
+        MINUTE(Duration.ofMinutes(1)), HOUR(Duration.ofHours(1)), DAY(Duration.ofDays(1));
+
+        final Duration length;
+
+        Window(Duration length) {
+            this.length = length;
+        }
+    }
+
+    private final Clock clock;
+    private final long[] hostLimits;
+    private final double reserve;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Scope> pages = new LinkedHashMap<>();
+    private final Map<String, Scope> hosts = new LinkedHashMap<>();
+
+    private final class Bucket {
+        final Window window;
+        final long capacity;
+        double tokens;
+        long refilledAt;
+
+        Bucket(Window window, long capacity, long now) {
+            this.window = window;
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        // Com o monitor do CrawlBudget
+        void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (double) capacity * (now - refilledAt) / window.length.toMillis());
+                refilledAt = now;
+            }
+        }
+    }
+
+    // Host ou classe de página, com um balde por janela limitada
+    private final class Scope {
+        final List<Bucket> buckets = new ArrayList<>();
+        final Counter navigations;
+
+        Scope(String kind, String name, long[] limits) {
+            long now = clock.millis();
+            for (Window window : Window.values()) {
+                if (limits[window.ordinal()] <= 0) {
+                    continue;
+                }
+                Bucket bucket = new Bucket(window, limits[window.ordinal()], now);
+                buckets.add(bucket);
+                String windowTag = window.name().toLowerCase();
+                Gauge.builder("crawler.budget.limit", bucket, b -> b.capacity)
+                        .description("Navegações planejadas por janela")
+                        .tags("scope", kind, "name", name, "window", windowTag)
+                        .register(meterRegistry);
+                Gauge.builder("crawler.budget.remaining", bucket, CrawlBudget.this::remaining)
+                        .description("Navegações ainda disponíveis na janela")
+                        .tags("scope", kind, "name", name, "window", windowTag)
+                        .register(meterRegistry);
+            }
+            this.navigations = Counter.builder("crawler.budget.navigations")
+                    .description("Navegações feitas dentro do orçamento")
+                    .tags("scope", kind, "name", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Autowired
+    public CrawlBudget(
+            ObjectProvider<Clock> clock,
+            @Value("${crawler_budget_host:" + DEFAULT_HOST + "}") String hostLimits,
+            @Value("${crawler_budget_pages:" + DEFAULT_PAGES + "}") String pageLimits,
+            @Value("${crawler_budget_reserve_percent:25}") int reservePercent,
+            MeterRegistry meterRegistry) {
+        this(clock.getIfAvailable(Clock::systemDefaultZone), hostLimits, pageLimits, reservePercent, meterRegistry);
+    }
+
+    public CrawlBudget(Clock clock, String hostLimits, String pageLimits, int reservePercent, MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.hostLimits = parseLimits("crawler_budget_host", hostLimits);
+        this.reserve = Math.max(0, Math.min(40, reservePercent)) / 100.0;
+        for (String entry : pageLimits.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalStateException("Entrada inválida em crawler_budget_pages (esperado classe=minuto/hora/dia): " + entry);
+            }
+            String pageClass = entry.substring(0, equals).trim();
+            pages.put(pageClass, new Scope("page", pageClass, parseLimits("crawler_budget_pages", entry.substring(equals + 1))));
+        }
+    }
+
+    private static long[] parseLimits(String property, String value) {
+        String[] parts = value.trim().split("/");
+        if (parts.length != Window.values().length) {
+            throw new IllegalStateException("Valor inválido em " + property + " (esperado minuto/hora/dia): " + value);
+        }
+        long[] limits = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                limits[i] = Long.parseLong(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor inválido em " + property + " (esperado minuto/hora/dia): " + value);
+        }
+        return limits;
+    }
+
+    /** Se há orçamento para navegar até {@code url} com essa prioridade, sem consumir; se não, conta como adiada. */
+    public synchronized boolean allows(String url, CrawlerTaskExecutor.Priority priority) {
+        if (!hasRoom(scopes(url), priority, clock.millis())) {
+            deferred(url, priority);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Consome uma navegação até {@code url}; {@code false} (e nada consumido) se algum balde está abaixo do
+     * que essa prioridade pode usar.
+     */
+    public synchronized boolean tryAcquire(String url, CrawlerTaskExecutor.Priority priority) {
+        List<Scope> scopes = scopes(url);
+        long now = clock.millis();
+        if (!hasRoom(scopes, priority, now)) {
+            deferred(url, priority);
+            return false;
+        }
+        for (Scope scope : scopes) {
+            for (Bucket bucket : scope.buckets) {
+                bucket.tokens--;
+            }
+            scope.navigations.increment();
+        }
+        return true;
+    }
+
+    private void deferred(String url, CrawlerTaskExecutor.Priority priority) {
+        meterRegistry.counter("crawler.budget.deferred", "page", HltvCrawlerService.pageClass(url),
+                "priority", priority.name().toLowerCase()).increment();
+    }
+
+    private boolean hasRoom(List<Scope> scopes, CrawlerTaskExecutor.Priority priority, long now) {
+        // Ao vivo e pré-jogo usam o balde até o fim; crawl completo deixa a reserva, manutenção o dobro
+        double reserved = reserve * Math.max(0, priority.ordinal() - CrawlerTaskExecutor.Priority.PRE_MATCH.ordinal());
+        for (Scope scope : scopes) {
+            for (Bucket bucket : scope.buckets) {
+                bucket.refill(now);
+                if (bucket.tokens < 1 + bucket.capacity * reserved) {
+                    logger.debug("Orçamento {} por {} sem folga para prioridade {}.", bucket.capacity,
+                            bucket.window, priority);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Com o monitor do CrawlBudget
+    private List<Scope> scopes(String url) {
+        List<Scope> scopes = new ArrayList<>(2);
+        scopes.add(hosts.computeIfAbsent(HltvCircuitBreaker.hostOf(url), host -> new Scope("host", host, hostLimits)));
+        Scope page = pages.get(HltvCrawlerService.pageClass(url));
+        if (page != null) {
+            scopes.add(page);
+        }
+        return scopes;
+    }
+
+    private synchronized double remaining(Bucket bucket) {
+        bucket.refill(clock.millis());
+        return Math.floor(bucket.tokens);
+    }
+}
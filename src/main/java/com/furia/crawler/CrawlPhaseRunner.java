@@ -0,0 +1,98 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executa as fases de um crawl em paralelo, uma thread virtual por fase, cada uma com seu prazo
+ * contado a partir do início do crawl. Uma fase que estoura o prazo é cancelada (interrompida) sem
+ * afetar as demais, que publicam seus resultados normalmente. {@link #run} só retorna depois que
+ * todas as fases, inclusive as canceladas, terminaram. As threads são aguardadas com {@code join}, como
+ * faria um {@code StructuredTaskScope} (ainda em preview no Java 21): um executor dá a tarefa cancelada
+ * por terminada antes de a thread sair.
+ */
+class CrawlPhaseRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlPhaseRunner.class);
+
+    /** {@code onDeadline} roda na thread do crawl quando a fase é cancelada por prazo. */
+    record Phase(String name, Duration deadline, Runnable work, Runnable onDeadline) {
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    CrawlPhaseRunner(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void run(List<Phase> phases) {
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        RuntimeException[] errors = new RuntimeException[phases.size()];
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            Timer timer = Timer.builder("crawler.phase.duration")
+                    .tag("phase", phase.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            int index = i;
+            threads.add(Thread.ofVirtual().name("crawl-" + phase.name()).start(() -> {
+                try {
+                    timer.record(phase.work());
+                } catch (RuntimeException e) {
+                    errors[index] = e;    // Visível depois do join
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < phases.size(); i++) {
+                Phase phase = phases.get(i);
+                Thread thread = threads.get(i);
+                long remaining = phase.deadline().toNanos() - (System.nanoTime() - start);
+                String outcome;
+                if (!thread.join(Duration.ofNanos(Math.max(0, remaining)))) {
+                    thread.interrupt();
+                    outcome = "timeout";
+                    logger.warn("Fase '{}' do crawl excedeu o prazo de {} s e foi cancelada.", phase.name(), phase.deadline().toSeconds());
+                    phase.onDeadline().run();
+                } else if (errors[i] != null) {
+                    outcome = "error";
+                    logger.error("Erro na fase '{}' do crawl: {}", phase.name(), errors[i].getMessage(), errors[i]);
+                } else {
+                    outcome = "ok";
+                }
+                meterRegistry.counter("crawler.phase.outcomes", "phase", phase.name(), "outcome", outcome).increment();
+            }
+        } catch (InterruptedException e) {
+            // Desligamento: cancela todas as fases; a interrupção é restaurada depois de elas saírem
+            threads.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+        } finally {
+            awaitAll(threads);
+        }
+    }
+
+    // Espera cada fase sair mesmo se a thread do crawl for interrompida no meio, e então restaura a interrupção
+    private static void awaitAll(List<Thread> threads) {
+        boolean interrupted = Thread.interrupted();
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
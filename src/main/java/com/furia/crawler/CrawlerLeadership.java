@@ -0,0 +1,192 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escolhe qual réplica roda o crawler. Com {@code crawler_shared_dir} vazio o nó está sozinho e é
+ * sempre líder. Com um diretório compartilhado entre as réplicas, o líder mantém um lease no arquivo
+ * {@code leader.lease}, renovado a cada terço de {@code crawler_lease_seconds} sob um lock de arquivo;
+ * os demais nós são seguidores, não abrem o Chrome e servem o snapshot publicado pelo líder. Se o
+ * líder some, outro nó assume em no máximo {@code crawler_lease_seconds}. Os relógios das réplicas
+ * precisam estar sincronizados (NTP), e o diretório precisa suportar locks de arquivo.
+ */
+@Component
+public class CrawlerLeadership {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlerLeadership.class);
+    // FileLock vale para o processo inteiro: nós no mesmo processo (testes) também precisam se excluir
+    private static final Object PROCESS_LOCK = new Object();
+
+    private final Path sharedDir;
+    private final String nodeId;
+    private final long leaseMillis;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService renewer;
+    private volatile boolean leader;
+    private volatile long leaseExpiresAt;         // Validade do lease que este nó escreveu por último
+
+    private record Lease(String node, long expiresAt) {
+    }
+
+    public CrawlerLeadership(
+            @Value("${crawler_shared_dir:}") String sharedDir,
+            @Value("${crawler_lease_seconds:30}") long leaseSeconds,
+            @Value("${crawler_node_id:}") String nodeId,
+            MeterRegistry meterRegistry) {
+        this.sharedDir = sharedDir.isBlank() ? null : Path.of(sharedDir);
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.leaseMillis = TimeUnit.SECONDS.toMillis(Math.max(3, leaseSeconds));
+        this.meterRegistry = meterRegistry;
+        this.leader = this.sharedDir == null;
+        this.renewer = this.sharedDir == null ? null : Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("crawler-lease").daemon().factory());
+        Gauge.builder("crawler.leader", this, l -> l.isLeader() ? 1 : 0)
+                .description("1 se este nó roda o crawler")
+                .register(meterRegistry);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "node";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    /** Primeira tentativa síncrona, para que o crawler já saiba o seu papel ao iniciar. */
+    @PostConstruct
+    public void start() {
+        if (sharedDir == null) {
+            logger.info("Sem crawler_shared_dir: este nó roda o crawler sozinho.");
+            return;
+        }
+        try {
+            Files.createDirectories(sharedDir);
+        } catch (IOException e) {
+            logger.error("Não foi possível criar o diretório compartilhado {}: {}", sharedDir, e.getMessage());
+        }
+        tick();
+        long period = leaseMillis / 3;
+        renewer.scheduleWithFixedDelay(this::tick, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isShared() {
+        return sharedDir != null;
+    }
+
+    public Path getSharedDir() {
+        return sharedDir;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /** Líder só enquanto o lease que escreveu ainda vale, mesmo que a renovação esteja atrasada. */
+    public boolean isLeader() {
+        return leader && (sharedDir == null || System.currentTimeMillis() < leaseExpiresAt);
+    }
+
+    // A validade é 2/3 do período e a renovação a cada 1/3: um líder que morre é substituído em até um período
+    private void tick() {
+        long now = System.currentTimeMillis();
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel channel = FileChannel.open(sharedDir.resolve("leader.lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Lease current = readLease();
+                if (current == null || current.node().equals(nodeId) || current.expiresAt() <= now) {
+                    long expiresAt = now + leaseMillis * 2 / 3;
+                    writeLease(new Lease(nodeId, expiresAt));
+                    leaseExpiresAt = expiresAt;
+                    setLeader(true, current == null || current.node().equals(nodeId)
+                            ? "lease livre" : "lease de " + current.node() + " expirou");
+                } else {
+                    setLeader(false, "lease de " + current.node());
+                }
+            } catch (IOException | RuntimeException e) {
+                // Sem acesso ao diretório: isLeader() deixa de valer sozinho quando o lease vence
+                logger.warn("Falha ao renovar o lease do crawler em {}: {}", sharedDir, e.getMessage());
+            }
+        }
+    }
+
+    private Lease readLease() throws IOException {
+        try {
+            List<String> lines = Files.readAllLines(sharedDir.resolve("leader.lease"), StandardCharsets.UTF_8);
+            return lines.size() < 2 ? null : new Lease(lines.get(0), Long.parseLong(lines.get(1)));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (NumberFormatException e) {
+            logger.warn("Arquivo de lease inválido em {}, sobrescrevendo.", sharedDir);
+            return null;
+        }
+    }
+
+    private void writeLease(Lease lease) throws IOException {
+        Path tmp = sharedDir.resolve("leader.lease." + nodeId + ".tmp");
+        Files.writeString(tmp, lease.node() + "\n" + lease.expiresAt() + "\n", StandardCharsets.UTF_8);
+        Files.move(tmp, sharedDir.resolve("leader.lease"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void setLeader(boolean leader, String reason) {
+        if (this.leader != leader) {
+            logger.warn("Nó {} agora é {} do crawler ({}).", nodeId, leader ? "líder" : "seguidor", reason);
+            meterRegistry.counter("crawler.leader.transitions", "role", leader ? "leader" : "follower").increment();
+        }
+        this.leader = leader;
+    }
+
+    /** Simula nos testes um nó que morreu sem liberar o lease. */
+    void abandon() {
+        renewer.shutdownNow();
+        leader = false;
+    }
+
+    /** Desligamento limpo: apaga o lease para que outro nó assuma sem esperar o vencimento. */
+    @PreDestroy
+    public void stop() {
+        if (renewer == null) {
+            return;
+        }
+        renewer.shutdownNow();
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel channel = FileChannel.open(sharedDir.resolve("leader.lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Lease current = readLease();
+                if (current != null && current.node().equals(nodeId)) {
+                    Files.deleteIfExists(sharedDir.resolve("leader.lease"));
+                    logger.info("Lease do crawler liberado por {}.", nodeId);
+                }
+            } catch (IOException e) {
+                logger.warn("Falha ao liberar o lease do crawler: {}", e.getMessage());
+            }
+        }
+        leader = false;
+    }
+}
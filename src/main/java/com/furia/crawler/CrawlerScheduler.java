@@ -0,0 +1,14 @@
+package com.furia.crawler;
+
+import java.time.Duration;
+
+/**
+ * Onde as tarefas periódicas do crawler são registradas. Em produção é o {@link CrawlerTaskExecutor},
+ * com o relógio real; nos testes, um agendador em tempo virtual roda as mesmas regras de
+ * {@link PollingPolicy} por semanas simuladas em segundos.
+ */
+public interface CrawlerScheduler {
+
+    /** Registra {@code work} para rodar a cada {@code period}, a primeira vez na hora. */
+    void schedule(String name, CrawlerTaskExecutor.Priority priority, Duration period, Runnable work);
+}
@@ -0,0 +1,39 @@
+package com.furia.crawler;
+
+import org.springframework.aot.hint.annotation.Reflective;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Agenda um método sem parâmetros no {@link CrawlerTaskExecutor}, no lugar de {@code @Scheduled}: os
+ * atributos de frequência têm o mesmo significado, e a prioridade decide quem roda primeiro quando
+ * várias tarefas disputam as threads do crawler. {@link Reflective}: o executor invoca os métodos por
+ * reflexão, então o processamento AOT registra as dicas de cada um.
+ */
+@Documented
+@Reflective
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CrawlerTask {
+
+    /** Nome usado nos logs e na tag {@code task} das métricas. */
+    String name();
+
+    CrawlerTaskExecutor.Priority priority();
+
+    /** Intervalo entre disparos em milissegundos. */
+    long fixedRate() default -1;
+
+    /** Como {@link #fixedRate()}, aceitando placeholders (ex.: "${crawlInterval}"). */
+    String fixedRateString() default "";
+
+    /** Expressão cron do Spring, como alternativa ao intervalo fixo. */
+    String cron() default "";
+
+    /** Fuso da expressão cron; padrão do sistema se vazio. */
+    String zone() default "";
+}
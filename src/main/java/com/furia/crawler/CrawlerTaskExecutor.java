@@ -0,0 +1,305 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executor dedicado às tarefas do crawler, separado do agendador padrão do Spring (uma thread só,
+ * onde um crawl lento atrasava o placar ao vivo). Os métodos anotados com {@link CrawlerTask} são
+ * disparados por um relógio e entram numa fila por prioridade: o placar ao vivo passa na frente da
+ * verificação pré-jogo, que passa na frente do crawl completo e da manutenção. Tarefas de baixa
+ * prioridade nunca ocupam todas as threads, então sempre sobra uma para o ao vivo. Um disparo que
+ * encontra a mesma tarefa ainda na fila ou rodando é descartado. O atraso entre o disparo e o início
+ * fica em {@code crawler.tasks.lag}. As tarefas são descobertas ao criar o contexto, mas o relógio só
+ * liga no {@link #start()} do ciclo de vida: uma execução de treino (AOT/CDS) que encerra após o refresh
+ * não dispara crawl nenhum.
+ */
+@Component
+public class CrawlerTaskExecutor implements CrawlerScheduler, SmartInitializingSingleton, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlerTaskExecutor.class);
+
+    public enum Priority {
+        LIVE, PRE_MATCH, FULL_CRAWL, MAINTENANCE;
+
+        boolean isLow() {
+            return this == FULL_CRAWL || this == MAINTENANCE;
+        }
+    }
+
+    private final class Job {
+        final String name;
+        final Priority priority;
+        final Runnable work;
+        Duration period;                                      // Intervalo fixo, ou cron + zona
+        CronExpression cron;
+        ZoneId zone;
+        final AtomicBoolean pending = new AtomicBoolean();   // Na fila ou rodando
+        final Counter dropped;
+        final Timer lag;
+        final Timer duration;
+
+        Job(String name, Priority priority, Runnable work) {
+            this.name = name;
+            this.priority = priority;
+            this.work = work;
+            this.dropped = Counter.builder("crawler.tasks.dropped").tag("task", name).register(meterRegistry);
+            this.lag = Timer.builder("crawler.tasks.lag").tag("task", name).tag("priority", priority.name().toLowerCase())
+                    .publishPercentileHistogram().register(meterRegistry);
+            this.duration = Timer.builder("crawler.tasks.duration").tag("task", name)
+                    .publishPercentileHistogram().register(meterRegistry);
+        }
+    }
+
+    private record Queued(Job job, long triggeredAtNanos, long sequence) implements Comparable<Queued> {
+        @Override
+        public int compareTo(Queued other) {
+            int byPriority = job.priority.compareTo(other.job.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+    private final int threads;
+    private final List<Job> jobs = new ArrayList<>();
+    private final PriorityQueue<Queued> queue = new PriorityQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ScheduledExecutorService clock = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("crawler-clock").daemon().factory());
+    private final List<Thread> workers = new ArrayList<>();
+    private int lowPriorityRunning;
+    private volatile boolean running;
+    private volatile boolean shuttingDown;
+
+    public CrawlerTaskExecutor(
+            ApplicationContext applicationContext,
+            @Value("${crawler_executor_threads:2}") int threads,
+            MeterRegistry meterRegistry) {
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+        this.threads = Math.max(2, threads);
+        Gauge.builder("crawler.tasks.queued", this, CrawlerTaskExecutor::queuedCount).register(meterRegistry);
+    }
+
+    /** Descobre os métodos {@link CrawlerTask} dos singletons já criados. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : applicationContext.getBeanNamesForType(Object.class, false, false)) {
+            Class<?> type = applicationContext.getType(beanName);
+            if (type == null) {
+                continue;
+            }
+            // getType devolve a classe do bean (a subclasse do CGLIB, se houver); os métodos anotados estão na original
+            Map<Method, CrawlerTask> annotated = MethodIntrospector.selectMethods(ClassUtils.getUserClass(type),
+                    (MethodIntrospector.MetadataLookup<CrawlerTask>) method ->
+                            AnnotatedElementUtils.findMergedAnnotation(method, CrawlerTask.class));
+            if (annotated.isEmpty()) {
+                continue;
+            }
+            Object bean = applicationContext.getBean(beanName);
+            annotated.forEach((method, task) -> register(bean, method, task));
+        }
+    }
+
+    /** Liga as threads e o relógio; os intervalos fixos disparam na hora. */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofPlatform().name("crawler-task-" + i).daemon().start(this::workLoop));
+        }
+        jobs.forEach(this::arm);
+        logger.info("Executor do crawler iniciado com {} threads e {} tarefas.", threads, jobs.size());
+    }
+
+    @Override
+    public void stop() {
+        shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void register(Object bean, Method method, CrawlerTask task) {
+        if (method.getParameterCount() != 0) {
+            throw new IllegalStateException("@CrawlerTask exige método sem parâmetros: " + method);
+        }
+        Method invocable = AopUtils.selectInvocableMethod(method, bean.getClass());
+        ReflectionUtils.makeAccessible(invocable);
+        Runnable work = () -> ReflectionUtils.invokeMethod(invocable, bean);
+
+        if (!task.cron().isEmpty()) {
+            Job job = new Job(task.name(), task.priority(), work);
+            job.cron = CronExpression.parse(task.cron());
+            job.zone = task.zone().isEmpty() ? ZoneId.systemDefault() : ZoneId.of(task.zone());
+            add(job);
+        } else {
+            long period = task.fixedRateString().isEmpty()
+                    ? task.fixedRate()
+                    : Long.parseLong(applicationContext.getEnvironment().resolveRequiredPlaceholders(task.fixedRateString()));
+            if (period <= 0) {
+                throw new IllegalStateException("@CrawlerTask sem cron nem intervalo: " + method);
+            }
+            schedule(task.name(), task.priority(), Duration.ofMillis(period), work);
+        }
+    }
+
+    /** Registro programático, equivalente a um {@link CrawlerTask} com {@code fixedRate}. */
+    @Override
+    public void schedule(String name, Priority priority, Duration period, Runnable work) {
+        Job job = new Job(name, priority, work);
+        job.period = period;
+        add(job);
+    }
+
+    private synchronized void add(Job job) {
+        jobs.add(job);
+        if (running) {
+            arm(job);
+        }
+    }
+
+    private void arm(Job job) {
+        if (job.cron != null) {
+            scheduleCron(job, job.cron, job.zone);
+        } else {
+            clock.scheduleAtFixedRate(() -> trigger(job), 0, job.period.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void scheduleCron(Job job, CronExpression cron, ZoneId zone) {
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime next = cron.next(now);
+        if (next == null) {
+            return;
+        }
+        long delay = Duration.between(now, next).toMillis();
+        clock.schedule(() -> {
+            trigger(job);
+            scheduleCron(job, cron, zone);
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void trigger(Job job) {
+        if (!job.pending.compareAndSet(false, true)) {
+            job.dropped.increment();
+            logger.debug("Tarefa {} ainda pendente, disparo descartado.", job.name);
+            return;
+        }
+        lock.lock();
+        try {
+            queue.add(new Queued(job, System.nanoTime(), sequence.getAndIncrement()));
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void workLoop() {
+        while (!shuttingDown) {
+            Queued next;
+            lock.lock();
+            try {
+                while ((next = takeRunnable()) == null) {
+                    changed.await();
+                }
+                if (next.job.priority.isLow()) {
+                    lowPriorityRunning++;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            run(next);
+        }
+    }
+
+    // Com o lock: a tarefa mais prioritária, desde que uma de baixa prioridade não ocupe a última thread livre
+    private Queued takeRunnable() {
+        Queued head = queue.peek();
+        if (head == null) {
+            return null;
+        }
+        if (head.job.priority.isLow() && lowPriorityRunning >= threads - 1) {
+            return null;
+        }
+        return queue.poll();
+    }
+
+    private void run(Queued queued) {
+        Job job = queued.job;
+        job.lag.record(System.nanoTime() - queued.triggeredAtNanos, TimeUnit.NANOSECONDS);
+        try {
+            job.duration.record(job.work);
+        } catch (Exception e) {
+            logger.error("Erro na tarefa {} do crawler: {}", job.name, e.getMessage(), e);
+        } finally {
+            job.pending.set(false);
+            lock.lock();
+            try {
+                if (job.priority.isLow()) {
+                    lowPriorityRunning--;
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int queuedCount() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        shuttingDown = true;
+        clock.shutdownNow();
+        workers.forEach(Thread::interrupt);
+    }
+}
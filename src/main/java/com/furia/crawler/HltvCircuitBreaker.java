@@ -0,0 +1,225 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disjuntor por host em volta das navegações do crawler. Falhas seguidas (ou uma única página de
+ * desafio, que indica bloqueio) abrem o circuito: enquanto aberto nenhum navegador é usado para o
+ * host e o bot responde com o último snapshot. A espera dobra a cada abertura, até o máximo, com
+ * jitter para que as tarefas não voltem todas juntas. Vencida a espera, uma única navegação de
+ * sondagem decide se o circuito fecha ou abre de novo. Um sucesso atrasado, de uma navegação
+ * autorizada antes da abertura, não fecha o circuito.
+ */
+@Component
+public class HltvCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HltvCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    private final class Host {
+        final String name;
+        final Counter rejected;
+        State state = State.CLOSED;
+        int consecutiveFailures;
+        int trips;                    // Aberturas seguidas sem uma sondagem bem-sucedida
+        long openings;                // Total de aberturas: as permissões guardam o valor de quando foram dadas
+        long openUntil;
+        boolean probeInFlight;
+
+        Host(String name) {
+            this.name = name;
+            this.rejected = Counter.builder("crawler.breaker.rejected")
+                    .description("Navegações não feitas porque o circuito do host estava aberto")
+                    .tag("host", name)
+                    .register(meterRegistry);
+            Gauge.builder("crawler.breaker.state", this, Host::stateValue)
+                    .description("0 = fechado, 1 = meio-aberto, 2 = aberto")
+                    .tag("host", name)
+                    .register(meterRegistry);
+        }
+
+        synchronized int stateValue() {
+            return state.ordinal();
+        }
+
+        // Com o monitor do host
+        void transition(State to, String reason) {
+            if (state == to) {
+                return;
+            }
+            logger.warn("Circuito do HLTV ({}) passou de {} para {} ({}).", name, state, to, reason);
+            meterRegistry.counter("crawler.breaker.transitions", "host", name, "to", to.name().toLowerCase()).increment();
+            state = to;
+        }
+    }
+
+    /** Autorização para navegar; informe o resultado uma vez e feche (sem resultado = cancelada). */
+    public final class Permit implements AutoCloseable {
+        private final Host host;
+        private final boolean probe;
+        private final long openings;
+        private boolean reported;
+
+        // Com o monitor do host
+        private Permit(Host host, boolean probe) {
+            this.host = host;
+            this.probe = probe;
+            this.openings = host.openings;
+        }
+
+        /** Sondagem do circuito meio-aberto: uma só tentativa, sem novas chances. */
+        public boolean isProbe() {
+            return probe;
+        }
+
+        public void success() {
+            reported = true;
+            synchronized (host) {
+                if (!probe && host.openings != openings) {
+                    return;               // Autorizada antes de o circuito abrir: não cancela a espera
+                }
+                releaseProbe();
+                host.consecutiveFailures = 0;
+                host.trips = 0;
+                host.transition(State.CLOSED, probe ? "sondagem bem-sucedida" : "sucesso");
+            }
+        }
+
+        public void failure() {
+            reported = true;
+            synchronized (host) {
+                releaseProbe();
+                host.consecutiveFailures++;
+                if (host.state == State.OPEN) {
+                    return;               // Outra navegação já abriu o circuito
+                }
+                if (probe || host.consecutiveFailures >= failureThreshold) {
+                    open(host, probe ? "sondagem falhou" : host.consecutiveFailures + " falhas seguidas");
+                }
+            }
+        }
+
+        /** Página de desafio ou bloqueio: insistir só piora, abre na hora. */
+        public void challenge() {
+            reported = true;
+            synchronized (host) {
+                releaseProbe();
+                host.consecutiveFailures++;
+                if (host.state != State.OPEN) {
+                    open(host, "página de desafio");
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!reported) {
+                // Cancelada no meio: libera a sondagem sem mudar o estado
+                synchronized (host) {
+                    releaseProbe();
+                }
+            }
+        }
+
+        // Com o monitor do host: só a própria sondagem libera a vaga de sondagem
+        private void releaseProbe() {
+            if (probe) {
+                host.probeInFlight = false;
+            }
+        }
+    }
+
+    @Autowired
+    public HltvCircuitBreaker(
+            ObjectProvider<Clock> clock,
+            @Value("${crawler_breaker_failure_threshold:3}") int failureThreshold,
+            @Value("${crawler_breaker_base_backoff_seconds:60}") long baseBackoffSeconds,
+            @Value("${crawler_breaker_max_backoff_seconds:1800}") long maxBackoffSeconds,
+            MeterRegistry meterRegistry) {
+        this(clock.getIfAvailable(Clock::systemDefaultZone), failureThreshold, baseBackoffSeconds, maxBackoffSeconds,
+                meterRegistry);
+    }
+
+    public HltvCircuitBreaker(Clock clock, int failureThreshold, long baseBackoffSeconds, long maxBackoffSeconds,
+                              MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseBackoffMillis = TimeUnit.SECONDS.toMillis(baseBackoffSeconds);
+        this.maxBackoffMillis = Math.max(baseBackoffMillis, TimeUnit.SECONDS.toMillis(maxBackoffSeconds));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Permissão para navegar até {@code url}, ou {@code null} se o circuito do host estiver aberto. */
+    public Permit acquire(String url) {
+        Host host = hosts.computeIfAbsent(hostOf(url), Host::new);
+        synchronized (host) {
+            switch (host.state) {
+                case CLOSED:
+                    return new Permit(host, false);
+                case OPEN:
+                    if (clock.millis() < host.openUntil) {
+                        break;
+                    }
+                    host.transition(State.HALF_OPEN, "espera encerrada");
+                    // fall through
+                case HALF_OPEN:
+                    if (!host.probeInFlight) {
+                        host.probeInFlight = true;
+                        return new Permit(host, true);
+                    }
+                    break;
+            }
+            host.rejected.increment();
+            return null;
+        }
+    }
+
+    // Com o monitor do host
+    private void open(Host host, String reason) {
+        host.trips++;
+        host.openings++;
+        long backoff = maxBackoffMillis;
+        if (host.trips < 32) {
+            backoff = Math.min(maxBackoffMillis, baseBackoffMillis << (host.trips - 1));
+        }
+        // Metade fixa, metade aleatória: tarefas bloqueadas juntas não sondam juntas
+        long wait = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        host.openUntil = clock.millis() + wait;
+        host.transition(State.OPEN, reason);
+        logger.warn("Circuito do HLTV ({}) aberto por {} s.", host.name, TimeUnit.MILLISECONDS.toSeconds(wait));
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : "unknown";
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+}
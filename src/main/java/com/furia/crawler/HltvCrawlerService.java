@@ -1,385 +1,653 @@
 package com.furia.crawler;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import javax.annotation.PreDestroy;
+import java.net.URI;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class HltvCrawlerService {
 
     private static final Logger logger = LoggerFactory.getLogger(HltvCrawlerService.class);
 
-    private final String teamCode;
-    private final String teamName;
-    private final String chromeDriverPath;
-    private final long crawlInterval;
-    private final AtomicReference<List<Player>> teamLineup = new AtomicReference<>(Collections.emptyList());
-    private final AtomicReference<List<Match>> upcomingMatches = new AtomicReference<>(Collections.emptyList());
-    private final AtomicReference<List<MatchResult>> lastResults = new AtomicReference<>(Collections.emptyList());
-    private final AtomicReference<LiveMatch> liveMatch = new AtomicReference<>(null);
-    private WebDriver driver;
+    private final TrackedTeams teams;
+    private final String hltvBaseUrl;
+    private final int teamPageBudget;
+    private final Map<TrackedTeam, TeamSnapshot> snapshots = new LinkedHashMap<>();
+    private int teamCursor;                       // Time por onde o próximo crawl começa, se o orçamento cortou algum
     private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
     private static final long CACHE_TTL_TEAM_INFO = TimeUnit.HOURS.toMillis(1); // 1 hora
     private static final long CACHE_TTL_MATCHES = TimeUnit.MINUTES.toMillis(10); // 10 minutos
+    private static final Duration CACHE_CLEANUP_INTERVAL = Duration.ofHours(1);
+    private static final Pattern MATCH_ID = Pattern.compile("/matches/(\\d+)");
+    private static final Pattern TEAM_PAGE = Pattern.compile("^/team/(\\d+)/");
+    // Placar do mapa e mapas vencidos, atualizados pelo HLTV na própria página /matches
+    private static final String LIVE_SCORES = "span.current-map-score, span[data-livescore-maps-won-for]";
+    private final MeterRegistry meterRegistry;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Timer jsoupParseTimer;
+    private final SnapshotFreshness freshness;
+    private final SnapshotChangeDetector changeDetector;
+    private final ChromeLifecycleManager chrome;
+    private final Duration teamPhaseDeadline;
+    private final Duration livePhaseDeadline;
+    private final CrawlPhaseRunner phaseRunner;
+    private final HltvCircuitBreaker breaker;
+    private final CrawlerLeadership leadership;
+    private final SharedSnapshotStore sharedSnapshot;
+    private final ResultsArchive archive;
+    private final PageRecorder recorder;
+    private final PollingPolicy pollingPolicy;
+    private final Clock clock;                    // O da política: em tempo virtual no simulador
+    private final CrawlerScheduler scheduler;
+    private final CrawlBudget crawlBudget;
+    private final LiveTabObserver liveTab;
+    private final LiveTabObserver.Listener liveTabListener = new LiveTabListener();
+    private final Object liveLock = new Object();   // Polling e aba observada atualizam o ao vivo um de cada vez
+    private Document replayedMatches;             // Última página /matches reproduzida, para as páginas de partida
+    private volatile boolean wasLeader;           // Papel visto na última sincronização, para detectar a troca
+
+    private static class TeamSnapshot {
+        final TrackedTeam team;
+        final AtomicReference<List<Player>> teamLineup = new AtomicReference<>(Collections.emptyList());
+        final AtomicReference<List<Match>> upcomingMatches = new AtomicReference<>(Collections.emptyList());
+        final AtomicReference<List<MatchResult>> lastResults = new AtomicReference<>(Collections.emptyList());
+        final AtomicReference<LiveMatch> liveMatch = new AtomicReference<>(null);
+
+        TeamSnapshot(TrackedTeam team) {
+            this.team = team;
+        }
+    }
+
+    // Navegações de páginas de time disponíveis num crawl completo, divididas entre todos os times
+    private static class PageBudget {
+        private int remaining;
+
+        PageBudget(int remaining) {
+            this.remaining = remaining;
+        }
+
+        boolean tryTake() {
+            if (remaining <= 0) {
+                return false;
+            }
+            remaining--;
+            return true;
+        }
+    }
+
+    // Da página da partida: não muda durante a série
+    private record MatchDetails(String format, List<String> vetoDetails, List<String> streamLinks) {
+    }
+
+    // Atualizações da aba ao vivo, na thread da observação
+    private class LiveTabListener implements LiveTabObserver.Listener {
+        @Override
+        public void changed(String html, long observedAt) {
+            liveTabChanged(html, observedAt);
+        }
+
+        @Override
+        public void unchanged(long observedAt) {
+            if (!leadership.isLeader()) {
+                liveTab.stop();
+                return;
+            }
+            teams.all().forEach(team -> freshness.recordSuccess(team, SnapshotSection.LIVE, observedAt));
+            publishSharedSnapshot();
+        }
+    }
 
     private static class CacheEntry {
         private final Document document;
         private final long timestamp;
 
-        public CacheEntry(Document document) {
+        public CacheEntry(Document document, long timestamp) {
             this.document = document;
-            this.timestamp = System.currentTimeMillis();
+            this.timestamp = timestamp;
         }
 
         public Document getDocument() {
             return document;
         }
 
-        public boolean isExpired(long ttl) {
-            return System.currentTimeMillis() - timestamp > ttl;
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public boolean isExpired(long ttl, long now) {
+            return now - timestamp > ttl;
         }
     }
 
     public HltvCrawlerService(
-            @Value("${crawler_team_code}") String teamCode,
-            @Value("${crawler_team_name}") String teamName,
-            @Value("${crawler_chromedriver_path}") String chromeDriverPath,
-            @Value("${crawlInterval}") long crawlInterval) {
-        this.teamCode = teamCode;
-        this.teamName = teamName;
-        this.chromeDriverPath = chromeDriverPath;
-        this.crawlInterval = crawlInterval;
+            TrackedTeams teams,
+            @Value("${crawler_hltv_base_url:https://www.hltv.org}") String hltvBaseUrl,
+            @Value("${crawler_phase_deadline_team_seconds:60}") long teamPhaseDeadlineSeconds,
+            @Value("${crawler_phase_deadline_live_seconds:90}") long livePhaseDeadlineSeconds,
+            @Value("${crawler_team_page_budget:6}") int teamPageBudget,
+            MeterRegistry meterRegistry,
+            SnapshotFreshness freshness,
+            SnapshotChangeDetector changeDetector,
+            ChromeLifecycleManager chrome,
+            HltvCircuitBreaker breaker,
+            CrawlerLeadership leadership,
+            SharedSnapshotStore sharedSnapshot,
+            ResultsArchive archive,
+            PageRecorder recorder,
+            PollingPolicy pollingPolicy,
+            CrawlBudget crawlBudget,
+            LiveTabObserver liveTab,
+            CrawlerScheduler scheduler) {
+        this.teams = teams;
+        this.teamPageBudget = teamPageBudget;
+        teams.all().forEach(team -> snapshots.put(team, new TeamSnapshot(team)));
+        // Sem barra final: as URLs são montadas como base + "/matches", base + "/team/..."
+        this.hltvBaseUrl = hltvBaseUrl.endsWith("/") ? hltvBaseUrl.substring(0, hltvBaseUrl.length() - 1) : hltvBaseUrl;
+        this.meterRegistry = meterRegistry;
+        this.freshness = freshness;
+        this.changeDetector = changeDetector;
+        this.chrome = chrome;
+        this.breaker = breaker;
+        this.leadership = leadership;
+        this.sharedSnapshot = sharedSnapshot;
+        this.archive = archive;
+        this.recorder = recorder;
+        this.pollingPolicy = pollingPolicy;
+        this.clock = pollingPolicy.clock();
+        this.scheduler = scheduler;
+        this.crawlBudget = crawlBudget;
+        this.liveTab = liveTab;
+        this.teamPhaseDeadline = Duration.ofSeconds(teamPhaseDeadlineSeconds);
+        this.livePhaseDeadline = Duration.ofSeconds(livePhaseDeadlineSeconds);
+        this.phaseRunner = new CrawlPhaseRunner(meterRegistry);
+        this.cacheHits = Counter.builder("crawler.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("crawler.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.jsoupParseTimer = Timer.builder("crawler.jsoup.parse").publishPercentileHistogram().register(meterRegistry);
+    }
+
+    private Timer pageTimer(String name, String url) {
+        return Timer.builder(name)
+                .tag("page", pageClass(url))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
+    private Timer extractorTimer(String extractor) {
+        return Timer.builder("crawler.extractor")
+                .tag("extractor", extractor)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private CacheEntry cacheLookup(String url, long ttl) {
+        CacheEntry cached = cache.get(url);
+        if (cached != null && !cached.isExpired(ttl, clock.millis())) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+        return null;
+    }
+
+    // Classe da página para as tags de métricas: team, matches (listagem) ou match (página da partida)
+    static String pageClass(String url) {
+        if (url.contains("/team/")) {
+            return "team";
+        }
+        if (url.contains("/matches/")) {
+            return "match";
+        }
+        if (url.contains("/matches")) {
+            return "matches";
+        }
+        return "other";
+    }
+
+    /**
+     * Só estado local: o primeiro crawl completo é o disparo imediato de {@code full_crawl} quando o
+     * executor liga, então criar o contexto não espera o Chrome nem o HLTV. As tarefas de polling são
+     * registradas aqui, com os intervalos da {@link PollingPolicy}, e não por {@link CrawlerTask}: o
+     * simulador dos testes agenda as mesmas num {@link CrawlerScheduler} em tempo virtual.
+     */
     @PostConstruct
     public void init() {
-        System.setProperty("webdriver.chrome.driver", chromeDriverPath);
-        initializeWebDriver();
-        crawlHltv();
+        wasLeader = leadership.isLeader();
+        if (!wasLeader) {
+            applySharedSnapshot();
+        }
+        scheduler.schedule("full_crawl", CrawlerTaskExecutor.Priority.FULL_CRAWL,
+                pollingPolicy.interval(PollingPolicy.Check.FULL_CRAWL), this::crawlHltv);
+        scheduler.schedule("no_match_check", CrawlerTaskExecutor.Priority.PRE_MATCH,
+                pollingPolicy.interval(PollingPolicy.Check.NO_MATCH), this::checkNoScheduledMatches);
+        scheduler.schedule("live", CrawlerTaskExecutor.Priority.LIVE,
+                pollingPolicy.interval(PollingPolicy.Check.LIVE), this::checkLiveMatch);
+        scheduler.schedule("pre_match", CrawlerTaskExecutor.Priority.PRE_MATCH,
+                pollingPolicy.interval(PollingPolicy.Check.PRE_MATCH), this::checkPotentialLiveMatch);
+        scheduler.schedule("cache_cleanup", CrawlerTaskExecutor.Priority.MAINTENANCE, CACHE_CLEANUP_INTERVAL, this::cleanCache);
     }
 
-    @PreDestroy
-    public void destroy() {
-        if (driver != null) {
-            try {
-                driver.quit();
-            } catch (Exception e) {
-                logger.warn("Erro ao fechar o WebDriver: {}", e.getMessage());
+    /**
+     * Réplicas: o seguidor aplica o snapshot publicado pelo líder; quem acaba de assumir o lease faz um
+     * crawl completo na hora e quem perdeu fecha o Chrome.
+     */
+    @CrawlerTask(name = "snapshot_sync", priority = CrawlerTaskExecutor.Priority.LIVE, fixedRateString = "${crawler_snapshot_poll_millis:10000}")
+    public void syncSharedSnapshot() {
+        if (!sharedSnapshot.isEnabled()) {
+            return;
+        }
+        boolean leader = leadership.isLeader();
+        if (leader && !wasLeader) {
+            logger.warn("Este nó assumiu o crawler, iniciando crawl completo.");
+            wasLeader = true;
+            crawlHltv();
+        } else if (!leader) {
+            liveTab.stop();
+            if (wasLeader && chrome.stopIfIdle()) {
+                logger.warn("Este nó deixou de ser líder do crawler, Chrome encerrado.");
+                wasLeader = false;
             }
+            applySharedSnapshot();
         }
     }
 
-    private synchronized void initializeWebDriver() {
-        if (driver != null) {
-            try {
-                driver.quit();
-            } catch (Exception e) {
-                logger.warn("Erro ao fechar WebDriver antigo: {}", e.getMessage());
-            } finally {
-                driver = null; // Garante que a referência seja limpa
-            }
-        }
-        try {
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--no-sandbox");
-            options.addArguments("--disable-dev-shm-usage");
-            options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/135.0.0.0 Safari/537.36");
-            options.addArguments("--blink-settings=imagesEnabled=false");
-            options.addArguments("--disable-extensions");
-            options.addArguments("--disable-notifications");
-            options.addArguments("--disable-popup-blocking");
-            options.addArguments("--window-size=1280,720");
-            driver = new ChromeDriver(options);
-            logger.info("WebDriver inicializado com sucesso.");
-            System.gc(); // Forçar garbage collection após inicialização
-        } catch (Exception e) {
-            logger.error("Erro ao inicializar WebDriver: {}", e.getMessage(), e);
-            driver = null;
+    // Seguidor: publica os dados do líder sem eventos de mudança (as notificações são do líder)
+    private void applySharedSnapshot() {
+        Map<TrackedTeam, SharedSnapshotStore.TeamState> states = sharedSnapshot.readIfChanged();
+        if (states == null) {
+            return;
         }
+        states.forEach((team, state) -> {
+            TeamSnapshot snapshot = snapshots.get(team);
+            snapshot.teamLineup.set(state.lineup());
+            snapshot.upcomingMatches.set(state.upcoming());
+            snapshot.lastResults.set(state.results());
+            snapshot.liveMatch.set(state.live());
+            state.fetchedAt().forEach((section, fetchedAt) -> freshness.recordSuccess(team, section, fetchedAt));
+        });
+        logger.debug("Snapshot do líder aplicado ({} times).", states.size());
     }
 
-    @Scheduled(cron = "0 0 4 * * ?", zone = "America/Sao_Paulo")
-    public void restartWebDriverDaily() {
-        logger.info("Reiniciando WebDriver às 4h (horário de Brasília).");
-        initializeWebDriver();
+    // Fim de uma tarefa do crawler: libera a reciclagem do Chrome e publica o snapshot para os seguidores
+    private void finishCrawl() {
+        chrome.crawlFinished();
+        publishSharedSnapshot();
+    }
+
+    private void publishSharedSnapshot() {
+        if (!sharedSnapshot.isEnabled() || !leadership.isLeader()) {
+            return;
+        }
+        Map<TrackedTeam, SharedSnapshotStore.TeamState> states = new LinkedHashMap<>();
+        snapshots.forEach((team, snapshot) -> {
+            Map<SnapshotSection, Long> fetchedAt = new EnumMap<>(SnapshotSection.class);
+            for (SnapshotSection section : SnapshotSection.values()) {
+                Instant at = freshness.fetchedAt(team, section);
+                if (at != null) {
+                    fetchedAt.put(section, at.toEpochMilli());
+                }
+            }
+            states.put(team, new SharedSnapshotStore.TeamState(snapshot.teamLineup.get(), snapshot.upcomingMatches.get(),
+                    snapshot.lastResults.get(), snapshot.liveMatch.get(), fetchedAt));
+        });
+        sharedSnapshot.publish(states);
     }
 
-    @Scheduled(fixedRate = 3600000) // A cada hora
     public void cleanCache() {
-        cache.entrySet().removeIf(entry -> entry.getValue().isExpired(CACHE_TTL_TEAM_INFO) || 
-                                          entry.getValue().isExpired(CACHE_TTL_MATCHES));
+        long now = clock.millis();
+        cache.entrySet().removeIf(entry -> entry.getValue().isExpired(CACHE_TTL_TEAM_INFO, now) ||
+                                          entry.getValue().isExpired(CACHE_TTL_MATCHES, now));
         logger.info("Cache limpo, tamanho atual: {}", cache.size());
-        System.gc(); // Forçar garbage collection
     }    
 
-    @Scheduled(fixedRate = 420000) // A cada 7 minutos
+    @CrawlerTask(name = "memory_log", priority = CrawlerTaskExecutor.Priority.MAINTENANCE, fixedRate = 420000) // A cada 7 minutos
     public void logMemoryUsage() {
         Runtime runtime = Runtime.getRuntime();
         long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
         long maxMemory = runtime.maxMemory() / (1024 * 1024);
         logger.info("Memória usada: {} MB / Máximo: {} MB", usedMemory, maxMemory);
-        System.gc(); // Forçar garbage collection para testar
     }
 
-    @Scheduled(fixedRateString = "${crawlInterval}")
     public void crawlHltv() {
+        if (!leadership.isLeader()) {
+            return;               // Seguidor: os dados vêm do snapshot do líder
+        }
+        chrome.crawlStarted();
         try {
-            crawlTeamInfo();
-            crawlMatches();
+            // Fases em paralelo: o crawl completo leva o tempo da fase mais lenta, não a soma
+            long crawlStart = clock.millis();
+            List<CrawlPhaseRunner.Phase> phases = new ArrayList<>();
+            phases.add(new CrawlPhaseRunner.Phase("team", teamPhaseDeadline, this::crawlTeams,
+                    () -> recordDeadlineMissed(crawlStart, SnapshotSection.LINEUP, SnapshotSection.UPCOMING, SnapshotSection.RESULTS)));
             // Verifica partidas ao vivo apenas se não há partida em andamento
-            if (liveMatch.get() == null) {
-                crawlLiveMatch();
+            if (pollingPolicy.shouldCheckLive(PollingPolicy.Check.FULL_CRAWL, anyLive(), upcomingOfAllTeams())) {
+                phases.add(new CrawlPhaseRunner.Phase("live", livePhaseDeadline, this::crawlLiveMatch,
+                        () -> recordDeadlineMissed(crawlStart, SnapshotSection.LIVE)));
             }
+            phaseRunner.run(phases);
         } catch (Exception e) {
             logger.error("Erro ao executar crawlHltv: {}", e.getMessage(), e);
+        } finally {
+            finishCrawl(); // Entre crawls o Chrome pode ser reciclado
         }
     }
 
-    @Scheduled(fixedRate = 180000) // A cada 3 minutos
+    // Seções que não foram publicadas neste crawl antes do cancelamento contam como falha
+    private void recordDeadlineMissed(long crawlStart, SnapshotSection... sections) {
+        for (TrackedTeam team : teams.all()) {
+            for (SnapshotSection section : sections) {
+                Instant lastSuccess = freshness.lastSuccess(team, section);
+                if (lastSuccess == null || lastSuccess.toEpochMilli() < crawlStart) {
+                    freshness.recordFailure(team, section, "Prazo da fase esgotado");
+                }
+            }
+        }
+    }
+
+    // Falha que atinge todos os times (ex.: a página /matches, compartilhada)
+    private void recordFailure(SnapshotSection section, String detail) {
+        teams.all().forEach(team -> freshness.recordFailure(team, section, detail));
+    }
+
+    private boolean anyLive() {
+        return snapshots.values().stream().anyMatch(snapshot -> snapshot.liveMatch.get() != null);
+    }
+
+    /**
+     * Páginas de todos os times sob um orçamento comum de navegações (páginas em cache não contam).
+     * Quando o orçamento acaba, o próximo crawl começa pelo primeiro time que ficou sem atualização.
+     */
+    private void crawlTeams() {
+        List<TeamSnapshot> order = new ArrayList<>(snapshots.values());
+        Collections.rotate(order, -teamCursor);
+        PageBudget budget = new PageBudget(teamPageBudget);
+        int nextCursor = -1;
+        for (int i = 0; i < order.size(); i++) {
+            TeamSnapshot snapshot = order.get(i);
+            boolean complete = crawlTeamInfo(snapshot, budget);
+            complete &= crawlMatches(snapshot, budget);
+            if (!complete) {
+                meterRegistry.counter("crawler.team.budget_exhausted", "team", snapshot.team.alias()).increment();
+                logger.info("Orçamento de páginas esgotado; {} fica para o próximo crawl.", snapshot.team.displayName());
+                if (nextCursor < 0) {
+                    nextCursor = (teamCursor + i) % order.size();
+                }
+            }
+        }
+        teamCursor = Math.max(0, nextCursor);
+    }
+
     public void checkLiveMatch() {
+        if (!leadership.isLeader()) {
+            return;
+        }
+        chrome.crawlStarted();
         try {
-            if (liveMatch.get() != null) {
+            if (pollingPolicy.shouldCheckLive(PollingPolicy.Check.LIVE, anyLive(), upcomingOfAllTeams())) {
                 // Partida ao vivo em andamento, atualizar
                 updateLiveMatch(null);
-                logger.info("Partida ao vivo em andamento, próxima verificação em 3 minutos.");
+                logger.info("Partida ao vivo em andamento, próxima verificação em {}s.",
+                        pollingPolicy.interval(PollingPolicy.Check.LIVE).toSeconds());
             }
         } catch (Exception e) {
             logger.error("Erro ao executar checkLiveMatch: {}", e.getMessage(), e);
+        } finally {
+            finishCrawl();
         }
     }
 
-    @Scheduled(fixedRate = 600000) // A cada 20 minutos
     public void checkPotentialLiveMatch() {
+        if (!leadership.isLeader()) {
+            return;
+        }
+        chrome.crawlStarted();
         try {
-            if (liveMatch.get() == null && hasMatchToday()) {
-                // Partida programada para hoje, verificar se está ao vivo
-                if (shouldCheckLiveMatch()) {
-                    updateLiveMatch(null);
-                } else {
-                    logger.info("Nenhuma partida ao vivo detectada, próxima verificação em 20 minutos.");
-                }
+            if (pollingPolicy.shouldCheckLive(PollingPolicy.Check.PRE_MATCH, anyLive(), upcomingOfAllTeams())) {
+                // Partida programada para hoje: uma carga de /matches verifica e já atualiza todos os times
+                updateLiveMatch(null);
             }
         } catch (Exception e) {
             logger.error("Erro ao executar checkPotentialLiveMatch: {}", e.getMessage(), e);
+        } finally {
+            finishCrawl();
         }
     }
 
-    @Scheduled(fixedRateString = "${crawlInterval}")
     public void checkNoScheduledMatches() {
+        if (!leadership.isLeader()) {
+            return;
+        }
+        chrome.crawlStarted();
         try {
-            if (liveMatch.get() == null && !hasMatchToday()) {
-                logger.info("Nenhum jogo programado para hoje, próxima verificação em {} minutos.", crawlInterval / 1000 / 60);
-                // Evitar verificar partidas ao vivo se não há jogos próximos
-                LocalDate tomorrow = LocalDate.now().plusDays(1);
-                boolean hasMatchSoon = upcomingMatches.get().stream()
-                    .anyMatch(match -> {
-                        try {
-                            if ("Hoje".equals(match.getDate()) || "TBA".equals(match.getDate())) {
-                                return true;
-                            }
-                            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yy");
-                            LocalDate matchDate = LocalDate.parse(match.getDate(), formatter);
-                            return matchDate.equals(LocalDate.now()) || matchDate.equals(tomorrow);
-                        } catch (Exception e) {
-                            return false;
-                        }
-                    });
-                if (!hasMatchSoon) {
-                    logger.info("Nenhum jogo próximo, pulando verificação de partidas ao vivo.");
-                    return;
-                }
+            List<Match> upcoming = upcomingOfAllTeams();
+            if (pollingPolicy.shouldCheckLive(PollingPolicy.Check.NO_MATCH, anyLive(), upcoming)) {
+                // Nenhum jogo hoje, mas há jogo amanhã ou sem data: uma verificação por intervalo do crawl
                 updateLiveMatch(null);
+            } else if (!anyLive() && upcoming.stream().noneMatch(pollingPolicy::isToday)) {
+                logger.info("Nenhum jogo próximo, pulando verificação de partidas ao vivo.");
             }
         } catch (Exception e) {
             logger.error("Erro ao executar checkNoScheduledMatches: {}", e.getMessage(), e);
+        } finally {
+            finishCrawl();
         }
     }
 
-    private boolean hasMatchToday() {
-        List<Match> matches = upcomingMatches.get();
-        LocalDate today = LocalDate.now();
-        for (Match match : matches) {
-            if ("Hoje".equals(match.getDate())) {
-                return true;
-            }
-            try {
-                String dateStr = match.getDate();
-                if (!dateStr.isEmpty() && !"TBA".equals(dateStr)) {
-                    LocalDate matchDate = null;
-                    if (dateStr.matches("\\d{1,2}/\\d{1,2}/\\d{2}")) {
-                        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yy");
-                        matchDate = LocalDate.parse(dateStr, formatter);
-                    } else {
-                        String url = String.format("https://www.hltv.org/team/%s/%s#tab-matchesBox", teamCode, teamName);
-                        CacheEntry cached = cache.get(url);
-                        Document doc = null;
-                        if (cached != null && !cached.isExpired(CACHE_TTL_MATCHES)) {
-                            doc = cached.getDocument();
-                        } else {
-                            doc = fetchDocumentWithSelenium(url, ".table-container.match-table");
-                            if (doc != null) {
-                                cache.put(url, new CacheEntry(doc));
-                            }
-                        }
-                        if (doc != null) {
-                            Elements matchRows = doc.select("tr.team-row");
-                            for (Element row : matchRows) {
-                                if (row.select(".team-name.team-2").text().equals(match.getOpponent()) ||
-                                    row.select(".team-flex:not(.team-1) .team-name").text().equals(match.getOpponent())) {
-                                    String unixTime = row.select("td.date-cell span").attr("data-unix");
-                                    if (unixTime.isEmpty()) {
-                                        unixTime = row.select("td.date-cell").attr("data-unix");
-                                    }
-                                    if (!unixTime.isEmpty()) {
-                                        long unixMillis = Long.parseLong(unixTime);
-                                        matchDate = Instant.ofEpochMilli(unixMillis)
-                                                .atZone(ZoneId.systemDefault())
-                                                .toLocalDate();
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    if (matchDate != null && matchDate.equals(today)) {
-                        return true;
-                    }
-                }
-            } catch (Exception e) {
-                logger.warn("Erro ao verificar data da partida: {}", match.getDate(), e);
-            }
-        }
-        return false;
+    private List<Match> upcomingOfAllTeams() {
+        return snapshots.values().stream().flatMap(snapshot -> snapshot.upcomingMatches.get().stream()).toList();
     }
 
-    private boolean shouldCheckLiveMatch() {
-        String matchesUrl = "https://www.hltv.org/matches";
-        Document matchesDoc = fetchDocumentWithSelenium(matchesUrl, ".live-matches-wrapper");
-        if (matchesDoc == null) {
-            return false;
-        }
-
-        Elements liveMatches = matchesDoc.select("div.match-wrapper.live-match-container");
-        for (Element match : liveMatches) {
-            String team1Id = match.attr("team1");
-            String team2Id = match.attr("team2");
-            if (teamCode.equals(team1Id) || teamCode.equals(team2Id)) {
-                return true;
-            }
-        }
-        return false;
+    private String teamUrl(TrackedTeam team, String tab) {
+        return String.format("%s/team/%s/%s#tab-%s", hltvBaseUrl, team.code(), team.slug(), tab);
     }
 
-    private void crawlTeamInfo() {
+    /** {@code false} se a página ficou de fora por falta de orçamento. */
+    private boolean crawlTeamInfo(TeamSnapshot snapshot, PageBudget budget) {
+        TrackedTeam team = snapshot.team;
         try {
-            String url = String.format("https://www.hltv.org/team/%s/%s#tab-infoBox", teamCode, teamName);
-            logger.info("Acessando URL (infoBox): {}", url);
-
-            CacheEntry cached = cache.get(url);
-            if (cached != null && !cached.isExpired(CACHE_TTL_TEAM_INFO)) {
-                logger.info("Usando cache para URL: {}", url);
-                updateTeamLineup(cached.getDocument());
-                return;
+            String url = teamUrl(team, "infoBox");
+            logger.debug("Acessando URL (infoBox): {}", url);
+
+            CacheEntry cached = cacheLookup(url, CACHE_TTL_TEAM_INFO);
+            if (cached != null) {
+                logger.debug("Usando cache para URL: {}", url);
+                extractorTimer("lineup").record(() -> updateTeamLineup(snapshot, cached.getDocument()));
+                freshness.recordSuccess(team, SnapshotSection.LINEUP, cached.getTimestamp());
+                return true;
+            }
+            // Escalação é o que menos muda: primeira a ser adiada quando o orçamento de navegações aperta
+            if (!crawlBudget.allows(url, CrawlerTaskExecutor.Priority.MAINTENANCE) || !budget.tryTake()) {
+                return false;
             }
 
-            Document doc = fetchDocumentWithSelenium(url, "div.bodyshot-team.g-grid");
+            Document doc = fetchDocumentWithSelenium(url, "div.bodyshot-team.g-grid", CrawlerTaskExecutor.Priority.MAINTENANCE);
             if (doc != null) {
-                cache.put(url, new CacheEntry(doc));
-                updateTeamLineup(doc);
+                CacheEntry entry = new CacheEntry(doc, clock.millis());
+                cache.put(url, entry);
+                extractorTimer("lineup").record(() -> updateTeamLineup(snapshot, doc));
+                freshness.recordSuccess(team, SnapshotSection.LINEUP, entry.getTimestamp());
             } else {
                 logger.error("Falha ao obter documento para URL: {}", url);
+                freshness.recordFailure(team, SnapshotSection.LINEUP, "Falha ao obter documento");
             }
         } catch (Exception e) {
             logger.error("Erro ao executar crawlTeamInfo: {}", e.getMessage(), e);
+            freshness.recordFailure(team, SnapshotSection.LINEUP, e.getMessage());
         }
+        return true;
     }
 
-    private void crawlMatches() {
+    /** {@code false} se a página ficou de fora por falta de orçamento. */
+    private boolean crawlMatches(TeamSnapshot snapshot, PageBudget budget) {
+        TrackedTeam team = snapshot.team;
         try {
-            String url = String.format("https://www.hltv.org/team/%s/%s#tab-matchesBox", teamCode, teamName);
-            logger.info("Acessando URL (matchesBox): {}", url);
-
-            CacheEntry cached = cache.get(url);
-            if (cached != null && !cached.isExpired(CACHE_TTL_MATCHES)) {
-                logger.info("Usando cache para URL: {}", url);
-                updateUpcomingMatches(cached.getDocument());
-                updateLastResults(cached.getDocument());
-                return;
+            String url = teamUrl(team, "matchesBox");
+            logger.debug("Acessando URL (matchesBox): {}", url);
+
+            CacheEntry cached = cacheLookup(url, CACHE_TTL_MATCHES);
+            if (cached != null) {
+                logger.debug("Usando cache para URL: {}", url);
+                extractorTimer("upcoming").record(() -> updateUpcomingMatches(snapshot, cached.getDocument()));
+                extractorTimer("results").record(() -> updateLastResults(snapshot, cached.getDocument()));
+                freshness.recordSuccess(team, SnapshotSection.UPCOMING, cached.getTimestamp());
+                freshness.recordSuccess(team, SnapshotSection.RESULTS, cached.getTimestamp());
+                return true;
+            }
+            if (!crawlBudget.allows(url, CrawlerTaskExecutor.Priority.FULL_CRAWL) || !budget.tryTake()) {
+                return false;
             }
 
-            Document doc = fetchDocumentWithSelenium(url, ".table-container.match-table");
+            Document doc = fetchDocumentWithSelenium(url, ".table-container.match-table", CrawlerTaskExecutor.Priority.FULL_CRAWL);
             if (doc != null) {
-                cache.put(url, new CacheEntry(doc));
-                updateUpcomingMatches(doc);
-                updateLastResults(doc);
+                CacheEntry entry = new CacheEntry(doc, clock.millis());
+                cache.put(url, entry);
+                extractorTimer("upcoming").record(() -> updateUpcomingMatches(snapshot, doc));
+                extractorTimer("results").record(() -> updateLastResults(snapshot, doc));
+                freshness.recordSuccess(team, SnapshotSection.UPCOMING, entry.getTimestamp());
+                freshness.recordSuccess(team, SnapshotSection.RESULTS, entry.getTimestamp());
             } else {
                 logger.error("Falha ao obter documento para URL: {}", url);
+                freshness.recordFailure(team, SnapshotSection.UPCOMING, "Falha ao obter documento");
+                freshness.recordFailure(team, SnapshotSection.RESULTS, "Falha ao obter documento");
             }
         } catch (Exception e) {
             logger.error("Erro ao executar crawlMatches: {}", e.getMessage(), e);
+            freshness.recordFailure(team, SnapshotSection.UPCOMING, e.getMessage());
+            freshness.recordFailure(team, SnapshotSection.RESULTS, e.getMessage());
         }
+        return true;
     }
 
-    private Document fetchDocumentWithSelenium(String url, String waitForSelector) {
-        int maxRetries = 2;
+    private Document fetchDocumentWithSelenium(String url, String waitForSelector, CrawlerTaskExecutor.Priority priority) {
+        try (HltvCircuitBreaker.Permit permit = breaker.acquire(url)) {
+            if (permit == null) {
+                // Circuito aberto: nenhum navegador é usado e o último snapshot continua publicado
+                logger.debug("Circuito do HLTV aberto, pulando acesso a {}.", url); // Contado em crawler.breaker.rejected
+                return null;
+            }
+            return fetchWithRetries(url, waitForSelector, permit, priority);
+        }
+    }
+
+    private Document fetchWithRetries(String url, String waitForSelector, HltvCircuitBreaker.Permit permit,
+                                      CrawlerTaskExecutor.Priority priority) {
+        int maxRetries = permit.isProbe() ? 1 : 2;
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            if (!crawlBudget.tryAcquire(url, priority)) {
+                // Cada tentativa é uma navegação; sem orçamento nem a repetição acontece (contado em crawler.budget.deferred)
+                logger.warn("Orçamento de navegações do HLTV esgotado, adiando acesso a {}.", url);
+                if (attempt == 1) {
+                    return null;
+                }
+                break;                    // A tentativa anterior falhou: conta para o disjuntor
+            }
+            ChromeLifecycleManager.Lease browser;
             try {
+                browser = chrome.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            try {
+                WebDriver driver = browser.driver();
                 if (driver == null) {
-                    initializeWebDriver();
-                    if (driver == null) {
-                        logger.error("WebDriver não inicializado após tentativa.");
-                        return null;
-                    }
+                    logger.error("WebDriver não inicializado após tentativa.");
+                    return null;
                 }
-                logger.info("Selenium acessando URL: {}", url);
+                logger.debug("Selenium acessando URL: {}", url);
+                long navigationStart = System.nanoTime();
+                browser.navigated();
                 driver.get(url);
+                long navigationNanos = System.nanoTime() - navigationStart;
+                pageTimer("crawler.selenium.navigation", url).record(navigationNanos, TimeUnit.NANOSECONDS);
+
+                if (isChallengePage(driver)) {
+                    // Reiniciar o Chrome ou tentar de novo só prolonga o bloqueio
+                    logger.warn("HLTV respondeu com página de desafio/bloqueio em {}.", url);
+                    meterRegistry.counter("crawler.fetch.challenges", "page", pageClass(url)).increment();
+                    permit.challenge();
+                    return null;
+                }
     
                 int timeoutSeconds = url.contains("/matches") ? 15 : 10; // Aumentar para 15s em /matches
                 WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-                wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(waitForSelector)));
+                long waitStart = System.nanoTime();
+                try {
+                    wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(waitForSelector)));
+                } finally {
+                    pageTimer("crawler.selenium.wait", url).record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+                }
+                long waitNanos = System.nanoTime() - waitStart;
     
                 String pageSource = driver.getPageSource();
-                logger.info("Acessado HLTV com sucesso via Selenium: {}", url);
+                logger.debug("Acessado HLTV com sucesso via Selenium: {}", url);
     
-                Document doc = Jsoup.parse(pageSource);
-                System.gc(); // Forçar garbage collection após parsing
+                long parseStart = System.nanoTime();
+                Document doc = jsoupParseTimer.record(() -> Jsoup.parse(pageSource));
+                recorder.record(url, pageSource, navigationNanos, waitNanos, System.nanoTime() - parseStart);
+                permit.success();
                 return doc;
             } catch (Exception e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Fase cancelada no meio da navegação: o estado do navegador é desconhecido
+                    logger.warn("Acesso a {} cancelado pelo prazo da fase.", url);
+                    browser.discard("cancelled");
+                    return null;
+                }
                 logger.error("Erro ao acessar HLTV com Selenium (tentativa {}/{}): {}", attempt, maxRetries, e.getMessage());
+                meterRegistry.counter("crawler.fetch.errors", "page", pageClass(url)).increment();
                 if (attempt < maxRetries) {
-                    initializeWebDriver();
+                    browser.restart("failure");
                 }
+            } finally {
+                browser.close();
             }
         }
         logger.error("Falha após {} tentativas para URL: {}", maxRetries, url);
+        permit.failure();
         return null;
     }
 
+    // Desafio do Cloudflare ("Just a moment...") ou página de bloqueio/limite de acessos
+    static boolean isChallengePage(WebDriver driver) {
+        String title = String.valueOf(driver.getTitle()).toLowerCase();
+        if (title.contains("just a moment") || title.contains("attention required") || title.contains("access denied")) {
+            return true;
+        }
+        return !driver.findElements(By.cssSelector("#challenge-running, #challenge-stage, #cf-error-details")).isEmpty();
+    }
+
     private void crawlLiveMatch() {
         try {
             updateLiveMatch(null);
@@ -388,7 +656,11 @@ public class HltvCrawlerService {
         }
     }
 
-    private void updateTeamLineup(Document doc) {
+    private void updateTeamLineup(TeamSnapshot snapshot, Document doc) {
+        byte[] digest = changeDetector.digest(doc.select("div.bodyshot-team.g-grid, div.team-roster").outerHtml());
+        if (changeDetector.isUnchanged(snapshot.team, SnapshotSection.LINEUP, digest)) {
+            return;
+        }
         List<Player> newLineup = new ArrayList<>();
         Elements playerElements = doc.select("div.bodyshot-team.g-grid a");
 
@@ -414,10 +686,21 @@ public class HltvCrawlerService {
                 logger.warn("Nome do jogador vazio para elemento: {}", element.outerHtml());
             }
         }
-        teamLineup.set(newLineup);
+        if (changeDetector.lineup(snapshot.team, snapshot.teamLineup.get(), newLineup)) {
+            snapshot.teamLineup.set(newLineup);
+            logger.info("Escalação de {} atualizada: {} jogadores", snapshot.team.displayName(), newLineup.size());
+        }
+        changeDetector.accept(snapshot.team, SnapshotSection.LINEUP, digest);
     }
 
-    private void updateUpcomingMatches(Document doc) {
+    private void updateUpcomingMatches(TeamSnapshot snapshot, Document doc) {
+        // A data de hoje entra no hash: "Hoje"/"Amanhã" mudam na virada do dia mesmo com a página igual.
+        // Um só "hoje", do relógio da política, para o hash, os rótulos e a comparação com a leitura anterior
+        LocalDate today = pollingPolicy.today();
+        byte[] digest = changeDetector.digest(doc.select(".table-container.match-table, table.match-table").outerHtml(), today);
+        if (changeDetector.isUnchanged(snapshot.team, SnapshotSection.UPCOMING, digest)) {
+            return;
+        }
         List<Match> newMatches = new ArrayList<>();
         Elements tables = doc.select(".table-container.match-table");
     
@@ -439,7 +722,7 @@ public class HltvCrawlerService {
                 Element tournamentElement = header.select("tr.event-header-cell th.text-ellipsis a").first();
                 if (tournamentElement != null) {
                     currentTournament = tournamentElement.text();
-                    logger.info("Torneio detectado: {}", currentTournament);
+                    logger.debug("Torneio detectado: {}", currentTournament);
     
                     // Processar o <tbody> correspondente ao torneio
                     if (bodyIndex < bodies.size()) {
@@ -452,6 +735,7 @@ public class HltvCrawlerService {
                             }
                             String date = dateTime;
                             String time = "TBA";
+                            long kickoff = 0;
                             String opponent = match.select(".team-name.team-2").text();
                             if (opponent.isEmpty()) {
                                 opponent = match.select(".team-flex:not(.team-1) .team-name").text();
@@ -472,12 +756,12 @@ public class HltvCrawlerService {
                                     if (!unixTime.isEmpty()) {
                                         try {
                                             long unixMillis = Long.parseLong(unixTime);
+                                            kickoff = unixMillis;
                                             Instant instant = Instant.ofEpochMilli(unixMillis);
-                                            LocalDateTime matchDateTime = instant.atZone(ZoneId.systemDefault()).toLocalDateTime();
+                                            LocalDateTime matchDateTime = instant.atZone(pollingPolicy.clock().getZone()).toLocalDateTime();
                                             LocalDate matchDate = matchDateTime.toLocalDate();
                                             time = matchDateTime.format(DateTimeFormatter.ofPattern("HH:mm"));
     
-                                            LocalDate today = LocalDate.now();
                                             LocalDate tomorrow = today.plusDays(1);
     
                                             if (matchDate.equals(today)) {
@@ -495,14 +779,16 @@ public class HltvCrawlerService {
                                         // Fallback para HH:mm, assumindo que é hoje
                                         date = "Hoje";
                                         time = dateTime;
-                                        logger.info("Usando fallback HH:mm para partida: date={}, time={}", date, time);
+                                        logger.debug("Usando fallback HH:mm para partida: date={}, time={}", date, time);
                                     } else {
                                         logger.warn("Nenhum data-unix ou HH:mm válido encontrado: dateTime={}", dateTime);
                                     }
     
                                     if (!date.isEmpty() && !opponent.isEmpty() && !currentTournament.isEmpty()) {
-                                        newMatches.add(new Match(date, time, opponent, currentTournament));
-                                        logger.info("Partida adicionada: {} vs {} - {} ({}, {})", opponent, score, currentTournament, date, time);
+                                        newMatches.add(new Match(date, time, opponent, currentTournament, kickoff, matchLink(match)));
+                                        if (logger.isDebugEnabled()) { // Por linha da tabela: evita o array de varargs
+                                            logger.debug("Partida adicionada: {} vs {} - {} ({}, {})", opponent, score, currentTournament, date, time);
+                                        }
                                     } else {
                                         logger.warn("Partida ignorada devido a dados incompletos: date={}, opponent={}, tournament={}", date, opponent, currentTournament);
                                     }
@@ -515,7 +801,7 @@ public class HltvCrawlerService {
                         bodyIndex++; // Avançar para o próximo <tbody>
                     }
                 } else {
-                    logger.info("Cabeçalho sem torneio, pulando: {}", header.outerHtml());
+                    logger.atDebug().setMessage("Cabeçalho sem torneio, pulando: {}").addArgument(header::outerHtml).log();
                     // Não avançar bodyIndex, pois este <thead> não tem torneio associado
                 }
                 if (newMatches.size() >= 5) {
@@ -526,11 +812,18 @@ public class HltvCrawlerService {
                 break;
             }
         }
-        upcomingMatches.set(newMatches);
-        logger.info("Total de partidas futuras coletadas: {}", newMatches.size());
+        if (changeDetector.upcoming(snapshot.team, snapshot.upcomingMatches.get(), newMatches, today)) {
+            snapshot.upcomingMatches.set(newMatches);
+            logger.info("Total de partidas futuras coletadas para {}: {}", snapshot.team.displayName(), newMatches.size());
+        }
+        changeDetector.accept(snapshot.team, SnapshotSection.UPCOMING, digest);
     }
 
-    private void updateLastResults(Document doc) {
+    private void updateLastResults(TeamSnapshot snapshot, Document doc) {
+        byte[] digest = changeDetector.digest(doc.select(".table-container.match-table, table.match-table").outerHtml());
+        if (changeDetector.isUnchanged(snapshot.team, SnapshotSection.RESULTS, digest)) {
+            return;
+        }
         List<MatchResult> newResults = new ArrayList<>();
         Elements tables = doc.select(".table-container.match-table");
     
@@ -539,7 +832,8 @@ public class HltvCrawlerService {
             logger.warn("Nenhuma tabela '.table-container.match-table' encontrada, usando fallback 'table.match-table'");
         }
     
-        int resultCount = 0;
+        // Todas as linhas vão para o histórico; o snapshot guarda só as 3 mais recentes
+        List<ResultsArchive.ArchivedResult> archived = new ArrayList<>();
     
         for (Element table : tables) {
             Elements headers = table.select("thead");
@@ -554,7 +848,7 @@ public class HltvCrawlerService {
                 Element tournamentElement = header.select("tr.event-header-cell th.text-ellipsis a").first();
                 if (tournamentElement != null) {
                     currentTournament = tournamentElement.text();
-                    logger.info("Torneio detectado: {}", currentTournament);
+                    logger.debug("Torneio detectado: {}", currentTournament);
                     
                     // Processar o <tbody> correspondente ao torneio
                     if (bodyIndex < bodies.size()) {
@@ -579,149 +873,320 @@ public class HltvCrawlerService {
                                         isVictory = match.select(".team-flex.team-2.lost").hasClass("lost");
                                     }
                                     if (!opponent.isEmpty()) {
-                                        newResults.add(new MatchResult(score, opponent, currentTournament, isVictory));
-                                        resultCount++;
-                                        logger.info("Resultado adicionado: {} vs {} - {} ({})", opponent, score, currentTournament, isVictory ? "Vitória" : "Derrota");
+                                        if (newResults.size() < 3) {
+                                            newResults.add(new MatchResult(score, opponent, currentTournament, isVictory, matchLink(match)));
+                                        }
+                                        ResultsArchive.ArchivedResult entry = archivedResult(match, scores, opponent, currentTournament, isVictory);
+                                        if (entry != null) {
+                                            archived.add(entry);
+                                        }
+                                        if (logger.isDebugEnabled()) {
+                                            logger.debug("Resultado adicionado: {} vs {} - {} ({})", opponent, score, currentTournament, isVictory ? "Vitória" : "Derrota");
+                                        }
                                     } else {
                                         logger.warn("Resultado ignorado: score={}, opponent vazio, tournament={}", score, currentTournament);
                                     }
                                 }
                             }
-                            if (resultCount >= 3) {
-                                break;
-                            }
                         }
                         bodyIndex++; // Avançar para o próximo <tbody>
                     }
                 } else {
-                    logger.info("Cabeçalho sem torneio, pulando: {}", header.outerHtml());
+                    logger.atDebug().setMessage("Cabeçalho sem torneio, pulando: {}").addArgument(header::outerHtml).log();
                     // Não avançar bodyIndex, pois este <thead> não tem torneio associado
                 }
-                if (resultCount >= 3) {
-                    break;
-                }
             }
-            if (resultCount >= 3) {
-                break;
+        }
+        if (changeDetector.results(snapshot.team, snapshot.lastResults.get(), newResults)) {
+            snapshot.lastResults.set(newResults);
+            logger.info("Total de resultados coletados para {}: {}", snapshot.team.displayName(), newResults.size());
+        }
+        int added = archive.append(snapshot.team, archived);
+        if (added > 0) {
+            logger.info("{} resultados novos de {} no histórico.", added, snapshot.team.displayName());
+        }
+        changeDetector.accept(snapshot.team, SnapshotSection.RESULTS, digest);
+    }
+
+    // Link da página da partida na linha da tabela do time; vazio se a linha não tiver
+    private String matchLink(Element row) {
+        String href = row.select("a[href*=/matches/]").attr("href");
+        return href.isEmpty() ? "" : hltvBaseUrl + href;
+    }
+
+    /** Linha de resultado para o histórico, ou {@code null} sem o id da partida ou a data. */
+    private static ResultsArchive.ArchivedResult archivedResult(Element row, String[] scores, String opponent,
+                                                                String tournament, boolean victory) {
+        Matcher id = MATCH_ID.matcher(row.select("a[href*=/matches/]").attr("href"));
+        String unixTime = row.select("td.date-cell span").attr("data-unix");
+        if (unixTime.isEmpty()) {
+            unixTime = row.select("td.date-cell").attr("data-unix");
+        }
+        try {
+            if (!id.find() || unixTime.isEmpty()) {
+                return null;
             }
+            return new ResultsArchive.ArchivedResult(Long.parseLong(id.group(1)),
+                    Instant.ofEpochMilli(Long.parseLong(unixTime)), opponent, tournament,
+                    Integer.parseInt(scores[0].trim()), Integer.parseInt(scores[1].trim()), victory);
+        } catch (NumberFormatException e) {
+            logger.debug("Resultado fora do histórico, linha sem números válidos: {} {}", unixTime, Arrays.toString(scores));
+            return null;
         }
-        lastResults.set(newResults);
-        logger.info("Total de resultados coletados: {}", newResults.size());
     }
 
     private void updateLiveMatch(Document doc) {
+        if (liveTab.isObserving()) {
+            // A aba aberta já acompanha /matches: nenhuma navegação até a observação terminar
+            logger.debug("Partidas ao vivo acompanhadas pela aba observada, pulando a navegação.");
+            return;
+        }
+        String matchesUrl = hltvBaseUrl + "/matches";
         try {
-            String matchesUrl = "https://www.hltv.org/matches";
-            logger.info("Verificando partidas ao vivo em: {}", matchesUrl);
-            Document matchesDoc = fetchDocumentWithSelenium(matchesUrl, ".live-matches-wrapper");
+            logger.debug("Verificando partidas ao vivo em: {}", matchesUrl);
+            Document matchesDoc = fetchDocumentWithSelenium(matchesUrl, ".live-matches-wrapper", CrawlerTaskExecutor.Priority.LIVE);
             if (matchesDoc == null) {
+                // Mantém o último placar conhecido; a idade fica visível em /actuator/health e na resposta do /live
                 logger.error("Falha ao obter documento para URL de partidas: {}", matchesUrl);
-                liveMatch.set(null);
+                recordFailure(SnapshotSection.LIVE, "Falha ao obter documento");
                 return;
             }
+            applyLive(matchesDoc, clock.millis(), false);
+            if (anyLive() && leadership.isLeader()
+                    && liveTab.start(matchesUrl, ".live-matches-wrapper", "div.live-match-container", LIVE_SCORES, liveTabListener)) {
+                logger.info("Partida ao vivo: placar passa a vir da aba aberta em {}.", matchesUrl);
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao executar updateLiveMatch: {}", e.getMessage(), e);
+            recordFailure(SnapshotSection.LIVE, e.getMessage());
+        }
+    }
 
-            LiveMatch newLiveMatch = null;
-            Elements liveMatches = matchesDoc.select("div.match-wrapper.live-match-container");
-            boolean matchFound = false;
-
-            for (Element match : liveMatches) {
-                String team1Id = match.attr("team1");
-                String team2Id = match.attr("team2");
-                if (teamCode.equals(team1Id) || teamCode.equals(team2Id)) {
-                    matchFound = true;
-                    String opponentId = teamCode.equals(team1Id) ? team2Id : team1Id;
-                    String opponent = match.select(teamCode.equals(team1Id) ? "div.match-team:nth-child(2) .match-teamname" : "div.match-team:nth-child(1) .match-teamname").text();
-                    String currentMapScore = match.select("span.current-map-score[data-livescore-team='" + teamCode + "']").text() + "-" + match.select("span.current-map-score[data-livescore-team='" + opponentId + "']").text();
-                    String mapsWon = match.select("span[data-livescore-maps-won-for][data-livescore-team='" + teamCode + "']").text() + "-" + match.select("span[data-livescore-maps-won-for][data-livescore-team='" + opponentId + "']").text();
-                    System.out.println("|||||||||||||||||||||||||||||||PONTOS: "+currentMapScore + "MAPS: "+mapsWon);
-                    String tournament = match.select("div.match-event.text-ellipsis").text();
-                    String matchLink = "https://www.hltv.org" + match.select("a.match-top").attr("href");
-
-                    Document matchDoc = fetchDocumentWithSelenium(matchLink, ".standard-box.veto-box");
-                    if (matchDoc == null) {
-                        logger.warn("Falha ao obter página da partida: {}", matchLink);
-                        continue;
+    /**
+     * Publica as partidas ao vivo de {@code matchesDoc} (a página {@code /matches} ou o trecho observado na
+     * aba). Com {@code reuseMatchPage}, uma partida que continua a mesma mantém formato, vetos e streams já
+     * lidos, e a página da partida só é aberta para uma partida nova.
+     */
+    private void applyLive(Document matchesDoc, long fetchedAt, boolean reuseMatchPage) {
+        synchronized (liveLock) {
+            Map<TrackedTeam, Element> liveByTeam = liveByTeam(matchesDoc);
+
+            for (TeamSnapshot snapshot : snapshots.values()) {
+                TrackedTeam team = snapshot.team;
+                Element match = liveByTeam.get(team);
+                if (match == null) {
+                    if (changeDetector.live(team, snapshot.liveMatch.get(), null)) {
+                        snapshot.liveMatch.set(null);
                     }
+                    freshness.recordSuccess(team, SnapshotSection.LIVE, fetchedAt);
+                    logger.debug("Nenhuma partida ao vivo encontrada para o time: {}", team.displayName());
+                    continue;
+                }
+                LiveMatch current = snapshot.liveMatch.get();
+                String matchLink = hltvBaseUrl + match.select("a.match-top").attr("href");
+                LiveMatch newLiveMatch = reuseMatchPage && current != null && matchLink.equals(current.getMatchLink())
+                        ? parseLiveMatch(team, match, matchLink, new MatchDetails(current.getFormat(),
+                                current.getVetoDetails(), current.getStreamLinks()))
+                        : extractLiveMatch(team, match);
+                if (newLiveMatch == null) {
+                    freshness.recordFailure(team, SnapshotSection.LIVE, "Falha ao obter página da partida");
+                    continue;
+                }
+                if (changeDetector.live(team, current, newLiveMatch)) {
+                    snapshot.liveMatch.set(newLiveMatch);
+                    logger.info("Partida ao vivo atualizada: {}", newLiveMatch);
+                }
+                freshness.recordSuccess(team, SnapshotSection.LIVE, fetchedAt);
+            }
+        }
+    }
 
-                    String format = "Unknown";
-                    Element formatElement = matchDoc.select("div.standard-box.veto-box .padding.preformatted-text").first();
-                    if (formatElement != null) {
-                        String formatText = formatElement.text().toLowerCase();
-                        if (formatText.contains("best of 1")) {
-                            format = "bo1";
-                        } else if (formatText.contains("best of 3")) {
-                            format = "bo3";
-                        } else if (formatText.contains("best of 5")) {
-                            format = "bo5";
-                        }
-                    }
+    /** Aplica o trecho de {@code /matches} observado na aba; sem partida ao vivo, a observação termina. */
+    void liveTabChanged(String html, long observedAt) {
+        if (!leadership.isLeader()) {
+            liveTab.stop();
+            return;
+        }
+        try {
+            applyLive(jsoupParseTimer.record(() -> Jsoup.parseBodyFragment(html)), observedAt, true);
+        } catch (Exception e) {
+            logger.error("Erro ao aplicar a atualização da aba ao vivo: {}", e.getMessage(), e);
+            recordFailure(SnapshotSection.LIVE, e.getMessage());
+        }
+        if (!anyLive()) {
+            liveTab.stop();
+        }
+        publishSharedSnapshot();
+    }
 
-                    List<String> vetoDetails = new ArrayList<>();
-                    Elements vetoItems = matchDoc.select("div.standard-box.veto-box .padding div");
-                    for (Element vetoItem : vetoItems) {
-                        vetoDetails.add(vetoItem.text());
-                    }
+    // Uma única varredura da página para todos os times, pelo índice de ids do HLTV
+    private Map<TrackedTeam, Element> liveByTeam(Document matchesDoc) {
+        Map<TrackedTeam, Element> liveByTeam = new HashMap<>();
+        for (Element match : matchesDoc.select("div.match-wrapper.live-match-container")) {
+            for (String teamId : List.of(match.attr("team1"), match.attr("team2"))) {
+                TrackedTeam team = teams.byCode(teamId);
+                if (team != null) {
+                    liveByTeam.putIfAbsent(team, match);
+                }
+            }
+        }
+        return liveByTeam;
+    }
 
-                    List<String> streamLinks = new ArrayList<>();
-                    Elements streamElements = matchDoc.select("div.stream-box");
-                    List<Element> sortedStreams = new ArrayList<>(streamElements);
-                    sortedStreams.sort((a, b) -> {
-                        String viewersA = a.select("span.viewers").text().replaceAll("[^0-9]", "");
-                        String viewersB = b.select("span.viewers").text().replaceAll("[^0-9]", "");
-                        int countA = viewersA.isEmpty() ? 0 : Integer.parseInt(viewersA);
-                        int countB = viewersB.isEmpty() ? 0 : Integer.parseInt(viewersB);
-                        return Integer.compare(countB, countA);
-                    });
-
-                    for (int i = 0; i < Math.min(3, sortedStreams.size()); i++) {
-                        Element stream = sortedStreams.get(i);
-                        String streamUrl = stream.select("a[href]").attr("href");
-                        if (!streamUrl.isEmpty()) {
-                            streamLinks.add(streamUrl);
-                        }
-                    }
+    private LiveMatch extractLiveMatch(TrackedTeam team, Element match) {
+        String matchLink = hltvBaseUrl + match.select("a.match-top").attr("href");
+        Document matchDoc = fetchDocumentWithSelenium(matchLink, ".standard-box.veto-box", CrawlerTaskExecutor.Priority.LIVE);
+        if (matchDoc == null) {
+            logger.warn("Falha ao obter página da partida: {}", matchLink);
+            return null;
+        }
+        return parseLiveMatch(team, match, matchLink, parseMatchDetails(matchDoc));
+    }
 
-                    newLiveMatch = new LiveMatch(
-                        opponent,
-                        currentMapScore,
-                        mapsWon,
-                        tournament,
-                        format,
-                        matchLink,
-                        vetoDetails,
-                        streamLinks
-                    );
-                    break;
-                }
+    private LiveMatch parseLiveMatch(TrackedTeam team, Element match, String matchLink, MatchDetails details) {
+        String team1Id = match.attr("team1");
+        String team2Id = match.attr("team2");
+        String opponentId = team.code().equals(team1Id) ? team2Id : team1Id;
+        String opponent = match.select(team.code().equals(team1Id) ? "div.match-team:nth-child(2) .match-teamname" : "div.match-team:nth-child(1) .match-teamname").text();
+        String currentMapScore = match.select("span.current-map-score[data-livescore-team='" + team.code() + "']").text() + "-" + match.select("span.current-map-score[data-livescore-team='" + opponentId + "']").text();
+        String mapsWon = match.select("span[data-livescore-maps-won-for][data-livescore-team='" + team.code() + "']").text() + "-" + match.select("span[data-livescore-maps-won-for][data-livescore-team='" + opponentId + "']").text();
+        logger.debug("Placar ao vivo de {}: mapa {}, mapas {}", team.displayName(), currentMapScore, mapsWon);
+        String tournament = match.select("div.match-event.text-ellipsis").text();
+        return new LiveMatch(
+            opponent,
+            currentMapScore,
+            mapsWon,
+            tournament,
+            details.format(),
+            matchLink,
+            details.vetoDetails(),
+            details.streamLinks()
+        );
+    }
+
+    private MatchDetails parseMatchDetails(Document matchDoc) {
+        long extractStart = System.nanoTime();
+
+        String format = "Unknown";
+        Element formatElement = matchDoc.select("div.standard-box.veto-box .padding.preformatted-text").first();
+        if (formatElement != null) {
+            String formatText = formatElement.text().toLowerCase();
+            if (formatText.contains("best of 1")) {
+                format = "bo1";
+            } else if (formatText.contains("best of 3")) {
+                format = "bo3";
+            } else if (formatText.contains("best of 5")) {
+                format = "bo5";
             }
+        }
 
-            if (!matchFound) {
-                liveMatch.set(null);
-                logger.info("Nenhuma partida ao vivo encontrada para o time: {}", teamName);
-            } else {
-                liveMatch.set(newLiveMatch);
-                logger.info("Partida ao vivo atualizada: {}", newLiveMatch);
+        List<String> vetoDetails = new ArrayList<>();
+        Elements vetoItems = matchDoc.select("div.standard-box.veto-box .padding div");
+        for (Element vetoItem : vetoItems) {
+            vetoDetails.add(vetoItem.text());
+        }
+
+        List<String> streamLinks = new ArrayList<>();
+        Elements streamElements = matchDoc.select("div.stream-box");
+        List<Element> sortedStreams = new ArrayList<>(streamElements);
+        sortedStreams.sort((a, b) -> {
+            String viewersA = a.select("span.viewers").text().replaceAll("[^0-9]", "");
+            String viewersB = b.select("span.viewers").text().replaceAll("[^0-9]", "");
+            int countA = viewersA.isEmpty() ? 0 : Integer.parseInt(viewersA);
+            int countB = viewersB.isEmpty() ? 0 : Integer.parseInt(viewersB);
+            return Integer.compare(countB, countA);
+        });
+
+        for (int i = 0; i < Math.min(3, sortedStreams.size()); i++) {
+            Element stream = sortedStreams.get(i);
+            String streamUrl = stream.select("a[href]").attr("href");
+            if (!streamUrl.isEmpty()) {
+                streamLinks.add(streamUrl);
             }
-        } catch (Exception e) {
-            logger.error("Erro ao executar updateLiveMatch: {}", e.getMessage(), e);
-            liveMatch.set(null);
         }
+
+        extractorTimer("live").record(System.nanoTime() - extractStart, TimeUnit.NANOSECONDS);
+        return new MatchDetails(format, vetoDetails, streamLinks);
+    }
+
+    /**
+     * Passa uma página gravada pelo {@link PageRecorder} pelos mesmos extratores do crawl, sem navegador,
+     * cache nem orçamento, e publica o resultado no snapshot como o crawl faria (inclusive os eventos de
+     * mudança). A página de uma partida ao vivo é associada à última {@code /matches} reproduzida, na
+     * ordem em que o crawl as acessa. Para testes e benchmarks de parsing, numa instância à parte.
+     *
+     * @return {@code false} se a página não é de nenhum extrator ou é de um time não acompanhado
+     */
+    public boolean replay(PageRecorder.RecordedPage page) {
+        URI uri;
+        try {
+            uri = URI.create(page.url());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        Document doc = jsoupParseTimer.record(() -> Jsoup.parse(page.html()));
+
+        Matcher teamPage = TEAM_PAGE.matcher(path);
+        if (teamPage.find()) {
+            TrackedTeam team = teams.byCode(teamPage.group(1));
+            TeamSnapshot snapshot = team == null ? null : snapshots.get(team);
+            if (snapshot == null) {
+                return false;
+            }
+            if ("tab-infoBox".equals(uri.getFragment())) {
+                extractorTimer("lineup").record(() -> updateTeamLineup(snapshot, doc));
+                return true;
+            }
+            if ("tab-matchesBox".equals(uri.getFragment())) {
+                extractorTimer("upcoming").record(() -> updateUpcomingMatches(snapshot, doc));
+                extractorTimer("results").record(() -> updateLastResults(snapshot, doc));
+                return true;
+            }
+            return false;
+        }
+        if (path.equals("/matches")) {
+            replayedMatches = doc;
+            Map<TrackedTeam, Element> liveByTeam = liveByTeam(doc);
+            for (TeamSnapshot snapshot : snapshots.values()) {
+                if (!liveByTeam.containsKey(snapshot.team) && changeDetector.live(snapshot.team, snapshot.liveMatch.get(), null)) {
+                    snapshot.liveMatch.set(null);
+                }
+            }
+            return true;
+        }
+        if (path.startsWith("/matches/") && replayedMatches != null) {
+            boolean replayed = false;
+            for (Map.Entry<TrackedTeam, Element> entry : liveByTeam(replayedMatches).entrySet()) {
+                if (!path.equals(entry.getValue().select("a.match-top").attr("href"))) {
+                    continue;
+                }
+                TeamSnapshot snapshot = snapshots.get(entry.getKey());
+                LiveMatch live = parseLiveMatch(entry.getKey(), entry.getValue(), page.url(), parseMatchDetails(doc));
+                if (changeDetector.live(entry.getKey(), snapshot.liveMatch.get(), live)) {
+                    snapshot.liveMatch.set(live);
+                }
+                replayed = true;
+            }
+            return replayed;
+        }
+        return false;
     }
 
-    public List<Player> getTeamLineup() {
-        return teamLineup.get();
+    public List<Player> getTeamLineup(TrackedTeam team) {
+        return snapshots.get(team).teamLineup.get();
     }
 
-    public List<Match> getUpcomingMatches() {
-        return upcomingMatches.get();
+    public List<Match> getUpcomingMatches(TrackedTeam team) {
+        return snapshots.get(team).upcomingMatches.get();
     }
 
-    public List<MatchResult> getLastResults() {
-        return lastResults.get();
+    public List<MatchResult> getLastResults(TrackedTeam team) {
+        return snapshots.get(team).lastResults.get();
     }
 
-    public LiveMatch getLiveMatch() {
-        return liveMatch.get();
+    public LiveMatch getLiveMatch(TrackedTeam team) {
+        return snapshots.get(team).liveMatch.get();
     }
 
     public static class Player {
@@ -741,6 +1206,16 @@ public class HltvCrawlerService {
             return imageUrl;
         }
 
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Player other && name.equals(other.name) && imageUrl.equals(other.imageUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, imageUrl);
+        }
+
         @Override
         public String toString() {
             return "Player{name='" + name + "', imageUrl='" + imageUrl + "'}";
@@ -752,12 +1227,24 @@ public class HltvCrawlerService {
         private final String time;
         private final String opponent;
         private final String tournament;
+        private final long kickoff;               // Horário do HLTV em ms desde a época; 0 se desconhecido
+        private final String matchLink;           // Página da partida no HLTV; vazio se desconhecida
 
         public Match(String date, String time, String opponent, String tournament) {
+            this(date, time, opponent, tournament, 0);
+        }
+
+        public Match(String date, String time, String opponent, String tournament, long kickoff) {
+            this(date, time, opponent, tournament, kickoff, "");
+        }
+
+        public Match(String date, String time, String opponent, String tournament, long kickoff, String matchLink) {
             this.date = date;
             this.time = time;
             this.opponent = opponent;
             this.tournament = tournament;
+            this.kickoff = kickoff;
+            this.matchLink = matchLink;
         }
 
         public String getDate() {
@@ -776,9 +1263,30 @@ public class HltvCrawlerService {
             return tournament;
         }
 
+        public long getKickoff() {
+            return kickoff;
+        }
+
+        public String getMatchLink() {
+            return matchLink;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Match other && date.equals(other.date) && time.equals(other.time)
+                    && opponent.equals(other.opponent) && tournament.equals(other.tournament)
+                    && matchLink.equals(other.matchLink);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, time, opponent, tournament, matchLink);
+        }
+
         @Override
         public String toString() {
-            return "Match{date='" + date + "', time='" + time + "', opponent='" + opponent + "', tournament='" + tournament + "'}";
+            return "Match{date='" + date + "', time='" + time + "', opponent='" + opponent + "', tournament='" + tournament
+                    + "', matchLink='" + matchLink + "'}";
         }
     }
 
@@ -787,12 +1295,18 @@ public class HltvCrawlerService {
         private final String opponent;
         private final String tournament;
         private final boolean victory;
+        private final String matchLink;           // Página da partida no HLTV; vazio se desconhecida
 
         public MatchResult(String score, String opponent, String tournament, boolean victory) {
+            this(score, opponent, tournament, victory, "");
+        }
+
+        public MatchResult(String score, String opponent, String tournament, boolean victory, String matchLink) {
             this.score = score;
             this.opponent = opponent;
             this.tournament = tournament;
             this.victory = victory;
+            this.matchLink = matchLink;
         }
 
         public String getScore() {
@@ -811,9 +1325,26 @@ public class HltvCrawlerService {
             return victory;
         }
 
+        public String getMatchLink() {
+            return matchLink;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MatchResult other && victory == other.victory && score.equals(other.score)
+                    && opponent.equals(other.opponent) && tournament.equals(other.tournament)
+                    && matchLink.equals(other.matchLink);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(score, opponent, tournament, victory, matchLink);
+        }
+
         @Override
         public String toString() {
-            return "MatchResult{score='" + score + "', opponent='" + opponent + "', tournament='" + tournament + "', victory=" + victory + "}";
+            return "MatchResult{score='" + score + "', opponent='" + opponent + "', tournament='" + tournament + "', victory=" + victory
+                    + ", matchLink='" + matchLink + "'}";
         }
     }
 
@@ -871,6 +1402,20 @@ public class HltvCrawlerService {
             return streamLinks;
         }
 
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LiveMatch other && opponent.equals(other.opponent)
+                    && currentMapScore.equals(other.currentMapScore) && mapsWon.equals(other.mapsWon)
+                    && tournament.equals(other.tournament) && format.equals(other.format)
+                    && matchLink.equals(other.matchLink) && vetoDetails.equals(other.vetoDetails)
+                    && streamLinks.equals(other.streamLinks);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(opponent, currentMapScore, mapsWon, tournament, format, matchLink, vetoDetails, streamLinks);
+        }
+
         @Override
         public String toString() {
             return "LiveMatch{opponent='" + opponent + "', currentMapScore='" + currentMapScore + "', mapsWon='" + mapsWon +
@@ -0,0 +1,51 @@
+package com.furia.crawler;
+
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+
+/**
+ * Texto de uma partida ao vivo, o mesmo na resposta do {@code /live} e no post fixado do modo canal.
+ */
+public final class LiveMatchFormatter {
+
+    private LiveMatchFormatter() {
+    }
+
+    /** Placar, picks e bans e transmissões abaixo de {@code headline}. */
+    public static String describe(TrackedTeam team, LiveMatch liveMatch, String headline) {
+        StringBuilder response = new StringBuilder(headline).append("\n");
+        // Tournament and format
+        String format = liveMatch.getFormat().toUpperCase().replace("BO", "MD");
+        response.append(String.format("🏆 %s - %s\n", liveMatch.getTournament(), format));
+
+        // Current map score and maps won
+        String[] currentMapScore = liveMatch.getCurrentMapScore().split("-");
+        String[] mapsWon = liveMatch.getMapsWon().split("-");
+        String furiaScore = currentMapScore.length == 2 ? currentMapScore[0].trim() : "0";
+        String opponentScore = currentMapScore.length == 2 ? currentMapScore[1].trim() : "0";
+        String furiaMapsWon = mapsWon.length == 2 ? mapsWon[0].trim() : "0";
+        String opponentMapsWon = mapsWon.length == 2 ? mapsWon[1].trim() : "0";
+        response.append(String.format("%s %s (%s) - (%s) %s %s\n",
+            team.displayName(), furiaScore, furiaMapsWon, opponentMapsWon, opponentScore, liveMatch.getOpponent()));
+
+        // Veto details
+        if (!liveMatch.getVetoDetails().isEmpty()) {
+            response.append("\nPicks e Bans:\n");
+            for (String veto : liveMatch.getVetoDetails()) {
+                response.append("  - ").append(veto).append("\n");
+            }
+        }
+
+        // Stream links
+        if (!liveMatch.getStreamLinks().isEmpty()) {
+            response.append("\nPrincipais Transmissões:\n");
+            for (String stream : liveMatch.getStreamLinks()) {
+                // Skip internal HLTV links like "/live?matchId=..."
+                if (!stream.contains("/live?matchId=")) {
+                    response.append("  - ").append(stream).append("\n");
+                }
+            }
+        }
+
+        return response.toString();
+    }
+}
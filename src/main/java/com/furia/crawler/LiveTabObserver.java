@@ -0,0 +1,288 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Observação ao vivo numa aba que fica aberta: em vez de recarregar a página a cada verificação, um
+ * navegador do pool é emprestado por toda a partida, a página é aberta uma vez e um {@code MutationObserver}
+ * instalado nela acompanha as atualizações que o próprio HLTV faz no placar. O JVM espera as mudanças com
+ * {@code executeAsyncScript}, que só retorna quando o placar muda (depois de 250 ms para juntar as mutações
+ * da mesma atualização) ou, sem mudanças, a cada {@code crawler_live_observe_heartbeat_seconds}, o que
+ * confirma que a aba continua viva.
+ *
+ * <p>Cada sessão dura no máximo {@code crawler_live_observe_session_minutes}; depois o navegador é devolvido
+ * (e pode ser reciclado) e a página é aberta de novo. Como a aba ocupa um navegador inteiro, o modo só liga
+ * com {@code crawler_chrome_pool_size} de pelo menos 2. Falhas, desafios anti-bot e falta de orçamento
+ * encerram a observação e o crawler volta ao polling.
+ */
+@Component
+public class LiveTabObserver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveTabObserver.class);
+
+    // Guarda o estado em window.__furiaLiveTab; conta só mutações nos placares ou a entrada/saída de partidas
+    private static final String INSTALL_SCRIPT = """
+            const root = document.querySelector(arguments[0]);
+            if (!root) {
+                return false;
+            }
+            const items = arguments[1];
+            const values = arguments[2];
+            const state = { version: 1, waiters: [] };
+            const relevant = mutation => {
+                const target = mutation.target.nodeType === Node.ELEMENT_NODE ? mutation.target : mutation.target.parentElement;
+                if (target && target.closest(values)) {
+                    return true;
+                }
+                return [...mutation.addedNodes, ...mutation.removedNodes].some(node => node.nodeType === Node.ELEMENT_NODE
+                        && (node.matches(items) || node.matches(values) || node.querySelector(items + ', ' + values) !== null));
+            };
+            new MutationObserver(mutations => {
+                if (mutations.some(relevant)) {
+                    state.version++;
+                    const waiters = state.waiters;
+                    state.waiters = [];
+                    waiters.forEach(wake => wake());
+                }
+            }).observe(root, { subtree: true, childList: true, characterData: true, attributes: true });
+            window.__furiaLiveTab = { state, root };
+            return true;
+            """;
+
+    // Retorna o HTML do elemento observado quando a versão passa de arguments[0], ou html nulo no timeout
+    private static final String WAIT_SCRIPT = """
+            const since = arguments[0];
+            const timeout = arguments[1];
+            const done = arguments[arguments.length - 1];
+            const tab = window.__furiaLiveTab;
+            if (!tab || !document.contains(tab.root)) {
+                done({ reinstall: true });
+                return;
+            }
+            const collect = () => done({ version: tab.state.version, html: tab.root.outerHTML });
+            if (tab.state.version > since) {
+                collect();
+                return;
+            }
+            let settled = false;
+            const timer = setTimeout(() => {
+                settled = true;
+                done({ version: tab.state.version, html: null });
+            }, timeout);
+            tab.state.waiters.push(() => {
+                if (!settled) {
+                    settled = true;
+                    clearTimeout(timer);
+                    setTimeout(collect, 250);
+                }
+            });
+            """;
+
+    /** Recebe o que a aba observou, na thread da observação. */
+    public interface Listener {
+        /** HTML do elemento observado: uma vez ao abrir a aba e depois a cada mudança. */
+        void changed(String html, long observedAt);
+
+        /** A aba continua aberta e nada mudou desde a última chamada. */
+        void unchanged(long observedAt);
+    }
+
+    private record Target(String url, String rootSelector, String itemSelector, String valueSelector, Listener listener) {
+    }
+
+    private final ChromeLifecycleManager chrome;
+    private final HltvCircuitBreaker breaker;
+    private final CrawlBudget crawlBudget;
+    private final boolean enabled;
+    private final long heartbeatMillis;
+    private final long sessionNanos;
+    private final MeterRegistry meterRegistry;
+
+    private Thread worker;
+    private volatile boolean stopping;
+
+    public LiveTabObserver(
+            ChromeLifecycleManager chrome,
+            HltvCircuitBreaker breaker,
+            CrawlBudget crawlBudget,
+            @Value("${crawler_live_observe:false}") boolean enabled,
+            @Value("${crawler_live_observe_heartbeat_seconds:30}") long heartbeatSeconds,
+            @Value("${crawler_live_observe_session_minutes:60}") long sessionMinutes,
+            MeterRegistry meterRegistry) {
+        this.chrome = chrome;
+        this.breaker = breaker;
+        this.crawlBudget = crawlBudget;
+        this.enabled = enabled && chrome.poolSize() >= 2;
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(Math.max(1, heartbeatSeconds));
+        this.sessionNanos = TimeUnit.MINUTES.toNanos(Math.max(1, sessionMinutes));
+        this.meterRegistry = meterRegistry;
+        if (enabled && !this.enabled) {
+            logger.warn("crawler_live_observe precisa de crawler_chrome_pool_size >= 2; mantendo o polling ao vivo.");
+        }
+        Gauge.builder("crawler.live_tab.active", this, observer -> observer.isObserving() ? 1 : 0)
+                .description("1 enquanto uma aba ao vivo está sendo observada")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized boolean isObserving() {
+        return worker != null && worker.isAlive();
+    }
+
+    /**
+     * Começa a observar {@code rootSelector} em {@code url}, numa thread própria, se o modo está ativo e
+     * nada está sendo observado. {@code itemSelector} são os itens cuja entrada ou saída conta como mudança
+     * (as partidas) e {@code valueSelector} os elementos cujo texto conta (os placares).
+     */
+    public synchronized boolean start(String url, String rootSelector, String itemSelector, String valueSelector,
+                                      Listener listener) {
+        if (!enabled || isObserving()) {
+            return false;
+        }
+        Target target = new Target(url, rootSelector, itemSelector, valueSelector, listener);
+        stopping = false;
+        worker = Thread.ofPlatform().name("crawler-live-tab").daemon().start(() -> run(target));
+        return true;
+    }
+
+    /** Encerra a observação; de dentro do {@link Listener} só marca o fim, que acontece ao retornar. */
+    @PreDestroy
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            current = worker;
+            stopping = true;
+        }
+        if (current != null && current != Thread.currentThread()) {
+            current.interrupt();
+        }
+    }
+
+    private void run(Target target) {
+        logger.info("Observando a partida ao vivo numa aba aberta em {}.", target.url());
+        String outcome;
+        do {
+            outcome = session(target);
+            meterRegistry.counter("crawler.live_tab.sessions", "outcome", outcome).increment();
+        } while ("rotated".equals(outcome) && !stopping);
+        logger.info("Observação da aba ao vivo encerrada ({}); verificações voltam ao polling.", outcome);
+    }
+
+    // Uma aba do início ao fim: devolve o motivo do encerramento
+    private String session(Target target) {
+        ChromeLifecycleManager.Lease browser;
+        try {
+            browser = chrome.acquire();
+        } catch (InterruptedException e) {
+            return "stopped";
+        }
+        try {
+            WebDriver driver = browser.driver();
+            if (driver == null) {
+                return "error";
+            }
+            String opened = open(browser, driver, target);
+            if (opened != null) {
+                return opened;
+            }
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(heartbeatMillis + 15_000));
+            long sessionStart = System.nanoTime();
+            long version = 0;
+            while (!stopping) {
+                if (System.nanoTime() - sessionStart > sessionNanos) {
+                    return "rotated";
+                }
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, version, heartbeatMillis);
+                long observedAt = System.currentTimeMillis();
+                if (!(result instanceof Map<?, ?> update) || Boolean.TRUE.equals(update.get("reinstall"))) {
+                    // A página se recarregou ou trocou o elemento observado: observador novo, conteúdo completo
+                    if (!install(driver, target)) {
+                        return "missing";
+                    }
+                    version = 0;
+                    continue;
+                }
+                version = ((Number) update.get("version")).longValue();
+                Object html = update.get("html");
+                if (html != null) {
+                    meterRegistry.counter("crawler.live_tab.updates", "result", "changed").increment();
+                    target.listener().changed(html.toString(), observedAt);
+                } else {
+                    meterRegistry.counter("crawler.live_tab.updates", "result", "unchanged").increment();
+                    target.listener().unchanged(observedAt);
+                }
+            }
+            return "stopped";
+        } catch (Exception e) {
+            if (stopping || Thread.currentThread().isInterrupted()) {
+                // Interrompido no meio de um comando: o estado do navegador é desconhecido
+                browser.discard("cancelled");
+                return "stopped";
+            }
+            logger.error("Erro na observação da aba ao vivo: {}", e.getMessage());
+            meterRegistry.counter("crawler.fetch.errors", "page", HltvCrawlerService.pageClass(target.url())).increment();
+            browser.discard("failure");
+            return "error";
+        } finally {
+            browser.close();
+        }
+    }
+
+    // Abre a página sob o disjuntor e o orçamento, como uma navegação do crawl; null se a aba está pronta
+    private String open(ChromeLifecycleManager.Lease browser, WebDriver driver, Target target) {
+        try (HltvCircuitBreaker.Permit permit = breaker.acquire(target.url())) {
+            if (permit == null) {
+                return "breaker";
+            }
+            if (!crawlBudget.tryAcquire(target.url(), CrawlerTaskExecutor.Priority.LIVE)) {
+                return "budget";
+            }
+            try {
+                browser.navigated();
+                driver.get(target.url());
+                if (HltvCrawlerService.isChallengePage(driver)) {
+                    logger.warn("HLTV respondeu com página de desafio/bloqueio na aba ao vivo {}.", target.url());
+                    meterRegistry.counter("crawler.fetch.challenges", "page", HltvCrawlerService.pageClass(target.url())).increment();
+                    permit.challenge();
+                    return "challenge";
+                }
+                new WebDriverWait(driver, Duration.ofSeconds(15))
+                        .until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(target.rootSelector())));
+                if (!install(driver, target)) {
+                    permit.failure();
+                    return "missing";
+                }
+            } catch (RuntimeException e) {
+                if (!stopping) {
+                    permit.failure();
+                }
+                throw e;
+            }
+            permit.success();
+            return null;
+        }
+    }
+
+    private static boolean install(WebDriver driver, Target target) {
+        return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(INSTALL_SCRIPT,
+                target.rootSelector(), target.itemSelector(), target.valueSelector()));
+    }
+}
@@ -0,0 +1,271 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Gravação opcional das páginas obtidas pelo crawler, para reproduzir fora da produção o que o HLTV
+ * serviu: com {@code crawler_record_dir} preenchido (padrão vazio, desativado) cada página carregada
+ * pelo Chrome é gravada com a URL, o horário e os tempos de navegação, espera e parsing.
+ *
+ * <p>As páginas vão em segmentos {@code pages-<epoch ms>.rec.gz}; cada página é um membro gzip
+ * completo, então uma queda durante a escrita perde só a última. Um segmento novo é aberto a cada
+ * início e quando o atual passa de {@code crawler_record_segment_mb}; com o total acima de
+ * {@code crawler_record_max_mb} os segmentos mais antigos são apagados. Erros de disco são logados e
+ * contados, nunca interrompem o crawl.
+ *
+ * <p>{@link #read} devolve as páginas na ordem em que foram gravadas, para
+ * {@link HltvCrawlerService#replay} passar pelos mesmos extratores sem navegador.
+ */
+@Component
+public class PageRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageRecorder.class);
+
+    private static final int MAGIC = 0x484c5452; // "HLTR"
+    private static final int VERSION = 1;
+    private static final String PREFIX = "pages-";
+    private static final String SUFFIX = ".rec.gz";
+
+    private final Path dir;
+    private final long maxBytes;
+    private final long segmentBytes;
+    private final Counter recorded;
+    private final Counter errors;
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private long totalBytes;
+    private OutputStream current;
+    private long currentBytes;
+
+    /** Página gravada; os tempos são os medidos pelo crawler no momento da gravação. */
+    public record RecordedPage(String url, Instant fetchedAt, long navigationNanos, long waitNanos,
+                               long parseNanos, String html) {
+    }
+
+    public PageRecorder(
+            @Value("${crawler_record_dir:}") String dir,
+            @Value("${crawler_record_max_mb:1024}") long maxMegabytes,
+            @Value("${crawler_record_segment_mb:64}") long segmentMegabytes,
+            MeterRegistry meterRegistry) {
+        this.dir = dir.isBlank() ? null : Path.of(dir);
+        this.maxBytes = maxMegabytes * 1024 * 1024;
+        this.segmentBytes = Math.max(1, Math.min(segmentMegabytes, maxMegabytes)) * 1024 * 1024;
+        this.recorded = Counter.builder("crawler.recorder.pages")
+                .description("Páginas gravadas para reprodução")
+                .register(meterRegistry);
+        this.errors = Counter.builder("crawler.recorder.errors")
+                .description("Falhas ao gravar páginas")
+                .register(meterRegistry);
+        Gauge.builder("crawler.recorder.bytes", this, PageRecorder::size)
+                .description("Tamanho em disco das páginas gravadas")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (dir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            for (Path segment : segments(dir)) {
+                segments.addLast(segment);
+                totalBytes += Files.size(segment);
+            }
+            logger.info("Gravação de páginas ativa em {} ({} segmentos, {} MB).",
+                    dir, segments.size(), totalBytes / (1024 * 1024));
+        } catch (IOException e) {
+            logger.error("Não foi possível abrir a gravação de páginas em {}: {}", dir, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return dir != null;
+    }
+
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    /** Grava uma página carregada; não faz nada se a gravação está desativada. */
+    public void record(String url, String html, long navigationNanos, long waitNanos, long parseNanos) {
+        if (dir == null) {
+            return;
+        }
+        byte[] member;
+        try {
+            // Compressão fora do lock: só a escrita no segmento é serializada
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(html.length() / 4 + 256);
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(buffer))) {
+                byte[] body = html.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(navigationNanos);
+                out.writeLong(waitNanos);
+                out.writeLong(parseNanos);
+                out.writeUTF(url);
+                out.writeInt(body.length);
+                out.write(body);
+            }
+            member = buffer.toByteArray();
+        } catch (IOException e) {
+            errors.increment();
+            logger.warn("Falha ao comprimir página gravada de {}: {}", url, e.getMessage());
+            return;
+        }
+        write(url, member);
+    }
+
+    private synchronized void write(String url, byte[] member) {
+        try {
+            if (current == null || currentBytes + member.length > segmentBytes) {
+                roll();
+            }
+            current.write(member);
+            current.flush();
+            currentBytes += member.length;
+            totalBytes += member.length;
+            recorded.increment();
+            trim();
+        } catch (IOException e) {
+            errors.increment();
+            logger.warn("Falha ao gravar página de {}: {}", url, e.getMessage());
+            closeCurrent();
+        }
+    }
+
+    private void roll() throws IOException {
+        closeCurrent();
+        long stamp = System.currentTimeMillis();
+        Path segment = dir.resolve(String.format("%s%013d%s", PREFIX, stamp, SUFFIX));
+        while (Files.exists(segment)) {
+            segment = dir.resolve(String.format("%s%013d%s", PREFIX, ++stamp, SUFFIX));
+        }
+        current = Files.newOutputStream(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        currentBytes = 0;
+        segments.addLast(segment);
+        logger.debug("Novo segmento de páginas gravadas: {}", segment.getFileName());
+    }
+
+    // Apaga os segmentos mais antigos até caber no limite; o segmento em escrita nunca é apagado
+    private void trim() throws IOException {
+        while (totalBytes > maxBytes && segments.size() > 1) {
+            Path oldest = segments.removeFirst();
+            long bytes = Files.size(oldest);
+            Files.deleteIfExists(oldest);
+            totalBytes -= bytes;
+            logger.debug("Segmento de páginas gravadas removido pelo limite de tamanho: {}", oldest.getFileName());
+        }
+    }
+
+    private void closeCurrent() {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (IOException e) {
+            logger.debug("Erro ao fechar segmento de páginas gravadas: {}", e.getMessage());
+        }
+        current = null;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeCurrent();
+    }
+
+    /**
+     * Lê todas as páginas gravadas em {@code dir}, dos segmentos mais antigos para os mais novos. Uma
+     * página incompleta no fim de um segmento (queda durante a escrita) é ignorada.
+     *
+     * @return quantas páginas foram lidas
+     */
+    public static long read(Path dir, Consumer<RecordedPage> consumer) throws IOException {
+        long pages = 0;
+        for (Path segment : segments(dir)) {
+            pages += readSegment(segment, consumer);
+        }
+        return pages;
+    }
+
+    private static long readSegment(Path segment, Consumer<RecordedPage> consumer) throws IOException {
+        long pages = 0;
+        // O GZIPInputStream lê os membros concatenados como um único fluxo
+        try (InputStream file = Files.newInputStream(segment);
+             DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(file, 64 * 1024)))) {
+            while (true) {
+                int magic;
+                try {
+                    magic = in.readInt();
+                } catch (EOFException e) {
+                    return pages;
+                }
+                if (magic != MAGIC || in.readUnsignedByte() != VERSION) {
+                    logger.warn("Segmento {} com formato desconhecido, lido até a página {}.", segment.getFileName(), pages);
+                    return pages;
+                }
+                Instant fetchedAt = Instant.ofEpochMilli(in.readLong());
+                long navigationNanos = in.readLong();
+                long waitNanos = in.readLong();
+                long parseNanos = in.readLong();
+                String url = in.readUTF();
+                int length = in.readInt();
+                byte[] body = in.readNBytes(length);
+                if (body.length < length) {
+                    throw new EOFException("página truncada");
+                }
+                consumer.accept(new RecordedPage(url, fetchedAt, navigationNanos, waitNanos, parseNanos,
+                        new String(body, StandardCharsets.UTF_8)));
+                pages++;
+            }
+        } catch (EOFException | ZipException e) {
+            logger.debug("Fim incompleto no segmento {} após {} páginas: {}", segment.getFileName(), pages, e.getMessage());
+            return pages;
+        }
+    }
+
+    private static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
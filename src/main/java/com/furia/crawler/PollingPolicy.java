@@ -0,0 +1,146 @@
+package com.furia.crawler;
+
+import com.furia.crawler.HltvCrawlerService.Match;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+
+/**
+ * Quando o crawler carrega a página {@code /matches} para procurar partidas ao vivo. As quatro tarefas
+ * agendadas perguntam aqui, com o que já se sabe (há partida ao vivo? quais os próximos jogos?), e
+ * o relógio vem de um {@link Clock} injetável (padrão: o do sistema), então as mesmas regras rodam em
+ * tempo virtual no simulador dos testes.
+ *
+ * <ul>
+ *   <li>{@link Check#LIVE} (a cada {@code crawler_live_poll_millis}, padrão 3min): só com partida ao vivo.</li>
+ *   <li>{@link Check#PRE_MATCH} (a cada {@code crawler_pre_match_poll_millis}, padrão 10min): sem partida
+ *   ao vivo e com jogo hoje (ou atrasado). Com {@code crawler_pre_match_lead_minutes} maior que zero, só a partir
+ *   desse tempo antes do horário marcado (jogos sem horário contam o dia todo).</li>
+ *   <li>{@link Check#NO_MATCH} (a cada {@code crawlInterval}): sem jogo hoje, mas com jogo amanhã ou sem data.</li>
+ *   <li>{@link Check#FULL_CRAWL} (a cada {@code crawlInterval}): sempre que não há partida ao vivo.</li>
+ * </ul>
+ */
+@Component
+public class PollingPolicy {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yy");
+    private static final Duration OVERDUE = Duration.ofHours(12);
+
+    public enum Check {
+        LIVE, PRE_MATCH, NO_MATCH, FULL_CRAWL
+    }
+
+    private final Clock clock;
+    private final Duration liveInterval;
+    private final Duration preMatchInterval;
+    private final Duration fullCrawlInterval;
+    private final Duration preMatchLead;
+
+    @Autowired
+    public PollingPolicy(
+            ObjectProvider<Clock> clock,
+            @Value("${crawler_live_poll_millis:180000}") long liveMillis,
+            @Value("${crawler_pre_match_poll_millis:600000}") long preMatchMillis,
+            @Value("${crawlInterval}") long fullCrawlMillis,
+            @Value("${crawler_pre_match_lead_minutes:0}") long preMatchLeadMinutes) {
+        this(clock.getIfAvailable(Clock::systemDefaultZone), Duration.ofMillis(liveMillis),
+                Duration.ofMillis(preMatchMillis), Duration.ofMillis(fullCrawlMillis), Duration.ofMinutes(preMatchLeadMinutes));
+    }
+
+    public PollingPolicy(Clock clock, Duration liveInterval, Duration preMatchInterval, Duration fullCrawlInterval,
+                         Duration preMatchLead) {
+        this.clock = clock;
+        this.liveInterval = liveInterval;
+        this.preMatchInterval = preMatchInterval;
+        this.fullCrawlInterval = fullCrawlInterval;
+        this.preMatchLead = preMatchLead;
+    }
+
+    public Clock clock() {
+        return clock;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public Duration interval(Check check) {
+        return switch (check) {
+            case LIVE -> liveInterval;
+            case PRE_MATCH -> preMatchInterval;
+            case NO_MATCH, FULL_CRAWL -> fullCrawlInterval;
+        };
+    }
+
+    public Duration preMatchLead() {
+        return preMatchLead;
+    }
+
+    /** Se a tarefa {@code check} deve carregar {@code /matches} agora. */
+    public boolean shouldCheckLive(Check check, boolean anyLive, Collection<Match> upcoming) {
+        return switch (check) {
+            case LIVE -> anyLive;
+            case PRE_MATCH -> !anyLive && upcoming.stream().anyMatch(this::isDue);
+            case NO_MATCH -> !anyLive && upcoming.stream().noneMatch(this::isToday) && upcoming.stream().anyMatch(this::isSoon);
+            case FULL_CRAWL -> !anyLive;
+        };
+    }
+
+    public boolean isToday(Match match) {
+        return today().equals(matchDate(match));
+    }
+
+    /**
+     * Jogo de hoje ou atrasado (horário já passou há menos de {@link #OVERDUE} e ainda não saiu da
+     * lista, ex.: começou 23h50 e virou o dia) e, com antecedência configurada, já dentro dela.
+     */
+    private boolean isDue(Match match) {
+        Instant now = clock.instant();
+        Instant kickoff = match.getKickoff() > 0 ? Instant.ofEpochMilli(match.getKickoff()) : null;
+        boolean overdue = kickoff != null && kickoff.isBefore(now) && kickoff.plus(OVERDUE).isAfter(now);
+        if (!overdue && !isToday(match)) {
+            return false;
+        }
+        return preMatchLead.isZero() || kickoff == null || !now.isBefore(kickoff.minus(preMatchLead));
+    }
+
+    // Hoje, amanhã ou sem data definida
+    private boolean isSoon(Match match) {
+        if ("TBA".equals(match.getDate())) {
+            return true;
+        }
+        LocalDate date = matchDate(match);
+        return date != null && !date.isBefore(today()) && !date.isAfter(today().plusDays(1));
+    }
+
+    /**
+     * Data da partida no fuso do relógio: pelo horário do HLTV quando conhecido; senão pelo rótulo
+     * ("Hoje", "Amanhã" ou dd/MM/yy), que é relativo ao dia em que a página foi lida.
+     */
+    public LocalDate matchDate(Match match) {
+        if (match.getKickoff() > 0) {
+            return Instant.ofEpochMilli(match.getKickoff()).atZone(clock.getZone()).toLocalDate();
+        }
+        String date = match.getDate();
+        if ("Hoje".equals(date)) {
+            return today();
+        }
+        if ("Amanhã".equals(date)) {
+            return today().plusDays(1);
+        }
+        try {
+            return LocalDate.parse(date, DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.furia.crawler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Lê o RSS dos processos filhos da JVM (chromedriver e as instâncias do Chrome) em
+ * {@code /proc/<pid>/status}. Fora do Linux não há como medir e os métodos devolvem -1.
+ */
+public final class ProcessTreeSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessTreeSampler.class);
+    private static final Path PROC = Path.of("/proc");
+
+    private ProcessTreeSampler() {
+    }
+
+    public static boolean isSupported() {
+        return Files.isDirectory(PROC.resolve("self"));
+    }
+
+    /** Soma do RSS, em bytes, de todos os descendentes da JVM; -1 se não suportado. */
+    public static long descendantsRssBytes() {
+        if (!isSupported()) {
+            return -1;
+        }
+        List<ProcessHandle> descendants = ProcessHandle.current().descendants().toList();
+        long total = 0;
+        for (ProcessHandle process : descendants) {
+            long rss = rssBytes(process.pid());
+            if (rss > 0) {
+                total += rss;
+            }
+        }
+        return total;
+    }
+
+    public static long descendantCount() {
+        return ProcessHandle.current().descendants().count();
+    }
+
+    /** RSS de um processo em bytes; -1 se o processo já terminou ou não é legível. */
+    public static long rssBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(Long.toString(pid)).resolve("status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    String kb = line.substring(6).trim().split("\\s+")[0];
+                    return Long.parseLong(kb) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.trace("Não foi possível ler o RSS do processo {}: {}", pid, e.getMessage());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,350 @@
+package com.furia.crawler;
+
+import com.furia.crawler.ResultsArchive.ArchivedResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Estatísticas por time, mantidas de forma incremental a partir do {@link ResultsArchive}: cada
+ * resultado é consumido uma única vez, na ordem do arquivo, e atualiza em O(1) o total, o confronto
+ * com o adversário, o torneio e a janela dos últimos {@code stats_window_matches} jogos (padrão 10).
+ * As consultas só leem esses agregados.
+ *
+ * <p>O estado, com a posição já consumida do arquivo, é gravado em {@code results_stats_file}
+ * (padrão {@code data/stats.dat}; vazio mantém só na memória). Sem o arquivo, ou com ele inválido,
+ * tudo é recalculado com uma leitura do histórico. Um resultado mais antigo que o último jogo já
+ * contado (chegou atrasado) entra nos totais, mas não nas sequências nem na janela.
+ */
+@Component
+public class ResultStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultStatistics.class);
+    private static final int MAGIC = 0x46535441; // "FSTA"
+    private static final int VERSION = 1;
+
+    private final ResultsArchive archive;
+    private final Path file;
+    private final int windowSize;
+    private final Map<String, TeamAggregates> teams = new HashMap<>();
+    private int consumed;                         // Próximo registro do arquivo a consumir
+
+    /** Agregado de um recorte; {@code streak} positivo são vitórias seguidas, negativo derrotas. */
+    public record Summary(String name, int wins, int losses, int mapsWon, int mapsLost, int streak,
+                          int bestWinStreak, Instant lastPlayed) {
+
+        public int matches() {
+            return wins + losses;
+        }
+
+        /** Percentual de vitórias, de 0 a 100. */
+        public int winRate() {
+            return matches() == 0 ? 0 : Math.round(wins * 100f / matches());
+        }
+    }
+
+    /** Estatísticas gerais do time e dos últimos {@code windowSize} jogos. */
+    public record TeamSummary(Summary overall, Summary window, int windowSize) {
+    }
+
+    private static class Aggregate {
+        final String name;
+        int wins;
+        int losses;
+        int mapsWon;
+        int mapsLost;
+        int streak;
+        int bestWinStreak;
+        long lastPlayed = Long.MIN_VALUE;
+
+        Aggregate(String name) {
+            this.name = name;
+        }
+
+        void add(ArchivedResult result, int[] maps) {
+            long date = result.date().toEpochMilli();
+            if (result.victory()) {
+                wins++;
+            } else {
+                losses++;
+            }
+            mapsWon += maps[0];
+            mapsLost += maps[1];
+            if (date >= lastPlayed) {
+                lastPlayed = date;
+                if (result.victory()) {
+                    streak = streak > 0 ? streak + 1 : 1;
+                    bestWinStreak = Math.max(bestWinStreak, streak);
+                } else {
+                    streak = streak < 0 ? streak - 1 : -1;
+                }
+            }
+        }
+
+        Summary summary() {
+            return new Summary(name, wins, losses, mapsWon, mapsLost, streak, bestWinStreak,
+                    lastPlayed == Long.MIN_VALUE ? null : Instant.ofEpochMilli(lastPlayed));
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(name);
+            out.writeInt(wins);
+            out.writeInt(losses);
+            out.writeInt(mapsWon);
+            out.writeInt(mapsLost);
+            out.writeInt(streak);
+            out.writeInt(bestWinStreak);
+            out.writeLong(lastPlayed);
+        }
+
+        static Aggregate read(DataInputStream in) throws IOException {
+            Aggregate aggregate = new Aggregate(in.readUTF());
+            aggregate.wins = in.readInt();
+            aggregate.losses = in.readInt();
+            aggregate.mapsWon = in.readInt();
+            aggregate.mapsLost = in.readInt();
+            aggregate.streak = in.readInt();
+            aggregate.bestWinStreak = in.readInt();
+            aggregate.lastPlayed = in.readLong();
+            return aggregate;
+        }
+    }
+
+    /**
+     * Últimos jogos num anel de bytes (bit 0 vitória, bits 1-3 mapas ganhos, bits 4-6 mapas perdidos),
+     * com as somas mantidas ao entrar e sair de cada jogo.
+     */
+    private static class Window {
+        final byte[] ring;
+        int head;
+        int size;
+        int wins;
+        int mapsWon;
+        int mapsLost;
+
+        Window(int capacity) {
+            ring = new byte[capacity];
+        }
+
+        void push(boolean victory, int[] maps) {
+            if (size == ring.length) {
+                apply(ring[head], -1);
+            } else {
+                size++;
+            }
+            byte entry = (byte) ((victory ? 1 : 0) | Math.min(maps[0], 7) << 1 | Math.min(maps[1], 7) << 4);
+            ring[head] = entry;
+            apply(entry, 1);
+            head = (head + 1) % ring.length;
+        }
+
+        private void apply(byte entry, int sign) {
+            wins += sign * (entry & 1);
+            mapsWon += sign * (entry >> 1 & 7);
+            mapsLost += sign * (entry >> 4 & 7);
+        }
+
+        Summary summary(int streak) {
+            return new Summary("últimos " + size, wins, size - wins, mapsWon, mapsLost, streak, 0, null);
+        }
+    }
+
+    private class TeamAggregates {
+        final Aggregate overall;
+        final Window window = new Window(windowSize);
+        final Map<String, Aggregate> opponents = new HashMap<>();
+        final Map<String, Aggregate> tournaments = new HashMap<>();
+
+        TeamAggregates(String alias) {
+            overall = new Aggregate(alias);
+        }
+
+        void add(ArchivedResult result) {
+            int[] maps = maps(result);
+            boolean inOrder = result.date().toEpochMilli() >= overall.lastPlayed;
+            overall.add(result, maps);
+            if (inOrder) {
+                window.push(result.victory(), maps);
+            }
+            opponents.computeIfAbsent(key(result.opponent()), k -> new Aggregate(result.opponent())).add(result, maps);
+            tournaments.computeIfAbsent(key(result.tournament()), k -> new Aggregate(result.tournament())).add(result, maps);
+        }
+    }
+
+    public ResultStatistics(
+            ResultsArchive archive,
+            @Value("${results_stats_file:data/stats.dat}") String file,
+            @Value("${stats_window_matches:10}") int windowSize) {
+        this.archive = archive;
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.windowSize = Math.max(1, windowSize);
+    }
+
+    @PostConstruct
+    public void init() {
+        synchronized (this) {
+            load();
+        }
+        archive.onAppend(this::catchUp);
+        catchUp();
+    }
+
+    /** Consome os resultados incluídos no histórico desde a última vez. */
+    public synchronized void catchUp() {
+        int before = consumed;
+        consumed = archive.forEachSince(consumed,
+                (alias, result) -> teams.computeIfAbsent(alias, TeamAggregates::new).add(result));
+        if (consumed > before) {
+            logger.debug("{} resultados consumidos pelas estatísticas.", consumed - before);
+            save();
+        }
+    }
+
+    /** Estatísticas do time, ou {@code null} sem nenhum resultado no histórico. */
+    public synchronized TeamSummary team(TrackedTeam team) {
+        catchUp();
+        TeamAggregates aggregates = teams.get(team.alias());
+        return aggregates == null ? null
+                : new TeamSummary(aggregates.overall.summary(), aggregates.window.summary(aggregates.overall.streak), windowSize);
+    }
+
+    /** Confronto com o adversário (nome sem diferenciar maiúsculas), ou {@code null}. */
+    public synchronized Summary opponent(TrackedTeam team, String opponent) {
+        catchUp();
+        TeamAggregates aggregates = teams.get(team.alias());
+        Aggregate aggregate = aggregates == null ? null : aggregates.opponents.get(key(opponent));
+        return aggregate == null ? null : aggregate.summary();
+    }
+
+    /** Desempenho no torneio (nome sem diferenciar maiúsculas), ou {@code null}. */
+    public synchronized Summary tournament(TrackedTeam team, String tournament) {
+        catchUp();
+        TeamAggregates aggregates = teams.get(team.alias());
+        Aggregate aggregate = aggregates == null ? null : aggregates.tournaments.get(key(tournament));
+        return aggregate == null ? null : aggregate.summary();
+    }
+
+    // Placar de até 5 é de mapas (MD3, MD5); acima disso é de rounds de uma MD1
+    static int[] maps(ArchivedResult result) {
+        if (result.scoreFor() <= 5 && result.scoreAgainst() <= 5) {
+            return new int[] {result.scoreFor(), result.scoreAgainst()};
+        }
+        return result.victory() ? new int[] {1, 0} : new int[] {0, 1};
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = dir.resolve(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(windowSize);
+                out.writeInt(consumed);
+                out.writeInt(teams.size());
+                for (TeamAggregates aggregates : teams.values()) {
+                    aggregates.overall.write(out);
+                    Window window = aggregates.window;
+                    out.writeInt(window.size);
+                    out.writeInt(window.head);
+                    out.write(window.ring);
+                    writeAll(out, aggregates.opponents);
+                    writeAll(out, aggregates.tournaments);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Falha ao gravar as estatísticas em {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void writeAll(DataOutputStream out, Map<String, Aggregate> aggregates) throws IOException {
+        out.writeInt(aggregates.size());
+        for (Aggregate aggregate : aggregates.values()) {
+            aggregate.write(out);
+        }
+    }
+
+    private void load() {
+        if (file == null) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != windowSize) {
+                logger.info("Estatísticas em {} de outra versão ou janela, recalculando.", file);
+                return;
+            }
+            int position = in.readInt();
+            Map<String, TeamAggregates> loaded = new HashMap<>();
+            for (int teamCount = in.readInt(); teamCount > 0; teamCount--) {
+                Aggregate overall = Aggregate.read(in);
+                TeamAggregates aggregates = new TeamAggregates(overall.name);
+                copy(overall, aggregates.overall);
+                Window window = aggregates.window;
+                int size = in.readInt();
+                window.head = in.readInt();
+                in.readFully(window.ring);
+                // As somas da janela são derivadas dos jogos no anel
+                for (int i = 0; i < size; i++) {
+                    window.size++;
+                    window.apply(window.ring[Math.floorMod(window.head - size + i, window.ring.length)], 1);
+                }
+                readAll(in, aggregates.opponents);
+                readAll(in, aggregates.tournaments);
+                loaded.put(overall.name, aggregates);
+            }
+            if (position > archive.size()) {
+                logger.warn("Estatísticas em {} à frente do histórico ({} de {}), recalculando.", file, position, archive.size());
+                return;
+            }
+            teams.putAll(loaded);
+            consumed = position;
+            logger.info("Estatísticas carregadas de {}: {} resultados consumidos.", file, consumed);
+        } catch (NoSuchFileException e) {
+            logger.info("Sem estatísticas em {}, calculando a partir do histórico.", file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Estatísticas inválidas em {}, recalculando: {}", file, e.getMessage());
+        }
+    }
+
+    private static void readAll(DataInputStream in, Map<String, Aggregate> aggregates) throws IOException {
+        for (int count = in.readInt(); count > 0; count--) {
+            Aggregate aggregate = Aggregate.read(in);
+            aggregates.put(key(aggregate.name), aggregate);
+        }
+    }
+
+    private static void copy(Aggregate from, Aggregate to) {
+        to.wins = from.wins;
+        to.losses = from.losses;
+        to.mapsWon = from.mapsWon;
+        to.mapsLost = from.mapsLost;
+        to.streak = from.streak;
+        to.bestWinStreak = from.bestWinStreak;
+        to.lastPlayed = from.lastPlayed;
+    }
+}
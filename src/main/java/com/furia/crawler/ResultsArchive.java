@@ -0,0 +1,580 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Arquivo permanente dos resultados vistos pelo crawler, só de inclusão, em {@code results_archive_dir}
+ * (padrão {@code data/archive}; vazio desativa). Cada resultado é um registro de tamanho fixo em
+ * {@code results.dat} e os textos (apelido do time, adversário, torneio) ficam uma única vez em
+ * {@code strings.dat}, referenciados por número. Partidas repetidas são descartadas pelo id do HLTV.
+ *
+ * <p>Só os índices ficam na memória (id da partida, data, adversário e torneio, por time, como números
+ * de registro): as consultas leem do disco apenas os registros da página pedida. Os índices são
+ * montados ao abrir, com uma leitura sequencial dos arquivos, e estendidos quando outro processo
+ * acrescenta registros (réplicas no mesmo volume: só o líder escreve, os seguidores leem a cauda).
+ * Um registro pela metade no fim do arquivo (queda durante a escrita) é ignorado e sobrescrito na
+ * próxima inclusão.
+ */
+@Component
+public class ResultsArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultsArchive.class);
+
+    // Cabeçalho: magic, versão e tamanho do registro
+    private static final long MAGIC = 0x4655524941524348L; // "FURIARCH"
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    // Registro: id (8), data em ms (8), time (4), adversário (4), torneio (4), placar (2 + 2), vitória (1), reservado
+    static final int RECORD_SIZE = 40;
+
+    private final Path dir;
+    private final Timer queryTimer;
+    private FileChannel data;
+    private FileChannel strings;
+
+    // Dicionário de textos: id -> texto, texto -> id e a forma normalizada para busca
+    private final List<String> texts = new ArrayList<>();
+    private final List<String> normalizedTexts = new ArrayList<>();
+    private final Map<String, Integer> textIds = new HashMap<>();
+    private long stringsEnd;
+
+    // Índices por registro e por time
+    private long[] dates = new long[1024];
+    private int records;
+    private final Map<Integer, TeamIndex> teamIndexes = new HashMap<>();
+    private final List<Runnable> appendListeners = new CopyOnWriteArrayList<>();
+
+    /** Resultado arquivado; o placar é do ponto de vista do time acompanhado. */
+    public record ArchivedResult(long matchId, Instant date, String opponent, String tournament,
+                                 int scoreFor, int scoreAgainst, boolean victory) {
+
+        public String score() {
+            return scoreFor + " : " + scoreAgainst;
+        }
+    }
+
+    /** Página de uma consulta, mais recentes primeiro; {@code page} começa em 1. */
+    public record Page(List<ArchivedResult> results, int page, int pages, int total) {
+    }
+
+    private record Stored(int team, ArchivedResult result) {
+    }
+
+    private static class TeamIndex {
+        final LongIntMap ids = new LongIntMap();
+        final IntList byDate = new IntList();
+        final Map<Integer, IntList> byOpponent = new HashMap<>();
+        final Map<Integer, IntList> byTournament = new HashMap<>();
+    }
+
+    public ResultsArchive(
+            @Value("${results_archive_dir:data/archive}") String dir,
+            MeterRegistry meterRegistry) {
+        this.dir = dir.isBlank() ? null : Path.of(dir);
+        this.queryTimer = Timer.builder("results.archive.query")
+                .description("Tempo das consultas ao arquivo de resultados")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("results.archive.records", this, ResultsArchive::size)
+                .description("Resultados no arquivo")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (dir == null) {
+            logger.info("Sem results_archive_dir: o histórico de resultados está desativado.");
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            data = FileChannel.open(dir.resolve("results.dat"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            strings = FileChannel.open(dir.resolve("strings.dat"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            refresh();
+            logger.info("Histórico de resultados aberto em {}: {} resultados.", dir, records);
+        } catch (IOException e) {
+            logger.error("Não foi possível abrir o histórico de resultados em {}: {}", dir, e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    public boolean isEnabled() {
+        return data != null;
+    }
+
+    public synchronized int size() {
+        return records;
+    }
+
+    /**
+     * Chamado depois de cada inclusão deste processo, fora do lock do arquivo (ex.: para consumir os
+     * registros novos com {@link #forEachSince}).
+     */
+    public void onAppend(Runnable listener) {
+        appendListeners.add(listener);
+    }
+
+    /**
+     * Acrescenta os resultados de um time que ainda não estão no arquivo, do mais antigo para o mais
+     * recente. Retorna quantos foram incluídos.
+     */
+    public int append(TrackedTeam team, List<ArchivedResult> results) {
+        int added = appendNew(team, results);
+        if (added > 0) {
+            appendListeners.forEach(Runnable::run);
+        }
+        return added;
+    }
+
+    private synchronized int appendNew(TrackedTeam team, List<ArchivedResult> results) {
+        if (!isEnabled() || results.isEmpty()) {
+            return 0;
+        }
+        try (FileLock ignored = data.lock()) {
+            refresh();
+            List<ArchivedResult> fresh = new ArrayList<>();
+            TeamIndex index = teamIndexes.get(textIds.get(team.alias()));
+            for (ArchivedResult result : results) {
+                if ((index == null || index.ids.get(result.matchId()) < 0)
+                        && fresh.stream().noneMatch(r -> r.matchId() == result.matchId())) {
+                    fresh.add(result);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+            // A página do HLTV lista os mais recentes primeiro; no arquivo a ordem é cronológica
+            fresh.sort(Comparator.comparing(ArchivedResult::date));
+            int before = texts.size();
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * fresh.size());
+            int teamId = textId(team.alias());
+            for (ArchivedResult result : fresh) {
+                buffer.putLong(result.matchId())
+                        .putLong(result.date().toEpochMilli())
+                        .putInt(teamId)
+                        .putInt(textId(result.opponent()))
+                        .putInt(textId(result.tournament()))
+                        .putShort((short) result.scoreFor())
+                        .putShort((short) result.scoreAgainst())
+                        .put((byte) (result.victory() ? 1 : 0))
+                        .put(new byte[RECORD_SIZE - 33]);
+            }
+            if (texts.size() > before) {
+                // Textos novos antes dos registros que os referenciam
+                strings.force(false);
+            }
+            buffer.flip();
+            long position = HEADER_SIZE + (long) records * RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                position += data.write(buffer, position);
+            }
+            data.force(false);
+            refresh();
+            return fresh.size();
+        } catch (IOException e) {
+            logger.warn("Falha ao gravar no histórico de resultados: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /** Todos os resultados do time. */
+    public Page latest(TrackedTeam team, int page, int pageSize) {
+        return query(team, index -> List.of(index.byDate), page, pageSize);
+    }
+
+    /**
+     * Resultados contra um adversário: nome igual, sem diferenciar maiúsculas; se nenhum for igual,
+     * os que contêm o texto (ex.: "mongol" encontra "The MongolZ").
+     */
+    public Page byOpponent(TrackedTeam team, String opponent, int page, int pageSize) {
+        return query(team, index -> matching(index.byOpponent, opponent), page, pageSize);
+    }
+
+    /** Resultados em torneios cujo nome é igual ou contém o texto, sem diferenciar maiúsculas. */
+    public Page byTournament(TrackedTeam team, String tournament, int page, int pageSize) {
+        return query(team, index -> matching(index.byTournament, tournament), page, pageSize);
+    }
+
+    /** Resultados com data em {@code [from, to)}. */
+    public Page between(TrackedTeam team, Instant from, Instant to, int page, int pageSize) {
+        return query(team, index -> {
+            int start = lowerBound(index.byDate, from.toEpochMilli());
+            int end = lowerBound(index.byDate, to.toEpochMilli());
+            return List.of(index.byDate.slice(start, end));
+        }, page, pageSize);
+    }
+
+    private Page query(TrackedTeam team, Function<TeamIndex, List<IntList>> postings, int page, int pageSize) {
+        return queryTimer.record(() -> {
+            synchronized (this) {
+                if (!isEnabled()) {
+                    return new Page(List.of(), page, 0, 0);
+                }
+                try {
+                    refresh();
+                    Integer teamId = textIds.get(team.alias());
+                    TeamIndex index = teamId == null ? null : teamIndexes.get(teamId);
+                    IntList matches = index == null ? new IntList() : merge(postings.apply(index));
+                    int total = matches.size();
+                    int pages = (total + pageSize - 1) / pageSize;
+                    List<ArchivedResult> results = new ArrayList<>();
+                    // Listas em ordem crescente de data: a página 1 vem do fim
+                    int from = total - (page - 1) * pageSize - 1;
+                    for (int i = from; i >= 0 && i > from - pageSize; i--) {
+                        results.add(read(matches.get(i)));
+                    }
+                    return new Page(results, page, pages, total);
+                } catch (IOException e) {
+                    logger.warn("Falha ao consultar o histórico de resultados: {}", e.getMessage());
+                    return new Page(List.of(), page, 0, 0);
+                }
+            }
+        });
+    }
+
+    private List<IntList> matching(Map<Integer, IntList> postings, String text) {
+        String query = normalize(text);
+        List<IntList> exact = new ArrayList<>();
+        List<IntList> partial = new ArrayList<>();
+        postings.forEach((id, list) -> {
+            String candidate = normalizedTexts.get(id);
+            if (candidate.equals(query)) {
+                exact.add(list);
+            } else if (candidate.contains(query)) {
+                partial.add(list);
+            }
+        });
+        return exact.isEmpty() ? partial : exact;
+    }
+
+    private IntList merge(List<IntList> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        IntList merged = new IntList();
+        lists.forEach(list -> {
+            for (int i = 0; i < list.size(); i++) {
+                merged.add(list.get(i));
+            }
+        });
+        merged.sort(this::compareByDate);
+        return merged;
+    }
+
+    /**
+     * Percorre, em ordem de inclusão, os registros a partir do número {@code from}, com o apelido do
+     * time de cada um. Retorna o número do próximo registro a ler.
+     */
+    public synchronized int forEachSince(int from, BiConsumer<String, ArchivedResult> consumer) {
+        if (!isEnabled()) {
+            return from;
+        }
+        int next = from;
+        try {
+            refresh();
+            for (; next < records; next++) {
+                Stored stored = readStored(next);
+                consumer.accept(texts.get(stored.team()), stored.result());
+            }
+        } catch (IOException e) {
+            logger.warn("Falha ao ler o histórico de resultados: {}", e.getMessage());
+        }
+        return next;
+    }
+
+    private ArchivedResult read(int record) throws IOException {
+        return readStored(record).result();
+    }
+
+    private Stored readStored(int record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        long position = HEADER_SIZE + (long) record * RECORD_SIZE;
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("registro " + record + " incompleto");
+            }
+        }
+        buffer.flip();
+        long matchId = buffer.getLong();
+        long date = buffer.getLong();
+        int team = buffer.getInt();
+        String opponent = texts.get(buffer.getInt());
+        String tournament = texts.get(buffer.getInt());
+        int scoreFor = buffer.getShort();
+        int scoreAgainst = buffer.getShort();
+        boolean victory = buffer.get() == 1;
+        return new Stored(team, new ArchivedResult(matchId, Instant.ofEpochMilli(date), opponent, tournament,
+                scoreFor, scoreAgainst, victory));
+    }
+
+    // Lê o que foi acrescentado depois da última leitura, deste ou de outro processo
+    private void refresh() throws IOException {
+        if (data.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).flip();
+            data.write(header, 0);
+        }
+        if (records == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            data.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getLong() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != RECORD_SIZE) {
+                throw new IOException("results.dat não é um histórico de resultados compatível");
+            }
+        }
+        refreshStrings();
+        long complete = (data.size() - HEADER_SIZE) / RECORD_SIZE;
+        if (complete <= records) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 256);
+        long position = HEADER_SIZE + (long) records * RECORD_SIZE;
+        long end = HEADER_SIZE + complete * RECORD_SIZE;
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            int read = 0;
+            while (buffer.hasRemaining() && read >= 0) {
+                read = data.read(buffer, position + buffer.position());
+            }
+            buffer.flip();
+            position += buffer.remaining();
+            while (buffer.remaining() >= RECORD_SIZE) {
+                long matchId = buffer.getLong();
+                long date = buffer.getLong();
+                int team = buffer.getInt();
+                int opponent = buffer.getInt();
+                int tournament = buffer.getInt();
+                buffer.position(buffer.position() + RECORD_SIZE - 28);
+                index(matchId, date, team, opponent, tournament);
+            }
+        }
+    }
+
+    private void index(long matchId, long date, int team, int opponent, int tournament) {
+        int record = records++;
+        if (record == dates.length) {
+            dates = Arrays.copyOf(dates, dates.length * 2);
+        }
+        dates[record] = date;
+        TeamIndex index = teamIndexes.computeIfAbsent(team, id -> new TeamIndex());
+        index.ids.put(matchId, record);
+        insertByDate(index.byDate, record);
+        insertByDate(index.byOpponent.computeIfAbsent(opponent, id -> new IntList()), record);
+        insertByDate(index.byTournament.computeIfAbsent(tournament, id -> new IntList()), record);
+    }
+
+    // Quase sempre o resultado mais novo: entra no fim da lista
+    private void insertByDate(IntList list, int record) {
+        int position = list.size();
+        while (position > 0 && compareByDate(list.get(position - 1), record) > 0) {
+            position--;
+        }
+        list.insert(position, record);
+    }
+
+    private int compareByDate(int a, int b) {
+        int byDate = Long.compare(dates[a], dates[b]);
+        return byDate != 0 ? byDate : Integer.compare(a, b);
+    }
+
+    private int lowerBound(IntList list, long date) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (dates[list.get(middle)] < date) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void refreshStrings() throws IOException {
+        long size = strings.size();
+        while (stringsEnd + 4 <= size) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            strings.read(length, stringsEnd);
+            int bytes = length.flip().getInt();
+            if (stringsEnd + 4 + bytes > size) {
+                break; // Texto pela metade: será sobrescrito
+            }
+            ByteBuffer text = ByteBuffer.allocate(bytes);
+            while (text.hasRemaining()) {
+                strings.read(text, stringsEnd + 4 + text.position());
+            }
+            addText(new String(text.array(), StandardCharsets.UTF_8));
+            stringsEnd += 4 + bytes;
+        }
+    }
+
+    private int textId(String text) throws IOException {
+        Integer id = textIds.get(text);
+        if (id != null) {
+            return id;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + bytes.length).putInt(bytes.length).put(bytes).flip();
+        while (buffer.hasRemaining()) {
+            stringsEnd += strings.write(buffer, stringsEnd);
+        }
+        return addText(text);
+    }
+
+    private int addText(String text) {
+        int id = texts.size();
+        texts.add(text);
+        normalizedTexts.add(normalize(text));
+        textIds.putIfAbsent(text, id);
+        return id;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        for (FileChannel channel : new FileChannel[] {data, strings}) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                logger.debug("Falha ao fechar o histórico de resultados: {}", e.getMessage());
+            }
+        }
+        data = null;
+        strings = null;
+    }
+
+    /** Lista de int que cresce sob demanda, sem boxing. */
+    private static class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void add(int value) {
+            insert(size, value);
+        }
+
+        void insert(int index, int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(8, size * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+        }
+
+        IntList slice(int from, int to) {
+            IntList slice = new IntList();
+            slice.size = Math.max(0, to - from);
+            slice.values = Arrays.copyOfRange(values, from, from + slice.size);
+            return slice;
+        }
+
+        void sort(java.util.Comparator<Integer> comparator) {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = values[i];
+            }
+            Arrays.sort(boxed, comparator);
+            for (int i = 0; i < size; i++) {
+                values[i] = boxed[i];
+            }
+        }
+    }
+
+    /** Tabela de endereçamento aberto id da partida -> número do registro. */
+    private static class LongIntMap {
+        private long[] keys = new long[64];
+        private int[] values = new int[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask; used[slot]; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.furia.crawler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+import com.furia.crawler.HltvCrawlerService.Match;
+import com.furia.crawler.HltvCrawlerService.MatchResult;
+import com.furia.crawler.HltvCrawlerService.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Snapshot do crawler no diretório compartilhado ({@code snapshot.json}): o líder publica depois de
+ * cada tarefa que altera os dados e os seguidores leem quando o arquivo muda. A escrita usa arquivo
+ * temporário e {@code ATOMIC_MOVE}, então um leitor nunca vê um JSON pela metade. Sem
+ * {@code crawler_shared_dir} não faz nada.
+ */
+@Component
+public class SharedSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedSnapshotStore.class);
+    private static final String FILE_NAME = "snapshot.json";
+
+    private final CrawlerLeadership leadership;
+    private final TrackedTeams teams;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] lastPublished;
+    private byte[] lastRead;
+
+    /** Dados de um time, com o momento em que cada seção foi obtida do HLTV ({@code null} = nunca). */
+    public record TeamState(List<Player> lineup, List<Match> upcoming, List<MatchResult> results, LiveMatch live,
+                            Map<SnapshotSection, Long> fetchedAt) {
+    }
+
+    public SharedSnapshotStore(CrawlerLeadership leadership, TrackedTeams teams) {
+        this.leadership = leadership;
+        this.teams = teams;
+    }
+
+    public boolean isEnabled() {
+        return leadership.isShared();
+    }
+
+    /** Grava o snapshot se o conteúdo mudou desde a última publicação deste nó. */
+    public synchronized void publish(Map<TrackedTeam, TeamState> states) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            ObjectNode root = mapper.createObjectNode();
+            root.put("leader", leadership.getNodeId());
+            ObjectNode teamsNode = root.putObject("teams");
+            states.forEach((team, state) -> teamsNode.set(team.alias(), toJson(state)));
+            byte[] bytes = mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(root);
+            if (Arrays.equals(bytes, lastPublished)) {
+                return;
+            }
+            Path dir = leadership.getSharedDir();
+            Path tmp = dir.resolve(FILE_NAME + "." + leadership.getNodeId() + ".tmp");
+            Files.write(tmp, bytes);
+            Files.move(tmp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastPublished = bytes;
+            logger.debug("Snapshot publicado em {} ({} bytes).", dir, bytes.length);
+        } catch (IOException e) {
+            logger.warn("Falha ao publicar o snapshot compartilhado: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshot publicado pelo líder, ou {@code null} se não existe, não mudou desde a última leitura ou
+     * está ilegível. Times desconhecidos por este nó são ignorados.
+     */
+    public synchronized Map<TrackedTeam, TeamState> readIfChanged() {
+        if (!isEnabled()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(leadership.getSharedDir().resolve(FILE_NAME));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Falha ao ler o snapshot compartilhado: {}", e.getMessage());
+            return null;
+        }
+        if (Arrays.equals(bytes, lastRead)) {
+            return null;
+        }
+        try {
+            JsonNode root = mapper.readTree(bytes);
+            Map<TrackedTeam, TeamState> states = new LinkedHashMap<>();
+            for (TrackedTeam team : teams.all()) {
+                JsonNode node = root.path("teams").path(team.alias());
+                if (!node.isMissingNode()) {
+                    states.put(team, fromJson(node));
+                }
+            }
+            lastRead = bytes;
+            return states;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Snapshot compartilhado inválido, mantendo o anterior: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ObjectNode toJson(TeamState state) {
+        ObjectNode node = mapper.createObjectNode();
+        node.set("lineup", mapper.valueToTree(state.lineup()));
+        node.set("upcoming", mapper.valueToTree(state.upcoming()));
+        node.set("results", mapper.valueToTree(state.results()));
+        node.set("live", state.live() == null ? null : mapper.valueToTree(state.live()));
+        ObjectNode fetchedAt = node.putObject("fetchedAt");
+        state.fetchedAt().forEach((section, millis) -> fetchedAt.put(section.name().toLowerCase(Locale.ROOT), millis));
+        return node;
+    }
+
+    // Mesmos campos dos getters dos modelos, como em fixtures/hltv-snapshot.json
+    private static TeamState fromJson(JsonNode node) {
+        List<Player> lineup = new ArrayList<>();
+        for (JsonNode player : node.path("lineup")) {
+            lineup.add(new Player(player.path("name").asText(), player.path("imageUrl").asText()));
+        }
+        List<Match> upcoming = new ArrayList<>();
+        for (JsonNode match : node.path("upcoming")) {
+            upcoming.add(new Match(match.path("date").asText(), match.path("time").asText(),
+                    match.path("opponent").asText(), match.path("tournament").asText(), match.path("kickoff").asLong(),
+                    match.path("matchLink").asText()));
+        }
+        List<MatchResult> results = new ArrayList<>();
+        for (JsonNode result : node.path("results")) {
+            results.add(new MatchResult(result.path("score").asText(), result.path("opponent").asText(),
+                    result.path("tournament").asText(), result.path("victory").asBoolean(), result.path("matchLink").asText()));
+        }
+        JsonNode liveNode = node.path("live");
+        LiveMatch live = liveNode.isObject() ? new LiveMatch(
+                liveNode.path("opponent").asText(),
+                liveNode.path("currentMapScore").asText(),
+                liveNode.path("mapsWon").asText(),
+                liveNode.path("tournament").asText(),
+                liveNode.path("format").asText(),
+                liveNode.path("matchLink").asText(),
+                texts(liveNode.path("vetoDetails")),
+                texts(liveNode.path("streamLinks"))) : null;
+        Map<SnapshotSection, Long> fetchedAt = new EnumMap<>(SnapshotSection.class);
+        for (SnapshotSection section : SnapshotSection.values()) {
+            JsonNode millis = node.path("fetchedAt").path(section.name().toLowerCase(Locale.ROOT));
+            if (millis.canConvertToLong()) {
+                fetchedAt.put(section, millis.asLong());
+            }
+        }
+        return new TeamState(lineup, upcoming, results, live, fetchedAt);
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(node -> values.add(node.asText()));
+        return values;
+    }
+}
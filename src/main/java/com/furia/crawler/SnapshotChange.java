@@ -0,0 +1,72 @@
+package com.furia.crawler;
+
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+import com.furia.crawler.HltvCrawlerService.Match;
+import com.furia.crawler.HltvCrawlerService.MatchResult;
+
+import java.util.List;
+
+/**
+ * Mudanças detectadas entre dois snapshots do HLTV, publicadas como eventos do Spring pelo
+ * {@link SnapshotChangeDetector}. Para consumir: {@code @EventListener void on(SnapshotChange.NewResult change)}.
+ * Nada é publicado na primeira coleta de cada seção, que só estabelece a linha de base.
+ */
+public sealed interface SnapshotChange {
+
+    /** Time ao qual a mudança se refere. */
+    TrackedTeam team();
+
+    /** Nome curto usado como tag nas métricas. */
+    String type();
+
+    record NewMatch(TrackedTeam team, Match match) implements SnapshotChange {
+        @Override
+        public String type() {
+            return "new_match";
+        }
+    }
+
+    record MatchRescheduled(TrackedTeam team, Match previous, Match current) implements SnapshotChange {
+        @Override
+        public String type() {
+            return "rescheduled";
+        }
+    }
+
+    record NewResult(TrackedTeam team, MatchResult result) implements SnapshotChange {
+        @Override
+        public String type() {
+            return "new_result";
+        }
+    }
+
+    /** Partida ao vivo que começou (ou trocou por outra) depois da primeira coleta. */
+    record LiveStarted(TrackedTeam team, LiveMatch match) implements SnapshotChange {
+        @Override
+        public String type() {
+            return "live_started";
+        }
+    }
+
+    /** Partida que saiu de {@code /matches}; {@code last} é o último placar visto. */
+    record LiveEnded(TrackedTeam team, LiveMatch last) implements SnapshotChange {
+        @Override
+        public String type() {
+            return "live_ended";
+        }
+    }
+
+    record ScoreChanged(TrackedTeam team, LiveMatch previous, LiveMatch current) implements SnapshotChange {
+        @Override
+        public String type() {
+            return "score_change";
+        }
+    }
+
+    record LineupChanged(TrackedTeam team, List<String> joined, List<String> left) implements SnapshotChange {
+        @Override
+        public String type() {
+            return "lineup_change";
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.furia.crawler;
+
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+import com.furia.crawler.HltvCrawlerService.Match;
+import com.furia.crawler.HltvCrawlerService.MatchResult;
+import com.furia.crawler.HltvCrawlerService.Player;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detecção de mudanças em dois estágios. Primeiro o hash do fragmento HTML relevante de cada seção:
+ * se for igual ao da última extração bem-sucedida, o parsing é pulado. Depois a comparação dos dados
+ * extraídos: se não mudaram, nada é publicado; se mudaram, o diff tipado vira eventos
+ * {@link SnapshotChange}.
+ */
+@Component
+public class SnapshotChangeDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotChangeDetector.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Map<TrackedTeam, Map<SnapshotSection, byte[]>> fragmentDigests = new HashMap<>();
+    // Dia em que as datas relativas ("Hoje", "Amanhã") do snapshot anterior de cada time foram calculadas
+    private final Map<TrackedTeam, LocalDate> upcomingDays = new HashMap<>();
+    private final Set<TrackedTeam> liveChecked = ConcurrentHashMap.newKeySet();
+
+    public SnapshotChangeDetector(ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Hash do fragmento; {@code parts} extras entram no hash (ex.: a data de hoje, que muda "Hoje"/"Amanhã"). */
+    public byte[] digest(String fragmentHtml, Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(fragmentHtml.getBytes(StandardCharsets.UTF_8));
+            for (Object part : parts) {
+                digest.update((byte) 0);
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /** {@code true} se o fragmento é idêntico ao da última extração aceita; conta como seção pulada. */
+    public synchronized boolean isUnchanged(TrackedTeam team, SnapshotSection section, byte[] digest) {
+        boolean unchanged = Arrays.equals(digests(team).get(section), digest);
+        if (unchanged) {
+            countSection(team, section, "skipped");
+        }
+        return unchanged;
+    }
+
+    /** Registra o hash só depois de a extração terminar, para que uma falha no meio force novo parsing. */
+    public synchronized void accept(TrackedTeam team, SnapshotSection section, byte[] digest) {
+        digests(team).put(section, digest);
+    }
+
+    private Map<SnapshotSection, byte[]> digests(TrackedTeam team) {
+        return fragmentDigests.computeIfAbsent(team, t -> new EnumMap<>(SnapshotSection.class));
+    }
+
+    /** Devolve {@code true} se a escalação mudou (e deve ser publicada). */
+    public boolean lineup(TrackedTeam team, List<Player> previous, List<Player> current) {
+        if (!changed(team, SnapshotSection.LINEUP, previous, current)) {
+            return false;
+        }
+        if (!previous.isEmpty()) {
+            Set<String> before = names(previous);
+            Set<String> after = names(current);
+            List<String> joined = current.stream().map(Player::getName).filter(name -> !before.contains(name)).toList();
+            List<String> left = previous.stream().map(Player::getName).filter(name -> !after.contains(name)).toList();
+            if (!joined.isEmpty() || !left.isEmpty()) {
+                publish(new SnapshotChange.LineupChanged(team, joined, left));
+            }
+        }
+        return true;
+    }
+
+    /** {@code today} é o dia da leitura, o mesmo usado para gerar os rótulos "Hoje"/"Amanhã" de {@code current}. */
+    public synchronized boolean upcoming(TrackedTeam team, List<Match> previous, List<Match> current, LocalDate today) {
+        LocalDate previousDay = upcomingDays.getOrDefault(team, today);
+        upcomingDays.put(team, today);
+        if (!changed(team, SnapshotSection.UPCOMING, previous, current)) {
+            return false;
+        }
+        if (!previous.isEmpty()) {
+            Map<String, Match> before = new HashMap<>();
+            previous.forEach(match -> before.put(matchKey(match), match));
+            for (Match match : current) {
+                Match old = before.get(matchKey(match));
+                if (old == null) {
+                    publish(new SnapshotChange.NewMatch(team, match));
+                } else if (!Objects.equals(old.getTime(), match.getTime())
+                        || !Objects.equals(resolveDate(old.getDate(), previousDay), resolveDate(match.getDate(), today))) {
+                    publish(new SnapshotChange.MatchRescheduled(team, old, match));
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean results(TrackedTeam team, List<MatchResult> previous, List<MatchResult> current) {
+        if (!changed(team, SnapshotSection.RESULTS, previous, current)) {
+            return false;
+        }
+        if (!previous.isEmpty()) {
+            Set<Object> before = new HashSet<>();
+            previous.forEach(result -> before.add(resultKey(result)));
+            for (MatchResult result : current) {
+                if (!before.contains(resultKey(result))) {
+                    publish(new SnapshotChange.NewResult(team, result));
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean live(TrackedTeam team, LiveMatch previous, LiveMatch current) {
+        // Até a primeira verificação não se sabe se a partida começou agora ou antes de o bot subir
+        boolean baseline = liveChecked.add(team);
+        if (!changed(team, SnapshotSection.LIVE, previous, current)) {
+            return false;
+        }
+        boolean sameMatch = previous != null && current != null
+                && Objects.equals(previous.getMatchLink(), current.getMatchLink());
+        if (sameMatch) {
+            if (!Objects.equals(previous.getCurrentMapScore(), current.getCurrentMapScore())
+                    || !Objects.equals(previous.getMapsWon(), current.getMapsWon())) {
+                publish(new SnapshotChange.ScoreChanged(team, previous, current));
+            }
+        } else if (!baseline) {
+            if (previous != null) {
+                publish(new SnapshotChange.LiveEnded(team, previous));
+            }
+            if (current != null) {
+                publish(new SnapshotChange.LiveStarted(team, current));
+            }
+        }
+        return true;
+    }
+
+    private boolean changed(TrackedTeam team, SnapshotSection section, Object previous, Object current) {
+        boolean changed = !Objects.equals(previous, current);
+        countSection(team, section, changed ? "changed" : "unchanged");
+        return changed;
+    }
+
+    // A virada do dia troca "Amanhã" por "Hoje" sem que a partida tenha sido remarcada: compara datas absolutas
+    private static LocalDate resolveDate(String label, LocalDate day) {
+        if ("Hoje".equals(label)) {
+            return day;
+        }
+        if ("Amanhã".equals(label)) {
+            return day.plusDays(1);
+        }
+        try {
+            return LocalDate.parse(label, DateTimeFormatter.ofPattern("dd/MM/yy"));
+        } catch (DateTimeParseException e) {
+            return null; // TBA ou formato desconhecido
+        }
+    }
+
+    // A página da partida identifica a partida mesmo com adversário "TBD" ou revanche no mesmo torneio; sem o
+    // link (snapshot antigo), fica a chave por adversário e torneio
+    private static String matchKey(Match match) {
+        return match.getMatchLink().isEmpty() ? match.getOpponent() + "|" + match.getTournament() : match.getMatchLink();
+    }
+
+    // Dois resultados iguais (mesmo placar, adversário e torneio) são partidas diferentes se os links diferem
+    private static Object resultKey(MatchResult result) {
+        return result.getMatchLink().isEmpty() ? result : result.getMatchLink();
+    }
+
+    private static Set<String> names(List<Player> players) {
+        Set<String> names = new HashSet<>();
+        players.forEach(player -> names.add(player.getName()));
+        return names;
+    }
+
+    private void publish(SnapshotChange change) {
+        logger.info("Mudança detectada no HLTV: {}", change);
+        meterRegistry.counter("crawler.change.events", "team", change.team().alias(), "type", change.type()).increment();
+        eventPublisher.publishEvent(change);
+    }
+
+    private void countSection(TrackedTeam team, SnapshotSection section, String result) {
+        meterRegistry.counter("crawler.change.sections", "team", team.alias(), "section", section.getKey(), "result", result).increment();
+    }
+}
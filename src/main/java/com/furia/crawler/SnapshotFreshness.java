@@ -0,0 +1,193 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra, por time e seção, quando o snapshot foi obtido com sucesso e o histórico recente de
+ * tentativas, para que a idade dos dados seja visível em métricas, health e nas respostas.
+ */
+@Component
+public class SnapshotFreshness {
+
+    private static final int HISTORY_SIZE = 10;
+
+    private final Map<TrackedTeam, Map<SnapshotSection, SectionState>> states = new HashMap<>();
+    private final Map<SnapshotSection, Duration> slos = new EnumMap<>(SnapshotSection.class);
+    private final boolean replyNoticeEnabled;
+    private final Clock clock;
+
+    public record Attempt(Instant at, boolean success, String detail) {
+    }
+
+    private static class SectionState {
+        long fetchedAt;           // Momento em que os dados publicados foram obtidos do HLTV (0 = nunca)
+        long lastSuccessAt;
+        long lastFailureAt;
+        int consecutiveFailures;
+        final Attempt[] history = new Attempt[HISTORY_SIZE];
+        int historyNext;
+    }
+
+    @Autowired
+    public SnapshotFreshness(
+            ObjectProvider<Clock> clock,
+            @Value("${crawler_freshness_slo_lineup_minutes:180}") long lineupSloMinutes,
+            @Value("${crawler_freshness_slo_upcoming_minutes:60}") long upcomingSloMinutes,
+            @Value("${crawler_freshness_slo_results_minutes:60}") long resultsSloMinutes,
+            @Value("${crawler_freshness_slo_live_minutes:10}") long liveSloMinutes,
+            @Value("${bot_reply_staleness_notice:true}") boolean replyNoticeEnabled,
+            TrackedTeams teams,
+            MeterRegistry meterRegistry) {
+        this(clock.getIfAvailable(Clock::systemDefaultZone), lineupSloMinutes, upcomingSloMinutes, resultsSloMinutes,
+                liveSloMinutes, replyNoticeEnabled, teams, meterRegistry);
+    }
+
+    public SnapshotFreshness(Clock clock, long lineupSloMinutes, long upcomingSloMinutes, long resultsSloMinutes,
+                             long liveSloMinutes, boolean replyNoticeEnabled, TrackedTeams teams, MeterRegistry meterRegistry) {
+        this.clock = clock;
+        slos.put(SnapshotSection.LINEUP, Duration.ofMinutes(lineupSloMinutes));
+        slos.put(SnapshotSection.UPCOMING, Duration.ofMinutes(upcomingSloMinutes));
+        slos.put(SnapshotSection.RESULTS, Duration.ofMinutes(resultsSloMinutes));
+        slos.put(SnapshotSection.LIVE, Duration.ofMinutes(liveSloMinutes));
+        this.replyNoticeEnabled = replyNoticeEnabled;
+
+        for (TrackedTeam team : teams.all()) {
+            Map<SnapshotSection, SectionState> teamStates = new EnumMap<>(SnapshotSection.class);
+            states.put(team, teamStates);
+            for (SnapshotSection section : SnapshotSection.values()) {
+                teamStates.put(section, new SectionState());
+                Gauge.builder("crawler.snapshot.age", this, f -> f.ageSeconds(team, section))
+                        .tag("team", team.alias())
+                        .tag("section", section.getKey())
+                        .baseUnit("seconds")
+                        .register(meterRegistry);
+                Gauge.builder("crawler.snapshot.consecutive_failures", this, f -> f.consecutiveFailures(team, section))
+                        .tag("team", team.alias())
+                        .tag("section", section.getKey())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private SectionState state(TrackedTeam team, SnapshotSection section) {
+        return states.get(team).get(section);
+    }
+
+    /** Dados publicados com sucesso; {@code fetchedAtMillis} é quando a página foi baixada (pode vir do cache). */
+    public void recordSuccess(TrackedTeam team, SnapshotSection section, long fetchedAtMillis) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            long now = clock.millis();
+            state.fetchedAt = Math.max(state.fetchedAt, fetchedAtMillis);
+            state.lastSuccessAt = now;
+            state.consecutiveFailures = 0;
+            addHistory(state, new Attempt(Instant.ofEpochMilli(now), true, null));
+        }
+    }
+
+    public void recordFailure(TrackedTeam team, SnapshotSection section, String detail) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            long now = clock.millis();
+            state.lastFailureAt = now;
+            state.consecutiveFailures++;
+            addHistory(state, new Attempt(Instant.ofEpochMilli(now), false, detail));
+        }
+    }
+
+    private static void addHistory(SectionState state, Attempt attempt) {
+        state.history[state.historyNext] = attempt;
+        state.historyNext = (state.historyNext + 1) % HISTORY_SIZE;
+    }
+
+    /** Quando os dados publicados foram obtidos do HLTV; {@code null} se a seção nunca foi obtida. */
+    public Instant fetchedAt(TrackedTeam team, SnapshotSection section) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            return state.fetchedAt == 0 ? null : Instant.ofEpochMilli(state.fetchedAt);
+        }
+    }
+
+    /** Idade dos dados publicados; {@code null} se a seção nunca foi obtida. */
+    public Duration age(TrackedTeam team, SnapshotSection section) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            return state.fetchedAt == 0 ? null : Duration.ofMillis(clock.millis() - state.fetchedAt);
+        }
+    }
+
+    private double ageSeconds(TrackedTeam team, SnapshotSection section) {
+        Duration age = age(team, section);
+        return age == null ? Double.NaN : age.toMillis() / 1000.0;
+    }
+
+    public int consecutiveFailures(TrackedTeam team, SnapshotSection section) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            return state.consecutiveFailures;
+        }
+    }
+
+    public Duration slo(SnapshotSection section) {
+        return slos.get(section);
+    }
+
+    public boolean isStale(TrackedTeam team, SnapshotSection section) {
+        Duration age = age(team, section);
+        return age != null && age.compareTo(slos.get(section)) > 0;
+    }
+
+    public Instant lastSuccess(TrackedTeam team, SnapshotSection section) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            return state.lastSuccessAt == 0 ? null : Instant.ofEpochMilli(state.lastSuccessAt);
+        }
+    }
+
+    public Instant lastFailure(TrackedTeam team, SnapshotSection section) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            return state.lastFailureAt == 0 ? null : Instant.ofEpochMilli(state.lastFailureAt);
+        }
+    }
+
+    /** Tentativas recentes, da mais antiga para a mais nova. */
+    public List<Attempt> history(TrackedTeam team, SnapshotSection section) {
+        SectionState state = state(team, section);
+        synchronized (state) {
+            List<Attempt> attempts = new ArrayList<>(HISTORY_SIZE);
+            for (int i = 0; i < HISTORY_SIZE; i++) {
+                Attempt attempt = state.history[(state.historyNext + i) % HISTORY_SIZE];
+                if (attempt != null) {
+                    attempts.add(attempt);
+                }
+            }
+            return attempts;
+        }
+    }
+
+    /** Aviso para anexar às respostas quando os dados passaram do SLO; vazio caso contrário. */
+    public String stalenessNotice(TrackedTeam team, SnapshotSection section) {
+        if (!replyNoticeEnabled || !isStale(team, section)) {
+            return "";
+        }
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(age(team, section).toMillis());
+        String ageText = minutes >= 120 ? (minutes / 60) + " h" : minutes + " min";
+        return "\n\n⏳ Dados de há " + ageText + ".";
+    }
+}
@@ -0,0 +1,99 @@
+package com.furia.crawler;
+
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Expõe em {@code /actuator/health/crawlerFreshness/<time>/<seção>} a idade de cada seção do snapshot
+ * comparada ao SLO configurado. A seção ao vivo só conta enquanto há uma partida ao vivo publicada.
+ */
+@Component("crawlerFreshness")
+public class SnapshotFreshnessHealthContributor implements CompositeHealthContributor {
+
+    private final Map<String, HealthContributor> teams = new LinkedHashMap<>();
+
+    /** Seções de um time. */
+    private static final class TeamContributor implements CompositeHealthContributor {
+        private final Map<SnapshotSection, HealthIndicator> indicators = new EnumMap<>(SnapshotSection.class);
+
+        TeamContributor(TrackedTeam team, SnapshotFreshness freshness, HltvCrawlerService crawlerService) {
+            for (SnapshotSection section : SnapshotSection.values()) {
+                indicators.put(section, () -> health(team, section, freshness, crawlerService));
+            }
+        }
+
+        @Override
+        public HealthContributor getContributor(String name) {
+            for (SnapshotSection section : SnapshotSection.values()) {
+                if (section.getKey().equals(name)) {
+                    return indicators.get(section);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<NamedContributor<HealthContributor>> iterator() {
+            return indicators.entrySet().stream()
+                    .map(entry -> NamedContributor.<HealthContributor>of(entry.getKey().getKey(), entry.getValue()))
+                    .iterator();
+        }
+    }
+
+    public SnapshotFreshnessHealthContributor(SnapshotFreshness freshness, HltvCrawlerService crawlerService, TrackedTeams trackedTeams) {
+        for (TrackedTeam team : trackedTeams.all()) {
+            teams.put(team.alias(), new TeamContributor(team, freshness, crawlerService));
+        }
+    }
+
+    private static Health health(TrackedTeam team, SnapshotSection section, SnapshotFreshness freshness,
+                                 HltvCrawlerService crawlerService) {
+        Duration age = freshness.age(team, section);
+        Duration slo = freshness.slo(section);
+        Health.Builder builder;
+        if (section == SnapshotSection.LIVE && crawlerService.getLiveMatch(team) == null) {
+            builder = Health.up().withDetail("liveMatch", false);
+        } else if (age == null) {
+            builder = Health.unknown();
+        } else if (freshness.isStale(team, section)) {
+            builder = Health.down();
+        } else {
+            builder = Health.up();
+        }
+        builder.withDetail("sloSeconds", slo.toSeconds())
+                .withDetail("consecutiveFailures", freshness.consecutiveFailures(team, section))
+                .withDetail("history", freshness.history(team, section));
+        if (age != null) {
+            builder.withDetail("ageSeconds", age.toSeconds());
+        }
+        if (freshness.lastSuccess(team, section) != null) {
+            builder.withDetail("lastSuccess", freshness.lastSuccess(team, section).toString());
+        }
+        if (freshness.lastFailure(team, section) != null) {
+            builder.withDetail("lastFailure", freshness.lastFailure(team, section).toString());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public HealthContributor getContributor(String name) {
+        return teams.get(name);
+    }
+
+    @Override
+    public Iterator<NamedContributor<HealthContributor>> iterator() {
+        return teams.entrySet().stream()
+                .map(entry -> NamedContributor.of(entry.getKey(), entry.getValue()))
+                .iterator();
+    }
+}
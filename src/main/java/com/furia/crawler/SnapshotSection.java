@@ -0,0 +1,19 @@
+package com.furia.crawler;
+
+/** Partes do snapshot do HLTV que são atualizadas de forma independente. */
+public enum SnapshotSection {
+    LINEUP("lineup"),
+    UPCOMING("upcoming"),
+    RESULTS("results"),
+    LIVE("live");
+
+    private final String key;
+
+    SnapshotSection(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,13 @@
+package com.furia.crawler;
+
+/**
+ * Time acompanhado pelo crawler. {@code alias} é o argumento aceito pelos comandos (ex.: "academy"),
+ * {@code code} e {@code slug} formam a URL do time no HLTV e {@code displayName} aparece nas respostas.
+ */
+public record TrackedTeam(String alias, String code, String slug, String displayName, boolean primary) {
+
+    @Override
+    public String toString() {
+        return alias;
+    }
+}
@@ -0,0 +1,89 @@
+package com.furia.crawler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Times acompanhados: o principal ({@code crawler_team_code}/{@code crawler_team_name}) e os extras de
+ * {@code crawler_extra_teams}, no formato {@code apelido=código/slug[/Nome exibido]} separados por
+ * vírgula (ex.: {@code academy=11283/furia-academy/FURIA Academy}). Os ids do HLTV ficam indexados
+ * para que a página {@code /matches} seja varrida uma única vez para todos os times.
+ */
+@Component
+public class TrackedTeams {
+
+    private final List<TrackedTeam> teams;
+    private final Map<String, TrackedTeam> byCode = new HashMap<>();
+    private final Map<String, TrackedTeam> byAlias = new HashMap<>();
+
+    public TrackedTeams(
+            @Value("${crawler_team_code}") String teamCode,
+            @Value("${crawler_team_name}") String teamName,
+            @Value("${crawler_team_alias:}") String teamAlias,
+            @Value("${crawler_extra_teams:}") String extraTeams) {
+        List<TrackedTeam> all = new ArrayList<>();
+        String alias = teamAlias.isBlank() ? teamName : teamAlias;
+        all.add(new TrackedTeam(alias.trim().toLowerCase(Locale.ROOT), teamCode.trim(), teamName.trim(), teamName.trim(), true));
+        for (String entry : extraTeams.split(",")) {
+            if (!entry.isBlank()) {
+                all.add(parse(entry.trim()));
+            }
+        }
+        for (TrackedTeam team : all) {
+            if (byCode.putIfAbsent(team.code(), team) != null || byAlias.putIfAbsent(team.alias(), team) != null) {
+                throw new IllegalStateException("Time repetido em crawler_extra_teams: " + team.alias() + " (" + team.code() + ")");
+            }
+        }
+        this.teams = Collections.unmodifiableList(all);
+    }
+
+    private static TrackedTeam parse(String entry) {
+        int equals = entry.indexOf('=');
+        String[] parts = equals > 0 ? entry.substring(equals + 1).split("/", 3) : new String[0];
+        if (parts.length < 2 || parts[0].isBlank() || parts[1].isBlank()) {
+            throw new IllegalStateException("Entrada inválida em crawler_extra_teams (esperado apelido=código/slug[/Nome]): " + entry);
+        }
+        String slug = parts[1].trim();
+        String displayName = parts.length == 3 && !parts[2].isBlank() ? parts[2].trim() : slug;
+        return new TrackedTeam(entry.substring(0, equals).trim().toLowerCase(Locale.ROOT), parts[0].trim(), slug, displayName, false);
+    }
+
+    public TrackedTeam primary() {
+        return teams.get(0);
+    }
+
+    /** Todos os times, o principal primeiro. */
+    public List<TrackedTeam> all() {
+        return teams;
+    }
+
+    public boolean isMultiTeam() {
+        return teams.size() > 1;
+    }
+
+    /** Time com o id do HLTV informado, ou {@code null} se não é acompanhado. */
+    public TrackedTeam byCode(String code) {
+        return byCode.get(code);
+    }
+
+    /** Time pelo argumento de um comando (apelido ou id do HLTV); sem argumento, o principal. */
+    public TrackedTeam resolve(List<String> args) {
+        if (args.isEmpty()) {
+            return primary();
+        }
+        String arg = String.join(" ", args).toLowerCase(Locale.ROOT);
+        TrackedTeam team = byAlias.get(arg);
+        return team != null ? team : byCode.get(arg);
+    }
+
+    public List<String> aliases() {
+        return teams.stream().map(TrackedTeam::alias).toList();
+    }
+}
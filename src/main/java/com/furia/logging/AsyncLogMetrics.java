@@ -0,0 +1,39 @@
+package com.furia.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas do appender assíncrono de {@code logback-spring.xml}: eventos descartados e ocupação da
+ * fila. O appender é procurado a cada leitura, porque o Spring Boot pode reconfigurar o logback.
+ */
+@Component
+public class AsyncLogMetrics {
+
+    static final String APPENDER_NAME = "ASYNC";
+
+    public AsyncLogMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("logging.async.dropped", this, metrics -> BoundedAsyncAppender.droppedCount())
+                .description("Eventos de log descartados pela fila cheia (ou quase cheia) do appender assíncrono")
+                .register(meterRegistry);
+        Gauge.builder("logging.async.queued", AsyncLogMetrics::queued)
+                .description("Eventos de log aguardando a thread do appender assíncrono")
+                .register(meterRegistry);
+    }
+
+    private static double queued() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            Appender<?> appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(APPENDER_NAME);
+            if (appender instanceof BoundedAsyncAppender async) {
+                return async.getNumberOfElementsInQueue();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.furia.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} que nunca bloqueia quem loga: a fila é um buffer circular limitado
+ * ({@code queueSize}) esvaziado por uma única thread. Com a fila acima de 80% os eventos INFO e abaixo
+ * são descartados (padrão do logback); cheia, qualquer evento é descartado. Todo descarte é contado,
+ * e a contagem aparece em {@code logging.async.dropped}.
+ */
+public class BoundedAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public BoundedAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    /** Eventos descartados por todas as instâncias desde o início do processo. */
+    public static long droppedCount() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (getRemainingCapacity() == 0) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DROPPED.increment();
+        }
+        return discardable;
+    }
+}
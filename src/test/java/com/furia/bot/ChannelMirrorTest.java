@@ -0,0 +1,180 @@
+package com.furia.bot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.furia.commands.CommandRouter;
+import com.furia.commands.LiveCommand;
+import com.furia.crawler.FixtureCrawlerService;
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+import com.furia.crawler.HltvCrawlerService.MatchResult;
+import com.furia.crawler.SnapshotChange;
+import com.furia.crawler.SnapshotChangeDetector;
+import com.furia.crawler.SnapshotFreshness;
+import com.furia.crawler.TrackedTeam;
+import com.furia.crawler.TrackedTeams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelMirrorTest {
+
+    private static final String CHANNEL = "@furia_ao_vivo";
+
+    @Test
+    void liveMatchCostsTheSameCallsForAnyAudience() throws Exception {
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi();
+             AnnotationConfigApplicationContext context = botContext(api)) {
+            TrackedTeam team = context.getBean(TrackedTeams.class).primary();
+
+            LiveMatch current = live("0-0", "0-0");
+            context.publishEvent(new SnapshotChange.LiveStarted(team, current));
+            for (int round = 1; round <= 12; round++) {
+                LiveMatch next = live(round + "-" + (round / 2), "0-0");
+                context.publishEvent(new SnapshotChange.ScoreChanged(team, current, next));
+                current = next;
+            }
+            context.publishEvent(new SnapshotChange.LiveEnded(team, current));
+            context.publishEvent(new SnapshotChange.NewResult(team, new MatchResult("2 - 1", "NAVI", "IEM Katowice", true)));
+            await(() -> api.calls("unpinChatMessage") == 1 && api.calls("sendMessage") == 3);
+
+            // Aviso de início, post do placar e resultado; uma edição por placar e uma no fim
+            assertEquals(3, api.calls("sendMessage"));
+            assertEquals(13, api.calls("editMessageText"));
+            assertEquals(1, api.calls("pinChatMessage"));
+            List<JsonNode> sent = api.requests("sendMessage");
+            assertTrue(sent.stream().allMatch(request -> CHANNEL.equals(request.path("chat_id").asText())));
+            assertTrue(sent.get(0).path("text").asText().startsWith("🔥 Começou: FURIA x NAVI"));
+            assertTrue(sent.get(2).path("text").asText().startsWith("✅ Vitória da FURIA contra NAVI"));
+
+            // Todas as edições e o desafixar no mesmo post fixado, na ordem dos eventos
+            int pinned = api.requests("pinChatMessage").get(0).path("message_id").asInt();
+            List<JsonNode> edits = api.requests("editMessageText");
+            assertTrue(edits.stream().allMatch(edit -> edit.path("message_id").asInt() == pinned));
+            assertTrue(edits.get(11).path("text").asText().contains("FURIA 12 (0) - (0) 6 NAVI"));
+            assertTrue(edits.get(12).path("text").asText().startsWith("🏁 Partida da FURIA encerrada"));
+            assertEquals(pinned, api.requests("unpinChatMessage").get(0).path("message_id").asInt());
+
+            // Os chats recebem só o link do canal
+            for (long chatId = 1; chatId <= 20; chatId++) {
+                api.enqueueTextMessage(chatId, chatId, "/live", false);
+            }
+            await(() -> api.calls("sendMessage") == 23);
+            assertTrue(api.requests("sendMessage").subList(3, 23).stream()
+                    .allMatch(reply -> reply.path("text").asText().contains("https://t.me/furia_ao_vivo")));
+            assertEquals(13, api.calls("editMessageText"));
+        }
+    }
+
+    @Test
+    void aFailedEditDoesNotLoseThePinnedPost() throws Exception {
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi();
+             AnnotationConfigApplicationContext context = botContext(api)) {
+            TrackedTeam team = context.getBean(TrackedTeams.class).primary();
+            context.publishEvent(new SnapshotChange.LiveStarted(team, live("0-0", "0-0")));
+            await(() -> api.calls("pinChatMessage") == 1);
+
+            api.failNext("editMessageText", 1);
+            context.publishEvent(new SnapshotChange.ScoreChanged(team, live("0-0", "0-0"), live("1-0", "0-0")));
+            context.publishEvent(new SnapshotChange.ScoreChanged(team, live("1-0", "0-0"), live("2-0", "0-0")));
+            context.publishEvent(new SnapshotChange.LiveEnded(team, live("2-0", "0-0")));
+            await(() -> api.calls("unpinChatMessage") == 1);
+
+            // Sem novo post: a edição seguinte e o desafixar vão para o post original
+            assertEquals(2, api.calls("sendMessage"));
+            assertEquals(1, api.calls("pinChatMessage"));
+            assertEquals(3, api.calls("editMessageText"));
+            int pinned = api.requests("pinChatMessage").get(0).path("message_id").asInt();
+            assertTrue(api.requests("editMessageText").stream().allMatch(edit -> edit.path("message_id").asInt() == pinned));
+            assertEquals(pinned, api.requests("unpinChatMessage").get(0).path("message_id").asInt());
+        }
+    }
+
+    @Test
+    void repostsOnlyWhenTheScoreboardWasNeverSent() throws Exception {
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi().failNext("sendMessage", 2);
+             AnnotationConfigApplicationContext context = botContext(api)) {
+            TrackedTeam team = context.getBean(TrackedTeams.class).primary();
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            context.publishEvent(new SnapshotChange.LiveStarted(team, live("0-0", "0-0")));
+            await(() -> registry.find("telegram.api.errors").counters().stream().mapToDouble(c -> c.count()).sum() == 2);
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            context.publishEvent(new SnapshotChange.ScoreChanged(team, live("0-0", "0-0"), live("1-0", "0-0")));
+            await(() -> api.calls("pinChatMessage") == 1);
+            // Nada a desafixar do post que não saiu; o novo post já tem o placar atual
+            assertEquals(3, api.calls("sendMessage"));
+            assertEquals(0, api.calls("unpinChatMessage"));
+            assertEquals(0, api.calls("editMessageText"));
+            assertTrue(api.requests("sendMessage").get(2).path("text").asText().contains("FURIA 1 (0) - (0) 0 NAVI"));
+
+            // Outra partida: o post anterior é desafixado antes do novo
+            int first = api.requests("pinChatMessage").get(0).path("message_id").asInt();
+            LiveMatch other = new LiveMatch("Vitality", "1-0", "0-0", "IEM Katowice", "bo3",
+                    "https://www.hltv.org/matches/2380001/furia-vs-vitality", List.of(), List.of());
+            context.publishEvent(new SnapshotChange.ScoreChanged(team, live("1-0", "0-0"), other));
+            await(() -> api.calls("pinChatMessage") == 2 && api.calls("unpinChatMessage") == 1);
+            assertEquals(first, api.requests("unpinChatMessage").get(0).path("message_id").asInt());
+        }
+    }
+
+    @Test
+    void aNewKickoffUnpinsTheUnfinishedScoreboard() throws Exception {
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi();
+             AnnotationConfigApplicationContext context = botContext(api)) {
+            TrackedTeam team = context.getBean(TrackedTeams.class).primary();
+            context.publishEvent(new SnapshotChange.LiveStarted(team, live("3-2", "0-0")));
+            await(() -> api.calls("pinChatMessage") == 1);
+
+            // O fim da primeira partida não foi visto: o novo início não deixa dois posts fixados
+            LiveMatch other = new LiveMatch("Vitality", "0-0", "0-0", "IEM Katowice", "bo3",
+                    "https://www.hltv.org/matches/2380001/furia-vs-vitality", List.of(), List.of());
+            context.publishEvent(new SnapshotChange.LiveStarted(team, other));
+            await(() -> api.calls("pinChatMessage") == 2 && api.calls("unpinChatMessage") == 1);
+
+            int first = api.requests("pinChatMessage").get(0).path("message_id").asInt();
+            assertEquals(first, api.requests("unpinChatMessage").get(0).path("message_id").asInt());
+            assertEquals(4, api.calls("sendMessage"));
+        }
+    }
+
+    private static LiveMatch live(String mapScore, String mapsWon) {
+        return new LiveMatch("NAVI", mapScore, mapsWon, "IEM Katowice", "bo3",
+                "https://www.hltv.org/matches/2380000/furia-vs-navi", List.of("FURIA removed Vertigo"), List.of());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private static AnnotationConfigApplicationContext botContext(FakeTelegramBotApi api) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("telegram_bot_username", "@FuriaBot");
+        properties.put("telegram_bot_token", "123456:channel");
+        properties.put("telegram_bot_api_url", api.baseUrl());
+        properties.put("telegram_channel_id", CHANNEL);
+        properties.put("crawler_team_code", "8297");
+        properties.put("crawler_team_name", "FURIA");
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("channelTest", properties));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(TrackedTeams.class, SnapshotFreshness.class, SnapshotChangeDetector.class, FixtureCrawlerService.class,
+                LiveCommand.class, CommandRouter.class, InboundRateLimiter.class, StartupBacklogCoalescer.class,
+                ChatLogSampler.class, ChannelMirror.class, BotConfig.class, HttpClientTelegramTransport.class, FuriaBot.class);
+        context.refresh();
+        return context;
+    }
+}
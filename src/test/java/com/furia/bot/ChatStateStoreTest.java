@@ -0,0 +1,124 @@
+package com.furia.bot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatStateStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void behavesLikeAHashMapUnderRandomOperations() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<Long, Long> expected = new HashMap<>();
+        List<Long> keys = new ArrayList<>();
+        try (ChatStateStore store = ChatStateStore.inMemory(2, 0)) {
+            for (int i = 0; i < 50_000; i++) {
+                // Chats privados positivos e grupos negativos, com muitas chaves repetidas
+                long key = keys.isEmpty() || random.nextInt(3) > 0
+                        ? (random.nextBoolean() ? 1 : -1_000_000_000_000L) - random.nextLong(5_000_000_000L)
+                        : keys.get(random.nextInt(keys.size()));
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(key) != null, store.remove(key));
+                    continue;
+                }
+                int slot = store.slot(key);
+                long value = store.getLong(slot, 1) + key;
+                store.setLong(slot, 1, value);
+                store.setDouble(slot, 0, value / 2.0);
+                if (expected.put(key, value) == null) {
+                    keys.add(key);
+                }
+            }
+            // Remoção no meio dos agrupamentos: as entradas deslocadas continuam acessíveis
+            int removed = store.removeIf(slot -> (store.key(slot) & 1) == 0);
+            assertEquals(expected.keySet().stream().filter(key -> (key & 1) == 0).count(), removed);
+            expected.keySet().removeIf(key -> (key & 1) == 0);
+
+            assertEquals(expected.size(), store.size());
+            assertTrue(store.capacity() * 2 >= store.size() * 3, "ocupação acima de 2/3");
+            for (Long key : keys) {
+                int slot = store.find(key);
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.get(key), store.getLong(slot, 1));
+                    assertEquals(expected.get(key) / 2.0, store.getDouble(slot, 0));
+                } else {
+                    assertEquals(-1, slot);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fileKeepsEntriesAcrossGrowthAndReopen() throws IOException {
+        Path file = dir.resolve("chats.dat");
+        try (ChatStateStore store = ChatStateStore.open(file, 3, 16)) {
+            for (long key = 1; key <= 10_000; key++) {
+                int slot = store.slot(-key);
+                store.setLong(slot, 2, key * 7);
+            }
+            assertTrue(store.remove(-5));
+            assertEquals(9_999, store.size());
+        }
+
+        try (ChatStateStore store = ChatStateStore.open(file, 3, 16)) {
+            assertEquals(9_999, store.size());
+            assertEquals(-1, store.find(-5));
+            assertEquals(70_000, store.getLong(store.find(-10_000), 2));
+            assertEquals(0, store.getLong(store.find(-1), 0));
+        }
+
+        // Uma queda no meio do redimensionamento deixa a marca no cabeçalho: o arquivo é descartado
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 1), 24);
+        }
+        try (ChatStateStore store = ChatStateStore.open(file, 3, 16)) {
+            assertEquals(0, store.size());
+            assertEquals(-1, store.find(-1));
+        }
+        // Outra quantidade de campos também
+        try (ChatStateStore store = ChatStateStore.open(file, 4, 16)) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void rateLimiterKeepsMutedChatsAcrossRestart() {
+        InboundRateLimiter limiter = limiter();
+        InboundRateLimiter.Decision decision = InboundRateLimiter.Decision.ACCEPT;
+        for (int i = 0; i < 100 && decision != InboundRateLimiter.Decision.MUTED; i++) {
+            decision = limiter.check(-1001234567890L, 42L, "/jogo " + i);
+        }
+        assertEquals(InboundRateLimiter.Decision.MUTED, decision);
+        limiter.close();
+
+        InboundRateLimiter restarted = limiter();
+        assertEquals(InboundRateLimiter.Decision.DROPPED, restarted.check(-1001234567890L, 43L, "/jogo"));
+        assertEquals(InboundRateLimiter.Decision.ACCEPT, restarted.check(777L, 43L, "/jogo"));
+        // O balde do usuário 42 também voltou vazio
+        assertEquals(InboundRateLimiter.Decision.DROPPED, restarted.check(778L, 42L, "/jogo"));
+        restarted.close();
+    }
+
+    private InboundRateLimiter limiter() {
+        return new InboundRateLimiter(Clock.systemDefaultZone(), 10, 20, 10, 10, 5, 3, 5, dir.toString(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,285 @@
+package com.furia.bot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Substituto local da Bot API do Telegram para testes de carga. Implementa getUpdates (long polling
+ * com offset), sendMessage, sendMediaGroup e editMessageText; os demais métodos respondem {@code true}.
+ * Latência e respostas 429 são injetadas nos métodos de envio.
+ */
+public class FakeTelegramBotApi implements AutoCloseable {
+
+    public interface ReplyListener {
+        void onReply(long chatId, String method);
+    }
+
+    private static final Pattern MULTIPART_CHAT_ID = Pattern.compile("name=\"chat_id\"\\r?\\n(?:[^\\r\\n]*\\r?\\n)*?\\r?\\n(-?\\d+)");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentSkipListMap<Integer, ObjectNode> pendingUpdates = new ConcurrentSkipListMap<>();
+    private final ReentrantLock updatesLock = new ReentrantLock();
+    private final Condition updatesAvailable = updatesLock.newCondition();
+    private final AtomicInteger nextUpdateId = new AtomicInteger(1);
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
+    private final Map<String, AtomicLong> callsByMethod = new ConcurrentHashMap<>();
+    private final Map<String, List<JsonNode>> jsonRequests = new ConcurrentHashMap<>();
+    private final AtomicLong rateLimitedCalls = new AtomicLong();
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+    private volatile long sendLatencyMillis;
+    private volatile long sendJitterMillis;
+    private volatile double rateLimitProbability;
+    private volatile ReplyListener replyListener = (chatId, method) -> { };
+
+    public FakeTelegramBotApi() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** URL base no formato esperado por {@code DefaultBotOptions.setBaseUrl} (terminada em "/bot"). */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/bot";
+    }
+
+    public FakeTelegramBotApi withSendLatency(long latencyMillis, long jitterMillis) {
+        this.sendLatencyMillis = latencyMillis;
+        this.sendJitterMillis = jitterMillis;
+        return this;
+    }
+
+    public FakeTelegramBotApi withRateLimitProbability(double probability) {
+        this.rateLimitProbability = probability;
+        return this;
+    }
+
+    /** As próximas {@code count} chamadas de {@code method} (ex.: "editMessageText") respondem 400. */
+    public FakeTelegramBotApi failNext(String method, int count) {
+        failures.put(method.toLowerCase(Locale.ROOT), new AtomicInteger(count));
+        return this;
+    }
+
+    public void setReplyListener(ReplyListener replyListener) {
+        this.replyListener = replyListener;
+    }
+
+    public long calls(String method) {
+        AtomicLong counter = callsByMethod.get(method.toLowerCase(Locale.ROOT));
+        return counter == null ? 0 : counter.get();
+    }
+
+    /** Corpos JSON recebidos para o método, na ordem de chegada. */
+    public List<JsonNode> requests(String method) {
+        return List.copyOf(jsonRequests.getOrDefault(method.toLowerCase(Locale.ROOT), List.of()));
+    }
+
+    public long rateLimitedCalls() {
+        return rateLimitedCalls.get();
+    }
+
+    /** Enfileira uma mensagem de texto como se um usuário tivesse enviado ao bot. */
+    public void enqueueTextMessage(long chatId, long userId, String text, boolean group) {
+        enqueueTextMessage(chatId, userId, text, group, Instant.now().getEpochSecond());
+    }
+
+    public void enqueueTextMessage(long chatId, long userId, String text, boolean group, long dateEpochSecond) {
+        int updateId = nextUpdateId.getAndIncrement();
+        ObjectNode update = mapper.createObjectNode();
+        update.put("update_id", updateId);
+        ObjectNode message = update.putObject("message");
+        message.put("message_id", nextMessageId.getAndIncrement());
+        message.put("date", dateEpochSecond);
+        message.put("text", text);
+        ObjectNode chat = message.putObject("chat");
+        chat.put("id", chatId);
+        chat.put("type", group ? "group" : "private");
+        ObjectNode from = message.putObject("from");
+        from.put("id", userId);
+        from.put("is_bot", false);
+        from.put("first_name", "Torcedor " + userId);
+        pendingUpdates.put(updateId, update);
+
+        updatesLock.lock();
+        try {
+            updatesAvailable.signalAll();
+        } finally {
+            updatesLock.unlock();
+        }
+    }
+
+    public int pendingUpdateCount() {
+        return pendingUpdates.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            // A biblioteca usa os nomes em minúsculas (ex.: "getupdates"); a API real aceita ambos
+            String method = path.substring(path.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            if (isJson(exchange) && body.length > 0) {
+                jsonRequests.computeIfAbsent(method, m -> new CopyOnWriteArrayList<>()).add(mapper.readTree(body));
+            }
+            // Contada depois de guardar o corpo: quem espera pelo número de chamadas já acha a requisição
+            callsByMethod.computeIfAbsent(method, m -> new AtomicLong()).incrementAndGet();
+
+            switch (method) {
+                case "getupdates" -> respond(exchange, 200, ok(getUpdates(body)));
+                case "sendmessage", "editmessagetext" -> handleSend(exchange, method, chatIdFromJson(body), false);
+                // A biblioteca envia o álbum em multipart; o HttpClientTelegramTransport, em JSON
+                case "sendmediagroup" -> handleSend(exchange, method, isJson(exchange)
+                        ? chatIdFromJson(body) : chatIdFromMultipart(body), true);
+                case "getme" -> {
+                    ObjectNode me = mapper.createObjectNode();
+                    me.put("id", 1);
+                    me.put("is_bot", true);
+                    me.put("first_name", "FuriaBot");
+                    me.put("username", "FuriaBot");
+                    respond(exchange, 200, ok(me));
+                }
+                default -> respond(exchange, 200, ok(mapper.getNodeFactory().booleanNode(true)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JsonNode getUpdates(byte[] body) throws IOException, InterruptedException {
+        JsonNode request = body.length == 0 ? mapper.createObjectNode() : mapper.readTree(body);
+        int offset = request.path("offset").asInt(0);
+        int limit = request.path("limit").asInt(100);
+        long timeoutSeconds = Math.min(request.path("timeout").asLong(0), 1);
+
+        // Confirmar (remover) tudo abaixo do offset, como a API real
+        pendingUpdates.headMap(offset).clear();
+
+        if (pendingUpdates.isEmpty() && timeoutSeconds > 0) {
+            updatesLock.lock();
+            try {
+                updatesAvailable.await(timeoutSeconds, TimeUnit.SECONDS);
+            } finally {
+                updatesLock.unlock();
+            }
+        }
+
+        ArrayNode result = mapper.createArrayNode();
+        for (ObjectNode update : pendingUpdates.tailMap(offset).values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(update);
+        }
+        return result;
+    }
+
+    private void handleSend(HttpExchange exchange, String method, long chatId, boolean mediaGroup)
+            throws IOException, InterruptedException {
+        long latency = sendLatencyMillis + (sendJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(sendJitterMillis) : 0);
+        if (latency > 0) {
+            Thread.sleep(latency);
+        }
+        AtomicInteger remaining = failures.get(method);
+        if (remaining != null && remaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            ObjectNode error = mapper.createObjectNode();
+            error.put("ok", false);
+            error.put("error_code", 400);
+            error.put("description", "Bad Request: simulated failure");
+            respond(exchange, 400, error);
+            return;
+        }
+        if (rateLimitProbability > 0 && ThreadLocalRandom.current().nextDouble() < rateLimitProbability) {
+            rateLimitedCalls.incrementAndGet();
+            ObjectNode error = mapper.createObjectNode();
+            error.put("ok", false);
+            error.put("error_code", 429);
+            error.put("description", "Too Many Requests: retry after 1");
+            error.putObject("parameters").put("retry_after", 1);
+            respond(exchange, 429, error);
+            return;
+        }
+
+        ObjectNode message = sentMessage(chatId);
+        if (mediaGroup) {
+            respond(exchange, 200, ok(mapper.createArrayNode().add(message)));
+        } else {
+            respond(exchange, 200, ok(message));
+        }
+        replyListener.onReply(chatId, method);
+    }
+
+    private ObjectNode sentMessage(long chatId) {
+        ObjectNode message = mapper.createObjectNode();
+        message.put("message_id", nextMessageId.getAndIncrement());
+        message.put("date", Instant.now().getEpochSecond());
+        ObjectNode chat = message.putObject("chat");
+        chat.put("id", chatId);
+        chat.put("type", "private");
+        return message;
+    }
+
+    private long chatIdFromJson(byte[] body) throws IOException {
+        return mapper.readTree(body).path("chat_id").asLong();
+    }
+
+    private static boolean isJson(HttpExchange exchange) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        return contentType != null && contentType.startsWith("application/json");
+    }
+
+    private static long chatIdFromMultipart(byte[] body) {
+        Matcher matcher = MULTIPART_CHAT_ID.matcher(new String(body, StandardCharsets.UTF_8));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private ObjectNode ok(JsonNode result) {
+        ObjectNode response = mapper.createObjectNode();
+        response.put("ok", true);
+        response.set("result", result);
+        return response;
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode json) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(json);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,130 @@
+package com.furia.bot;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Sobe o jar empacotado como processo separado, contra a {@link FakeTelegramBotApi}, e mede o tempo até
+ * o Spring terminar de subir e até a primeira resposta a um {@code /start} enviado antes da subida.
+ * Compara o jar padrão ({@code startup.baselineJar}, padrão {@code target/baseline/furia-bot.jar}) com o
+ * fast-start ({@code startup.fastStartDir}, padrão {@code target/fast-start}, gerado por
+ * {@code scripts/fast-start.sh}: jar extraído com AOT e o arquivo CDS {@code furia-bot.jsa}).
+ *
+ * <p>Fica fora do {@code mvn test}; rode com {@code mvn test -Pstartup}. {@code startup.runs} define
+ * quantas subidas por modo (padrão 5). Modos sem artefato são pulados; o relatório vai para
+ * {@code target/startup-report.txt}.
+ */
+@Tag("startup")
+class FastStartupTest {
+
+    private static final Pattern STARTED = Pattern.compile("Started FuriaBotApplication in ([\\d.]+) seconds");
+    private static final long REPLY_TIMEOUT_SECONDS = 60;
+
+    record Mode(String name, List<String> javaArgs) {
+    }
+
+    record Sample(double springSeconds, long firstReplyMillis) {
+    }
+
+    @Test
+    void startupAndFirstReply() throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path baselineJar = Path.of(System.getProperty("startup.baselineJar", "target/baseline/furia-bot.jar"));
+        Path fastStartDir = Path.of(System.getProperty("startup.fastStartDir", "target/fast-start"));
+
+        List<Mode> modes = new ArrayList<>();
+        if (Files.isRegularFile(baselineJar)) {
+            modes.add(new Mode("padrão", List.of("-jar", baselineJar.toString())));
+        }
+        Path fastStartJar = fastStartDir.resolve("furia-bot-0.0.1-SNAPSHOT.jar");
+        Path archive = fastStartDir.resolve("furia-bot.jsa");
+        if (Files.isRegularFile(fastStartJar) && Files.isRegularFile(archive)) {
+            modes.add(new Mode("fast-start", List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                    "-jar", fastStartJar.toString())));
+        }
+        assumeTrue(!modes.isEmpty(), "Nenhum jar encontrado; rode scripts/fast-start.sh antes");
+
+        StringBuilder report = new StringBuilder(String.format("""
+                Subida do bot (%d execuções por modo, mediana / mínimo)
+                """, runs));
+        for (Mode mode : modes) {
+            List<Sample> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                samples.add(launch(mode, i));
+            }
+            report.append(String.format("""
+                      %-11s Spring pronto: %5.2f s / %5.2f s   primeira resposta: %5d ms / %5d ms
+                    """, mode.name(),
+                    median(samples.stream().mapToDouble(Sample::springSeconds).toArray()),
+                    samples.stream().mapToDouble(Sample::springSeconds).min().orElse(0),
+                    (long) median(samples.stream().mapToDouble(Sample::firstReplyMillis).toArray()),
+                    samples.stream().mapToLong(Sample::firstReplyMillis).min().orElse(0)));
+        }
+        System.out.println(report);
+        FuriaBotLoadTest.writeReport("startup-report.txt", report.toString());
+    }
+
+    private static Sample launch(Mode mode, int run) throws Exception {
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi()) {
+            CountDownLatch replied = new CountDownLatch(1);
+            api.setReplyListener((chatId, method) -> replied.countDown());
+            // Pendente antes da subida, como uma mensagem enviada durante um redeploy
+            api.enqueueTextMessage(1L, 1L, "/start", false);
+
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(mode.javaArgs());
+            command.addAll(List.of(
+                    "--telegram_bot_username=@FuriaBot",
+                    "--telegram_bot_token=123456:startup",
+                    "--telegram_bot_api_url=" + api.baseUrl(),
+                    "--crawler_team_code=8297",
+                    "--crawler_team_name=FURIA",
+                    "--crawlInterval=3600000",
+                    "--crawler_chromedriver_path=/nonexistent/chromedriver",
+                    "--crawler_hltv_base_url=http://127.0.0.1:9",
+                    "--server.port=0"));
+            Path log = Path.of("target", "startup", mode.name() + "-" + run + ".log");
+            Files.createDirectories(log.getParent());
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+            try {
+                assertTrue(replied.await(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                        "Sem resposta em " + REPLY_TIMEOUT_SECONDS + " s; veja " + log);
+                long firstReplyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                return new Sample(springSeconds(log), firstReplyMillis);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private static double springSeconds(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        java.util.Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
@@ -0,0 +1,224 @@
+package com.furia.bot;
+
+import ch.qos.logback.classic.Level;
+import com.furia.commands.ComandoCommands;
+import com.furia.commands.CommandRouter;
+import com.furia.commands.ContatoCommand;
+import com.furia.commands.JogoCommand;
+import com.furia.commands.LiveCommand;
+import com.furia.commands.LojaCommand;
+import com.furia.commands.ResultadoCommand;
+import com.furia.commands.TimeCommand;
+import com.furia.crawler.FixtureCrawlerService;
+import com.furia.crawler.SnapshotChangeDetector;
+import com.furia.crawler.SnapshotFreshness;
+import com.furia.crawler.TrackedTeams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga ponta a ponta: um gerador simula milhares de chats enviando uma mistura realista de
+ * comandos para o {@link FuriaBot} real, que faz long polling contra o {@link FakeTelegramBotApi}.
+ * Os dados do HLTV vêm de fixtures. Relata percentis da latência até a primeira resposta e a vazão.
+ *
+ * <p>Fica fora do {@code mvn test}; rode com {@code mvn test -Pload-test}. Parâmetros via
+ * propriedades de sistema: {@code load.chats}, {@code load.durationSeconds}, {@code load.rate}
+ * (mensagens/s), {@code load.apiLatencyMs}, {@code load.apiJitterMs}, {@code load.rate429} e
+ * {@code load.transport} ({@code http2}, padrão, ou {@code library}).
+ */
+@Tag("load")
+class FuriaBotLoadTest {
+
+    // Mistura de comandos observada em dia de jogo (peso relativo)
+    private static final String[] COMMANDS = {"/jogo", "/live", "/resultado", "/time", "/partida", "/start", "/help", "/loja", "/contato"};
+    private static final int[] WEIGHTS = {28, 25, 15, 10, 7, 5, 4, 3, 3};
+    private static final long REPLY_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final String TRANSPORT = System.getProperty("load.transport", "http2");
+
+    @Test
+    void sustainedCommandMix() throws Exception {
+        int chats = Integer.getInteger("load.chats", 2000);
+        int durationSeconds = Integer.getInteger("load.durationSeconds", 30);
+        int targetRate = Integer.getInteger("load.rate", 100);
+        long apiLatencyMs = Long.getLong("load.apiLatencyMs", 30);
+        long apiJitterMs = Long.getLong("load.apiJitterMs", 20);
+        double rate429 = Double.parseDouble(System.getProperty("load.rate429", "0.01"));
+
+        quietLogs();
+        Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+        LatencyRecorder latencies = new LatencyRecorder();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong timedOut = new AtomicLong();
+
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi()
+                .withSendLatency(apiLatencyMs, apiJitterMs)
+                .withRateLimitProbability(rate429)) {
+            api.setReplyListener((chatId, method) -> {
+                Long start = inFlight.remove(chatId);
+                if (start != null) {
+                    latencies.record(System.nanoTime() - start);
+                }
+            });
+
+            try (AnnotationConfigApplicationContext context = botContext(api)) {
+                long start = System.nanoTime();
+                long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+                long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, targetRate);
+                long next = start;
+
+                while (System.nanoTime() < end) {
+                    long now = System.nanoTime();
+                    if (now < next) {
+                        TimeUnit.NANOSECONDS.sleep(Math.min(next - now, TimeUnit.MILLISECONDS.toNanos(5)));
+                        continue;
+                    }
+                    next += intervalNanos;
+
+                    long userId = 100_000L + ThreadLocalRandom.current().nextInt(chats);
+                    boolean group = userId % 5 == 0;
+                    long chatId = group ? -userId : userId;
+                    Long pendingSince = inFlight.get(chatId);
+                    if (pendingSince != null) {
+                        if (now - pendingSince < REPLY_TIMEOUT_NANOS) {
+                            continue; // Cada chat simulado espera a resposta antes de mandar outro comando
+                        }
+                        inFlight.remove(chatId);
+                        timedOut.incrementAndGet();
+                    }
+
+                    String command = pickCommand();
+                    String text = group ? command + "@FuriaBot" : command;
+                    inFlight.put(chatId, System.nanoTime());
+                    api.enqueueTextMessage(chatId, userId, text, group);
+                    sent.incrementAndGet();
+                }
+
+                // Dá tempo para drenar o que ainda está em voo
+                long drainDeadline = System.nanoTime() + REPLY_TIMEOUT_NANOS;
+                while (!inFlight.isEmpty() && System.nanoTime() < drainDeadline) {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                }
+                timedOut.addAndGet(inFlight.size());
+                double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+                String report = String.format("""
+                        Teste de carga do FuriaBot
+                          transporte:             %s
+                          chats simulados:        %d
+                          taxa alvo:              %d msg/s por %d s
+                          latência da API fake:   %d ms (+ até %d ms), 429 em %.1f%%
+                          mensagens enviadas:     %d
+                          respostas recebidas:    %d (%.1f msg/s)
+                          sem resposta:           %d (429 injetados: %d)
+                          latência p50/p90/p99:   %.1f / %.1f / %.1f ms
+                          latência máxima:        %.1f ms
+                          chamadas à API:         sendMessage=%d sendMediaGroup=%d getUpdates=%d
+                        """,
+                        TRANSPORT, chats, targetRate, durationSeconds, apiLatencyMs, apiJitterMs, rate429 * 100,
+                        sent.get(), latencies.count(), latencies.count() / elapsedSeconds,
+                        timedOut.get(), api.rateLimitedCalls(),
+                        latencies.percentileMillis(0.50), latencies.percentileMillis(0.90), latencies.percentileMillis(0.99),
+                        latencies.percentileMillis(1.0),
+                        api.calls("sendMessage"), api.calls("sendMediaGroup"), api.calls("getUpdates"));
+                System.out.println(report);
+                writeReport("load-test-report.txt", report);
+
+                assertTrue(latencies.count() > 0, "Nenhuma resposta recebida do bot");
+            }
+        }
+    }
+
+    private static AnnotationConfigApplicationContext botContext(FakeTelegramBotApi api) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("telegram_bot_username", "@FuriaBot");
+        properties.put("telegram_bot_token", "123456:load-test");
+        properties.put("telegram_bot_api_url", api.baseUrl());
+        properties.put("telegram_transport", TRANSPORT);
+        properties.put("crawler_team_code", "8297");
+        properties.put("crawler_team_name", "FURIA");
+        // O limitador de entrada não é o alvo aqui: limites altos para medir o pipeline inteiro
+        properties.put("bot_ratelimit_chat_capacity", 1000);
+        properties.put("bot_ratelimit_chat_per_minute", 100000);
+        properties.put("bot_ratelimit_user_capacity", 1000);
+        properties.put("bot_ratelimit_user_per_minute", 100000);
+        properties.put("bot_ratelimit_coalesce_seconds", 0);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("loadTest", properties));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(TrackedTeams.class, SnapshotFreshness.class, SnapshotChangeDetector.class, FixtureCrawlerService.class,
+                TimeCommand.class, JogoCommand.class, ResultadoCommand.class, LojaCommand.class,
+                LiveCommand.class, ContatoCommand.class, ComandoCommands.class, CommandRouter.class,
+                InboundRateLimiter.class, StartupBacklogCoalescer.class, ChatLogSampler.class, ChannelMirror.class, BotConfig.class, HttpClientTelegramTransport.class, FuriaBot.class);
+        context.refresh();
+        return context;
+    }
+
+    private static String pickCommand() {
+        int total = Arrays.stream(WEIGHTS).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            roll -= WEIGHTS[i];
+            if (roll < 0) {
+                return COMMANDS[i];
+            }
+        }
+        return COMMANDS[0];
+    }
+
+    private static void quietLogs() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.furia")).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("org.telegram")).setLevel(Level.WARN);
+    }
+
+    static void writeReport(String fileName, String report) throws IOException {
+        Path target = Path.of("target", fileName);
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, report);
+    }
+
+    /** Coleta latências em nanossegundos num array que cresce sob demanda. */
+    static class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized int count() {
+            return size;
+        }
+
+        synchronized double percentileMillis(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.furia.bot;
+
+import com.furia.commands.CommandRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FuriaBotTest {
+
+    @Test
+    void everyBotApiCallIsTimedAndFailuresAreCountedByCode() throws Exception {
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi();
+             AnnotationConfigApplicationContext context = botContext(api)) {
+            FuriaBot bot = context.getBean(FuriaBot.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            bot.execute(new SendMessage("7", "oi"));
+            api.withRateLimitProbability(1.0);
+            assertEquals(429, assertThrows(TelegramApiRequestException.class,
+                    () -> bot.execute(new SendMessage("7", "oi"))).getErrorCode());
+            api.withRateLimitProbability(0).failNext("sendMessage", 1);
+            assertEquals(400, assertThrows(TelegramApiRequestException.class,
+                    () -> bot.execute(new SendMessage("7", "oi"))).getErrorCode());
+
+            // Sucesso e falhas entram no mesmo timer; o 429 conta também como limite de taxa
+            assertEquals(3, registry.get("telegram.api.latency").tag("method", "sendmessage").timer().count());
+            assertEquals(1, registry.get("telegram.api.errors").tags("method", "sendmessage", "code", "429").counter().count());
+            assertEquals(1, registry.get("telegram.api.errors").tags("method", "sendmessage", "code", "400").counter().count());
+            assertEquals(1, registry.get("telegram.api.rate_limited").tag("method", "sendmessage").counter().count());
+            assertEquals(List.of("7", "7", "7"), api.requests("sendMessage").stream()
+                    .map(request -> request.path("chat_id").asText()).toList());
+        }
+    }
+
+    private static AnnotationConfigApplicationContext botContext(FakeTelegramBotApi api) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("botTest", Map.of(
+                "telegram_bot_username", "@FuriaBot",
+                "telegram_bot_token", "123456:bot",
+                "telegram_bot_api_url", api.baseUrl())));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(CommandRouter.class, InboundRateLimiter.class, StartupBacklogCoalescer.class,
+                ChatLogSampler.class, BotConfig.class, HttpClientTelegramTransport.class, FuriaBot.class);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,100 @@
+package com.furia.bot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.media.InputMedia;
+import org.telegram.telegrambots.meta.api.objects.media.InputMediaPhoto;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientTelegramTransportTest {
+
+    private FakeTelegramBotApi api;
+    private HttpClientTelegramTransport transport;
+
+    @BeforeEach
+    void start() throws Exception {
+        api = new FakeTelegramBotApi();
+        String baseUrl = api.baseUrl();
+        transport = new HttpClientTelegramTransport(new BotConfig() {
+            @Override
+            public String getBotApiUrl() {
+                return baseUrl;
+            }
+
+            @Override
+            public String getBotToken() {
+                return "123456:transport";
+            }
+        }, 5, 120);
+    }
+
+    @AfterEach
+    void stop() {
+        transport.close();
+        api.close();
+    }
+
+    @Test
+    void sendsMessagesAndAlbumsAsJson() throws Exception {
+        Message message = transport.submit(new SendMessage("42", "oi"), Duration.ofSeconds(5)).get();
+        assertEquals(42L, message.getChatId());
+
+        List<InputMedia> media = new ArrayList<>();
+        for (String player : List.of("KSCERATO", "yuurih")) {
+            InputMediaPhoto photo = new InputMediaPhoto();
+            photo.setMedia("https://img.hltv.org/" + player + ".png");
+            photo.setCaption(player);
+            media.add(photo);
+        }
+        SendMediaGroup album = new SendMediaGroup("42", media);
+        assertTrue(transport.supports(album));
+        assertEquals(42L, transport.submit(album, Duration.ofSeconds(5)).get().get(0).getChatId());
+        assertEquals(1, api.calls("sendMediaGroup"));
+    }
+
+    @Test
+    void surfacesApiErrorsAndTimeouts() {
+        api.withRateLimitProbability(1.0);
+        ExecutionException limited = assertThrows(ExecutionException.class,
+                () -> transport.submit(new SendMessage("1", "oi"), Duration.ofSeconds(5)).get());
+        TelegramApiRequestException requestException = assertInstanceOf(TelegramApiRequestException.class, limited.getCause());
+        assertEquals(429, requestException.getErrorCode());
+
+        api.withRateLimitProbability(0).withSendLatency(1000, 0);
+        ExecutionException timedOut = assertThrows(ExecutionException.class,
+                () -> transport.submit(new SendMessage("1", "oi"), Duration.ofMillis(100)).get());
+        assertInstanceOf(TelegramApiException.class, timedOut.getCause());
+        assertInstanceOf(HttpTimeoutException.class, timedOut.getCause().getCause());
+    }
+
+    @Test
+    void burstSharesConnectionsInsteadOfQueueing() throws Exception {
+        api.withSendLatency(50, 0);
+        long start = System.nanoTime();
+        List<CompletableFuture<Message>> burst = new ArrayList<>();
+        for (int chat = 0; chat < 100; chat++) {
+            burst.add(transport.submit(new SendMessage(Integer.toString(chat), "gol!"), Duration.ofSeconds(10)));
+        }
+        CompletableFuture.allOf(burst.toArray(CompletableFuture[]::new)).get();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        // Em série seriam 5 s; com 2 conexões, como o pool padrão da biblioteca, 2,5 s
+        assertTrue(elapsedMillis < 2000, "Rajada de 100 envios levou " + elapsedMillis + " ms");
+    }
+}
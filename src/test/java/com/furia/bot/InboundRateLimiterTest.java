@@ -0,0 +1,146 @@
+package com.furia.bot;
+
+import com.furia.bot.InboundRateLimiter.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InboundRateLimiterTest {
+
+    private static final long GROUP = -1001234567890L;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T15:00:00Z"));
+
+    @Test
+    void chatBucketRefillsAtTheConfiguredRateUpToItsCapacity() {
+        // 3 de capacidade e 60 por minuto: um token por segundo
+        InboundRateLimiter limiter = limiter(3, 60, 100, 100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo " + i));
+        }
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/jogo 3"));
+
+        clock.advance(Duration.ofMillis(999));
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/jogo 4"));
+        clock.advance(Duration.ofMillis(1));
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo 5"));
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/jogo 6"));
+
+        // Depois de muito tempo parado o balde volta só até a capacidade
+        clock.advance(Duration.ofMinutes(10));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/time " + i));
+        }
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/time 3"));
+        assertEquals(7, limiter.getAcceptedCount());
+        assertEquals(4, limiter.getDroppedCount());
+    }
+
+    @Test
+    void userRejectedByItsOwnBucketDoesNotSpendTheChatBudget() {
+        InboundRateLimiter limiter = limiter(3, 1, 1, 1);
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo"));
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/time " + i));
+        }
+        // Os dois tokens que sobraram no grupo continuam disponíveis para os outros membros
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 2L, "/live"));
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 3L, "/loja"));
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 4L, "/contato"));
+        // E o balde de um usuário não é debitado quando o do chat recusa
+        assertEquals(Decision.ACCEPT, limiter.check(777L, 4L, "/contato"));
+    }
+
+    @Test
+    void coalescesOnlyTheSameCommandInsideTheWindow() {
+        InboundRateLimiter limiter = limiter(10, 20, 10, 10);
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo"));
+        clock.advance(Duration.ofMillis(4_999));
+        assertEquals(Decision.COALESCED, limiter.check(GROUP, 2L, "/jogo"));
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 2L, "/time"));
+        // Só o último comando do chat é lembrado
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo"));
+        clock.advance(Duration.ofSeconds(5));
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo"));
+        // Mesmo hash, comandos diferentes: os dois são processados
+        assertEquals("/time Aa".hashCode(), "/time BB".hashCode());
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/time Aa"));
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/time BB"));
+        assertEquals(1, limiter.getCoalescedCount());
+    }
+
+    @Test
+    void chatIsMutedAfterRepeatedDropsAndReleasedWhenTheMuteExpires() {
+        InboundRateLimiter limiter = limiter(1, 1, 10, 10);
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo"));
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/time 1"));
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/time 2"));
+        assertEquals(Decision.MUTED, limiter.check(GROUP, 1L, "/time 3"));
+
+        clock.advance(Duration.ofMinutes(5).minusMillis(1));
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/time 4"));
+        clock.advance(Duration.ofMillis(1));
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/time 5"));
+    }
+
+    @Test
+    void aSpammerIsMutedAloneWithoutSilencingTheGroup() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InboundRateLimiter limiter = new InboundRateLimiter(clock, 10, 60, 1, 1, 5, 3, 5, "", registry);
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/jogo"));
+        for (int i = 0; i < 3; i++) {
+            // Recusas do balde do usuário nunca viram MUTED: o grupo não recebe o aviso
+            assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/time " + i));
+        }
+        for (long member = 2; member <= 4; member++) {
+            assertEquals(Decision.ACCEPT, limiter.check(GROUP, member, "/live " + member));
+        }
+
+        // O balde dele já encheu de novo, mas o silêncio vale até o fim
+        clock.advance(Duration.ofMinutes(5).minusMillis(1));
+        assertEquals(Decision.DROPPED, limiter.check(GROUP, 1L, "/loja"));
+        clock.advance(Duration.ofMillis(1));
+        assertEquals(Decision.ACCEPT, limiter.check(GROUP, 1L, "/loja"));
+        assertEquals(1, registry.get("bot.inbound.mutes").tag("scope", "user").functionCounter().count());
+        assertEquals(0, registry.get("bot.inbound.mutes").tag("scope", "chat").functionCounter().count());
+    }
+
+    private InboundRateLimiter limiter(int chatCapacity, int chatPerMinute, int userCapacity, int userPerMinute) {
+        return new InboundRateLimiter(clock, chatCapacity, chatPerMinute, userCapacity, userPerMinute, 5, 3, 5, "",
+                new SimpleMeterRegistry());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
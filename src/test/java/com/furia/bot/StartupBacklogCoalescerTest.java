@@ -0,0 +1,96 @@
+package com.furia.bot;
+
+import com.furia.commands.CommandRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.Chat;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupBacklogCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CommandRouter router = new CommandRouter(List.of(), "@FuriaBot", registry);
+    private final Instant startup = Instant.parse("2025-03-10T15:00:00Z");
+    private final Clock clock = Clock.fixed(startup, ZoneOffset.UTC);
+    private final long now = startup.getEpochSecond();
+
+    @Test
+    void keepsOnlyTheLatestMessagePerChatAndCommand() {
+        StartupBacklogCoalescer coalescer = new StartupBacklogCoalescer(clock, 5, 0, router, registry);
+        Update first = update(1, "/jogo", now - 30);
+        Update otherChat = update(2, "/jogo", now - 25);
+        Update repeated = update(1, "/JOGO@furiabot", now - 20);
+        Update otherCommand = update(1, "/time", now - 15);
+        Update withArgs = update(1, "/jogo Academy", now - 10);
+        Update sameArgs = update(1, "/jogo academy", now - 5);
+
+        List<Update> result = coalescer.coalesce(List.of(first, otherChat, repeated, otherCommand, withArgs, sameArgs));
+
+        // Cada par fica na posição da mensagem mais recente
+        assertEquals(List.of(otherChat, repeated, otherCommand, sameArgs), result);
+        assertEquals(2, registry.get("bot.backlog.updates").tag("outcome", "coalesced").counter().count());
+        assertTrue(coalescer.isDraining());
+    }
+
+    @Test
+    void dropsBacklogOlderThanTheMaxAge() {
+        StartupBacklogCoalescer coalescer = new StartupBacklogCoalescer(clock, 5, 60, router, registry);
+        Update expired = update(1, "/jogo", now - 61);
+        Update limit = update(1, "/live", now - 60);
+
+        // O limite é inclusivo: exatamente 60 s de idade ainda é respondida
+        assertEquals(List.of(limit), coalescer.coalesce(List.of(expired, limit)));
+        assertEquals(1, registry.get("bot.backlog.updates").tag("outcome", "expired").counter().count());
+    }
+
+    @Test
+    void messagesSentAfterStartupPassThroughUnchanged() {
+        StartupBacklogCoalescer coalescer = new StartupBacklogCoalescer(clock, 5, 0, router, registry);
+        Update old = update(1, "/jogo", now - 10);
+        Update fresh = update(1, "/jogo", now + 1);
+        Update freshRepeat = update(1, "/jogo", now + 2);
+        Update withoutText = new Update();
+
+        // Depois do backlog vêm as mensagens novas, sem agrupamento entre elas
+        assertEquals(List.of(old, fresh, freshRepeat, withoutText),
+                coalescer.coalesce(List.of(fresh, old, freshRepeat, withoutText)));
+
+        // Um lote sem backlog encerra o modo e é devolvido intacto
+        List<Update> live = List.of(update(1, "/jogo", now + 3), update(1, "/jogo", now + 4));
+        assertSame(live, coalescer.coalesce(live));
+        assertFalse(coalescer.isDraining());
+    }
+
+    @Test
+    void stopsDrainingAfterTheConfiguredBatches() {
+        StartupBacklogCoalescer coalescer = new StartupBacklogCoalescer(clock, 2, 0, router, registry);
+        coalescer.coalesce(List.of(update(1, "/jogo", now - 10)));
+        assertTrue(coalescer.isDraining());
+        coalescer.coalesce(List.of(update(1, "/jogo", now - 5)));
+        assertFalse(coalescer.isDraining());
+
+        List<Update> late = List.of(update(1, "/jogo", now - 4), update(1, "/jogo", now - 3));
+        assertSame(late, coalescer.coalesce(late));
+    }
+
+    private static Update update(long chatId, String text, long epochSecond) {
+        Message message = new Message();
+        message.setChat(new Chat(chatId, "group"));
+        message.setText(text);
+        message.setDate((int) epochSecond);
+        Update update = new Update();
+        update.setMessage(message);
+        return update;
+    }
+}
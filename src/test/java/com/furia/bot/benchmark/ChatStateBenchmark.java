@@ -0,0 +1,141 @@
+package com.furia.bot.benchmark;
+
+import com.furia.bot.ChatStateStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estado por chat do limitador de mensagens com {@code chats} chats: o mapa com chaves {@code Long} e um
+ * objeto por chat (como era o {@code InboundRateLimiter}) contra o {@link ChatStateStore}. Cada operação é
+ * a atualização de um balde de tokens de um chat sorteado, como numa mensagem recebida. Depois de popular a
+ * tabela o setup mede o heap ocupado (após GC) e o tamanho fora do heap, e grava em
+ * {@code target/jmh-chat-state-<impl>-<chats>.txt} para o relatório.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatStateBenchmark {
+
+    private static final double CAPACITY = 10;
+    private static final double REFILL_PER_MILLI = 20 / 60_000.0;
+    private static final int TOKENS = 0;
+    private static final int LAST_REFILL = 1;
+    private static final int LAST_SEEN = 2;
+
+    @Param({"boxed", "compact"})
+    public String impl;
+
+    @Param({"100000", "1000000"})
+    public int chats;
+
+    private long[] ids;
+    private Map<Long, Bucket> boxed;
+    private ChatStateStore compact;
+    private int next;
+    private long now;
+
+    // Mesmos campos por chat nas duas versões
+    private static final class Bucket {
+        double tokens;
+        long lastRefill;
+        long lastSeen;
+        int lastCommandHash;
+        long lastCommandAt;
+        int strikes;
+        long mutedUntil;
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        // Ids como os do Telegram: usuários positivos e supergrupos em -100xxxxxxxxxx
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new long[chats];
+        for (int i = 0; i < chats; i++) {
+            ids[i] = random.nextInt(4) == 0 ? -1_000_000_000_000L - random.nextLong(10_000_000_000L)
+                    : 1 + random.nextLong(8_000_000_000L);
+        }
+        now = System.currentTimeMillis();
+
+        long heapBefore = usedHeap();
+        if ("boxed".equals(impl)) {
+            boxed = new ConcurrentHashMap<>();
+        } else {
+            compact = ChatStateStore.inMemory(7, 0);
+        }
+        for (long id : ids) {
+            update(id);
+        }
+        long heapAfter = usedHeap();
+        long offHeap = compact == null ? 0 : compact.bytes();
+        Files.writeString(Path.of("target", "jmh-chat-state-" + impl + "-" + chats + ".txt"),
+                (heapAfter - heapBefore) + " " + offHeap + "\n");
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws IOException {
+        if (compact != null) {
+            compact.close();
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public double message() {
+        // Sequência pseudoaleatória sobre os ids: acesso espalhado, como chats independentes
+        next = (next + 0x9E3779B9) & Integer.MAX_VALUE;
+        now++;
+        return update(ids[next % chats]);
+    }
+
+    private double update(long id) {
+        if (compact != null) {
+            synchronized (compact) {
+                int slot = compact.slot(id);
+                long elapsed = Math.max(0, now - compact.getLong(slot, LAST_REFILL));
+                double tokens = compact.getLong(slot, LAST_SEEN) == 0 ? CAPACITY
+                        : Math.min(CAPACITY, compact.getDouble(slot, TOKENS) + elapsed * REFILL_PER_MILLI);
+                tokens = tokens >= 1 ? tokens - 1 : tokens;
+                compact.setDouble(slot, TOKENS, tokens);
+                compact.setLong(slot, LAST_REFILL, now);
+                compact.setLong(slot, LAST_SEEN, now);
+                return tokens;
+            }
+        }
+        Bucket bucket = boxed.computeIfAbsent(id, key -> {
+            Bucket created = new Bucket();
+            created.tokens = CAPACITY;
+            created.lastRefill = now;
+            return created;
+        });
+        synchronized (bucket) {
+            long elapsed = Math.max(0, now - bucket.lastRefill);
+            double tokens = Math.min(CAPACITY, bucket.tokens + elapsed * REFILL_PER_MILLI);
+            bucket.tokens = tokens >= 1 ? tokens - 1 : tokens;
+            bucket.lastRefill = now;
+            bucket.lastSeen = now;
+            return bucket.tokens;
+        }
+    }
+}
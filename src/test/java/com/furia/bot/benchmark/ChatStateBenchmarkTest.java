@@ -0,0 +1,73 @@
+package com.furia.bot.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Roda o {@link ChatStateBenchmark} pelo JMH, com o profiler de GC (bytes alocados por operação). Fica fora
+ * do {@code mvn test}; rode com {@code mvn test -Pjmh -Dtest=ChatStateBenchmarkTest}. O JSON do JMH fica em
+ * {@code target/jmh-chat-state.json} e o resumo, com o heap e a memória fora do heap por chat, em
+ * {@code target/jmh-chat-state-report.txt}.
+ */
+@Tag("jmh")
+class ChatStateBenchmarkTest {
+
+    @Test
+    void boxedMapVersusCompactStore() throws Exception {
+        int iterations = Integer.getInteger("jmh.iterations", 5);
+        TimeValue time = TimeValue.seconds(Long.getLong("jmh.seconds", 2));
+        Files.createDirectories(Path.of("target"));
+        Options options = new OptionsBuilder()
+                .include(ChatStateBenchmark.class.getName())
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(iterations)
+                .warmupTime(time)
+                .measurementIterations(iterations)
+                .measurementTime(time)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Xmx2g")
+                .result("target/jmh-chat-state.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse(results.isEmpty(), "O JMH não produziu resultados");
+
+        StringBuilder report = new StringBuilder(
+                "Estado por chat: atualização de um balde (ns/op), alocação por operação e memória por chat\n");
+        for (RunResult result : results) {
+            String impl = result.getParams().getParam("impl");
+            int chats = Integer.parseInt(result.getParams().getParam("chats"));
+            String[] memory = Files.readString(Path.of("target", "jmh-chat-state-" + impl + "-" + chats + ".txt"))
+                    .trim().split(" ");
+            report.append(String.format("  %-8s %8d chats %8.1f ± %.1f ns/op %6.1f B/op  heap %6.1f B/chat  fora do heap %6.1f B/chat%n",
+                    impl, chats, result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreError(),
+                    allocation(result.getSecondaryResults()),
+                    Long.parseLong(memory[0]) / (double) chats, Long.parseLong(memory[1]) / (double) chats));
+        }
+        System.out.println(report);
+        Files.writeString(Path.of("target", "jmh-chat-state-report.txt"), report.toString());
+    }
+
+    // O nome do resultado do profiler mudou entre versões do JMH ("·gc.alloc.rate.norm")
+    private static double allocation(Map<String, Result> secondary) {
+        return secondary.entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+                .mapToDouble(entry -> entry.getValue().getScore())
+                .findFirst().orElse(Double.NaN);
+    }
+}
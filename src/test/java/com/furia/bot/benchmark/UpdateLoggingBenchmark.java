@@ -0,0 +1,120 @@
+package com.furia.bot.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.furia.bot.ChatLogSampler;
+import com.furia.logging.BoundedAsyncAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de log por atualização recebida: os logs do caminho de um comando ({@code /jogo}) do jeito
+ * antigo (texto da mensagem e corpo da resposta em INFO, um evento por etapa) contra o atual (uma linha
+ * estruturada amostrada por chat, o resto em DEBUG), cada um com o appender síncrono ou com o
+ * {@link BoundedAsyncAppender}. A saída vai para um arquivo em {@code target/}, como o console em produção.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UpdateLoggingBenchmark {
+
+    private static final String MESSAGE = "/jogo academy";
+    private static final String REPLY = "Próximos jogos da FURIA:\n\n15/06/25 15:00 vs Vitality - BLAST Austin Major\n"
+            + "16/06/25 18:00 vs NAVI - BLAST Austin Major\n17/06/25 TBA vs MOUZ - BLAST Austin Major";
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    @Param({"legacy", "structured"})
+    public String style;
+
+    @Param({"50"})
+    public int chats;
+
+    private LoggerContext context;
+    private Logger bot;
+    private Logger router;
+    private Logger command;
+    private ChatLogSampler sampler;
+    private long updates;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m %kvp{NONE}%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(new File("target", "jmh-logging-" + appender + "-" + style + ".log").getPath());
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> target = file;
+        if ("async".equals(appender)) {
+            BoundedAsyncAppender async = new BoundedAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.addAppender(file);
+            async.start();
+            target = async;
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(target);
+        bot = context.getLogger("com.furia.bot.FuriaBot");
+        router = context.getLogger("com.furia.commands.CommandRouter");
+        command = context.getLogger("com.furia.commands.JogoCommand");
+        sampler = new ChatLogSampler(3, 60, new SimpleMeterRegistry());
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.stop(); // Esvazia a fila do appender assíncrono
+        if ("async".equals(appender)) {
+            System.out.println("eventos descartados pela fila: " + BoundedAsyncAppender.droppedCount());
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        Long chatId = 1000L + (updates++ % chats);
+        if ("legacy".equals(style)) {
+            bot.info("Mensagem recebida: {} de chatId: {}", MESSAGE, chatId);
+            router.info("Executando comando: {} para chatId: {}", "/jogo", chatId);
+            command.info("Comando /jogo executado para chatId: {} (time {})", chatId, "academy");
+            bot.debug("Enviando mensagem para chatId {}: {}", chatId, REPLY);
+            bot.info("Mensagem enviada para chatId: {}: {}", chatId, REPLY);
+            command.info("Mensagem de /jogo enviada para chatId: {}", chatId);
+        } else {
+            if (sampler.sample(chatId)) {
+                bot.atInfo().setMessage("Mensagem recebida")
+                        .addKeyValue("chatId", chatId).addKeyValue("command", () -> MESSAGE).log();
+            }
+            router.debug("Executando comando: {} para chatId: {}", "/jogo", chatId);
+            command.debug("Comando /jogo executado para chatId: {} (time {})", chatId, "academy");
+            bot.atDebug().setMessage("Mensagem enviada")
+                    .addKeyValue("chatId", chatId).addKeyValue("chars", REPLY::length).log();
+            command.debug("Mensagem de /jogo enviada para chatId: {}", chatId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.furia.bot.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Roda o {@link UpdateLoggingBenchmark} pelo JMH. Fica fora do {@code mvn test}; rode com
+ * {@code mvn test -Pjmh}. {@code jmh.forks}, {@code jmh.iterations} e {@code jmh.seconds} ajustam a
+ * duração (padrão 1 fork, 5 iterações de 2 s). O JSON do JMH fica em {@code target/jmh-logging.json}
+ * e o resumo em {@code target/jmh-logging-report.txt}.
+ */
+@Tag("jmh")
+class UpdateLoggingBenchmarkTest {
+
+    @Test
+    void perUpdateLoggingOverhead() throws Exception {
+        int iterations = Integer.getInteger("jmh.iterations", 5);
+        TimeValue time = TimeValue.seconds(Long.getLong("jmh.seconds", 2));
+        Files.createDirectories(Path.of("target"));
+        Options options = new OptionsBuilder()
+                .include(UpdateLoggingBenchmark.class.getName())
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(iterations)
+                .warmupTime(time)
+                .measurementIterations(iterations)
+                .measurementTime(time)
+                .result("target/jmh-logging.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse(results.isEmpty(), "O JMH não produziu resultados");
+
+        StringBuilder report = new StringBuilder("Custo de log por atualização (ns/op, menor é melhor)\n");
+        for (RunResult result : results) {
+            report.append(String.format("  %-6s %-10s %10.1f ± %.1f %s%n",
+                    result.getParams().getParam("appender"), result.getParams().getParam("style"),
+                    result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreError(),
+                    result.getPrimaryResult().getScoreUnit()));
+        }
+        System.out.println(report);
+        Files.writeString(Path.of("target", "jmh-logging-report.txt"), report.toString());
+    }
+}
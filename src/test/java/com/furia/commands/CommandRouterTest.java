@@ -0,0 +1,171 @@
+package com.furia.commands;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.furia.bot.BotConfig;
+import com.furia.bot.ChatLogSampler;
+import com.furia.bot.FakeTelegramBotApi;
+import com.furia.bot.FuriaBot;
+import com.furia.bot.HttpClientTelegramTransport;
+import com.furia.bot.InboundRateLimiter;
+import com.furia.bot.StartupBacklogCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class CommandRouterTest {
+
+    private static final List<String> executed = new CopyOnWriteArrayList<>();
+
+    @CommandMapping(name = "/jogo", aliases = {"/partida", "/Proximo"}, description = "Próximas partidas", order = 2)
+    static class Jogo implements Command {
+        @Override
+        public void execute(Long chatId, FuriaBot bot) {
+        }
+
+        @Override
+        public void execute(Long chatId, CommandInvocation invocation, FuriaBot bot) {
+            executed.add("jogo " + chatId + " " + invocation.name() + " " + invocation.args());
+        }
+    }
+
+    @CommandMapping(name = "/time", description = "Escalação", order = 1)
+    static class Time implements Command {
+        @Override
+        public void execute(Long chatId, FuriaBot bot) {
+            executed.add("time " + chatId);
+        }
+    }
+
+    @CommandMapping(name = "/partida", description = "Repetido")
+    static class Duplicate implements Command {
+        @Override
+        public void execute(Long chatId, FuriaBot bot) {
+        }
+    }
+
+    @CommandMapping(name = "/elenco", description = "Falha")
+    static class Failing implements Command {
+        @Override
+        public void execute(Long chatId, FuriaBot bot) {
+            throw new IllegalStateException("snapshot indisponível");
+        }
+    }
+
+    static class WithoutMapping implements Command {
+        @Override
+        public void execute(Long chatId, FuriaBot bot) {
+            executed.add("sem mapeamento");
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void parseNormalizesTheNameAndTheBotSuffix() {
+        CommandRouter router = new CommandRouter(List.of(new Jogo(), new Time()), "@FuriaBot", registry);
+
+        CommandInvocation own = router.parse("  /JOGO@furiabot   Academy  Feminino ");
+        assertEquals("/jogo", own.name());
+        assertEquals(List.of("Academy", "Feminino"), own.args());
+        assertFalse(own.addressedToOtherBot());
+        assertEquals("/jogo academy feminino", own.key());
+
+        CommandInvocation other = router.parse("/jogo@OutroBot");
+        assertEquals("/jogo", other.name());
+        assertTrue(other.addressedToOtherBot());
+
+        CommandInvocation plain = router.parse("/time");
+        assertFalse(plain.hasArgs());
+        assertFalse(plain.addressedToOtherBot());
+        assertEquals("/time", plain.key());
+    }
+
+    @Test
+    void helpTextFollowsTheDeclaredOrderWithAliases() {
+        CommandRouter router = new CommandRouter(List.of(new Jogo(), new WithoutMapping(), new Time()), "FuriaBot", registry);
+
+        assertEquals("/time - Escalação\n/jogo ou /partida ou /Proximo - Próximas partidas\n", router.getHelpText());
+        assertThrows(IllegalStateException.class,
+                () -> new CommandRouter(List.of(new Jogo(), new Duplicate()), "FuriaBot", registry));
+    }
+
+    @Test
+    void dispatchResolvesAliasesAndAnswersUnknownCommands() throws Exception {
+        executed.clear();
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi();
+             AnnotationConfigApplicationContext context = botContext(api)) {
+            api.enqueueTextMessage(1, 1, "/partida academy", false);
+            api.enqueueTextMessage(2, 2, "/proximo", false);
+            api.enqueueTextMessage(3, 3, "/time@FuriaBot", true);
+            api.enqueueTextMessage(4, 4, "/time@OutroBot", true);
+            api.enqueueTextMessage(5, 5, "/desconhecido", false);
+            MeterRegistry meters = context.getBean(MeterRegistry.class);
+            // A latência é registrada depois de o comando terminar: esperar por ela também
+            await(() -> executed.size() == 3 && api.calls("sendMessage") == 1
+                    && meters.get("bot.command.latency").tag("command", "/jogo").timer().count() == 2);
+
+            assertEquals(List.of("jogo 1 /partida [academy]", "jogo 2 /proximo []", "time 3"), executed.stream().sorted().toList());
+            List<JsonNode> replies = api.requests("sendMessage");
+            assertEquals(1, replies.size());
+            assertEquals(5, replies.get(0).path("chat_id").asLong());
+            assertEquals("Comando não reconhecido. Tente: /time, /jogo, /partida ou /Proximo.",
+                    replies.get(0).path("text").asText());
+            assertEquals(1, meters.get("bot.command.unknown").counter().count());
+            assertEquals(2, meters.get("bot.command.latency").tag("command", "/jogo").timer().count());
+        }
+    }
+
+    @Test
+    void aFailingCommandIsCountedAndStillTimed() throws Exception {
+        try (FakeTelegramBotApi api = new FakeTelegramBotApi();
+             AnnotationConfigApplicationContext context = botContext(api, Failing.class)) {
+            api.enqueueTextMessage(1, 1, "/elenco", false);
+            MeterRegistry meters = context.getBean(MeterRegistry.class);
+            await(() -> api.calls("sendMessage") == 1
+                    && meters.get("bot.command.latency").tag("command", "/elenco").timer().count() == 1);
+
+            assertEquals(1, meters.get("bot.command.errors").tag("command", "/elenco").counter().count());
+            assertEquals("Erro ao processar o comando. Tente novamente mais tarde.",
+                    api.requests("sendMessage").get(0).path("text").asText());
+            assertTrue(meters.find("bot.command.unknown").counters().stream().allMatch(counter -> counter.count() == 0));
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condição não atingida em 10 s");
+            }
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private static AnnotationConfigApplicationContext botContext(FakeTelegramBotApi api, Class<?>... commands) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("routerTest", Map.of(
+                "telegram_bot_username", "@FuriaBot",
+                "telegram_bot_token", "123456:router",
+                "telegram_bot_api_url", api.baseUrl())));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(commands.length == 0 ? new Class<?>[]{Jogo.class, Time.class} : commands);
+        context.register(CommandRouter.class, InboundRateLimiter.class, StartupBacklogCoalescer.class,
+                ChatLogSampler.class, BotConfig.class, HttpClientTelegramTransport.class, FuriaBot.class);
+        context.refresh();
+        return context;
+    }
+}
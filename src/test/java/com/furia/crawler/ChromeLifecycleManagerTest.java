@@ -0,0 +1,112 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChromeLifecycleManagerTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger quits = new AtomicInteger();
+    private volatile CountDownLatch quitGate = new CountDownLatch(0);
+
+    @Test
+    void aRecycleWaitsForTheBrowsersThatWereBusy() throws Exception {
+        ChromeLifecycleManager chrome = manager(2);
+        ChromeLifecycleManager.Lease observer = chrome.acquire();
+        chrome.acquire().close();
+        assertEquals(2, running());
+
+        // A observação da aba ao vivo segura um navegador fora de qualquer crawl
+        chrome.recycleDaily();
+        assertEquals(1, quits.get());
+        assertEquals(1, running());
+
+        // Devolvido o navegador, a reciclagem pendente o alcança na próxima amostra
+        observer.close();
+        chrome.sample();
+        assertEquals(2, quits.get());
+        assertEquals(0, running());
+        assertEquals(2, registry.get("crawler.webdriver.restarts").tag("reason", "startup").counter().count());
+
+        // E não se repete depois de aplicada
+        chrome.acquire().close();
+        chrome.sample();
+        assertEquals(2, quits.get());
+        assertEquals(1, registry.get("crawler.webdriver.restarts").tag("reason", "daily").counter().count());
+    }
+
+    @Test
+    void aSlowQuitOnShutdownDoesNotBlockThePool() throws Exception {
+        ChromeLifecycleManager chrome = manager(1);
+        ChromeLifecycleManager.Lease lease = chrome.acquire();
+        assertNotNull(lease.driver());
+        lease.close();
+
+        quitGate = new CountDownLatch(1);
+        CompletableFuture<Void> destroy = CompletableFuture.runAsync(chrome::destroy);
+        try {
+            // Enquanto o Chrome fecha, os gauges (que tomam a trava do pool) continuam respondendo
+            assertEquals(0.0, CompletableFuture.supplyAsync(() -> registry.get("crawler.chrome.pool.busy").gauge().value())
+                    .get(2, TimeUnit.SECONDS));
+        } finally {
+            quitGate.countDown();
+        }
+        destroy.get(2, TimeUnit.SECONDS);
+        assertEquals(1, quits.get());
+        assertNull(lease.driver());
+    }
+
+    private ChromeLifecycleManager manager(int poolSize) {
+        return new ChromeLifecycleManager(Clock.systemDefaultZone(), "", poolSize, 0, 0, 30, 0, registry, this::stubDriver, null);
+    }
+
+    private double running() {
+        return registry.get("crawler.chrome.running").gauge().value();
+    }
+
+    // WebDriver sem Chrome: quit() conta (e espera a liberação do teste), o resto devolve proxies ou null
+    private WebDriver stubDriver() {
+        InvocationHandler handler = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws InterruptedException {
+                switch (method.getName()) {
+                    case "quit" -> {
+                        quitGate.await();
+                        quits.incrementAndGet();
+                        return null;
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "toString" -> {
+                        return "StubDriver";
+                    }
+                    default -> {
+                        Class<?> type = method.getReturnType();
+                        return type.isInterface()
+                                ? Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, this) : null;
+                    }
+                }
+            }
+        };
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class}, handler);
+    }
+}
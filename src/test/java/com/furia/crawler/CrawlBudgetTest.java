@@ -0,0 +1,85 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlBudgetTest {
+
+    private static final String TEAM = "https://www.hltv.org/team/8297/furia#tab-infoBox";
+    private static final String MATCHES = "https://www.hltv.org/matches";
+    private static final String MATCH = "https://www.hltv.org/matches/2380000/furia-vs-navi";
+
+    private final VirtualTimeScheduler time = new VirtualTimeScheduler(Instant.parse("2025-03-10T15:00:00Z"), ZoneId.of("UTC"));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void lowPriorityWorkLeavesTheReserveToLiveChecks() {
+        CrawlBudget budget = new CrawlBudget(time.clock(), "0/0/0", "team=10/0/0", 25, registry);
+
+        // Manutenção deixa 50% do balde: 1 + 5 tokens precisam sobrar
+        for (int i = 0; i < 5; i++) {
+            assertTrue(budget.tryAcquire(TEAM, CrawlerTaskExecutor.Priority.MAINTENANCE));
+        }
+        assertFalse(budget.allows(TEAM, CrawlerTaskExecutor.Priority.MAINTENANCE));
+        // Crawl completo deixa 25%
+        assertTrue(budget.tryAcquire(TEAM, CrawlerTaskExecutor.Priority.FULL_CRAWL));
+        assertTrue(budget.tryAcquire(TEAM, CrawlerTaskExecutor.Priority.FULL_CRAWL));
+        assertFalse(budget.tryAcquire(TEAM, CrawlerTaskExecutor.Priority.FULL_CRAWL));
+        // Ao vivo usa até o último token
+        for (int i = 0; i < 3; i++) {
+            assertTrue(budget.tryAcquire(TEAM, CrawlerTaskExecutor.Priority.LIVE));
+        }
+        assertFalse(budget.tryAcquire(TEAM, CrawlerTaskExecutor.Priority.LIVE));
+
+        assertEquals(10, registry.get("crawler.budget.navigations").tags("scope", "page", "name", "team").counter().count());
+        assertEquals(2, registry.get("crawler.budget.deferred").tags("priority", "full_crawl").counter().count()
+                + registry.get("crawler.budget.deferred").tags("priority", "maintenance").counter().count());
+        assertEquals(0, registry.get("crawler.budget.remaining").tags("name", "team", "window", "minute").gauge().value());
+        assertEquals(10, registry.get("crawler.budget.limit").tags("name", "team", "window", "minute").gauge().value());
+    }
+
+    @Test
+    void bucketsRefillContinuously() {
+        CrawlBudget budget = new CrawlBudget(time.clock(), "0/0/0", "matches=6/0/0", 0, registry);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(budget.tryAcquire(MATCHES, CrawlerTaskExecutor.Priority.LIVE));
+        }
+        assertFalse(budget.tryAcquire(MATCHES, CrawlerTaskExecutor.Priority.LIVE));
+
+        // 6 por minuto: um token a cada 10s
+        time.runUntil(time.now().plus(Duration.ofSeconds(10)));
+        assertTrue(budget.tryAcquire(MATCHES, CrawlerTaskExecutor.Priority.LIVE));
+        assertFalse(budget.tryAcquire(MATCHES, CrawlerTaskExecutor.Priority.LIVE));
+        time.runUntil(time.now().plus(Duration.ofHours(1)));
+        assertEquals(6, registry.get("crawler.budget.remaining").tags("name", "matches").gauge().value());
+    }
+
+    @Test
+    void hostLimitIsSharedByAllPageClasses() {
+        CrawlBudget budget = new CrawlBudget(time.clock(), "0/3/0", "match=0/0/100", 0, registry);
+        assertTrue(budget.tryAcquire(MATCHES, CrawlerTaskExecutor.Priority.LIVE));
+        assertTrue(budget.tryAcquire(MATCH, CrawlerTaskExecutor.Priority.LIVE));
+        assertTrue(budget.tryAcquire(TEAM, CrawlerTaskExecutor.Priority.LIVE));
+        assertFalse(budget.tryAcquire(MATCH, CrawlerTaskExecutor.Priority.LIVE));
+        // Outro host tem o próprio balde
+        assertTrue(budget.tryAcquire("http://127.0.0.1:8080/matches", CrawlerTaskExecutor.Priority.LIVE));
+
+        assertEquals(3, registry.get("crawler.budget.navigations").tags("scope", "host", "name", "www.hltv.org").counter().count());
+        assertEquals(99, registry.get("crawler.budget.remaining").tags("name", "match", "window", "day").gauge().value());
+    }
+
+    @Test
+    void rejectsMalformedLimits() {
+        assertThrows(IllegalStateException.class, () -> new CrawlBudget(time.clock(), "40/600", "", 25, registry));
+        assertThrows(IllegalStateException.class, () -> new CrawlBudget(time.clock(), "0/0/0", "team:1/2/3", 25, registry));
+    }
+}
@@ -0,0 +1,87 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlPhaseRunnerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CrawlPhaseRunner runner = new CrawlPhaseRunner(registry);
+    private final List<String> published = new CopyOnWriteArrayList<>();
+
+    @Test
+    void aPhaseOverItsDeadlineIsCancelledWhileTheOthersPublish() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        runner.run(List.of(
+                new CrawlPhaseRunner.Phase("team", Duration.ofSeconds(5), () -> published.add("team"), () -> published.add("team-deadline")),
+                new CrawlPhaseRunner.Phase("live", Duration.ofMillis(200), () -> {
+                    published.add("live-partial");            // Parte da fase antes de a página travar
+                    if (hang(interrupted)) {
+                        published.add("live");
+                    }
+                }, () -> published.add("live-deadline")),
+                new CrawlPhaseRunner.Phase("failing", Duration.ofSeconds(5), () -> {
+                    throw new IllegalStateException("seletor mudou");
+                }, () -> published.add("failing-deadline"))));
+
+        // run() só volta depois de a fase cancelada terminar de fato
+        assertEquals(0, interrupted.getCount());
+        assertEquals(List.of("live-deadline", "live-partial", "team"), published.stream().sorted().toList());
+        assertEquals(1, outcome("team", "ok"));
+        assertEquals(1, outcome("live", "timeout"));
+        assertEquals(1, outcome("failing", "error"));
+        assertEquals(3, registry.get("crawler.phase.duration").timers().size());
+    }
+
+    @Test
+    void interruptingTheCrawlCancelsEveryPhase() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch interrupted = new CountDownLatch(2);
+        Runnable slow = () -> {
+            started.countDown();
+            hang(interrupted);
+        };
+        Thread crawl = Thread.ofVirtual().start(() -> runner.run(List.of(
+                new CrawlPhaseRunner.Phase("team", Duration.ofMinutes(1), slow, () -> published.add("team-deadline")),
+                new CrawlPhaseRunner.Phase("live", Duration.ofMinutes(1), slow, () -> published.add("live-deadline")))));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Desligamento no meio do crawl: as duas fases são interrompidas, sem contar como prazo estourado
+        crawl.interrupt();
+        assertTrue(crawl.join(Duration.ofSeconds(5)));
+        // O crawl só termina depois das fases, que demoram a fechar
+        assertEquals(0, interrupted.getCount());
+        assertEquals(List.of(), published);
+        assertTrue(registry.find("crawler.phase.outcomes").counters().isEmpty());
+    }
+
+    private double outcome(String phase, String outcome) {
+        return registry.get("crawler.phase.outcomes").tags("phase", phase, "outcome", outcome).counter().count();
+    }
+
+    // Página que nunca termina de carregar: só sai pela interrupção, depois de um fechamento demorado, e devolve false
+    private static boolean hang(CountDownLatch interrupted) {
+        try {
+            TimeUnit.MINUTES.sleep(1);
+            return true;
+        } catch (InterruptedException e) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException again) {
+                // Segunda interrupção: sai já
+            }
+            interrupted.countDown();
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
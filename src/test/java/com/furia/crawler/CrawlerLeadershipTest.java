@@ -0,0 +1,126 @@
+package com.furia.crawler;
+
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+import com.furia.crawler.HltvCrawlerService.Match;
+import com.furia.crawler.HltvCrawlerService.MatchResult;
+import com.furia.crawler.HltvCrawlerService.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Eleição do líder com duas réplicas no mesmo processo, usando um diretório temporário no lugar do
+ * volume compartilhado.
+ */
+class CrawlerLeadershipTest {
+
+    private static final long LEASE_SECONDS = 3;
+
+    @TempDir
+    Path sharedDir;
+
+    private CrawlerLeadership node(String id) {
+        CrawlerLeadership node = new CrawlerLeadership(sharedDir.toString(), LEASE_SECONDS, id, new SimpleMeterRegistry());
+        node.start();
+        return node;
+    }
+
+    @Test
+    void standaloneNodeIsAlwaysLeader() {
+        CrawlerLeadership node = new CrawlerLeadership("", LEASE_SECONDS, "a", new SimpleMeterRegistry());
+        node.start();
+        assertTrue(node.isLeader());
+        assertFalse(node.isShared());
+    }
+
+    @Test
+    void followerTakesOverWithinOneLeasePeriodWhenLeaderDies() throws InterruptedException {
+        CrawlerLeadership a = node("a");
+        CrawlerLeadership b = node("b");
+        try {
+            assertTrue(a.isLeader());
+            assertFalse(b.isLeader());
+
+            a.abandon();
+            long start = System.nanoTime();
+            assertTrue(await(b::isLeader, TimeUnit.SECONDS.toMillis(LEASE_SECONDS) + 500),
+                    "O seguidor não assumiu dentro do período do lease");
+            assertTrue(System.nanoTime() - start <= TimeUnit.SECONDS.toNanos(LEASE_SECONDS) + TimeUnit.MILLISECONDS.toNanos(500));
+            assertFalse(a.isLeader());
+        } finally {
+            a.stop();
+            b.stop();
+        }
+    }
+
+    @Test
+    void gracefulStopHandsOverAtNextRenewal() throws InterruptedException {
+        CrawlerLeadership a = node("a");
+        CrawlerLeadership b = node("b");
+        try {
+            assertTrue(a.isLeader());
+            a.stop();
+            assertFalse(a.isLeader());
+            // Sem esperar o lease vencer: o seguidor assume na próxima renovação (1/3 do período)
+            assertTrue(await(b::isLeader, TimeUnit.SECONDS.toMillis(LEASE_SECONDS) / 3 + 500));
+        } finally {
+            b.stop();
+        }
+    }
+
+    @Test
+    void followerReadsSnapshotPublishedByLeader() {
+        TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "academy=11283/furia-academy/FURIA Academy");
+        CrawlerLeadership a = node("a");
+        CrawlerLeadership b = node("b");
+        try {
+            SharedSnapshotStore leaderStore = new SharedSnapshotStore(a, teams);
+            SharedSnapshotStore followerStore = new SharedSnapshotStore(b, teams);
+            assertNull(followerStore.readIfChanged());
+
+            LiveMatch live = new LiveMatch("Vitality", "7-5", "1-0", "Major", "bo3", "http://hltv/matches/1",
+                    List.of("FURIA removed Nuke"), List.of("https://twitch.tv/gaules"));
+            SharedSnapshotStore.TeamState state = new SharedSnapshotStore.TeamState(
+                    List.of(new Player("KSCERATO", "http://img/1")),
+                    List.of(new Match("Hoje", "15:00", "Vitality", "Major")),
+                    List.of(new MatchResult("16-10", "NAVI", "Major", true)),
+                    live, Map.of(SnapshotSection.LINEUP, 1000L, SnapshotSection.LIVE, 2000L));
+            leaderStore.publish(Map.of(teams.primary(), state));
+
+            Map<TrackedTeam, SharedSnapshotStore.TeamState> read = followerStore.readIfChanged();
+            assertEquals(1, read.size());
+            SharedSnapshotStore.TeamState copy = read.get(teams.primary());
+            assertEquals(state.lineup(), copy.lineup());
+            assertEquals(state.upcoming(), copy.upcoming());
+            assertEquals(state.results(), copy.results());
+            assertEquals(live, copy.live());
+            assertEquals(state.fetchedAt(), copy.fetchedAt());
+            assertNull(followerStore.readIfChanged(), "Arquivo sem mudanças não deve ser relido");
+        } finally {
+            a.stop();
+            b.stop();
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,151 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlerTaskExecutorTest {
+
+    private static final Duration HOURLY = Duration.ofHours(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CrawlerTaskExecutor executor = new CrawlerTaskExecutor(null, 2, registry);
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void queuedTasksRunByPriorityAndLowPriorityNeverTakesTheLastThread() throws Exception {
+        CountDownLatch crawl = new CountDownLatch(1);
+        CountDownLatch live = new CountDownLatch(1);
+        executor.start();
+
+        // Um crawl completo ocupa uma thread; a outra fica reservada para o que não é de baixa prioridade
+        executor.schedule("full_crawl", CrawlerTaskExecutor.Priority.FULL_CRAWL, HOURLY, blocking("full_crawl", crawl));
+        await(() -> started.contains("full_crawl"));
+        executor.schedule("cleanup", CrawlerTaskExecutor.Priority.MAINTENANCE, HOURLY, record("cleanup"));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(List.of("full_crawl"), started);
+        assertEquals(1, queued());
+
+        executor.schedule("live_1", CrawlerTaskExecutor.Priority.LIVE, HOURLY, blocking("live_1", live));
+        await(() -> started.contains("live_1"));
+        // Com as duas threads ocupadas, a fila se forma fora da ordem de chegada
+        executor.schedule("pre_match", CrawlerTaskExecutor.Priority.PRE_MATCH, HOURLY, record("pre_match"));
+        executor.schedule("live_2", CrawlerTaskExecutor.Priority.LIVE, HOURLY, record("live_2"));
+        await(() -> queued() == 3);
+
+        live.countDown();
+        await(() -> started.size() == 4);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(List.of("full_crawl", "live_1", "live_2", "pre_match"), started);
+
+        // A manutenção só roda quando o crawl completo devolve a thread
+        crawl.countDown();
+        await(() -> started.size() == 5);
+        assertEquals("cleanup", started.get(4));
+    }
+
+    @Test
+    void triggerForATaskStillRunningIsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        executor.start();
+        executor.schedule("live", CrawlerTaskExecutor.Priority.LIVE, Duration.ofMillis(20), () -> {
+            runs.incrementAndGet();
+            awaitLatch(release);
+        });
+
+        await(() -> registry.get("crawler.tasks.dropped").tag("task", "live").counter().count() >= 3);
+        assertEquals(1, runs.get());
+        assertEquals(0, queued());
+
+        release.countDown();
+        await(() -> runs.get() >= 2);
+        assertTrue(registry.get("crawler.tasks.duration").tag("task", "live").timer().count() >= 1);
+    }
+
+    @Test
+    void annotatedMethodsOfTheContextBeansAreScheduled() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("executorTest",
+                    Map.of("annotated_millis", "3600000")));
+            context.registerBean(MeterRegistry.class, () -> registry);
+            context.registerBean(Annotated.class, () -> new Annotated(started));
+            context.register(CrawlerTaskExecutor.class);
+            context.refresh();
+
+            // Os dois disparam quando o executor liga, inclusive o de intervalo vindo de propriedade
+            await(() -> started.size() == 2);
+            assertEquals(List.of("fixed", "property"), started.stream().sorted().toList());
+            await(() -> registry.get("crawler.tasks.duration").tag("task", "annotated_property").timer().count() == 1);
+        }
+    }
+
+    static final class Annotated {
+        private final List<String> started;
+
+        Annotated(List<String> started) {
+            this.started = started;
+        }
+
+        @CrawlerTask(name = "annotated_fixed", priority = CrawlerTaskExecutor.Priority.MAINTENANCE, fixedRate = 3600000)
+        public void fixed() {
+            started.add("fixed");
+        }
+
+        @CrawlerTask(name = "annotated_property", priority = CrawlerTaskExecutor.Priority.LIVE, fixedRateString = "${annotated_millis}")
+        public void property() {
+            started.add("property");
+        }
+    }
+
+    private Runnable record(String name) {
+        return () -> started.add(name);
+    }
+
+    private Runnable blocking(String name, CountDownLatch latch) {
+        return () -> {
+            started.add(name);
+            awaitLatch(latch);
+        };
+    }
+
+    private int queued() {
+        return (int) registry.get("crawler.tasks.queued").gauge().value();
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "condição não atingida em 10s");
+    }
+}
@@ -0,0 +1,115 @@
+package com.furia.crawler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Crawler que nunca abre o Chrome: devolve um snapshot fixo lido de {@code fixtures/hltv-snapshot.json},
+ * para exercitar os comandos e o bot sem depender do HLTV.
+ */
+public class FixtureCrawlerService extends HltvCrawlerService {
+
+    private final List<Player> lineup = new ArrayList<>();
+    private final List<Match> upcoming = new ArrayList<>();
+    private final List<MatchResult> results = new ArrayList<>();
+    private final LiveMatch live;
+
+    public FixtureCrawlerService(TrackedTeams teams, MeterRegistry meterRegistry, SnapshotFreshness freshness,
+                                 SnapshotChangeDetector changeDetector) {
+        super(teams, "http://127.0.0.1", 60, 90, 6, meterRegistry, freshness, changeDetector,
+                new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 1, 0, 0, 30, 0, meterRegistry),
+                new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, meterRegistry),
+                standalone(meterRegistry), new SharedSnapshotStore(standalone(meterRegistry), teams),
+                new ResultsArchive("", meterRegistry), new PageRecorder("", 0, 0, meterRegistry),
+                new PollingPolicy(Clock.systemDefaultZone(), Duration.ofMinutes(3), Duration.ofMinutes(10), Duration.ofHours(1), Duration.ZERO),
+                new CrawlBudget(Clock.systemDefaultZone(), CrawlBudget.DEFAULT_HOST, CrawlBudget.DEFAULT_PAGES, 25, meterRegistry),
+                withoutLiveTab(meterRegistry), (name, priority, period, work) -> { }); // Snapshot fixo: nada a agendar
+        JsonNode root = readFixture("/fixtures/hltv-snapshot.json");
+        for (JsonNode node : root.path("lineup")) {
+            lineup.add(new Player(node.path("name").asText(), node.path("imageUrl").asText()));
+        }
+        for (JsonNode node : root.path("upcoming")) {
+            upcoming.add(new Match(node.path("date").asText(), node.path("time").asText(),
+                    node.path("opponent").asText(), node.path("tournament").asText()));
+        }
+        for (JsonNode node : root.path("results")) {
+            results.add(new MatchResult(node.path("score").asText(), node.path("opponent").asText(),
+                    node.path("tournament").asText(), node.path("victory").asBoolean()));
+        }
+        JsonNode liveNode = root.path("live");
+        live = liveNode.isMissingNode() ? null : new LiveMatch(
+                liveNode.path("opponent").asText(),
+                liveNode.path("currentMapScore").asText(),
+                liveNode.path("mapsWon").asText(),
+                liveNode.path("tournament").asText(),
+                liveNode.path("format").asText(),
+                liveNode.path("matchLink").asText(),
+                texts(liveNode.path("vetoDetails")),
+                texts(liveNode.path("streamLinks")));
+        long now = System.currentTimeMillis();
+        for (TrackedTeam team : teams.all()) {
+            for (SnapshotSection section : SnapshotSection.values()) {
+                freshness.recordSuccess(team, section, now);
+            }
+        }
+    }
+
+    private static CrawlerLeadership standalone(MeterRegistry meterRegistry) {
+        return new CrawlerLeadership("", 30, "fixture", meterRegistry);
+    }
+
+    // Modo desligado: a aba ao vivo nunca abre
+    private static LiveTabObserver withoutLiveTab(MeterRegistry meterRegistry) {
+        return new LiveTabObserver(new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 1, 0, 0, 30, 0, meterRegistry),
+                new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, meterRegistry),
+                new CrawlBudget(Clock.systemDefaultZone(), "0/0/0", "", 0, meterRegistry), false, 30, 60, meterRegistry);
+    }
+
+    private static JsonNode readFixture(String resource) {
+        try (InputStream in = FixtureCrawlerService.class.getResourceAsStream(resource)) {
+            return new ObjectMapper().readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(node -> values.add(node.asText()));
+        return values;
+    }
+
+    @Override
+    public void init() {
+        // Sem Chrome nos testes
+    }
+
+    @Override
+    public List<Player> getTeamLineup(TrackedTeam team) {
+        return lineup;
+    }
+
+    @Override
+    public List<Match> getUpcomingMatches(TrackedTeam team) {
+        return upcoming;
+    }
+
+    @Override
+    public List<MatchResult> getLastResults(TrackedTeam team) {
+        return results;
+    }
+
+    @Override
+    public LiveMatch getLiveMatch(TrackedTeam team) {
+        return live;
+    }
+}
@@ -0,0 +1,137 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HltvCircuitBreakerTest {
+
+    private static final String URL = "https://www.hltv.org/matches";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VirtualTimeScheduler time = new VirtualTimeScheduler(Instant.parse("2025-03-10T15:00:00Z"), ZoneId.of("UTC"));
+    // Espera base de 60 s, limitada a 200 s
+    private final HltvCircuitBreaker breaker = new HltvCircuitBreaker(time.clock(), 3, 60, 200, registry);
+
+    @Test
+    void opensAfterTheFailureThreshold() {
+        breaker.acquire(URL).failure();
+        breaker.acquire(URL).failure();
+        assertEquals(0, state());
+        breaker.acquire(URL).failure();
+        assertEquals(2, state());
+        assertNull(breaker.acquire(URL));
+        assertEquals(1, registry.get("crawler.breaker.rejected").counter().count());
+    }
+
+    @Test
+    void aSuccessResetsTheFailureCount() {
+        breaker.acquire(URL).failure();
+        breaker.acquire(URL).failure();
+        breaker.acquire(URL).success();
+        breaker.acquire(URL).failure();
+        breaker.acquire(URL).failure();
+        assertEquals(0, state());
+    }
+
+    @Test
+    void aChallengeOpensImmediately() {
+        breaker.acquire(URL).challenge();
+        assertEquals(2, state());
+        assertNull(breaker.acquire(URL));
+    }
+
+    @Test
+    void backoffDoublesPerTripUpToTheMaximum() {
+        breaker.acquire(URL).challenge();
+        // Jitter: a espera fica entre metade e o total do backoff da abertura
+        expectWaitWithin(Duration.ofSeconds(29), Duration.ofSeconds(60));
+        breaker.acquire(URL).failure();
+        expectWaitWithin(Duration.ofSeconds(59), Duration.ofSeconds(120));
+        breaker.acquire(URL).failure();
+        expectWaitWithin(Duration.ofSeconds(99), Duration.ofSeconds(200));
+        breaker.acquire(URL).failure();
+        expectWaitWithin(Duration.ofSeconds(99), Duration.ofSeconds(200));
+
+        // Sondagem bem-sucedida zera as aberturas: a próxima volta à espera base
+        breaker.acquire(URL).success();
+        assertEquals(0, state());
+        breaker.acquire(URL).challenge();
+        expectWaitWithin(Duration.ofSeconds(29), Duration.ofSeconds(60));
+    }
+
+    @Test
+    void onlyOneProbeAtATime() {
+        breaker.acquire(URL).challenge();
+        advance(Duration.ofSeconds(60));
+        HltvCircuitBreaker.Permit probe = breaker.acquire(URL);
+        assertNotNull(probe);
+        assertTrue(probe.isProbe());
+        assertEquals(1, state());
+        assertNull(breaker.acquire(URL));
+
+        probe.success();
+        probe.close();
+        assertEquals(0, state());
+        HltvCircuitBreaker.Permit next = breaker.acquire(URL);
+        assertNotNull(next);
+        assertFalse(next.isProbe());
+    }
+
+    @Test
+    void closingAProbeWithoutAResultFreesIt() {
+        breaker.acquire(URL).challenge();
+        advance(Duration.ofSeconds(60));
+        try (HltvCircuitBreaker.Permit probe = breaker.acquire(URL)) {
+            assertNotNull(probe);
+            assertNull(breaker.acquire(URL));
+        }
+        assertEquals(1, state());
+        HltvCircuitBreaker.Permit again = breaker.acquire(URL);
+        assertNotNull(again);
+        assertTrue(again.isProbe());
+    }
+
+    @Test
+    void aLateSuccessFromBeforeTheTripDoesNotClose() {
+        HltvCircuitBreaker.Permit slow = breaker.acquire(URL);
+        HltvCircuitBreaker.Permit cancelled = breaker.acquire(URL);
+        breaker.acquire(URL).challenge();
+        slow.success();
+        assertEquals(2, state());
+        assertNull(breaker.acquire(URL));
+
+        // Permissões antigas também não liberam a vaga da sondagem em curso
+        advance(Duration.ofSeconds(60));
+        HltvCircuitBreaker.Permit probe = breaker.acquire(URL);
+        assertTrue(probe.isProbe());
+        cancelled.close();
+        assertNull(breaker.acquire(URL));
+        assertEquals(1, state());
+    }
+
+    // Rejeitada logo antes do menor tempo possível e liberada (como sondagem) no maior
+    private void expectWaitWithin(Duration rejectedAt, Duration allowedAt) {
+        Instant opened = time.now();
+        time.runUntil(opened.plus(rejectedAt));
+        assertNull(breaker.acquire(URL));
+        time.runUntil(opened.plus(allowedAt));
+    }
+
+    private void advance(Duration duration) {
+        time.runUntil(time.now().plus(duration));
+    }
+
+    private double state() {
+        return registry.get("crawler.breaker.state").gauge().value();
+    }
+}
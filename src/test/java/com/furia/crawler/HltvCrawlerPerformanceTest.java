@@ -0,0 +1,244 @@
+package com.furia.crawler;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Roda o crawler real (Selenium + Chrome headless) contra o {@link HltvFixtureServer} sob diferentes
+ * políticas de polling e relata navegações por hora, tempo de parede do crawl completo, atraso das
+ * verificações ao vivo e pico de RSS do Chrome. A partida ao vivo começa no primeiro terço da janela e
+ * termina no último, para exercitar os três caminhos de verificação.
+ *
+ * <p>Fica fora do {@code mvn test}; rode com {@code mvn test -Pcrawler-perf}. Precisa do chromedriver
+ * ({@code crawler.perf.chromedriver}, padrão {@code /usr/bin/chromedriver}); sem ele o teste é ignorado.
+ * {@code crawler.perf.poolSize} define quantos navegadores as fases do crawl compartilham e
+ * {@code crawler.perf.challengeProbability} a fração de páginas de desafio servidas (padrão 0). A janela de
+ * cada política é {@code crawler.perf.windowMinutes} minutos simulados, comprimidos por
+ * {@code crawler.perf.timeScale} (minutos simulados por minuto real). Os TTLs do cache do crawler não
+ * são comprimidos, então use {@code timeScale=1} para números comparáveis com produção. Com
+ * {@code crawler.perf.recordDir} as páginas carregadas são gravadas pelo {@link PageRecorder} nesse diretório.
+ */
+@Tag("crawler-perf")
+class HltvCrawlerPerformanceTest {
+
+    /** Política de polling com nome, para o relatório; com {@code liveTab} o ao vivo vem da aba observada. */
+    record NamedPolicy(String name, PollingPolicy policy, boolean liveTab) {
+    }
+
+    private static final List<NamedPolicy> POLICIES = List.of(
+            new NamedPolicy("atual", policy(3, 10, 60), false),
+            new NamedPolicy("atual, aba ao vivo observada", policy(3, 10, 60), true),
+            new NamedPolicy("agressiva", policy(1, 5, 60), false),
+            new NamedPolicy("econômica", policy(5, 20, 120), false));
+
+    private static PollingPolicy policy(long liveMinutes, long preMatchMinutes, long fullCrawlMinutes) {
+        return new PollingPolicy(Clock.systemDefaultZone(), Duration.ofMinutes(liveMinutes), Duration.ofMinutes(preMatchMinutes),
+                Duration.ofMinutes(fullCrawlMinutes), Duration.ZERO);
+    }
+
+    // Sem limites: com o tempo comprimido qualquer orçamento de produção cortaria as navegações medidas
+    private static CrawlBudget budget(MeterRegistry registry) {
+        return new CrawlBudget(Clock.systemDefaultZone(), "0/0/0", "", 0, registry);
+    }
+
+    @Test
+    void pollingPolicies() throws Exception {
+        Path chromeDriver = Path.of(System.getProperty("crawler.perf.chromedriver", "/usr/bin/chromedriver"));
+        assumeTrue(Files.isExecutable(chromeDriver), "chromedriver não encontrado em " + chromeDriver);
+        long windowMinutes = Long.getLong("crawler.perf.windowMinutes", 180);
+        double timeScale = Double.parseDouble(System.getProperty("crawler.perf.timeScale", "30"));
+        long latencyMs = Long.getLong("crawler.perf.latencyMs", 300);
+        int poolSize = Integer.getInteger("crawler.perf.poolSize", 2);
+        double challengeProbability = Double.parseDouble(System.getProperty("crawler.perf.challengeProbability", "0"));
+
+        quietLogs();
+        StringBuilder report = new StringBuilder(String.format("""
+                Desempenho do crawler contra fixtures locais
+                  janela por política:  %d min simulados (escala %.0fx), latência do servidor %d ms
+                  navegadores no pool:  %d
+                  páginas de desafio:   %.0f%%
+                """, windowMinutes, timeScale, latencyMs, poolSize, challengeProbability * 100));
+
+        for (NamedPolicy policy : POLICIES) {
+            try (HltvFixtureServer server = new HltvFixtureServer().withLatency(latencyMs, latencyMs / 2)
+                    .withChallengeProbability(challengeProbability)) {
+                report.append(run(policy, server, chromeDriver, poolSize, windowMinutes, timeScale));
+            }
+        }
+        System.out.println(report);
+        writeReport("crawler-perf-report.txt", report.toString());
+    }
+
+    /**
+     * Reprocessa, sem navegador e sem pausas, as páginas gravadas em {@code crawler.perf.replayDir} (por
+     * exemplo, o {@code crawler_record_dir} da produção) e relata a vazão e o tempo de parsing e de cada
+     * extrator. Sem o diretório o teste é ignorado.
+     */
+    @Test
+    void replayRecordedPages() throws Exception {
+        String replayDir = System.getProperty("crawler.perf.replayDir", "");
+        assumeTrue(!replayDir.isBlank() && Files.isDirectory(Path.of(replayDir)), "crawler.perf.replayDir não informado");
+        quietLogs();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TrackedTeams teams = new TrackedTeams(System.getProperty("crawler.perf.teamCode", "8297"), "FURIA", "", "");
+        CrawlerLeadership leadership = new CrawlerLeadership("", 30, "replay", registry);
+        ChromeLifecycleManager chrome = new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 1, 0, 0, 30, 0, registry);
+        HltvCircuitBreaker breaker = new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, registry);
+        CrawlBudget budget = budget(registry);
+        HltvCrawlerService crawler = new HltvCrawlerService(teams, "https://www.hltv.org", 60, 90, 6, registry,
+                new SnapshotFreshness(Clock.systemDefaultZone(), 180, 60, 60, 10, true, teams, registry), new SnapshotChangeDetector(event -> { }, registry),
+                chrome, breaker, leadership, new SharedSnapshotStore(leadership, teams), new ResultsArchive("", registry),
+                new PageRecorder("", 0, 0, registry), policy(3, 10, 60), budget,
+                new LiveTabObserver(chrome, breaker, budget, false, 30, 60, registry), (name, priority, period, work) -> { });
+
+        AtomicLong replayed = new AtomicLong();
+        AtomicLong recordedParseNanos = new AtomicLong();
+        long start = System.nanoTime();
+        long pages = PageRecorder.read(Path.of(replayDir), page -> {
+            recordedParseNanos.addAndGet(page.parseNanos());
+            if (crawler.replay(page)) {
+                replayed.incrementAndGet();
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertTrue(pages > 0, "Nenhuma página gravada em " + replayDir);
+
+        Timer parse = registry.get("crawler.jsoup.parse").timer();
+        StringBuilder report = new StringBuilder(String.format("""
+                Reprodução de páginas gravadas de %s
+                  páginas:    %d lidas, %d reprocessadas em %.1f s (%.0f páginas/s)
+                  parsing:    média %.2f ms (na gravação %.2f ms)
+                """, replayDir, pages, replayed.get(), seconds, pages / seconds,
+                parse.mean(TimeUnit.MILLISECONDS), recordedParseNanos.get() / 1e6 / pages));
+        for (Timer extractor : registry.find("crawler.extractor").timers()) {
+            report.append(String.format("  extrator %-8s média %.2f ms, máx %.2f ms em %d páginas%n",
+                    extractor.getId().getTag("extractor"), extractor.mean(TimeUnit.MILLISECONDS),
+                    extractor.max(TimeUnit.MILLISECONDS), extractor.count()));
+        }
+        System.out.println(report);
+        writeReport("crawler-replay-report.txt", report.toString());
+    }
+
+    private static String run(NamedPolicy named, HltvFixtureServer server, Path chromeDriver, int poolSize,
+                              long windowMinutes, double timeScale) throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "");
+        SnapshotFreshness freshness = new SnapshotFreshness(Clock.systemDefaultZone(), 180, 60, 60, 10, true, teams, registry);
+        CrawlerLeadership leadership = new CrawlerLeadership("", 30, "perf", registry);
+        PollingPolicy policy = named.policy();
+        ChromeLifecycleManager chrome = new ChromeLifecycleManager(Clock.systemDefaultZone(), chromeDriver.toString(), poolSize, 1536, 300, 30, 0, registry);
+        PageRecorder recorder = new PageRecorder(System.getProperty("crawler.perf.recordDir", ""), 1024, 64, registry);
+        recorder.open();
+        HltvCircuitBreaker breaker = new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, registry);
+        CrawlBudget budget = budget(registry);
+        LiveTabObserver liveTab = new LiveTabObserver(chrome, breaker, budget, named.liveTab(), 30, 60, registry);
+        long windowMillis = scaled(Duration.ofMinutes(windowMinutes), timeScale);
+        AtomicLong peakRss = new AtomicLong();
+        Timer fullCrawl = Timer.builder("perf.full_crawl").register(registry);
+        // O mesmo executor com prioridades da produção; as tarefas que o crawler registra têm o tempo comprimido
+        CrawlerTaskExecutor executor = new CrawlerTaskExecutor(new StaticApplicationContext(), 2, registry);
+        CrawlerScheduler scaledScheduler = (name, priority, period, work) -> executor.schedule(name, priority,
+                scaledDuration(period, timeScale), "full_crawl".equals(name) ? () -> fullCrawl.record(work) : work);
+        HltvCrawlerService crawler = new HltvCrawlerService(teams, server.baseUrl(), 60, 90, 6, registry, freshness,
+                new SnapshotChangeDetector(event -> { }, registry), chrome, breaker,
+                leadership, new SharedSnapshotStore(leadership, teams), new ResultsArchive("", registry), recorder, policy, budget,
+                liveTab, scaledScheduler);
+        ScheduledExecutorService liveToggle = Executors.newSingleThreadScheduledExecutor();
+        Thread sampler = Thread.ofVirtual().start(() -> sampleRss(peakRss));
+        long start = System.nanoTime();
+        try {
+            fullCrawl.record(crawler::crawlHltv);
+            crawler.init();
+            executor.start();
+            liveToggle.schedule(() -> server.setLive(true), windowMillis / 3, TimeUnit.MILLISECONDS);
+            liveToggle.schedule(() -> server.setLive(false), windowMillis * 2 / 3, TimeUnit.MILLISECONDS);
+
+            TimeUnit.MILLISECONDS.sleep(windowMillis);
+        } finally {
+            executor.shutdown();
+            liveTab.stop();
+            liveToggle.shutdownNow();
+            sampler.interrupt();
+            chrome.destroy();
+            recorder.close();
+        }
+        Timer liveLag = registry.get("crawler.tasks.lag").tag("task", "live").timer();
+        double realSeconds = (System.nanoTime() - start) / 1e9;
+        double simulatedHours = realSeconds * timeScale / 3600;
+
+        assertTrue(server.pagesServed() > 0, "O crawler não acessou o servidor de fixtures");
+        return String.format("""
+                  política %s (ao vivo %d min, possível ao vivo %d min, completo %d min)
+                    navegações/hora:    %.1f (team=%d matches=%d match=%d)
+                    crawl completo:     média %.0f ms, máx %.0f ms em %d execuções
+                    atraso do ao vivo:  média %.0f ms, máx %.0f ms
+                    pico de RSS Chrome: %d MB (%d reinícios por limite)
+                    desafios:           %d servidos, %d navegações evitadas pelo circuito
+                    aba ao vivo:        %d placares recebidos, %d confirmações sem mudança, %d sessões
+                """,
+                named.name(), policy.interval(PollingPolicy.Check.LIVE).toMinutes(),
+                policy.interval(PollingPolicy.Check.PRE_MATCH).toMinutes(), policy.interval(PollingPolicy.Check.FULL_CRAWL).toMinutes(),
+                server.pagesServed() / simulatedHours,
+                server.pagesServed("team"), server.pagesServed("matches"), server.pagesServed("match"),
+                fullCrawl.mean(TimeUnit.MILLISECONDS), fullCrawl.max(TimeUnit.MILLISECONDS), fullCrawl.count(),
+                liveLag.mean(TimeUnit.MILLISECONDS), liveLag.max(TimeUnit.MILLISECONDS),
+                peakRss.get() / (1024 * 1024),
+                (long) (registry.counter("crawler.webdriver.restarts", "reason", "rss").count()
+                        + registry.counter("crawler.webdriver.restarts", "reason", "navigations").count()),
+                server.challengesServed(),
+                (long) registry.find("crawler.breaker.rejected").counters().stream().mapToDouble(c -> c.count()).sum(),
+                (long) registry.counter("crawler.live_tab.updates", "result", "changed").count(),
+                (long) registry.counter("crawler.live_tab.updates", "result", "unchanged").count(),
+                (long) registry.find("crawler.live_tab.sessions").counters().stream().mapToDouble(c -> c.count()).sum());
+    }
+
+    private static long scaled(Duration duration, double timeScale) {
+        return Math.max(1, (long) (duration.toMillis() / timeScale));
+    }
+
+    private static Duration scaledDuration(Duration duration, double timeScale) {
+        return Duration.ofMillis(scaled(duration, timeScale));
+    }
+
+    private static void sampleRss(AtomicLong peak) {
+        while (!Thread.currentThread().isInterrupted()) {
+            peak.accumulateAndGet(ProcessTreeSampler.descendantsRssBytes(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(500);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void quietLogs() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.furia")).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("org.openqa")).setLevel(Level.WARN);
+    }
+
+    private static void writeReport(String fileName, String report) throws IOException {
+        Path target = Path.of("target", fileName);
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, report);
+    }
+}
@@ -0,0 +1,75 @@
+package com.furia.crawler;
+
+import com.furia.crawler.PageRecorder.RecordedPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HltvCrawlerServiceTest {
+
+    private static final String BASE = "https://www.hltv.org";
+    private static final String TEAM_PAGE = BASE + "/team/8297/furia";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "");
+
+    @Test
+    void extractorsAreTimedAndUnchangedFragmentsAreSkipped() throws Exception {
+        HltvCrawlerService crawler = crawler();
+        String html = teamPage();
+
+        assertTrue(crawler.replay(page(TEAM_PAGE + "#tab-infoBox", html)));
+        assertTrue(crawler.replay(page(TEAM_PAGE + "#tab-matchesBox", html)));
+        assertTrue(crawler.replay(page(TEAM_PAGE + "#tab-matchesBox", html)));
+
+        TrackedTeam furia = teams.primary();
+        assertEquals(BASE + "/matches/2385000/furia-vs-navi-blast-open-fall-2025", crawler.getUpcomingMatches(furia).get(0).getMatchLink());
+        assertEquals(BASE + "/matches/2384800/furia-vs-g2-blast-open-fall-2025", crawler.getLastResults(furia).get(0).getMatchLink());
+
+        // Uma análise por página reproduzida e um tempo por extrator, inclusive quando o fragmento é pulado
+        assertEquals(3, registry.get("crawler.jsoup.parse").timer().count());
+        assertEquals(1, registry.get("crawler.extractor").tag("extractor", "lineup").timer().count());
+        assertEquals(2, registry.get("crawler.extractor").tag("extractor", "upcoming").timer().count());
+        assertEquals(2, registry.get("crawler.extractor").tag("extractor", "results").timer().count());
+        assertEquals(1, registry.get("crawler.change.sections")
+                .tags("team", "furia", "section", "results", "result", "skipped").counter().count());
+    }
+
+    private HltvCrawlerService crawler() {
+        ChromeLifecycleManager chrome = new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 1, 0, 0, 30, 0, registry);
+        HltvCircuitBreaker breaker = new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, registry);
+        CrawlBudget budget = new CrawlBudget(Clock.systemDefaultZone(), "0/0/0", "", 0, registry);
+        CrawlerLeadership leadership = new CrawlerLeadership("", 30, "service", registry);
+        return new HltvCrawlerService(teams, BASE, 60, 90, 6, registry,
+                new SnapshotFreshness(Clock.systemDefaultZone(), 180, 60, 60, 10, true, teams, registry),
+                new SnapshotChangeDetector(event -> { }, registry), chrome, breaker,
+                leadership, new SharedSnapshotStore(leadership, teams), new ResultsArchive("", registry),
+                new PageRecorder("", 0, 0, registry), new PollingPolicy(Clock.systemDefaultZone(), Duration.ofMinutes(3),
+                        Duration.ofMinutes(10), Duration.ofHours(1), Duration.ZERO),
+                budget, new LiveTabObserver(chrome, breaker, budget, false, 30, 60, registry), (name, priority, period, work) -> { });
+    }
+
+    // A página do time com as datas preenchidas pelo servidor de fixtures
+    private static String teamPage() throws Exception {
+        try (HltvFixtureServer server = new HltvFixtureServer(); HttpClient client = HttpClient.newHttpClient()) {
+            return client.send(HttpRequest.newBuilder(URI.create(server.baseUrl() + "/team/8297/furia")).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+        }
+    }
+
+    private static RecordedPage page(String url, String html) {
+        return new RecordedPage(url, Instant.now(), 0, 0, 0, html);
+    }
+}
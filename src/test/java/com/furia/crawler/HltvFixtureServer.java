@@ -0,0 +1,213 @@
+package com.furia.crawler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que imita as páginas do HLTV usadas pelo crawler (time, /matches e página da
+ * partida), a partir dos templates em {@code fixtures/hltv/}. As datas são relativas ao dia atual, o
+ * placar ao vivo avança com o tempo e é possível injetar lentidão e páginas de desafio anti-bot. Uma
+ * {@code /matches} aberta no navegador consulta {@code /livescore} a cada segundo e troca as partidas ao
+ * vivo na própria página, como o HLTV; essas consultas não contam como páginas servidas.
+ * Conta as páginas servidas por classe ({@link HltvCrawlerService#pageClass}).
+ */
+public class HltvFixtureServer implements AutoCloseable {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yy");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, AtomicLong> pagesByClass = new ConcurrentHashMap<>();
+    private final AtomicLong challengesServed = new AtomicLong();
+    private final String teamTemplate = template("team.html");
+    private final String matchesTemplate = template("matches.html");
+    private final String liveMatchTemplate = template("live-match.html");
+    private final String matchTemplate = template("match.html");
+    private final String challengePage = template("challenge.html");
+
+    private volatile boolean live;
+    private volatile long liveSince;
+    private volatile long roundMillis = 5000;
+    private volatile long latencyMillis;
+    private volatile long jitterMillis;
+    private volatile double challengeProbability;
+
+    public HltvFixtureServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** URL para {@code crawler_hltv_base_url}. */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public HltvFixtureServer withLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        return this;
+    }
+
+    /** Probabilidade de responder com a página "Just a moment..." (HTTP 403) em vez do conteúdo. */
+    public HltvFixtureServer withChallengeProbability(double probability) {
+        this.challengeProbability = probability;
+        return this;
+    }
+
+    /** Intervalo entre rounds do placar ao vivo. */
+    public HltvFixtureServer withRoundDuration(long roundMillis) {
+        this.roundMillis = roundMillis;
+        return this;
+    }
+
+    /** Liga ou desliga a partida ao vivo do FURIA em /matches; o placar recomeça do zero ao ligar. */
+    public void setLive(boolean live) {
+        if (live && !this.live) {
+            liveSince = System.currentTimeMillis();
+        }
+        this.live = live;
+    }
+
+    public long pagesServed(String pageClass) {
+        AtomicLong counter = pagesByClass.get(pageClass);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public long pagesServed() {
+        return pagesByClass.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    public long challengesServed() {
+        return challengesServed.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String page;
+            if (path.equals("/livescore")) {
+                // Atualização dentro da página aberta, como o livescore do HLTV: não é navegação
+                respond(exchange, 200, renderLiveMatches());
+                return;
+            }
+            if (path.startsWith("/team/")) {
+                page = renderTeam();
+            } else if (path.equals("/matches")) {
+                page = renderMatches();
+            } else if (path.startsWith("/matches/")) {
+                page = matchTemplate;
+            } else {
+                respond(exchange, 404, "<html><body>Not found</body></html>");
+                return;
+            }
+            pagesByClass.computeIfAbsent(HltvCrawlerService.pageClass(path), c -> new AtomicLong()).incrementAndGet();
+
+            long latency = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0);
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            if (challengeProbability > 0 && ThreadLocalRandom.current().nextDouble() < challengeProbability) {
+                challengesServed.incrementAndGet();
+                respond(exchange, 403, challengePage);
+                return;
+            }
+            respond(exchange, 200, page);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String renderTeam() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now(zone);
+        // Meio-dia: continua sendo "Hoje" para o crawler durante o dia inteiro
+        LocalDateTime todayMatch = today.atTime(12, 0);
+        LocalDateTime tomorrowMatch = today.plusDays(1).atTime(15, 0);
+        LocalDateTime lastWeek = today.minusDays(7).atTime(14, 0);
+        LocalDateTime lastMonth = today.minusDays(30).atTime(14, 0);
+
+        Map<String, String> values = new HashMap<>();
+        values.put("todayUnix", Long.toString(todayMatch.atZone(zone).toInstant().toEpochMilli()));
+        values.put("todayTime", todayMatch.format(TIME));
+        values.put("tomorrowUnix", Long.toString(tomorrowMatch.atZone(zone).toInstant().toEpochMilli()));
+        values.put("tomorrowDate", tomorrowMatch.format(DATE));
+        values.put("lastWeekUnix", Long.toString(lastWeek.atZone(zone).toInstant().toEpochMilli()));
+        values.put("lastWeekDate", lastWeek.format(DATE));
+        values.put("lastMonthUnix", Long.toString(lastMonth.atZone(zone).toInstant().toEpochMilli()));
+        values.put("lastMonthDate", lastMonth.format(DATE));
+        return fill(teamTemplate, values);
+    }
+
+    private String renderMatches() {
+        return fill(matchesTemplate, Map.of("liveMatches", renderLiveMatches()));
+    }
+
+    private String renderLiveMatches() {
+        String liveMatches = "";
+        if (live) {
+            long rounds = (System.currentTimeMillis() - liveSince) / roundMillis;
+            Map<String, String> values = new HashMap<>();
+            values.put("furiaRounds", Long.toString((rounds + 1) / 2 % 13));
+            values.put("opponentRounds", Long.toString(rounds / 2 % 13));
+            values.put("furiaMaps", Long.toString(rounds / 25 % 2));
+            values.put("opponentMaps", "0");
+            liveMatches = fill(liveMatchTemplate, values);
+        }
+        return liveMatches;
+    }
+
+    private static String fill(String template, Map<String, String> values) {
+        String result = template;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.replace("${" + entry.getKey() + "}", entry.getValue());
+        }
+        return result;
+    }
+
+    private static String template(String name) {
+        try (InputStream in = HltvFixtureServer.class.getResourceAsStream("/fixtures/hltv/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture não encontrada: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String html) throws IOException {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,119 @@
+package com.furia.crawler;
+
+import com.furia.crawler.PageRecorder.RecordedPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveTabObserverTest {
+
+    private static final String BASE = "https://www.hltv.org";
+    private static final String LIVE_MATCH = "/matches/2385000/furia-vs-navi-blast-open-fall-2025";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "");
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    void observedScoresUpdateTheLiveMatchWithoutNavigating() throws IOException {
+        ChromeLifecycleManager chrome = new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 2, 0, 0, 30, 0, registry);
+        HltvCircuitBreaker breaker = new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, registry);
+        // Orçamento de /matches e das páginas de partida já gasto: uma navegação seria adiada e contada
+        CrawlBudget budget = new CrawlBudget(Clock.systemDefaultZone(), "0/0/0", "matches=1/0/0,match=1/0/0", 0, registry);
+        budget.tryAcquire(BASE + "/matches", CrawlerTaskExecutor.Priority.LIVE);
+        budget.tryAcquire(BASE + LIVE_MATCH, CrawlerTaskExecutor.Priority.LIVE);
+        CrawlerLeadership leadership = new CrawlerLeadership("", 30, "live-tab", registry);
+        HltvCrawlerService crawler = new HltvCrawlerService(teams, BASE, 60, 90, 6, registry,
+                new SnapshotFreshness(Clock.systemDefaultZone(), 180, 60, 60, 10, true, teams, registry),
+                new SnapshotChangeDetector(events::add, registry), chrome, breaker,
+                leadership, new SharedSnapshotStore(leadership, teams), new ResultsArchive("", registry),
+                new PageRecorder("", 0, 0, registry), new PollingPolicy(Clock.systemDefaultZone(), Duration.ofMinutes(3),
+                        Duration.ofMinutes(10), Duration.ofHours(1), Duration.ZERO),
+                budget, new LiveTabObserver(chrome, breaker, budget, false, 30, 60, registry), (name, priority, period, work) -> { });
+
+        // Última carga de /matches e da página da partida, como antes de a aba abrir
+        assertTrue(crawler.replay(page("/matches", fixture("matches.html")
+                .replace("${liveMatches}", liveMatch("0", "0", "0", "0")))));
+        assertTrue(crawler.replay(page(LIVE_MATCH, fixture("match.html"))));
+        TrackedTeam furia = teams.primary();
+        assertEquals("0-0", crawler.getLiveMatch(furia).getCurrentMapScore());
+
+        long observedAt = System.currentTimeMillis();
+        crawler.liveTabChanged(wrapper(liveMatch("7", "4", "1", "0")), observedAt);
+        HltvCrawlerService.LiveMatch live = crawler.getLiveMatch(furia);
+        assertEquals("7-4", live.getCurrentMapScore());
+        assertEquals("1-0", live.getMapsWon());
+        // Formato, vetos e streams vêm da página da partida já lida
+        assertEquals("bo3", live.getFormat());
+        assertEquals(7, live.getVetoDetails().size());
+        assertEquals(3, live.getStreamLinks().size());
+
+        // A mesma atualização de novo (mutação fora do placar) não gera evento
+        crawler.liveTabChanged(wrapper(liveMatch("7", "4", "1", "0")), observedAt);
+        crawler.liveTabChanged(wrapper(""), observedAt);
+        assertNull(crawler.getLiveMatch(furia));
+
+        assertEquals(List.of(SnapshotChange.ScoreChanged.class, SnapshotChange.LiveEnded.class),
+                events.stream().map(Object::getClass).toList());
+        assertEquals(0, registry.find("crawler.budget.deferred").counters().stream().mapToDouble(c -> c.count()).sum());
+    }
+
+    @Test
+    void needsASecondBrowserInThePool() {
+        HltvCircuitBreaker breaker = new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, registry);
+        CrawlBudget budget = new CrawlBudget(Clock.systemDefaultZone(), "0/0/0", "", 0, registry);
+        LiveTabObserver single = new LiveTabObserver(new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 1, 0, 0, 30, 0, registry),
+                breaker, budget, true, 30, 60, registry);
+        assertFalse(single.isEnabled());
+        assertFalse(single.start(BASE + "/matches", ".live-matches-wrapper", "div.live-match-container",
+                "span.current-map-score", new LiveTabObserver.Listener() {
+                    @Override
+                    public void changed(String html, long observedAt) {
+                    }
+
+                    @Override
+                    public void unchanged(long observedAt) {
+                    }
+                }));
+        assertFalse(single.isObserving());
+        assertTrue(new LiveTabObserver(new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 2, 0, 0, 30, 0, registry),
+                breaker, budget, true, 30, 60, registry).isEnabled());
+    }
+
+    private static RecordedPage page(String path, String html) {
+        return new RecordedPage(BASE + path, Instant.now(), 0, 0, 0, html);
+    }
+
+    private static String wrapper(String liveMatches) {
+        return "<div class=\"live-matches-wrapper\">" + liveMatches + "</div>";
+    }
+
+    private static String liveMatch(String furiaRounds, String opponentRounds, String furiaMaps, String opponentMaps)
+            throws IOException {
+        return fixture("live-match.html")
+                .replace("${furiaRounds}", furiaRounds)
+                .replace("${opponentRounds}", opponentRounds)
+                .replace("${furiaMaps}", furiaMaps)
+                .replace("${opponentMaps}", opponentMaps);
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = LiveTabObserverTest.class.getResourceAsStream("/fixtures/hltv/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
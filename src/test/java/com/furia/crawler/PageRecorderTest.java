@@ -0,0 +1,145 @@
+package com.furia.crawler;
+
+import com.furia.crawler.PageRecorder.RecordedPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageRecorderTest {
+
+    private static final String LIVE_MATCH = "/matches/2385000/furia-vs-navi-blast-open-fall-2025";
+
+    @TempDir
+    Path dir;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "");
+
+    private HltvCrawlerService crawler(String baseUrl) {
+        CrawlerLeadership leadership = new CrawlerLeadership("", 30, "replay", registry);
+        ChromeLifecycleManager chrome = new ChromeLifecycleManager(Clock.systemDefaultZone(), "", 1, 0, 0, 30, 0, registry);
+        HltvCircuitBreaker breaker = new HltvCircuitBreaker(Clock.systemDefaultZone(), 3, 60, 1800, registry);
+        CrawlBudget budget = new CrawlBudget(Clock.systemDefaultZone(), CrawlBudget.DEFAULT_HOST, CrawlBudget.DEFAULT_PAGES, 25, registry);
+        return new HltvCrawlerService(teams, baseUrl, 60, 90, 6, registry,
+                new SnapshotFreshness(Clock.systemDefaultZone(), 180, 60, 60, 10, true, teams, registry),
+                new SnapshotChangeDetector(event -> { }, registry), chrome, breaker,
+                leadership, new SharedSnapshotStore(leadership, teams), new ResultsArchive("", registry),
+                new PageRecorder("", 0, 0, registry), new PollingPolicy(Clock.systemDefaultZone(), Duration.ofMinutes(3),
+                        Duration.ofMinutes(10), Duration.ofHours(1), Duration.ZERO),
+                budget, new LiveTabObserver(chrome, breaker, budget, false, 30, 60, registry), (name, priority, period, work) -> { });
+    }
+
+    @Test
+    void replaysRecordedPagesThroughTheExtractors() throws Exception {
+        List<String> paths = List.of("/team/8297/furia#tab-infoBox", "/team/8297/furia#tab-matchesBox",
+                "/matches", LIVE_MATCH, "/team/4608/natus-vincere#tab-infoBox");
+        PageRecorder recorder = new PageRecorder(dir.toString(), 16, 4, registry);
+        recorder.open();
+        try (HltvFixtureServer server = new HltvFixtureServer()) {
+            server.setLive(true);
+            HttpClient client = HttpClient.newHttpClient();
+            for (String path : paths) {
+                String html = client.send(HttpRequest.newBuilder(URI.create(server.baseUrl() + path)).build(),
+                        HttpResponse.BodyHandlers.ofString()).body();
+                recorder.record(server.baseUrl() + path, html, 1_000_000, 2_000_000, 3_000_000);
+            }
+        } finally {
+            recorder.close();
+        }
+
+        List<RecordedPage> pages = new ArrayList<>();
+        assertEquals(paths.size(), PageRecorder.read(dir, pages::add));
+        assertTrue(pages.get(0).url().endsWith(paths.get(0)));
+        assertEquals(2_000_000, pages.get(0).waitNanos());
+        assertTrue(pages.get(2).html().contains("live-match-container"));
+
+        // Outro endereço base: a reprodução não depende do host gravado
+        HltvCrawlerService crawler = crawler("https://www.hltv.org");
+        List<Boolean> replayed = pages.stream().map(crawler::replay).toList();
+        assertEquals(List.of(true, true, true, true, false), replayed);
+
+        TrackedTeam furia = teams.primary();
+        assertFalse(crawler.getTeamLineup(furia).isEmpty());
+        assertFalse(crawler.getUpcomingMatches(furia).isEmpty());
+        assertFalse(crawler.getLastResults(furia).isEmpty());
+        HltvCrawlerService.LiveMatch live = crawler.getLiveMatch(furia);
+        assertNotNull(live);
+        assertTrue(live.getMatchLink().endsWith(LIVE_MATCH));
+        assertFalse(live.getVetoDetails().isEmpty());
+    }
+
+    @Test
+    void dropsOldestSegmentsAndIgnoresTornTail() throws Exception {
+        // Texto aleatório comprime pouco: cada página ocupa ~300 KB no disco
+        PageRecorder recorder = new PageRecorder(dir.toString(), 1, 1, registry);
+        recorder.open();
+        for (int page = 0; page < 12; page++) {
+            recorder.record("https://www.hltv.org/matches?page=" + page, randomHtml(400_000), 0, 0, 0);
+        }
+        recorder.close();
+        assertTrue(recorder.size() <= 1024 * 1024 + 400_000, "Gravação com " + recorder.size() + " bytes");
+        assertEquals(12, registry.counter("crawler.recorder.pages").count());
+
+        List<RecordedPage> kept = new ArrayList<>();
+        long read = PageRecorder.read(dir, kept::add);
+        assertTrue(read > 0 && read < 12, "Páginas mantidas: " + read);
+        assertTrue(kept.get(kept.size() - 1).url().endsWith("page=11"));
+
+        // Queda no meio da escrita: o membro gzip incompleto no fim é ignorado
+        Path last;
+        try (Stream<Path> segments = Files.list(dir)) {
+            last = segments.filter(Files::isRegularFile).sorted().reduce((first, second) -> second).orElseThrow();
+        }
+        Path single = Files.createDirectory(dir.resolve("single"));
+        PageRecorder other = new PageRecorder(single.toString(), 1, 1, registry);
+        other.open();
+        other.record("https://www.hltv.org/matches?page=torn", randomHtml(100_000), 0, 0, 0);
+        other.close();
+        byte[] member;
+        try (Stream<Path> segments = Files.list(single)) {
+            member = Files.readAllBytes(segments.findFirst().orElseThrow());
+        }
+        Files.write(last, Arrays.copyOf(member, member.length / 2), StandardOpenOption.APPEND);
+        assertEquals(read, PageRecorder.read(dir, page -> { }));
+
+        // Um novo início grava num segmento novo, depois do incompleto
+        PageRecorder reopened = new PageRecorder(dir.toString(), 1, 1, registry);
+        reopened.open();
+        reopened.record("https://www.hltv.org/matches?page=12", "<html></html>", 0, 0, 0);
+        reopened.close();
+        List<RecordedPage> afterRestart = new ArrayList<>();
+        PageRecorder.read(dir, afterRestart::add);
+        assertTrue(afterRestart.get(afterRestart.size() - 1).url().endsWith("page=12"));
+    }
+
+    private static String randomHtml(int length) {
+        String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789<>/";
+        StringBuilder html = new StringBuilder(length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < length; i++) {
+            html.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return html.toString();
+    }
+}
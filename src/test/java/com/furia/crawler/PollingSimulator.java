@@ -0,0 +1,312 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Simula uma temporada de jogos em tempo virtual rodando o {@link HltvCrawlerService} de verdade: as
+ * tarefas que ele registra no {@link CrawlerScheduler} vão para um {@link VirtualTimeScheduler}, e o
+ * relógio virtual é o da {@link PollingPolicy}, do cache, do disjuntor, do orçamento e do
+ * {@link ChromeLifecycleManager} (com o {@code chrome_sample} a cada minuto, que fecha o Chrome ocioso).
+ * Só o HLTV e o navegador são um modelo: um WebDriver sem Chrome serve a página do time com os jogos
+ * anunciados (10 dias antes) que ainda não terminaram, {@code /matches} com os que estão em andamento e a
+ * página de cada partida. Cada {@code get} conta uma navegação; a detecção é o
+ * {@link SnapshotChange.LiveStarted} publicado pelo crawler.
+ */
+public class PollingSimulator {
+
+    private static final String BASE = "https://www.hltv.org";
+    private static final String TEAM_CODE = "8297";
+    private static final Duration ANNOUNCED_AHEAD = Duration.ofDays(10);
+    private static final String[] LINEUP = {"FalleN", "KSCERATO", "yuurih", "molodoy", "YEKINDAR"};
+
+    /** Intervalos em minutos; {@code chromeIdleStopMinutes} 0 mantém o Chrome aberto. */
+    public record Scenario(String name, long liveMinutes, long preMatchMinutes, long fullCrawlMinutes,
+                           long preMatchLeadMinutes, long chromeIdleStopMinutes) {
+    }
+
+    /** Jogo da temporada: horário marcado, início real (com atraso) e fim. */
+    public record SeasonMatch(String opponent, Instant scheduled, Instant start, Instant end) {
+    }
+
+    public record Report(Scenario scenario, int days, long pageLoads, long matchesPageLoads, int detected, int missed,
+                         Duration meanDetection, Duration p90Detection, Duration maxDetection,
+                         double chromeUptime, long chromeStarts) {
+
+        public String format() {
+            return String.format("""
+                      política %s (ao vivo %d min, pré-jogo %d min, completo %d min, antecedência %s, Chrome ocioso %s)
+                        navegações:         %d (%.1f/dia, %d em /matches)
+                        partidas:           %d detectadas, %d perdidas
+                        atraso da detecção: média %.1f min, p90 %.1f min, máx %.1f min
+                        Chrome aberto:      %.1f%% do tempo, %d inícios
+                    """,
+                    scenario.name(), scenario.liveMinutes(), scenario.preMatchMinutes(), scenario.fullCrawlMinutes(),
+                    scenario.preMatchLeadMinutes() == 0 ? "o dia todo" : scenario.preMatchLeadMinutes() + " min",
+                    scenario.chromeIdleStopMinutes() == 0 ? "nunca fecha" : scenario.chromeIdleStopMinutes() + " min",
+                    pageLoads, (double) pageLoads / days, matchesPageLoads, detected, missed,
+                    minutes(meanDetection), minutes(p90Detection), minutes(maxDetection),
+                    chromeUptime * 100, chromeStarts);
+        }
+
+        private static double minutes(Duration duration) {
+            return duration.toMillis() / 60000.0;
+        }
+    }
+
+    /**
+     * Temporada sintética: em ~30% dos dias um jogo entre 9h e 21h (às vezes 23h), em ~8% dois no
+     * mesmo dia. Os jogos atrasam de 0 a 2h e duram de 1h (MD1) a 5h (MD5).
+     */
+    public static List<SeasonMatch> season(long seed, LocalDate from, int days, ZoneId zone) {
+        Random random = new Random(seed);
+        String[] opponents = {"NAVI", "Vitality", "G2", "Spirit", "MOUZ", "FaZe", "MIBR", "paiN", "Liquid", "Astralis"};
+        List<SeasonMatch> matches = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            double roll = random.nextDouble();
+            int count = roll < 0.08 ? 2 : roll < 0.38 ? 1 : 0;
+            LocalDateTime next = from.plusDays(day).atTime(random.nextDouble() < 0.05 ? 23 : 9 + random.nextInt(13),
+                    random.nextBoolean() ? 0 : 30);
+            for (int i = 0; i < count; i++) {
+                Instant scheduled = next.atZone(zone).toInstant();
+                double delayRoll = random.nextDouble();
+                long delayMinutes = delayRoll < 0.6 ? random.nextInt(10) : delayRoll < 0.9 ? 10 + random.nextInt(30) : 40 + random.nextInt(80);
+                Instant start = scheduled.plus(Duration.ofMinutes(delayMinutes));
+                double formatRoll = random.nextDouble();
+                long lengthMinutes = formatRoll < 0.4 ? 60 + random.nextInt(30) : formatRoll < 0.95 ? 120 + random.nextInt(90) : 210 + random.nextInt(90);
+                matches.add(new SeasonMatch(opponents[random.nextInt(opponents.length)], scheduled, start,
+                        start.plus(Duration.ofMinutes(lengthMinutes))));
+                next = next.plusHours(4);
+            }
+        }
+        return matches;
+    }
+
+    private final Scenario scenario;
+    private final List<SeasonMatch> season;
+    private final VirtualTimeScheduler scheduler;
+    private final ChromeLifecycleManager chrome;
+    private final HltvCrawlerService crawler;
+
+    private final Map<String, SeasonMatch> byLink = new HashMap<>();
+    private final Map<SeasonMatch, Instant> detectedAt = new HashMap<>();
+    private long pageLoads;
+    private long matchesPageLoads;
+    private Instant chromeStartedAt;              // null com o Chrome fechado
+    private Duration chromeUptime = Duration.ZERO;
+    private long chromeStarts;
+
+    public PollingSimulator(Scenario scenario, List<SeasonMatch> season, Instant start, ZoneId zone) {
+        this.scenario = scenario;
+        this.season = season;
+        this.scheduler = new VirtualTimeScheduler(start, zone);
+        for (int i = 0; i < season.size(); i++) {
+            byLink.put(BASE + matchPath(i), season.get(i));
+        }
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TrackedTeams teams = new TrackedTeams(TEAM_CODE, "FURIA", "", "");
+        PollingPolicy policy = new PollingPolicy(scheduler.clock(), Duration.ofMinutes(scenario.liveMinutes()),
+                Duration.ofMinutes(scenario.preMatchMinutes()), Duration.ofMinutes(scenario.fullCrawlMinutes()),
+                Duration.ofMinutes(scenario.preMatchLeadMinutes()));
+        this.chrome = new ChromeLifecycleManager(scheduler.clock(), "", 1, 0, 0, 30, scenario.chromeIdleStopMinutes(),
+                registry, this::newDriver, NO_PROCESSES);
+        HltvCircuitBreaker breaker = new HltvCircuitBreaker(scheduler.clock(), 3, 60, 1800, registry);
+        CrawlBudget budget = new CrawlBudget(scheduler.clock(), "0/0/0", "", 0, registry);
+        CrawlerLeadership leadership = new CrawlerLeadership("", 30, "simulator", registry);
+        this.crawler = new HltvCrawlerService(teams, BASE, 60, 90, 6, registry,
+                new SnapshotFreshness(scheduler.clock(), 180, 60, 60, 10, true, teams, registry),
+                new SnapshotChangeDetector(this::changed, registry), chrome, breaker, leadership,
+                new SharedSnapshotStore(leadership, teams), new ResultsArchive("", registry),
+                new PageRecorder("", 0, 0, registry), policy, budget,
+                new LiveTabObserver(chrome, breaker, budget, false, 30, 60, registry), scheduler);
+    }
+
+    public Report run(int days) {
+        Instant start = scheduler.now();
+        // As tarefas que o crawler registra, e a amostra do Chrome com a prioridade do @CrawlerTask
+        crawler.init();
+        scheduler.schedule("chrome_sample", CrawlerTaskExecutor.Priority.MAINTENANCE, Duration.ofMinutes(1), chrome::sample);
+
+        Instant end = start.plus(Duration.ofDays(days));
+        scheduler.runUntil(end);
+        if (chromeStartedAt != null) {
+            chromeUptime = chromeUptime.plus(Duration.between(chromeStartedAt, end));
+        }
+
+        List<Duration> delays = new ArrayList<>();
+        int missed = 0;
+        for (SeasonMatch match : season) {
+            if (match.start().isBefore(start) || !match.end().isBefore(end)) {
+                continue;
+            }
+            Instant detected = detectedAt.get(match);
+            if (detected == null) {
+                missed++;
+            } else {
+                delays.add(Duration.between(match.start(), detected));
+            }
+        }
+        delays.sort(null);
+        Duration mean = delays.isEmpty() ? Duration.ZERO
+                : delays.stream().reduce(Duration.ZERO, Duration::plus).dividedBy(delays.size());
+        Duration p90 = delays.isEmpty() ? Duration.ZERO : delays.get(Math.min(delays.size() - 1, (int) Math.ceil(delays.size() * 0.9) - 1));
+        Duration max = delays.isEmpty() ? Duration.ZERO : delays.get(delays.size() - 1);
+        return new Report(scenario, days, pageLoads, matchesPageLoads, delays.size(), missed, mean, p90, max,
+                (double) chromeUptime.toMillis() / Duration.between(start, end).toMillis(), chromeStarts);
+    }
+
+    private void changed(Object event) {
+        if (event instanceof SnapshotChange.LiveStarted started) {
+            SeasonMatch match = byLink.get(started.match().getMatchLink());
+            if (match != null) {
+                detectedAt.putIfAbsent(match, scheduler.now());
+            }
+        }
+    }
+
+    // Sem Chrome não há processos filhos: nem RSS para medir nem órfãos para encerrar
+    private static final ChromeLifecycleManager.ProcessTree NO_PROCESSES = new ChromeLifecycleManager.ProcessTree() {
+        @Override
+        public long rssBytes() {
+            return 0;
+        }
+
+        @Override
+        public List<ProcessHandle> children() {
+            return List.of();
+        }
+    };
+
+    // Um "Chrome" por início: get() navega (e conta), getPageSource() devolve a página do modelo no instante atual
+    private WebDriver newDriver() {
+        chromeStarts++;
+        chromeStartedAt = scheduler.now();
+        InvocationHandler handler = new InvocationHandler() {
+            private String path = "";
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "get" -> {
+                        path = URI.create((String) args[0]).getPath();
+                        pageLoads++;
+                        if (path.equals("/matches")) {
+                            matchesPageLoads++;
+                        }
+                        return null;
+                    }
+                    case "getPageSource" -> {
+                        return render(path, scheduler.now());
+                    }
+                    case "getTitle" -> {
+                        return "HLTV.org";
+                    }
+                    case "findElements" -> {
+                        return List.of();
+                    }
+                    case "quit" -> {
+                        chromeUptime = chromeUptime.plus(Duration.between(chromeStartedAt, scheduler.now()));
+                        chromeStartedAt = null;
+                        return null;
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "toString" -> {
+                        return "SimulatedDriver";
+                    }
+                    default -> {
+                        Class<?> type = method.getReturnType();
+                        return type.isInterface()
+                                ? Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, this) : null;
+                    }
+                }
+            }
+        };
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class}, handler);
+    }
+
+    private String render(String path, Instant now) {
+        if (path.startsWith("/team/")) {
+            return teamPage(now);
+        }
+        if (path.equals("/matches")) {
+            return matchesPage(now);
+        }
+        return """
+                <html><body><div class="standard-box veto-box"><div class="padding preformatted-text">Best of 3 (Online)</div></div></body></html>
+                """;
+    }
+
+    // Escalação e os jogos anunciados que ainda não terminaram, com o horário marcado em data-unix
+    private String teamPage(Instant now) {
+        StringBuilder html = new StringBuilder("<html><body><div class=\"bodyshot-team g-grid\">");
+        for (String player : LINEUP) {
+            html.append(String.format("""
+                    <a href="/player/%1$s" class="col-custom"><div class="overlayImageFrame"><img class="bodyshot-team-img" src="/img/%1$s.png"></div>\
+                    <div class="text-ellipsis nickname-container"><span class="text-ellipsis bold">%1$s</span></div></a>""", player));
+        }
+        html.append("""
+                </div><table class="table-container match-table"><thead><tr class="event-header-cell">\
+                <th class="text-ellipsis" colspan="4"><a href="/events/1/temporada">Temporada</a></th></tr></thead><tbody>""");
+        for (int i = 0; i < season.size(); i++) {
+            SeasonMatch match = season.get(i);
+            if (match.end().isAfter(now) && !now.isBefore(match.scheduled().minus(ANNOUNCED_AHEAD))) {
+                html.append(String.format("""
+                        <tr class="team-row"><td class="date-cell"><span data-unix="%d">-</span></td><td class="team-center-cell">\
+                        <div class="team-flex team-1"><span class="team-name team-1">FURIA</span></div>\
+                        <div class="score-cell"><span>-</span> : <span>-</span></div>\
+                        <div class="team-flex team-2"><span class="team-name team-2">%s</span></div></td>\
+                        <td class="matchpage-button-cell"><a href="%s">Match</a></td></tr>""",
+                        match.scheduled().toEpochMilli(), match.opponent(), matchPath(i)));
+            }
+        }
+        return html.append("</tbody></table></body></html>").toString();
+    }
+
+    // As partidas em andamento, como nos contêineres ao vivo do HLTV
+    private String matchesPage(Instant now) {
+        StringBuilder html = new StringBuilder("<html><body><div class=\"live-matches-wrapper\">");
+        for (int i = 0; i < season.size(); i++) {
+            SeasonMatch match = season.get(i);
+            if (!now.isBefore(match.start()) && now.isBefore(match.end())) {
+                long opponentId = 10000 + i;
+                html.append(String.format("""
+                        <div class="match-wrapper live-match-container" team1="%1$s" team2="%2$d"><a class="match-top" href="%3$s"></a>\
+                        <div class="match-event text-ellipsis">Temporada</div>\
+                        <div class="match-team"><div class="match-teamname">FURIA</div>\
+                        <span class="current-map-score" data-livescore-team="%1$s">0</span>\
+                        <span data-livescore-maps-won-for="" data-livescore-team="%1$s">0</span></div>\
+                        <div class="match-team"><div class="match-teamname">%4$s</div>\
+                        <span class="current-map-score" data-livescore-team="%2$d">0</span>\
+                        <span data-livescore-maps-won-for="" data-livescore-team="%2$d">0</span></div></div>""",
+                        TEAM_CODE, opponentId, matchPath(i), match.opponent()));
+            }
+        }
+        return html.append("</div></body></html>").toString();
+    }
+
+    private String matchPath(int index) {
+        return String.format("/matches/%d/furia-vs-%s-temporada", 2400000 + index, season.get(index).opponent().toLowerCase());
+    }
+}
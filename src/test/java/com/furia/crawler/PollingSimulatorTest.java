@@ -0,0 +1,118 @@
+package com.furia.crawler;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.furia.crawler.HltvCrawlerService.Match;
+import com.furia.crawler.PollingSimulator.Report;
+import com.furia.crawler.PollingSimulator.Scenario;
+import com.furia.crawler.PollingSimulator.SeasonMatch;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollingSimulatorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final LocalDate SEASON_START = LocalDate.of(2025, 2, 1);
+    private static final int DAYS = 120;
+
+    private static final Scenario CURRENT = new Scenario("atual", 3, 10, 60, 0, 0);
+    private static final List<Scenario> SCENARIOS = List.of(
+            CURRENT,
+            new Scenario("atual, Chrome fecha ocioso", 3, 10, 60, 0, 30),
+            new Scenario("pré-jogo 1h antes", 3, 5, 60, 60, 30),
+            new Scenario("agressiva", 1, 5, 60, 0, 0),
+            new Scenario("econômica", 5, 20, 120, 0, 30));
+
+    // Cada cenário roda o crawler de verdade por 120 dias: dezenas de milhares de linhas de INFO
+    @BeforeAll
+    static void quietCrawlerLogs() {
+        ((Logger) LoggerFactory.getLogger("com.furia")).setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void restoreCrawlerLogs() {
+        ((Logger) LoggerFactory.getLogger("com.furia")).setLevel(null);
+    }
+
+    private static Report simulate(Scenario scenario, List<SeasonMatch> season) {
+        return new PollingSimulator(scenario, season, SEASON_START.atStartOfDay(ZONE).toInstant(), ZONE).run(DAYS);
+    }
+
+    @Test
+    void seasonReportPerPolicy() throws IOException {
+        List<SeasonMatch> season = PollingSimulator.season(42, SEASON_START, DAYS, ZONE);
+        List<Report> reports = new ArrayList<>();
+        StringBuilder report = new StringBuilder(String.format("Simulação de %d dias em tempo virtual, %d partidas%n",
+                DAYS, season.size()));
+        for (Scenario scenario : SCENARIOS) {
+            Report result = simulate(scenario, season);
+            reports.add(result);
+            report.append(result.format());
+        }
+        System.out.println(report);
+        Path target = Path.of("target", "polling-simulation-report.txt");
+        Files.createDirectories(target.getParent());
+        Files.writeString(target, report.toString());
+
+        // Com jogo no dia, o pré-jogo consulta /matches a cada 10 min: nenhuma partida passa disso
+        Report current = reports.get(0);
+        assertEquals(0, current.missed());
+        assertTrue(current.maxDetection().compareTo(Duration.ofMinutes(10)) <= 0, current.format());
+        Report idleStop = reports.get(1);
+        assertEquals(current.pageLoads(), idleStop.pageLoads());
+        assertTrue(idleStop.chromeUptime() < current.chromeUptime(), idleStop.format());
+        Report lead = reports.get(2);
+        assertEquals(0, lead.missed());
+        assertTrue(lead.matchesPageLoads() < current.matchesPageLoads(), lead.format());
+        assertTrue(lead.maxDetection().compareTo(current.maxDetection()) <= 0, lead.format());
+    }
+
+    @Test
+    void simulationIsDeterministic() {
+        List<SeasonMatch> season = PollingSimulator.season(7, SEASON_START, DAYS, ZONE);
+        assertEquals(simulate(CURRENT, season), simulate(CURRENT, season));
+    }
+
+    @Test
+    void policyUsesKickoffAndTomorrowLabel() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler(
+                ZonedDateTime.of(2025, 3, 10, 0, 40, 0, 0, ZONE).toInstant(), ZONE);
+        Clock clock = scheduler.clock();
+        PollingPolicy policy = new PollingPolicy(clock, Duration.ofMinutes(3), Duration.ofMinutes(10), Duration.ofHours(1),
+                Duration.ofMinutes(60));
+
+        // Marcado para 23h50 de ontem e ainda na lista: atrasado, continua sendo verificado depois da meia-noite
+        Match lateLastNight = new Match("Hoje", "23:50", "NAVI", "Major",
+                ZonedDateTime.of(2025, 3, 9, 23, 50, 0, 0, ZONE).toInstant().toEpochMilli());
+        assertTrue(policy.shouldCheckLive(PollingPolicy.Check.PRE_MATCH, false, List.of(lateLastNight)));
+        assertFalse(policy.shouldCheckLive(PollingPolicy.Check.PRE_MATCH, true, List.of(lateLastNight)));
+
+        // Hoje às 15h, com antecedência de 1h: ainda não
+        Match afternoon = new Match("Hoje", "15:00", "G2", "Major",
+                ZonedDateTime.of(2025, 3, 10, 15, 0, 0, 0, ZONE).toInstant().toEpochMilli());
+        assertFalse(policy.shouldCheckLive(PollingPolicy.Check.PRE_MATCH, false, List.of(afternoon)));
+        assertFalse(policy.shouldCheckLive(PollingPolicy.Check.NO_MATCH, false, List.of(afternoon)));
+
+        // Rótulo "Amanhã" sem horário conhecido conta como jogo próximo
+        Match tomorrow = new Match("Amanhã", "TBA", "Spirit", "Major");
+        assertTrue(policy.shouldCheckLive(PollingPolicy.Check.NO_MATCH, false, List.of(tomorrow)));
+        assertFalse(policy.shouldCheckLive(PollingPolicy.Check.NO_MATCH, false, List.of()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.furia.crawler;
+
+import com.furia.crawler.ResultStatistics.Summary;
+import com.furia.crawler.ResultsArchive.ArchivedResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResultStatisticsTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T18:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private final TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "");
+    private final List<ResultsArchive> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeArchives() {
+        opened.forEach(ResultsArchive::close);
+    }
+
+    private ResultsArchive archive() {
+        ResultsArchive archive = new ResultsArchive(dir.resolve("archive").toString(), new SimpleMeterRegistry());
+        archive.open();
+        opened.add(archive);
+        return archive;
+    }
+
+    private ResultStatistics statistics(ResultsArchive archive, int window) {
+        ResultStatistics statistics = new ResultStatistics(archive, dir.resolve("stats.dat").toString(), window);
+        statistics.init();
+        return statistics;
+    }
+
+    private static ArchivedResult won(long id, int day, String opponent, int scoreFor, int scoreAgainst) {
+        return new ArchivedResult(id, START.plus(Duration.ofDays(day)), opponent, "Major", scoreFor, scoreAgainst, true);
+    }
+
+    private static ArchivedResult lost(long id, int day, String opponent, int scoreFor, int scoreAgainst) {
+        return new ArchivedResult(id, START.plus(Duration.ofDays(day)), opponent, "IEM", scoreFor, scoreAgainst, false);
+    }
+
+    @Test
+    void aggregatesEachResultOnceWithStreaksAndWindow() {
+        ResultsArchive archive = archive();
+        ResultStatistics statistics = statistics(archive, 3);
+        archive.append(teams.primary(), List.of(won(1, 1, "NAVI", 2, 1), lost(2, 2, "G2", 0, 2), won(3, 3, "NAVI", 13, 9)));
+        // Repetidos no crawl seguinte não contam de novo
+        archive.append(teams.primary(), List.of(won(3, 3, "NAVI", 13, 9), won(4, 4, "Spirit", 2, 0), won(5, 5, "navi", 2, 1)));
+
+        ResultStatistics.TeamSummary team = statistics.team(teams.primary());
+        Summary overall = team.overall();
+        assertEquals(4, overall.wins());
+        assertEquals(1, overall.losses());
+        assertEquals(80, overall.winRate());
+        // 2-1, 0-2, MD1 vencida, 2-0, 2-1
+        assertEquals(7, overall.mapsWon());
+        assertEquals(4, overall.mapsLost());
+        assertEquals(3, overall.streak());
+        assertEquals(3, overall.bestWinStreak());
+
+        Summary window = team.window();
+        assertEquals(3, window.matches());
+        assertEquals(3, window.wins());
+        assertEquals(5, window.mapsWon());
+
+        Summary navi = statistics.opponent(teams.primary(), "NAVI");
+        assertEquals("NAVI", navi.name());
+        assertEquals(3, navi.wins());
+        assertEquals(START.plus(Duration.ofDays(5)), navi.lastPlayed());
+        assertEquals(1, statistics.tournament(teams.primary(), "iem").losses());
+        assertNull(statistics.opponent(teams.primary(), "Vitality"));
+    }
+
+    @Test
+    void lateResultCountsInTotalsButNotInStreak() {
+        ResultsArchive archive = archive();
+        ResultStatistics statistics = statistics(archive, 10);
+        archive.append(teams.primary(), List.of(won(1, 10, "NAVI", 2, 0), won(2, 11, "G2", 2, 0)));
+        archive.append(teams.primary(), List.of(lost(3, 5, "Spirit", 1, 2)));
+
+        Summary overall = statistics.team(teams.primary()).overall();
+        assertEquals(1, overall.losses());
+        assertEquals(2, overall.streak());
+        assertEquals(2, statistics.team(teams.primary()).window().matches());
+    }
+
+    @Test
+    void persistedStateResumesWithoutRecounting() throws Exception {
+        ResultsArchive archive = archive();
+        ResultStatistics first = statistics(archive, 3);
+        archive.append(teams.primary(), List.of(won(1, 1, "NAVI", 2, 1), lost(2, 2, "G2", 0, 2), won(3, 3, "MIBR", 2, 0),
+                won(4, 4, "paiN", 2, 0)));
+        Summary before = first.team(teams.primary()).overall();
+        assertEquals(4, before.matches());
+
+        // Reinício: o arquivo de estatísticas já cobre os 4 resultados, só o novo é consumido
+        ResultsArchive reopened = archive();
+        ResultStatistics second = statistics(reopened, 3);
+        reopened.append(teams.primary(), List.of(won(5, 5, "NAVI", 2, 0)));
+        ResultStatistics.TeamSummary resumed = second.team(teams.primary());
+        assertEquals(5, resumed.overall().matches());
+        assertEquals(3, resumed.overall().streak());
+        assertEquals(3, resumed.window().wins());
+        assertEquals(2, second.opponent(teams.primary(), "navi").wins());
+
+        // Sem o arquivo o resultado é o mesmo, recalculado do histórico
+        Files.delete(dir.resolve("stats.dat"));
+        ResultStatistics rebuilt = statistics(archive(), 3);
+        assertEquals(resumed, rebuilt.team(teams.primary()));
+    }
+}
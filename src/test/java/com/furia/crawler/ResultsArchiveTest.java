@@ -0,0 +1,140 @@
+package com.furia.crawler;
+
+import com.furia.crawler.ResultsArchive.ArchivedResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultsArchiveTest {
+
+    private static final Instant START = Instant.parse("2020-01-01T18:00:00Z");
+    private static final String[] OPPONENTS = {"NAVI", "Vitality", "G2", "The MongolZ", "paiN", "MIBR", "Spirit", "FaZe"};
+    private static final String[] TOURNAMENTS = {"IEM Katowice", "BLAST Open", "ESL Pro League", "PGL Major"};
+
+    @TempDir
+    Path dir;
+
+    private final TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "academy=11283/furia-academy/FURIA Academy");
+
+    private ResultsArchive open() {
+        ResultsArchive archive = new ResultsArchive(dir.toString(), new SimpleMeterRegistry());
+        archive.open();
+        return archive;
+    }
+
+    private static ArchivedResult result(long id, int day, String opponent, String tournament) {
+        return new ArchivedResult(id, START.plus(Duration.ofDays(day)), opponent, tournament, 2, (int) (id % 2), id % 2 == 0);
+    }
+
+    @Test
+    void deduplicatesByMatchIdAndPagesNewestFirst() {
+        ResultsArchive archive = open();
+        try {
+            assertEquals(2, archive.append(teams.primary(), List.of(result(1, 1, "NAVI", "Major"), result(2, 2, "G2", "Major"))));
+            // O crawl seguinte vê as mesmas partidas e uma nova, fora de ordem
+            assertEquals(1, archive.append(teams.primary(), List.of(result(3, 0, "navi", "IEM"), result(2, 2, "G2", "Major"))));
+            assertEquals(3, archive.size());
+
+            ResultsArchive.Page all = archive.latest(teams.primary(), 1, 2);
+            assertEquals(3, all.total());
+            assertEquals(2, all.pages());
+            assertEquals(List.of(2L, 1L), all.results().stream().map(ArchivedResult::matchId).toList());
+            assertEquals(List.of(3L), archive.latest(teams.primary(), 2, 2).results().stream().map(ArchivedResult::matchId).toList());
+
+            // Nome igual sem diferenciar maiúsculas junta "NAVI" e "navi"
+            assertEquals(List.of(1L, 3L), archive.byOpponent(teams.primary(), "Navi", 1, 10).results().stream()
+                    .map(ArchivedResult::matchId).toList());
+            assertEquals(2, archive.byTournament(teams.primary(), "major", 1, 10).total());
+            assertEquals(0, archive.latest(teams.all().get(1), 1, 10).total(), "Outro time tem o próprio histórico");
+        } finally {
+            archive.close();
+        }
+    }
+
+    @Test
+    void rebuildsIndexesOnReopenAndIgnoresTornTail() throws IOException {
+        ResultsArchive writer = open();
+        writer.append(teams.primary(), List.of(result(10, 5, "The MongolZ", "PGL Major"), result(11, 6, "Spirit", "PGL Major")));
+        writer.close();
+        // Queda no meio de uma escrita: meio registro no fim do arquivo
+        Files.write(dir.resolve("results.dat"), new byte[ResultsArchive.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        ResultsArchive reopened = open();
+        try {
+            assertEquals(2, reopened.size());
+            ArchivedResult mongolz = reopened.byOpponent(teams.primary(), "mongol", 1, 10).results().get(0);
+            assertEquals(result(10, 5, "The MongolZ", "PGL Major"), mongolz);
+            assertEquals(1, reopened.append(teams.primary(), List.of(result(12, 7, "FaZe", "BLAST Open"))));
+            assertEquals(3, reopened.size());
+            assertEquals(ResultsArchive.HEADER_SIZE + 3L * ResultsArchive.RECORD_SIZE, Files.size(dir.resolve("results.dat")));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void readerSeesRecordsAppendedByAnotherInstance() {
+        ResultsArchive leader = open();
+        ResultsArchive follower = open();
+        try {
+            assertEquals(0, follower.latest(teams.primary(), 1, 10).total());
+            leader.append(teams.primary(), List.of(result(20, 1, "MIBR", "BLAST Open")));
+            leader.append(teams.all().get(1), List.of(result(20, 1, "MIBR Academy", "CCT")));
+            assertEquals(1, follower.latest(teams.primary(), 1, 10).total());
+            assertEquals("MIBR Academy", follower.latest(teams.all().get(1), 1, 10).results().get(0).opponent());
+        } finally {
+            leader.close();
+            follower.close();
+        }
+    }
+
+    @Test
+    void queriesOverYearsOfResultsTakeMilliseconds() {
+        ResultsArchive archive = open();
+        try {
+            List<ArchivedResult> batch = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                batch.add(result(1_000_000 + i, i / 4, OPPONENTS[i % OPPONENTS.length], TOURNAMENTS[i % TOURNAMENTS.length]));
+                if (batch.size() == 500) {
+                    archive.append(teams.primary(), batch);
+                    batch.clear();
+                }
+            }
+            archive.close();
+
+            long openStart = System.nanoTime();
+            archive = open();
+            long openMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openStart);
+            assertEquals(20_000, archive.size());
+
+            long queryStart = System.nanoTime();
+            int queries = 0;
+            for (String opponent : OPPONENTS) {
+                for (int page = 1; page <= 25; page++) {
+                    assertEquals(10, archive.byOpponent(teams.primary(), opponent, page, 10).results().size());
+                    queries++;
+                }
+            }
+            ResultsArchive.Page year = archive.between(teams.primary(), START.plus(Duration.ofDays(365)),
+                    START.plus(Duration.ofDays(730)), 1, 10);
+            assertEquals(365 * 4, year.total());
+            double perQueryMillis = (System.nanoTime() - queryStart) / 1e6 / (queries + 1);
+            assertTrue(perQueryMillis < 5, "Consulta lenta: " + perQueryMillis + " ms (abertura em " + openMillis + " ms)");
+        } finally {
+            archive.close();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.furia.crawler;
+
+import com.furia.crawler.HltvCrawlerService.LiveMatch;
+import com.furia.crawler.HltvCrawlerService.Match;
+import com.furia.crawler.HltvCrawlerService.MatchResult;
+import com.furia.crawler.HltvCrawlerService.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotChangeDetectorTest {
+
+    private static final LocalDate MARCH_10 = LocalDate.of(2025, 3, 10);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Object> events = new ArrayList<>();
+    private final SnapshotChangeDetector detector = new SnapshotChangeDetector(events::add, registry);
+    private final TrackedTeam furia = new TrackedTeams("8297", "FURIA", "", "").primary();
+
+    @Test
+    void identicalFragmentIsSkippedOnlyAfterItWasAccepted() {
+        byte[] digest = detector.digest("<table>FURIA</table>", "2025-03-10");
+        assertFalse(detector.isUnchanged(furia, SnapshotSection.RESULTS, digest));
+        detector.accept(furia, SnapshotSection.RESULTS, digest);
+        assertTrue(detector.isUnchanged(furia, SnapshotSection.RESULTS, detector.digest("<table>FURIA</table>", "2025-03-10")));
+        // A parte extra entra no hash
+        assertFalse(detector.isUnchanged(furia, SnapshotSection.RESULTS, detector.digest("<table>FURIA</table>", "2025-03-11")));
+        assertFalse(detector.isUnchanged(furia, SnapshotSection.LINEUP, digest));
+        assertEquals(1, registry.get("crawler.change.sections").tags("section", "results", "result", "skipped").counter().count());
+    }
+
+    @Test
+    void lineupAndResultsFireOncePerRealChange() {
+        List<Player> lineup = List.of(player("KSCERATO"), player("yuurih"), player("FalleN"), player("molodoy"), player("YEKINDAR"));
+        // Primeira extração só publica
+        assertTrue(detector.lineup(furia, List.of(), lineup));
+        assertFalse(detector.lineup(furia, lineup, List.copyOf(lineup)));
+        List<Player> changed = List.of(player("KSCERATO"), player("yuurih"), player("FalleN"), player("molodoy"), player("skullz"));
+        assertTrue(detector.lineup(furia, lineup, changed));
+
+        List<MatchResult> results = List.of(new MatchResult("2 - 1", "NAVI", "IEM Katowice", true));
+        assertTrue(detector.results(furia, List.of(), results));
+        assertFalse(detector.results(furia, results, List.copyOf(results)));
+        List<MatchResult> newer = List.of(new MatchResult("0 - 2", "Vitality", "IEM Katowice", false), results.get(0));
+        assertTrue(detector.results(furia, results, newer));
+
+        assertEquals(List.of(new SnapshotChange.LineupChanged(furia, List.of("skullz"), List.of("YEKINDAR")),
+                new SnapshotChange.NewResult(furia, newer.get(0))), events);
+    }
+
+    @Test
+    void upcomingReportsNewAndRescheduledMatches() {
+        List<Match> upcoming = List.of(new Match("15/03/25", "14:00", "NAVI", "IEM Katowice"));
+        assertTrue(detector.upcoming(furia, List.of(), upcoming, MARCH_10));
+        assertFalse(detector.upcoming(furia, upcoming, List.copyOf(upcoming), MARCH_10));
+
+        List<Match> moved = List.of(new Match("15/03/25", "16:00", "NAVI", "IEM Katowice"),
+                new Match("16/03/25", "13:00", "Vitality", "IEM Katowice"));
+        assertTrue(detector.upcoming(furia, upcoming, moved, MARCH_10));
+        assertEquals(List.of(new SnapshotChange.MatchRescheduled(furia, upcoming.get(0), moved.get(0)),
+                new SnapshotChange.NewMatch(furia, moved.get(1))), events);
+    }
+
+    @Test
+    void relativeLabelsAreComparedOnTheDayTheyWereRead() {
+        List<Match> tomorrow = List.of(new Match("Amanhã", "14:00", "NAVI", "IEM Katowice"));
+        assertTrue(detector.upcoming(furia, List.of(), tomorrow, MARCH_10));
+        // Virou o dia: "Amanhã" lido no dia 10 e "Hoje" lido no dia 11 são a mesma data
+        List<Match> today = List.of(new Match("Hoje", "14:00", "NAVI", "IEM Katowice"));
+        assertTrue(detector.upcoming(furia, tomorrow, today, MARCH_10.plusDays(1)));
+        assertEquals(List.of(), events);
+
+        List<Match> postponed = List.of(new Match("Amanhã", "14:00", "NAVI", "IEM Katowice"));
+        assertTrue(detector.upcoming(furia, today, postponed, MARCH_10.plusDays(1)));
+        assertEquals(List.of(new SnapshotChange.MatchRescheduled(furia, today.get(0), postponed.get(0))), events);
+    }
+
+    @Test
+    void matchesAndResultsAreKeyedByTheirHltvPage() {
+        // Dois confrontos "TBD" no mesmo torneio: o segundo não é a remarcação do primeiro
+        Match semi = new Match("15/03/25", "14:00", "TBD", "IEM Katowice", 0, "https://www.hltv.org/matches/2380010/furia-vs-tbd");
+        assertTrue(detector.upcoming(furia, List.of(), List.of(semi), MARCH_10));
+        Match finalMatch = new Match("16/03/25", "13:00", "TBD", "IEM Katowice", 0, "https://www.hltv.org/matches/2380011/furia-vs-tbd");
+        assertTrue(detector.upcoming(furia, List.of(semi), List.of(semi, finalMatch), MARCH_10));
+        Match moved = new Match("15/03/25", "15:00", "TBD", "IEM Katowice", 0, semi.getMatchLink());
+        assertTrue(detector.upcoming(furia, List.of(semi, finalMatch), List.of(moved, finalMatch), MARCH_10));
+
+        // Revanche com o mesmo placar no mesmo torneio é um resultado novo
+        MatchResult first = new MatchResult("2 - 1", "NAVI", "IEM Katowice", true, "https://www.hltv.org/matches/2380001/furia-vs-navi");
+        assertTrue(detector.results(furia, List.of(), List.of(first)));
+        MatchResult rematch = new MatchResult("2 - 1", "NAVI", "IEM Katowice", true, "https://www.hltv.org/matches/2380002/furia-vs-navi");
+        assertTrue(detector.results(furia, List.of(first), List.of(rematch, first)));
+
+        assertEquals(List.of(new SnapshotChange.NewMatch(furia, finalMatch), new SnapshotChange.MatchRescheduled(furia, semi, moved),
+                new SnapshotChange.NewResult(furia, rematch)), events);
+    }
+
+    @Test
+    void liveFiresForScoreChangesButNotForTheStartupBaseline() {
+        LiveMatch running = live("navi", "3-1", "0-0");
+        // O bot subiu com a partida já em andamento: não é um início
+        assertTrue(detector.live(furia, null, running));
+        assertEquals(List.of(), events);
+
+        assertFalse(detector.live(furia, running, live("navi", "3-1", "0-0")));
+        LiveMatch scored = live("navi", "4-1", "0-0");
+        assertTrue(detector.live(furia, running, scored));
+        assertFalse(detector.live(furia, scored, live("navi", "4-1", "0-0")));
+        assertTrue(detector.live(furia, scored, null));
+        LiveMatch next = live("vitality", "0-0", "0-0");
+        assertTrue(detector.live(furia, null, next));
+
+        assertEquals(List.of(new SnapshotChange.ScoreChanged(furia, running, scored),
+                new SnapshotChange.LiveEnded(furia, scored), new SnapshotChange.LiveStarted(furia, next)), events);
+        assertEquals(3, registry.get("crawler.change.events").tag("team", "furia").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    private static Player player(String name) {
+        return new Player(name, "https://img-cdn.hltv.org/playerbodyshot/" + name + ".png");
+    }
+
+    private static LiveMatch live(String opponent, String mapScore, String mapsWon) {
+        return new LiveMatch(opponent.toUpperCase(), mapScore, mapsWon, "IEM Katowice", "bo3",
+                "https://www.hltv.org/matches/2380000/furia-vs-" + opponent, List.of(), List.of());
+    }
+}
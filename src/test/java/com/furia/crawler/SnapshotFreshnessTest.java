@@ -0,0 +1,118 @@
+package com.furia.crawler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotFreshnessTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "");
+    private final TrackedTeam furia = teams.primary();
+
+    @Test
+    void sectionBecomesStaleWhenItsAgePassesTheSlo() {
+        VirtualTimeScheduler time = new VirtualTimeScheduler(Instant.parse("2025-03-10T15:00:00Z"), ZoneId.of("UTC"));
+        SnapshotFreshness freshness = new SnapshotFreshness(time.clock(), 180, 60, 60, 10, true, teams, registry);
+        assertNull(freshness.age(furia, SnapshotSection.UPCOMING));
+        assertFalse(freshness.isStale(furia, SnapshotSection.UPCOMING));
+
+        // Página servida do cache: a idade conta de quando foi baixada, não de quando foi publicada
+        freshness.recordSuccess(furia, SnapshotSection.UPCOMING, time.now().minus(Duration.ofMinutes(50)).toEpochMilli());
+        assertEquals(Duration.ofMinutes(50), freshness.age(furia, SnapshotSection.UPCOMING));
+        assertFalse(freshness.isStale(furia, SnapshotSection.UPCOMING));
+        assertEquals("", freshness.stalenessNotice(furia, SnapshotSection.UPCOMING));
+
+        time.runUntil(time.now().plus(Duration.ofMinutes(10)));
+        assertFalse(freshness.isStale(furia, SnapshotSection.UPCOMING), "exatamente no SLO ainda vale");
+        time.runUntil(time.now().plus(Duration.ofSeconds(1)));
+        assertTrue(freshness.isStale(furia, SnapshotSection.UPCOMING));
+        assertEquals("\n\n⏳ Dados de há 60 min.", freshness.stalenessNotice(furia, SnapshotSection.UPCOMING));
+        assertEquals(3601, registry.get("crawler.snapshot.age").tags("team", "furia", "section", "upcoming").gauge().value());
+
+        // Um dado mais antigo que o publicado não faz a idade voltar
+        freshness.recordSuccess(furia, SnapshotSection.UPCOMING, time.now().minus(Duration.ofHours(5)).toEpochMilli());
+        assertTrue(freshness.isStale(furia, SnapshotSection.UPCOMING));
+        freshness.recordSuccess(furia, SnapshotSection.UPCOMING, time.now().toEpochMilli());
+        assertFalse(freshness.isStale(furia, SnapshotSection.UPCOMING));
+        // As outras seções não foram tocadas
+        assertNull(freshness.age(furia, SnapshotSection.LINEUP));
+    }
+
+    @Test
+    void failuresAccumulateUntilTheNextSuccess() {
+        VirtualTimeScheduler time = new VirtualTimeScheduler(Instant.parse("2025-03-10T15:00:00Z"), ZoneId.of("UTC"));
+        SnapshotFreshness freshness = new SnapshotFreshness(time.clock(), 180, 60, 60, 10, true, teams, registry);
+        freshness.recordSuccess(furia, SnapshotSection.RESULTS, time.now().toEpochMilli());
+        for (int i = 1; i <= 11; i++) {
+            time.runUntil(time.now().plus(Duration.ofMinutes(1)));
+            freshness.recordFailure(furia, SnapshotSection.RESULTS, "timeout " + i);
+        }
+        assertEquals(11, freshness.consecutiveFailures(furia, SnapshotSection.RESULTS));
+        assertEquals(11, registry.get("crawler.snapshot.consecutive_failures").tags("team", "furia", "section", "results").gauge().value());
+        assertEquals(time.now(), freshness.lastFailure(furia, SnapshotSection.RESULTS));
+        assertEquals(Instant.parse("2025-03-10T15:00:00Z"), freshness.lastSuccess(furia, SnapshotSection.RESULTS));
+
+        // Só as 10 últimas tentativas, da mais antiga para a mais nova
+        List<SnapshotFreshness.Attempt> history = freshness.history(furia, SnapshotSection.RESULTS);
+        assertEquals(10, history.size());
+        assertEquals("timeout 2", history.get(0).detail());
+        assertEquals("timeout 11", history.get(9).detail());
+        assertTrue(history.stream().noneMatch(SnapshotFreshness.Attempt::success));
+
+        time.runUntil(time.now().plus(Duration.ofMinutes(1)));
+        freshness.recordSuccess(furia, SnapshotSection.RESULTS, time.now().toEpochMilli());
+        assertEquals(0, freshness.consecutiveFailures(furia, SnapshotSection.RESULTS));
+        assertTrue(freshness.history(furia, SnapshotSection.RESULTS).get(9).success());
+        assertEquals(time.now(), freshness.fetchedAt(furia, SnapshotSection.RESULTS));
+    }
+
+    @Test
+    void healthGoesDownWhenASectionPassesItsSlo() {
+        // O crawler de fixture publica tudo no relógio do sistema ao ser criado
+        VirtualTimeScheduler time = new VirtualTimeScheduler(Instant.now().plusSeconds(1).truncatedTo(ChronoUnit.SECONDS),
+                ZoneId.of("UTC"));
+        SnapshotFreshness freshness = new SnapshotFreshness(time.clock(), 180, 60, 60, 10, true, teams, registry);
+        FixtureCrawlerService crawler = new FixtureCrawlerService(teams, registry, freshness,
+                new SnapshotChangeDetector(event -> { }, registry));
+        CompositeHealthContributor furiaHealth = (CompositeHealthContributor) new SnapshotFreshnessHealthContributor(
+                freshness, crawler, teams).getContributor("furia");
+
+        for (SnapshotSection section : SnapshotSection.values()) {
+            assertEquals(Status.UP, health(furiaHealth, section).getStatus(), section.getKey());
+        }
+
+        // 11 minutos: só a partida ao vivo (SLO de 10) passou do limite
+        time.runUntil(time.now().plus(Duration.ofMinutes(11)));
+        freshness.recordFailure(furia, SnapshotSection.LIVE, "desafio");
+        Health live = health(furiaHealth, SnapshotSection.LIVE);
+        assertEquals(Status.DOWN, live.getStatus());
+        assertEquals(600L, live.getDetails().get("sloSeconds"));
+        assertEquals(1, live.getDetails().get("consecutiveFailures"));
+        assertTrue(live.getDetails().containsKey("lastFailure"));
+        assertEquals(Status.UP, health(furiaHealth, SnapshotSection.UPCOMING).getStatus());
+
+        time.runUntil(time.now().plus(Duration.ofMinutes(50)));
+        assertEquals(Status.DOWN, health(furiaHealth, SnapshotSection.UPCOMING).getStatus());
+        assertEquals(Status.DOWN, health(furiaHealth, SnapshotSection.RESULTS).getStatus());
+        assertEquals(Status.UP, health(furiaHealth, SnapshotSection.LINEUP).getStatus());
+    }
+
+    private static Health health(CompositeHealthContributor team, SnapshotSection section) {
+        return ((HealthIndicator) team.getContributor(section.getKey())).health();
+    }
+}
@@ -0,0 +1,61 @@
+package com.furia.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackedTeamsTest {
+
+    @Test
+    void parsesExtraTeams() {
+        TrackedTeams teams = new TrackedTeams("8297", "FURIA", "",
+                " academy=11283/furia-academy/FURIA Academy , Fe = 12345/furia-fe ,");
+        assertTrue(teams.isMultiTeam());
+        assertEquals(List.of("furia", "academy", "fe"), teams.aliases());
+
+        TrackedTeam academy = teams.all().get(1);
+        assertEquals(new TrackedTeam("academy", "11283", "furia-academy", "FURIA Academy", false), academy);
+        // Sem nome exibido, vale o slug
+        assertEquals(new TrackedTeam("fe", "12345", "furia-fe", "furia-fe", false), teams.all().get(2));
+
+        assertSame(teams.primary(), teams.resolve(List.of()));
+        assertSame(academy, teams.resolve(List.of("Academy")));
+        assertSame(academy, teams.resolve(List.of("11283")));
+        assertSame(academy, teams.byCode("11283"));
+        assertNull(teams.resolve(List.of("navi")));
+    }
+
+    @Test
+    void primaryAliasDefaultsToTheTeamName() {
+        TrackedTeams teams = new TrackedTeams("8297", "FURIA", "", "");
+        assertFalse(teams.isMultiTeam());
+        assertEquals(new TrackedTeam("furia", "8297", "FURIA", "FURIA", true), teams.primary());
+        assertEquals("fur", new TrackedTeams("8297", "FURIA", "Fur", "").primary().alias());
+    }
+
+    @Test
+    void rejectsDuplicateTeams() {
+        // Apelidos comparados sem diferenciar maiúsculas, inclusive com o do time principal
+        assertThrows(IllegalStateException.class, () -> new TrackedTeams("8297", "FURIA", "", "Furia=1/x"));
+        assertThrows(IllegalStateException.class,
+                () -> new TrackedTeams("8297", "FURIA", "", "a=1/x,A=2/y"));
+        assertThrows(IllegalStateException.class,
+                () -> new TrackedTeams("8297", "FURIA", "", "a=1/x,b=1/y"));
+        assertThrows(IllegalStateException.class, () -> new TrackedTeams("8297", "FURIA", "", "a=8297/furia"));
+    }
+
+    @Test
+    void rejectsMalformedEntries() {
+        for (String entry : List.of("academy", "academy=", "academy=11283", "=11283/furia-academy",
+                "academy=/furia-academy", "academy=11283/ /Nome")) {
+            assertThrows(IllegalStateException.class, () -> new TrackedTeams("8297", "FURIA", "", entry), entry);
+        }
+    }
+}
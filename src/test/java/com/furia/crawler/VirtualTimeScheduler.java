@@ -0,0 +1,86 @@
+package com.furia.crawler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.PriorityQueue;
+
+/**
+ * {@link CrawlerScheduler} em tempo virtual: {@link #runUntil} avança o relógio de disparo em disparo,
+ * sem esperar, e roda cada tarefa na hora marcada. Disparos no mesmo instante seguem a prioridade do
+ * {@link CrawlerTaskExecutor} (ao vivo, pré-jogo, crawl completo, manutenção). As tarefas são
+ * instantâneas: o relógio só anda entre disparos.
+ */
+public class VirtualTimeScheduler implements CrawlerScheduler {
+
+    private record Firing(Instant at, CrawlerTaskExecutor.Priority priority, long sequence, Duration period,
+                          Runnable work) implements Comparable<Firing> {
+        @Override
+        public int compareTo(Firing other) {
+            int byTime = at.compareTo(other.at);
+            if (byTime != 0) {
+                return byTime;
+            }
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final VirtualClock clock;
+    private final PriorityQueue<Firing> queue = new PriorityQueue<>();
+    private long sequence;
+
+    public VirtualTimeScheduler(Instant start, ZoneId zone) {
+        this.clock = new VirtualClock(start, zone);
+    }
+
+    public Clock clock() {
+        return clock;
+    }
+
+    public Instant now() {
+        return clock.instant();
+    }
+
+    @Override
+    public void schedule(String name, CrawlerTaskExecutor.Priority priority, Duration period, Runnable work) {
+        queue.add(new Firing(clock.instant(), priority, sequence++, period, work));
+    }
+
+    /** Roda todos os disparos até {@code end} (exclusive) e deixa o relógio em {@code end}. */
+    public void runUntil(Instant end) {
+        while (!queue.isEmpty() && queue.peek().at().isBefore(end)) {
+            Firing firing = queue.poll();
+            clock.now = firing.at();
+            firing.work().run();
+            queue.add(new Firing(firing.at().plus(firing.period()), firing.priority(), sequence++, firing.period(), firing.work()));
+        }
+        clock.now = end;
+    }
+
+    private static final class VirtualClock extends Clock {
+        private final ZoneId zone;
+        private Instant now;
+
+        VirtualClock(Instant now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new VirtualClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}